@@ -0,0 +1,69 @@
+package com.okexchain.benchmarks;
+
+import com.okexchain.msg.common.Signature;
+import com.okexchain.utils.crypto.BatchSigner;
+import com.okexchain.utils.crypto.Signer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signs a batch of sign-bytes payloads with a growing number of threads; throughput per thread count
+ * shows how close the batch signer gets to linear scaling.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class BatchSignBenchmark {
+
+    @Param({"1", "2", "4", "8"})
+    public int threads;
+
+    @Param({"1000"})
+    public int batchSize;
+
+    private BatchSigner batchSigner;
+    private Signer signer;
+    private List<byte[]> payloads;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        batchSigner = new BatchSigner(threads);
+        signer = new Signer(Fixtures.PRIVATE_KEY);
+        payloads = new ArrayList<>(batchSize);
+        for (int i = 0; i < batchSize; i++) {
+            payloads.add(Fixtures.signBytes(i).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        batchSigner.shutdown();
+    }
+
+    /**
+     * One op is a whole batch; multiply the score by batchSize for signatures per second.
+     */
+    @Benchmark
+    public List<Signature> signBatch() throws Exception {
+        return batchSigner.sign(signer, payloads);
+    }
+}
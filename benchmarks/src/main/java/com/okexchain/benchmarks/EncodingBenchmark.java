@@ -0,0 +1,88 @@
+package com.okexchain.benchmarks;
+
+import com.okexchain.utils.Dec;
+import com.okexchain.utils.Utils;
+import com.okexchain.utils.crypto.AddressUtil;
+import com.okexchain.utils.crypto.Crypto;
+import com.okexchain.utils.crypto.encode.Bech32;
+import com.okexchain.utils.encoding.EncodeUtils;
+import org.bouncycastle.util.encoders.Hex;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Address, amount and amino encodings used while building and signing txs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class EncodingBenchmark {
+
+    static final String MNEMONIC = "puzzle glide follow cruel say burst deliver wild tragic galaxy lumber offer";
+
+    // amino prefix of a secp256k1 public key
+    private static final byte[] PUBKEY_PREFIX = Hex.decode("eb5ae987");
+
+    private byte[] bech32Data;
+    private byte[] pubKey;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Bech32.Bech32Data decoded = Bech32.decode(Fixtures.ADDRESS);
+        bech32Data = decoded.getData();
+        pubKey = Crypto.generatePubKeyFromPriv(Fixtures.PRIVATE_KEY);
+    }
+
+    @Benchmark
+    public String bech32Encode() {
+        return Bech32.encode("ex", bech32Data);
+    }
+
+    @Benchmark
+    public Bech32.Bech32Data bech32Decode() {
+        return Bech32.decode(Fixtures.ADDRESS);
+    }
+
+    @Benchmark
+    public String addressFromPubKey() throws Exception {
+        return AddressUtil.createNewAddressSecp256k1("ex", pubKey);
+    }
+
+    /**
+     * Runs 2048 rounds of PBKDF2, so it is reported in nanoseconds like the rest but is far slower.
+     */
+    @Benchmark
+    public String privateKeyFromMnemonic() {
+        return Crypto.generatePrivateKeyFromMnemonic(MNEMONIC);
+    }
+
+    @Benchmark
+    public String newDecString() {
+        return Utils.NewDecString("6.5");
+    }
+
+    @Benchmark
+    public String decString() {
+        return Dec.valueOf("6.5").mulInt(3).toString();
+    }
+
+    @Benchmark
+    public byte[] aminoWrap() throws IOException {
+        return EncodeUtils.aminoWrap(pubKey, PUBKEY_PREFIX, true);
+    }
+}
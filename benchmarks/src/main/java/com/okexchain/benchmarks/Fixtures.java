@@ -0,0 +1,62 @@
+package com.okexchain.benchmarks;
+
+import com.okexchain.msg.common.Data2Sign;
+import com.okexchain.msg.common.Fee;
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.common.Token;
+import com.okexchain.msg.token.MsgSendValue;
+
+import java.util.Collections;
+
+/**
+ * Shared inputs of the benchmarks.
+ */
+final class Fixtures {
+
+    static final String PRIVATE_KEY = "2c999c5afe7f0c902846e1b286fed29c5c5914998655d469568560955abe0d5d";
+
+    static final String ADDRESS = "ex1vnatqxr67z70lpyeq7gkrk9q668w3qn6hhzuhk";
+
+    /**
+     * A block mode broadcast answer of the rest server.
+     */
+    static final String BROADCAST_RESPONSE = "{\"height\":\"1207\",\"txhash\":\"5C0B0F7B1A4D2E9C8E0A3A3F27C1B6D5A1F8E4C2B9D7A6F5E3C1B0A9D8E7F6A5\","
+            + "\"raw_log\":\"[{\\\"msg_index\\\":0,\\\"log\\\":\\\"\\\",\\\"events\\\":[{\\\"type\\\":\\\"message\\\",\\\"attributes\\\":"
+            + "[{\\\"key\\\":\\\"action\\\",\\\"value\\\":\\\"send\\\"}]}]}]\",\"logs\":[{\"msg_index\":0,\"log\":\"\",\"events\":[{\"type\":\"message\","
+            + "\"attributes\":[{\"key\":\"action\",\"value\":\"send\"}]}]}],\"gas_wanted\":\"200000\",\"gas_used\":\"41233\"}";
+
+    private Fixtures() {
+    }
+
+    /**
+     * The MsgSend tx of {@link #signBytes} as objects.
+     */
+    static Data2Sign data2Sign(long sequence) {
+        Token fee = new Token();
+        fee.setDenom("okt");
+        fee.setAmount("0.010000000000000000");
+        Token amount = new Token();
+        amount.setDenom("okt");
+        amount.setAmount("6.000000000000000000");
+
+        MsgSendValue value = new MsgSendValue();
+        value.setFromAddress(ADDRESS);
+        value.setToAddress(ADDRESS);
+        value.setAmount(Collections.singletonList(amount));
+
+        Fee txFee = new Fee();
+        txFee.setAmount(Collections.singletonList(fee));
+        txFee.setGas("200000");
+        return new Data2Sign("12", "okexchain-1", txFee, "",
+                new Message[]{new Message<>("okexchain/token/MsgTransfer", value)}, String.valueOf(sequence));
+    }
+
+    /**
+     * A MsgSend sign-bytes document as produced by MsgBase.getUnsignedTx, varied by sequence.
+     */
+    static String signBytes(long sequence) {
+        return "{\"account_number\":\"12\",\"chain_id\":\"okexchain-1\",\"fee\":{\"amount\":[{\"amount\":\"0.010000000000000000\",\"denom\":\"okt\"}],\"gas\":\"200000\"},"
+                + "\"memo\":\"\",\"msgs\":[{\"type\":\"okexchain/token/MsgTransfer\",\"value\":{\"amount\":[{\"amount\":\"6.000000000000000000\",\"denom\":\"okt\"}],"
+                + "\"from_address\":\"" + ADDRESS + "\",\"to_address\":\"" + ADDRESS + "\"}}],\"sequence\":\"" + sequence + "\"}";
+    }
+}
@@ -0,0 +1,106 @@
+package com.okexchain.benchmarks;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okexchain.msg.common.Data2Sign;
+import com.okexchain.msg.common.TxValue;
+import com.okexchain.msg.tx.BroadcastMode;
+import com.okexchain.msg.tx.BroadcastTx;
+import com.okexchain.msg.tx.UnsignedTx;
+import com.okexchain.utils.Utils;
+import com.okexchain.utils.crypto.Signer;
+import com.okexchain.utils.encoding.JacksonJsonCodec;
+import com.okexchain.utils.encoding.JsonCodec;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the json work of one tx done the old way, with jackson for the sign bytes, gson for the broadcast
+ * body and fastjson for the answer, against the shared codec.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonCodecBenchmark {
+
+    private JsonCodec codec;
+    private Data2Sign data;
+    private BroadcastTx tx;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        codec = new JacksonJsonCodec();
+        data = Fixtures.data2Sign(7);
+
+        TxValue txValue = new TxValue();
+        txValue.setMsgs(data.getMsgs());
+        txValue.setFee(data.getFee());
+        txValue.setMemo(data.getMemo());
+        UnsignedTx unsignedTx = new UnsignedTx(txValue, codec.toSignBytes(data), BroadcastMode.SYNC);
+        tx = unsignedTx.signed(new Signer(Fixtures.PRIVATE_KEY).sign(unsignedTx.getSignBytes()));
+    }
+
+    @Benchmark
+    public byte[] mixedSignBytes() throws Exception {
+        return new ObjectMapper().writeValueAsString(data).getBytes(StandardCharsets.UTF_8);
+    }
+
+    @Benchmark
+    public byte[] codecSignBytes() {
+        return codec.toSignBytes(data);
+    }
+
+    @Benchmark
+    public String mixedBroadcastBody() {
+        return Utils.serializer.toJson(tx);
+    }
+
+    @Benchmark
+    public String codecBroadcastBody() {
+        return codec.toJson(tx);
+    }
+
+    @Benchmark
+    public JSONObject mixedParseResponse() {
+        return JSON.parseObject(Fixtures.BROADCAST_RESPONSE);
+    }
+
+    @Benchmark
+    public JSONObject codecParseResponse() {
+        return new JSONObject(codec.toMap(Fixtures.BROADCAST_RESPONSE));
+    }
+
+    /**
+     * All json work of one tx.
+     */
+    @Benchmark
+    public void mixedTx(Blackhole bh) throws Exception {
+        bh.consume(mixedSignBytes());
+        bh.consume(mixedBroadcastBody());
+        bh.consume(mixedParseResponse());
+    }
+
+    @Benchmark
+    public void codecTx(Blackhole bh) {
+        bh.consume(codecSignBytes());
+        bh.consume(codecBroadcastBody());
+        bh.consume(codecParseResponse());
+    }
+}
@@ -0,0 +1,53 @@
+package com.okexchain.benchmarks;
+
+import com.okexchain.msg.MsgBase;
+import com.okexchain.msg.common.Signature;
+import com.okexchain.utils.crypto.Signer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.nio.charset.StandardCharsets;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Signs the sign bytes of one MsgSend tx, once through the static MsgBase.signTx that prepares the key on
+ * every call and once with a prepared signer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SigningBenchmark {
+
+    private String signBytes;
+    private byte[] signByteArray;
+    private Signer signer;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        signBytes = Fixtures.signBytes(7);
+        signByteArray = signBytes.getBytes(StandardCharsets.UTF_8);
+        signer = new Signer(Fixtures.PRIVATE_KEY);
+    }
+
+    @Benchmark
+    public Signature signTx() throws Exception {
+        return MsgBase.signTx(signBytes, Fixtures.PRIVATE_KEY);
+    }
+
+    @Benchmark
+    public Signature preparedSigner() {
+        return signer.sign(signByteArray);
+    }
+}
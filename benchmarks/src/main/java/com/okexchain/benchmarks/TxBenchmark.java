@@ -0,0 +1,78 @@
+package com.okexchain.benchmarks;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.okexchain.msg.MsgBase;
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.token.TokenMessages;
+import com.okexchain.msg.tx.BroadcastTx;
+import com.okexchain.msg.tx.UnsignedTx;
+import com.okexchain.utils.crypto.Crypto;
+import com.okexchain.utils.crypto.Signer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The per tx work of MsgBase around the signature: building the unsigned tx with its sign bytes, writing the
+ * broadcast body and reading an attribute back from the node answer.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TxBenchmark {
+
+    /**
+     * An account set up offline, its sequence is never read from a node.
+     */
+    static class LocalAccount extends MsgBase {
+        LocalAccount() {
+            priKeyString = Fixtures.PRIVATE_KEY;
+            signer = new Signer(Fixtures.PRIVATE_KEY);
+            init(Crypto.generateAddressFromPriv(Fixtures.PRIVATE_KEY), "12", "7",
+                    Crypto.generatePubKeyHexFromPriv(Fixtures.PRIVATE_KEY));
+        }
+    }
+
+    private LocalAccount account;
+    private Message msg;
+    private BroadcastTx tx;
+    private JSONObject response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        account = new LocalAccount();
+        msg = TokenMessages.transfer(account.getAddress(), Fixtures.ADDRESS, "okt", "6");
+        UnsignedTx unsignedTx = account.getUnsignedTx(msg, "0.01", "200000", "");
+        tx = unsignedTx.signed(account.getSigner().sign(unsignedTx.getSignBytes()));
+        response = JSON.parseObject(Fixtures.BROADCAST_RESPONSE);
+    }
+
+    @Benchmark
+    public byte[] unsignedTx() {
+        return account.getUnsignedTx(msg, "0.01", "200000", "").getSignBytes();
+    }
+
+    @Benchmark
+    public String broadcastBody() {
+        return tx.toJson();
+    }
+
+    @Benchmark
+    public String matchedAttribute() throws Exception {
+        return account.getMatchedAttribute(response, "action");
+    }
+}
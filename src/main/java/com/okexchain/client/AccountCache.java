@@ -0,0 +1,132 @@
+package com.okexchain.client;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * AccountCache keeps account number and sequence of recently used accounts so that building a new message
+ * object does not read the account from the node every time.
+ * Sequences expire after a ttl; account numbers never change and are kept without expiry.
+ * Concurrent lookups of the same address share a single request.
+ */
+public class AccountCache {
+
+    public static final int DEFAULT_MAX_SIZE = 10000;
+    public static final long DEFAULT_TTL = 2000;
+
+    private static final AccountCache DEFAULT = new AccountCache(new AccountFetcher(), DEFAULT_MAX_SIZE, DEFAULT_TTL);
+
+    private static class Entry {
+        final AccountInfo info;
+        final long expireAt;
+
+        Entry(AccountInfo info, long expireAt) {
+            this.info = info;
+            this.expireAt = expireAt;
+        }
+    }
+
+    private final AccountFetcher fetcher;
+    private final long ttl;
+    private final Map<String, Entry> entries;
+    private final Map<String, Long> accountNumbers;
+    private final ConcurrentHashMap<String, CompletableFuture<AccountInfo>> inFlight = new ConcurrentHashMap<>();
+
+    /**
+     * @param fetcher reads accounts missing from the cache
+     * @param maxSize maximum number of accounts kept, least recently used ones are dropped first
+     * @param ttl     time in milliseconds a cached sequence is considered fresh
+     */
+    public AccountCache(AccountFetcher fetcher, int maxSize, long ttl) {
+        this.fetcher = fetcher;
+        this.ttl = ttl;
+        this.entries = Collections.synchronizedMap(lru(maxSize));
+        this.accountNumbers = Collections.synchronizedMap(lru(maxSize));
+    }
+
+    public static AccountCache getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Returns the account, reading it from the node if it is not cached or its sequence has expired.
+     */
+    public AccountInfo get(String address) throws IOException {
+        Entry entry = entries.get(address);
+        if (entry != null && entry.expireAt > System.currentTimeMillis()) {
+            return entry.info;
+        }
+        return load(address);
+    }
+
+    /**
+     * Returns the account number, which is only read from the node the first time.
+     */
+    public long getAccountNumber(String address) throws IOException {
+        Long accountNumber = accountNumbers.get(address);
+        if (accountNumber != null) {
+            return accountNumber;
+        }
+        return load(address).getAccountNumber();
+    }
+
+    public void put(AccountInfo info) {
+        entries.put(info.getAddress(), new Entry(info, System.currentTimeMillis() + ttl));
+        accountNumbers.put(info.getAddress(), info.getAccountNumber());
+    }
+
+    /**
+     * Drops the cached sequence; the account number is kept.
+     */
+    public void invalidate(String address) {
+        entries.remove(address);
+    }
+
+    private AccountInfo load(String address) throws IOException {
+        CompletableFuture<AccountInfo> created = new CompletableFuture<>();
+        CompletableFuture<AccountInfo> existing = inFlight.putIfAbsent(address, created);
+        if (existing != null) {
+            return await(existing);
+        }
+
+        try {
+            AccountInfo info = fetcher.fetch(address);
+            put(info);
+            created.complete(info);
+            return info;
+        } catch (IOException | RuntimeException e) {
+            created.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(address, created);
+        }
+    }
+
+    private static AccountInfo await(CompletableFuture<AccountInfo> future) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while waiting for account", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException) {
+                throw (IOException) e.getCause();
+            }
+            throw new IOException(e.getCause());
+        }
+    }
+
+    private static <V> LinkedHashMap<String, V> lru(final int maxSize) {
+        return new LinkedHashMap<String, V>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, V> eldest) {
+                return size() > maxSize;
+            }
+        };
+    }
+}
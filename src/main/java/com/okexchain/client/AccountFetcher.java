@@ -0,0 +1,59 @@
+package com.okexchain.client;
+
+import com.okexchain.env.ChainContext;
+import com.okexchain.env.EnvInstance;
+import com.okexchain.utils.HttpTransport;
+import com.okexchain.utils.encoding.CodecInstance;
+
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * AccountFetcher reads account number and sequence from the rest server.
+ */
+public class AccountFetcher {
+
+    private final HttpTransport transport;
+    // null reads the rest server of the default context at every fetch
+    private final ChainContext context;
+
+    public AccountFetcher() {
+        this(HttpTransport.getDefault());
+    }
+
+    public AccountFetcher(HttpTransport transport) {
+        this.transport = transport;
+        this.context = null;
+    }
+
+    /**
+     * Reads the accounts from the rest server of the context, with its transport.
+     */
+    public AccountFetcher(ChainContext context) {
+        this.transport = null;
+        this.context = context;
+    }
+
+    public AccountInfo fetch(String address) throws IOException {
+        if (context != null) {
+            return parse(address, context.getTransport().get(context.getAccountUrl(address)));
+        }
+        return parse(address, transport.get(EnvInstance.getContext().getAccountUrl(address)));
+    }
+
+    public static AccountInfo parse(String address, String accountJson) throws IOException {
+        Map<String, Object> value;
+        try {
+            value = (Map<String, Object>) CodecInstance.getCodec().toMap(accountJson).get("value");
+        } catch (Exception e) {
+            throw new IOException("failed to parse account " + address + ": " + accountJson, e);
+        }
+        if (value == null || value.get("sequence") == null || value.get("account_number") == null) {
+            throw new IOException("unexpected account response for " + address + ": " + accountJson);
+        }
+        // numbers come as json strings from the rest server
+        return new AccountInfo(address,
+                Long.parseLong(value.get("account_number").toString()),
+                Long.parseLong(value.get("sequence").toString()));
+    }
+}
@@ -0,0 +1,41 @@
+package com.okexchain.client;
+
+import org.apache.commons.lang3.builder.ToStringBuilder;
+import org.apache.commons.lang3.builder.ToStringStyle;
+
+/**
+ * Account number and sequence of an account as reported by the node.
+ */
+public class AccountInfo {
+
+    private final String address;
+    private final long accountNumber;
+    private final long sequence;
+
+    public AccountInfo(String address, long accountNumber, long sequence) {
+        this.address = address;
+        this.accountNumber = accountNumber;
+        this.sequence = sequence;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public long getAccountNumber() {
+        return accountNumber;
+    }
+
+    public long getSequence() {
+        return sequence;
+    }
+
+    @Override
+    public String toString() {
+        return new ToStringBuilder(this, ToStringStyle.SHORT_PREFIX_STYLE)
+                .append("address", address)
+                .append("account_number", accountNumber)
+                .append("sequence", sequence)
+                .toString();
+    }
+}
@@ -0,0 +1,197 @@
+package com.okexchain.client;
+
+import com.alibaba.fastjson.JSONObject;
+import com.okexchain.msg.MsgBase;
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.common.Signature;
+import com.okexchain.msg.tx.Response;
+import com.okexchain.msg.tx.UnsignedTx;
+import com.okexchain.utils.encoding.CodecInstance;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * GasEstimator tells the gas limit to put in a tx instead of a hardcoded value.
+ * The gas of a message is simulated once per message type and size class, the size being rounded up to
+ * the next power of two, and cached. Later messages of the same kind are estimated from the cache without
+ * a round trip to the node. The gas of a tx is the sum of the gas of its messages times a safety
+ * multiplier; as every simulated message carries the fixed cost of a tx, txs of many messages are
+ * estimated on the high side.
+ * <p>
+ * The cache learns from the gas_used of committed txs: a higher value is taken at once, a lower one
+ * only lowers the cached gas slowly.
+ */
+public class GasEstimator implements TxPacker.GasSchedule {
+
+    public static final double DEFAULT_MULTIPLIER = 1.2;
+    public static final long DEFAULT_SIMULATION_GAS = 10000000L;
+
+    // a lower gas_used moves the cached gas down by 1/2^DECAY_SHIFT of the difference
+    private static final int DECAY_SHIFT = 3;
+
+    /**
+     * Runs the messages in a tx without committing it and returns the gas used.
+     */
+    public interface Simulator {
+        long simulate(Message[] msgs) throws Exception;
+    }
+
+    /**
+     * Returns a simulator posting the tx, signed by the account, to the simulate endpoint of the node.
+     */
+    public static Simulator restSimulator(final MsgBase account) {
+        return new Simulator() {
+            @Override
+            public long simulate(Message[] msgs) throws Exception {
+                long sequence = account.getSequenceManager().peek(account.getAddress());
+                if (sequence < 0) {
+                    sequence = Long.parseLong(account.getSequenceNum());
+                }
+                UnsignedTx unsignedTx = account.getUnsignedTx(msgs, "", String.valueOf(DEFAULT_SIMULATION_GAS), "", sequence);
+                Signature signature = account.getSigner().sign(unsignedTx.getSignBytes());
+                String res = account.getTransport().post(account.getContext().getSimulateUrl(),
+                        unsignedTx.signed(signature).toJson());
+
+                JSONObject result = new JSONObject(CodecInstance.getCodec().toMap(res));
+                if (result.containsKey("gas_estimate")) {
+                    return result.getLongValue("gas_estimate");
+                }
+                if (result.getIntValue("code") != 0 || !result.containsKey("gas_used")) {
+                    throw new Exception("simulate tx failed: " + res);
+                }
+                return result.getLongValue("gas_used");
+            }
+        };
+    }
+
+    private final Simulator simulator;
+    // message type and size class -> gas of the message, without the multiplier
+    private final Map<String, Long> gasByKind = new ConcurrentHashMap<>();
+
+    private double multiplier = DEFAULT_MULTIPLIER;
+
+    public GasEstimator(Simulator simulator) {
+        this.simulator = simulator;
+    }
+
+    public GasEstimator(MsgBase account) {
+        this(restSimulator(account));
+    }
+
+    /**
+     * Returns the gas limit of a tx holding the messages. Message kinds seen for the first time are
+     * simulated. A failed simulation caches nothing, callers that want a default gas catch the exception.
+     *
+     * @throws IllegalStateException if a simulation fails, with the simulator's exception as the cause
+     */
+    public long estimate(Message... msgs) {
+        long gas = 0;
+        for (Message msg : msgs) {
+            gas += gasOfKind(msg);
+        }
+        return (long) Math.ceil(gas * multiplier);
+    }
+
+    /**
+     * Gas of one message in a packed tx, with the multiplier.
+     */
+    @Override
+    public long gasOf(Message message) {
+        return estimate(message);
+    }
+
+    /**
+     * Returns the cached gas of the message kind, without the multiplier, or -1 when it is not known yet.
+     */
+    public long getCached(Message message) {
+        Long gas = gasByKind.get(kindOf(message));
+        return gas == null ? -1 : gas;
+    }
+
+    /**
+     * Learns from the gas used by a committed tx holding the messages. The gas is shared among the
+     * messages in proportion to their cached gas. A tx with more than one unknown message kind is ignored.
+     */
+    public void observe(Message[] msgs, long gasUsed) {
+        if (msgs.length == 0 || gasUsed <= 0) {
+            return;
+        }
+        String[] kinds = new String[msgs.length];
+        long known = 0;
+        int unknown = -1;
+        for (int i = 0; i < msgs.length; i++) {
+            kinds[i] = kindOf(msgs[i]);
+            Long gas = gasByKind.get(kinds[i]);
+            if (gas != null) {
+                known += gas;
+            } else if (unknown < 0) {
+                unknown = i;
+            } else {
+                return;
+            }
+        }
+
+        if (unknown >= 0) {
+            if (gasUsed > known) {
+                gasByKind.put(kinds[unknown], gasUsed - known);
+            }
+            return;
+        }
+        for (String kind : kinds) {
+            learn(kind, (long) Math.ceil((double) gasUsed * gasByKind.get(kind) / known));
+        }
+    }
+
+    public void observe(Message[] msgs, Response response) {
+        if (response != null && response.getCode() == 0) {
+            observe(msgs, response.getGasUsed());
+        }
+    }
+
+    public void observe(Message[] msgs, JSONObject result) {
+        if (!result.isEmpty() && result.getIntValue("code") == 0) {
+            observe(msgs, result.getLongValue("gas_used"));
+        }
+    }
+
+    public void clear() {
+        gasByKind.clear();
+    }
+
+    private long gasOfKind(Message msg) {
+        String kind = kindOf(msg);
+        Long gas = gasByKind.get(kind);
+        if (gas != null) {
+            return gas;
+        }
+        // two threads may simulate the same kind, the later answer wins
+        try {
+            long simulated = simulator.simulate(new Message[]{msg});
+            gasByKind.put(kind, simulated);
+            return simulated;
+        } catch (Exception e) {
+            throw new IllegalStateException("simulate " + msg.getType() + " failed: " + e.getMessage(), e);
+        }
+    }
+
+    private void learn(String kind, long observed) {
+        gasByKind.merge(kind, observed, GasEstimator::decay);
+    }
+
+    private static Long decay(Long cached, Long observed) {
+        return observed >= cached ? observed : cached - ((cached - observed) >> DECAY_SHIFT);
+    }
+
+    static String kindOf(Message msg) {
+        return msg.getType() + "#" + (32 - Integer.numberOfLeadingZeros(TxPacker.sizeOf(msg)));
+    }
+
+    public double getMultiplier() {
+        return multiplier;
+    }
+
+    public void setMultiplier(double multiplier) {
+        this.multiplier = multiplier;
+    }
+}
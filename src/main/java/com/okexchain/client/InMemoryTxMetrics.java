@@ -0,0 +1,286 @@
+package com.okexchain.client;
+
+import com.alibaba.fastjson.JSONObject;
+
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * InMemoryTxMetrics keeps the metrics of the tx pipeline in memory. Timings go to histograms with power of two
+ * buckets, so recording is a few atomic increments. {@link #snapshot()} copies the current values, e.g. to be
+ * pushed to a monitoring system periodically.
+ */
+public class InMemoryTxMetrics implements TxMetrics {
+
+    // bucket i counts the durations of i significant bits, that is below 2^i nanoseconds
+    private static final int BUCKETS = 64;
+
+    private static class Timer {
+        final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+        final LongAdder count = new LongAdder();
+        final LongAdder total = new LongAdder();
+        final AtomicLong max = new AtomicLong();
+
+        void record(long nanos) {
+            if (nanos < 0) {
+                nanos = 0;
+            }
+            buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(nanos));
+            count.increment();
+            total.add(nanos);
+            max.accumulateAndGet(nanos, Math::max);
+        }
+
+        void reset() {
+            for (int i = 0; i < BUCKETS; i++) {
+                buckets.set(i, 0);
+            }
+            count.reset();
+            total.reset();
+            max.set(0);
+        }
+
+        TimerSnapshot snapshot() {
+            long[] counts = new long[BUCKETS];
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] = buckets.get(i);
+            }
+            return new TimerSnapshot(count.sum(), total.sum(), max.get(), counts);
+        }
+    }
+
+    private final Map<Stage, Timer> timers = new EnumMap<>(Stage.class);
+    private final LongAdder succeeded = new LongAdder();
+    // codespace:code -> number of txs
+    private final ConcurrentHashMap<String, LongAdder> errors = new ConcurrentHashMap<>();
+    private final LongAdder transportErrors = new LongAdder();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicInteger maxInFlight = new AtomicInteger();
+    private final LongAdder bytesSent = new LongAdder();
+    private final LongAdder bytesReceived = new LongAdder();
+
+    public InMemoryTxMetrics() {
+        for (Stage stage : Stage.values()) {
+            timers.put(stage, new Timer());
+        }
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public long start() {
+        return System.nanoTime();
+    }
+
+    @Override
+    public void record(Stage stage, long nanos) {
+        timers.get(stage).record(nanos);
+    }
+
+    @Override
+    public void inFlight(int delta) {
+        int current = inFlight.addAndGet(delta);
+        if (delta > 0) {
+            maxInFlight.accumulateAndGet(current, Math::max);
+        }
+    }
+
+    @Override
+    public void result(String codespace, int code) {
+        if (code == 0) {
+            succeeded.increment();
+            return;
+        }
+        errors.computeIfAbsent((codespace == null ? "" : codespace) + ":" + code, k -> new LongAdder()).increment();
+    }
+
+    @Override
+    public void transportError() {
+        transportErrors.increment();
+    }
+
+    @Override
+    public void bytesSent(long bytes) {
+        bytesSent.add(bytes);
+    }
+
+    @Override
+    public void bytesReceived(long bytes) {
+        bytesReceived.add(bytes);
+    }
+
+    public Snapshot snapshot() {
+        Map<Stage, TimerSnapshot> stages = new EnumMap<>(Stage.class);
+        for (Map.Entry<Stage, Timer> entry : timers.entrySet()) {
+            stages.put(entry.getKey(), entry.getValue().snapshot());
+        }
+        Map<String, Long> errorCounts = new TreeMap<>();
+        for (Map.Entry<String, LongAdder> entry : errors.entrySet()) {
+            errorCounts.put(entry.getKey(), entry.getValue().sum());
+        }
+        return new Snapshot(stages, succeeded.sum(), errorCounts, transportErrors.sum(), inFlight.get(),
+                maxInFlight.get(), bytesSent.sum(), bytesReceived.sum());
+    }
+
+    /**
+     * Clears the timers and counters. The in flight gauge is kept as txs may still be pending.
+     */
+    public void reset() {
+        for (Timer timer : timers.values()) {
+            timer.reset();
+        }
+        succeeded.reset();
+        errors.clear();
+        transportErrors.reset();
+        maxInFlight.set(inFlight.get());
+        bytesSent.reset();
+        bytesReceived.reset();
+    }
+
+    public static class TimerSnapshot {
+        private final long count;
+        private final long totalNanos;
+        private final long maxNanos;
+        private final long[] buckets;
+
+        TimerSnapshot(long count, long totalNanos, long maxNanos, long[] buckets) {
+            this.count = count;
+            this.totalNanos = totalNanos;
+            this.maxNanos = maxNanos;
+            this.buckets = buckets;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public long getTotalNanos() {
+            return totalNanos;
+        }
+
+        public long getMaxNanos() {
+            return maxNanos;
+        }
+
+        public long getMeanNanos() {
+            return count == 0 ? 0 : totalNanos / count;
+        }
+
+        /**
+         * Returns an upper bound of the given percentile, at most twice the exact value.
+         *
+         * @param percentile between 0 and 100
+         */
+        public long getPercentileNanos(double percentile) {
+            long seen = 0;
+            long total = 0;
+            for (long bucket : buckets) {
+                total += bucket;
+            }
+            long rank = (long) Math.ceil(total * percentile / 100);
+            for (int i = 0; i < BUCKETS; i++) {
+                seen += buckets[i];
+                if (seen >= rank && seen > 0) {
+                    return i >= 63 ? maxNanos : Math.min((1L << i) - 1, maxNanos);
+                }
+            }
+            return 0;
+        }
+    }
+
+    public static class Snapshot {
+        private final Map<Stage, TimerSnapshot> stages;
+        private final long succeeded;
+        private final Map<String, Long> errors;
+        private final long transportErrors;
+        private final int inFlight;
+        private final int maxInFlight;
+        private final long bytesSent;
+        private final long bytesReceived;
+
+        Snapshot(Map<Stage, TimerSnapshot> stages, long succeeded, Map<String, Long> errors, long transportErrors,
+                 int inFlight, int maxInFlight, long bytesSent, long bytesReceived) {
+            this.stages = Collections.unmodifiableMap(stages);
+            this.succeeded = succeeded;
+            this.errors = Collections.unmodifiableMap(errors);
+            this.transportErrors = transportErrors;
+            this.inFlight = inFlight;
+            this.maxInFlight = maxInFlight;
+            this.bytesSent = bytesSent;
+            this.bytesReceived = bytesReceived;
+        }
+
+        public TimerSnapshot getStage(Stage stage) {
+            return stages.get(stage);
+        }
+
+        public long getSucceeded() {
+            return succeeded;
+        }
+
+        /**
+         * Returns the number of failed txs by "codespace:code".
+         */
+        public Map<String, Long> getErrors() {
+            return errors;
+        }
+
+        public long getTransportErrors() {
+            return transportErrors;
+        }
+
+        public int getInFlight() {
+            return inFlight;
+        }
+
+        public int getMaxInFlight() {
+            return maxInFlight;
+        }
+
+        public long getBytesSent() {
+            return bytesSent;
+        }
+
+        public long getBytesReceived() {
+            return bytesReceived;
+        }
+
+        /**
+         * Exports the snapshot as json, durations in microseconds.
+         */
+        public JSONObject toJSON() {
+            JSONObject timings = new JSONObject(true);
+            for (Map.Entry<Stage, TimerSnapshot> entry : stages.entrySet()) {
+                TimerSnapshot timer = entry.getValue();
+                if (timer.getCount() == 0) {
+                    continue;
+                }
+                timings.put(entry.getKey().name().toLowerCase(), new JSONObject(true)
+                        .fluentPut("count", timer.getCount())
+                        .fluentPut("mean_us", timer.getMeanNanos() / 1000)
+                        .fluentPut("p50_us", timer.getPercentileNanos(50) / 1000)
+                        .fluentPut("p99_us", timer.getPercentileNanos(99) / 1000)
+                        .fluentPut("max_us", timer.getMaxNanos() / 1000));
+            }
+            return new JSONObject(true)
+                    .fluentPut("stages", timings)
+                    .fluentPut("succeeded", succeeded)
+                    .fluentPut("errors", errors)
+                    .fluentPut("transport_errors", transportErrors)
+                    .fluentPut("in_flight", inFlight)
+                    .fluentPut("max_in_flight", maxInFlight)
+                    .fluentPut("bytes_sent", bytesSent)
+                    .fluentPut("bytes_received", bytesReceived);
+        }
+    }
+}
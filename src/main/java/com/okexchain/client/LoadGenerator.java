@@ -0,0 +1,503 @@
+package com.okexchain.client;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.okexchain.env.ChainContext;
+import com.okexchain.msg.MsgBase;
+import com.okexchain.msg.ammswap.AmmSwapMessages;
+import com.okexchain.msg.farm.FarmMessages;
+import com.okexchain.msg.order.OrderItem;
+import com.okexchain.msg.order.OrderMessages;
+import com.okexchain.msg.token.TokenMessages;
+import com.okexchain.msg.tx.BroadcastMode;
+import com.okexchain.utils.AsyncHttpTransport;
+import com.okexchain.utils.crypto.Crypto;
+import com.okexchain.utils.crypto.PrivateKey;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * LoadGenerator drives a weighted mix of messages through a {@link SenderPool} at a target rate and reports the
+ * throughput, the latency of every stage of the tx pipeline and the errors by code.
+ * <p>
+ * Txs are scheduled open loop: the i-th tx is due at {@code i / rate} seconds, whatever happened to the previous
+ * ones, and at most {@code concurrency} txs are in flight. A tx that could not be sent within one interval of its
+ * due time is counted as late, a sign that the client or the node cannot keep up with the rate. Signing is done
+ * by the sending threads, so use several threads when the rate is above what one core can sign.
+ * <p>
+ * The txs of an account carry consecutive sequences. With more txs in flight than accounts the node may get them
+ * out of order and answer with sequence mismatches, which are retried by {@link MsgBase} and reported with the
+ * errors, as the error counts are per answer of the node and not per tx.
+ * <p>
+ * Run {@code main} with {@code --mock} to measure the client alone against a {@link MockNode}, or with
+ * {@code --url} and {@code --keys} against a real node.
+ */
+public class LoadGenerator {
+
+    public static final int DEFAULT_CONCURRENCY = 64;
+    public static final int DEFAULT_THREADS = 1;
+    public static final long DEFAULT_DURATION_MILLIS = 30000;
+    public static final String DEFAULT_FEE = "0.01";
+    public static final String DEFAULT_GAS = "200000";
+
+    /**
+     * A weighted set of messages. The messages are picked in a fixed interleaved order, so that two runs of
+     * the same mix send the same sequence of message types.
+     */
+    public static class Mix {
+
+        public static final String DEFAULT_SEND_AMOUNT = "0.001";
+        public static final String DEFAULT_PRODUCT = "btc-000_okt";
+        public static final String DEFAULT_PRICE = "0.1";
+        public static final String DEFAULT_QUANTITY = "1";
+        public static final String DEFAULT_SWAP_AMOUNT = "0.001";
+        public static final String DEFAULT_SWAP_DENOM = "usdk-000";
+        public static final String DEFAULT_POOL = "okt_pool";
+        public static final String DEFAULT_LOCK_AMOUNT = "0.001";
+
+        private final List<String> names = new ArrayList<>();
+        private final List<SenderPool.MessageBuilder> builders = new ArrayList<>();
+        // slot -> index of the message sent in that slot
+        private int[] slots = new int[0];
+
+        /**
+         * Adds a message sent {@code weight} times out of the sum of the weights.
+         */
+        public Mix add(String name, int weight, SenderPool.MessageBuilder builder) {
+            if (weight <= 0) {
+                throw new IllegalArgumentException("weight of " + name + " must be positive");
+            }
+            int index = names.size();
+            names.add(name);
+            builders.add(builder);
+
+            // spread the new slots evenly between the existing ones
+            int[] next = new int[slots.length + weight];
+            for (int i = 0, old = 0, added = 0; i < next.length; i++) {
+                if (added < weight && (long) added * next.length <= (long) i * weight) {
+                    next[i] = index;
+                    added++;
+                } else {
+                    next[i] = slots[old++];
+                }
+            }
+            slots = next;
+            return this;
+        }
+
+        public List<String> getNames() {
+            return Collections.unmodifiableList(names);
+        }
+
+        public int size() {
+            return names.size();
+        }
+
+        int pick(long n) {
+            return slots[(int) (n % slots.length)];
+        }
+
+        SenderPool.MessageBuilder builder(int index) {
+            return builders.get(index);
+        }
+
+        /**
+         * A transfer of {@code amount} of the chain denom to the lane itself.
+         */
+        public static SenderPool.MessageBuilder send(String amount) {
+            return lane -> TokenMessages.transfer(lane.getAccount().getContext(), lane.getAddress(), lane.getAddress(), amount);
+        }
+
+        public static SenderPool.MessageBuilder newOrder(String product, String price, String quantity) {
+            return lane -> OrderMessages.newOrders(lane.getAddress(),
+                    Collections.singletonList(new OrderItem(price, product, quantity, "BUY")));
+        }
+
+        /**
+         * Swaps {@code amount} of the chain denom to {@code boughtDenom} with no minimum, to the lane itself.
+         */
+        public static SenderPool.MessageBuilder swapToken(String amount, String boughtDenom) {
+            return lane -> AmmSwapMessages.swapToken(lane.getAddress(), "PT10M", lane.getAddress(),
+                    "0", boughtDenom, amount, lane.getAccount().getContext().getDenom());
+        }
+
+        public static SenderPool.MessageBuilder lock(String poolName, String amount) {
+            return lane -> FarmMessages.lock(lane.getAddress(), poolName, amount, lane.getAccount().getContext().getDenom());
+        }
+
+        /**
+         * Parses a mix such as {@code "send=5,orders=2,swap=1,lock=1"}. The messages are built with the DEFAULT_*
+         * parameters of this class: send, orders, swap and lock are available.
+         */
+        public static Mix parse(String spec) {
+            Mix mix = new Mix();
+            for (String entry : spec.split(",")) {
+                String[] parts = entry.trim().split("=");
+                String name = parts[0].trim();
+                int weight = parts.length > 1 ? Integer.parseInt(parts[1].trim()) : 1;
+                switch (name) {
+                    case "send":
+                        mix.add(name, weight, send(DEFAULT_SEND_AMOUNT));
+                        break;
+                    case "orders":
+                        mix.add(name, weight, newOrder(DEFAULT_PRODUCT, DEFAULT_PRICE, DEFAULT_QUANTITY));
+                        break;
+                    case "swap":
+                        mix.add(name, weight, swapToken(DEFAULT_SWAP_AMOUNT, DEFAULT_SWAP_DENOM));
+                        break;
+                    case "lock":
+                        mix.add(name, weight, lock(DEFAULT_POOL, DEFAULT_LOCK_AMOUNT));
+                        break;
+                    default:
+                        throw new IllegalArgumentException("unknown message in mix: " + name);
+                }
+            }
+            return mix;
+        }
+    }
+
+    private final SenderPool pool;
+    private final InMemoryTxMetrics metrics = new InMemoryTxMetrics();
+
+    private Mix mix = Mix.parse("send");
+    private int concurrency = DEFAULT_CONCURRENCY;
+    private int threads = DEFAULT_THREADS;
+    private double rate;
+    private long durationMillis = DEFAULT_DURATION_MILLIS;
+    private long maxTxs;
+    private String fee = DEFAULT_FEE;
+    private String gas = DEFAULT_GAS;
+
+    /**
+     * The metrics of the accounts of the pool are replaced by the ones of this generator.
+     */
+    public LoadGenerator(SenderPool pool) {
+        this.pool = pool;
+        for (SenderPool.Lane lane : pool.getLanes()) {
+            lane.getAccount().setMetrics(metrics);
+        }
+    }
+
+    public void setMix(Mix mix) {
+        if (mix.size() == 0) {
+            throw new IllegalArgumentException("mix is empty");
+        }
+        this.mix = mix;
+    }
+
+    /**
+     * Sets the maximum number of txs in flight.
+     */
+    public void setConcurrency(int concurrency) {
+        this.concurrency = concurrency;
+    }
+
+    /**
+     * Sets the number of threads building and signing txs.
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Sets the target rate in txs per second, 0 sends as fast as the concurrency allows.
+     */
+    public void setRate(double rate) {
+        this.rate = rate;
+    }
+
+    public void setDuration(long duration, TimeUnit unit) {
+        this.durationMillis = unit.toMillis(duration);
+    }
+
+    /**
+     * Stops after this number of txs even if the duration is not over, 0 for no limit.
+     */
+    public void setMaxTxs(long maxTxs) {
+        this.maxTxs = maxTxs;
+    }
+
+    public void setFee(String fee) {
+        this.fee = fee;
+    }
+
+    public void setGas(String gas) {
+        this.gas = gas;
+    }
+
+    public void setBroadcastMode(BroadcastMode mode) {
+        for (SenderPool.Lane lane : pool.getLanes()) {
+            lane.getAccount().setBroadcastMode(mode);
+        }
+    }
+
+    /**
+     * Sends the load and waits for the last tx to complete.
+     */
+    public Report run() throws InterruptedException {
+        metrics.reset();
+        final Semaphore permits = new Semaphore(concurrency);
+        final AtomicLong next = new AtomicLong();
+        final LongAdder late = new LongAdder();
+        final LongAdder failed = new LongAdder();
+        final LongAdder[] sent = new LongAdder[mix.size()];
+        for (int i = 0; i < sent.length; i++) {
+            sent[i] = new LongAdder();
+        }
+        final long interval = rate > 0 ? (long) (TimeUnit.SECONDS.toNanos(1) / rate) : 0;
+        final long start = System.nanoTime();
+        final long deadline = start + TimeUnit.MILLISECONDS.toNanos(durationMillis);
+
+        Runnable sender = () -> {
+            while (true) {
+                long n = next.getAndIncrement();
+                if (maxTxs > 0 && n >= maxTxs) {
+                    return;
+                }
+                long due = start + n * interval;
+                if (due >= deadline) {
+                    return;
+                }
+                for (long wait = due - System.nanoTime(); wait > 0; wait = due - System.nanoTime()) {
+                    LockSupport.parkNanos(wait);
+                }
+                try {
+                    permits.acquire();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    return;
+                }
+                long now = System.nanoTime();
+                if (now >= deadline) {
+                    permits.release();
+                    return;
+                }
+                if (interval > 0 && now - due > interval) {
+                    late.increment();
+                }
+                int index = mix.pick(n);
+                sent[index].increment();
+                pool.submit(mix.builder(index), fee, gas, "").whenComplete((response, error) -> {
+                    if (error != null) {
+                        failed.increment();
+                    }
+                    permits.release();
+                });
+            }
+        };
+
+        List<Thread> workers = new ArrayList<>(threads);
+        for (int i = 0; i < threads; i++) {
+            Thread worker = new Thread(sender, "load-generator-" + i);
+            worker.setDaemon(true);
+            workers.add(worker);
+            worker.start();
+        }
+        for (Thread worker : workers) {
+            worker.join();
+        }
+        permits.acquire(concurrency);
+        long elapsed = System.nanoTime() - start;
+
+        Map<String, Long> sentByMessage = new LinkedHashMap<>();
+        for (int i = 0; i < sent.length; i++) {
+            sentByMessage.put(mix.getNames().get(i), sent[i].sum());
+        }
+        return new Report(elapsed, rate, sentByMessage, late.sum(), failed.sum(), metrics.snapshot());
+    }
+
+    public static class Report {
+        private final long elapsedNanos;
+        private final double targetRate;
+        private final Map<String, Long> sent;
+        private final long late;
+        private final long failed;
+        private final InMemoryTxMetrics.Snapshot metrics;
+
+        Report(long elapsedNanos, double targetRate, Map<String, Long> sent, long late, long failed,
+               InMemoryTxMetrics.Snapshot metrics) {
+            this.elapsedNanos = elapsedNanos;
+            this.targetRate = targetRate;
+            this.sent = Collections.unmodifiableMap(sent);
+            this.late = late;
+            this.failed = failed;
+            this.metrics = metrics;
+        }
+
+        public long getElapsedNanos() {
+            return elapsedNanos;
+        }
+
+        /**
+         * Returns the number of txs sent by message name of the mix.
+         */
+        public Map<String, Long> getSent() {
+            return sent;
+        }
+
+        public long getSentTotal() {
+            long total = 0;
+            for (long count : sent.values()) {
+                total += count;
+            }
+            return total;
+        }
+
+        /**
+         * Returns the number of txs accepted by the node per second.
+         */
+        public double getThroughput() {
+            return elapsedNanos == 0 ? 0 : metrics.getSucceeded() * 1e9 / elapsedNanos;
+        }
+
+        public long getLate() {
+            return late;
+        }
+
+        /**
+         * Returns the number of txs that failed before getting an answer from the node, e.g. on a transport
+         * error. Txs answered with an error code are in {@link InMemoryTxMetrics.Snapshot#getErrors()}.
+         */
+        public long getFailed() {
+            return failed;
+        }
+
+        public InMemoryTxMetrics.Snapshot getMetrics() {
+            return metrics;
+        }
+
+        /**
+         * Exports the report as json, durations in microseconds.
+         */
+        public JSONObject toJSON() {
+            JSONObject stages = new JSONObject(true);
+            for (TxMetrics.Stage stage : TxMetrics.Stage.values()) {
+                InMemoryTxMetrics.TimerSnapshot timer = metrics.getStage(stage);
+                if (timer.getCount() == 0) {
+                    continue;
+                }
+                stages.put(stage.name().toLowerCase(), new JSONObject(true)
+                        .fluentPut("count", timer.getCount())
+                        .fluentPut("mean_us", timer.getMeanNanos() / 1000)
+                        .fluentPut("p50_us", timer.getPercentileNanos(50) / 1000)
+                        .fluentPut("p99_us", timer.getPercentileNanos(99) / 1000)
+                        .fluentPut("p999_us", timer.getPercentileNanos(99.9) / 1000)
+                        .fluentPut("max_us", timer.getMaxNanos() / 1000));
+            }
+            return new JSONObject(true)
+                    .fluentPut("elapsed_ms", TimeUnit.NANOSECONDS.toMillis(elapsedNanos))
+                    .fluentPut("target_rate", targetRate)
+                    .fluentPut("throughput", Math.round(getThroughput() * 10) / 10.0)
+                    .fluentPut("sent", sent)
+                    .fluentPut("late", late)
+                    .fluentPut("succeeded", metrics.getSucceeded())
+                    .fluentPut("errors", metrics.getErrors())
+                    .fluentPut("transport_errors", metrics.getTransportErrors())
+                    .fluentPut("failed", failed)
+                    .fluentPut("max_in_flight", metrics.getMaxInFlight())
+                    .fluentPut("stages", stages);
+        }
+    }
+
+    /**
+     * Options, all but one of --mock and --url are optional:
+     * <pre>
+     * --mock                 run against an in-process MockNode with generated accounts
+     * --url URL              rest server of a real node
+     * --chain-id ID          chain id of the real node
+     * --keys FILE            private keys or mnemonics of the senders, one per line
+     * --accounts N           number of generated senders with --mock (default 8)
+     * --mix SPEC             e.g. send=5,orders=2,swap=1,lock=1 (default send)
+     * --rate TPS             target rate, 0 for as fast as possible (default 0)
+     * --concurrency N        txs in flight (default 64)
+     * --threads N            signing threads (default 1)
+     * --duration SECONDS     (default 30)
+     * --txs N                stop after N txs
+     * --mode sync|async|block  broadcast mode (default sync)
+     * --verbose              print every tx and answer, see MsgBase#setPrintTxs
+     * </pre>
+     */
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = new LinkedHashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("unexpected argument " + args[i]);
+            }
+            String name = args[i].substring(2);
+            boolean flag = name.equals("mock") || name.equals("verbose");
+            options.put(name, flag ? "true" : args[++i]);
+        }
+
+        MockNode node = null;
+        ChainContext context;
+        List<PrivateKey> keys = new ArrayList<>();
+        if (options.containsKey("mock")) {
+            node = new MockNode().start();
+            context = node.getContext();
+            int accounts = Integer.parseInt(options.getOrDefault("accounts", "8"));
+            for (int i = 0; i < accounts; i++) {
+                keys.add(new PrivateKey(Crypto.generatePrivateKey()));
+            }
+        } else if (options.containsKey("url")) {
+            ChainContext.Builder builder = ChainContext.builder().restServerUrl(options.get("url"));
+            if (options.containsKey("chain-id")) {
+                builder.chainID(options.get("chain-id"));
+            }
+            context = builder.build();
+            if (!options.containsKey("keys")) {
+                throw new IllegalArgumentException("--keys is required with --url");
+            }
+            for (String line : Files.readAllLines(Paths.get(options.get("keys")), StandardCharsets.UTF_8)) {
+                if (!line.trim().isEmpty()) {
+                    keys.add(new PrivateKey(line.trim()));
+                }
+            }
+        } else {
+            throw new IllegalArgumentException("either --mock or --url is required");
+        }
+
+        // a transport of its own, closed at the end so that the JVM can exit
+        AsyncHttpTransport transport = new AsyncHttpTransport();
+        context = context.toBuilder().asyncTransport(transport).build();
+
+        MsgBase.setPrintTxs(options.containsKey("verbose"));
+        try {
+            List<MsgBase> accounts = new ArrayList<>(keys.size());
+            for (PrivateKey key : keys) {
+                MsgBase account = new MsgBase();
+                account.setContext(context);
+                account.init(key);
+                accounts.add(account);
+            }
+
+            LoadGenerator generator = new LoadGenerator(new SenderPool(accounts));
+            generator.setMix(Mix.parse(options.getOrDefault("mix", "send")));
+            generator.setRate(Double.parseDouble(options.getOrDefault("rate", "0")));
+            generator.setConcurrency(Integer.parseInt(options.getOrDefault("concurrency", String.valueOf(DEFAULT_CONCURRENCY))));
+            generator.setThreads(Integer.parseInt(options.getOrDefault("threads", String.valueOf(DEFAULT_THREADS))));
+            generator.setDuration(Long.parseLong(options.getOrDefault("duration", "30")), TimeUnit.SECONDS);
+            generator.setMaxTxs(Long.parseLong(options.getOrDefault("txs", "0")));
+            generator.setBroadcastMode(BroadcastMode.valueOf(options.getOrDefault("mode", "sync").toUpperCase()));
+
+            Report report = generator.run();
+            System.out.println(JSON.toJSONString(report.toJSON(), true));
+        } finally {
+            transport.close();
+            if (node != null) {
+                node.close();
+            }
+        }
+    }
+}
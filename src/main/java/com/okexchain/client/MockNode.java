@@ -0,0 +1,461 @@
+package com.okexchain.client;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.okexchain.env.ChainContext;
+import com.okexchain.msg.tx.BroadcastTx;
+import com.okexchain.utils.crypto.Crypto;
+import com.okexchain.utils.encoding.CodecInstance;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.bitcoinj.core.ECKey;
+import org.bouncycastle.util.encoders.Base64;
+import org.bouncycastle.util.encoders.Hex;
+import org.web3j.crypto.Hash;
+
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * MockNode is an in-process rest node for load and latency tests without a chain. It serves the account and
+ * tx endpoints of a {@link ChainContext} on a local port:
+ * <ul>
+ * <li>GET  {restPathPrefix}{accountUrlPath}{address} returns the account, created on first use</li>
+ * <li>POST {txUrlPath} checks the signature over the canonical sign bytes with the expected sequence,
+ * applies the tx and answers like the node does in the requested broadcast mode</li>
+ * <li>GET  {txUrlPath}/{hash} returns a committed tx</li>
+ * <li>POST {simulateUrlPath} returns a gas estimate</li>
+ * </ul>
+ * Every committed tx gets a block of its own. Latency, dropped connections and rejected txs can be injected.
+ * Messages are not executed: balances are not tracked, only the account sequences.
+ */
+public class MockNode implements Closeable {
+
+    public static final int DEFAULT_THREADS = 32;
+
+    // gas reported as used by a tx, per tx and per message
+    private static final long BASE_GAS = 30000;
+    private static final long GAS_PER_MSG = 20000;
+
+    private static final ObjectMapper CANONICAL = new ObjectMapper()
+            .configure(SerializationFeature.ORDER_MAP_ENTRIES_BY_KEYS, true);
+
+    public static class Account {
+        private final String address;
+        private final long accountNumber;
+        private long sequence;
+
+        Account(String address, long accountNumber, long sequence) {
+            this.address = address;
+            this.accountNumber = accountNumber;
+            this.sequence = sequence;
+        }
+
+        public String getAddress() {
+            return address;
+        }
+
+        public long getAccountNumber() {
+            return accountNumber;
+        }
+
+        public synchronized long getSequence() {
+            return sequence;
+        }
+    }
+
+    private final ChainContext template;
+    private final ConcurrentHashMap<String, Account> accounts = new ConcurrentHashMap<>();
+    private final ConcurrentHashMap<String, String> committed = new ConcurrentHashMap<>();
+    private final AtomicLong nextAccountNumber = new AtomicLong(1);
+    private final AtomicLong height = new AtomicLong();
+    private final AtomicLong rejected = new AtomicLong();
+    private final AtomicLong broadcasts = new AtomicLong();
+
+    private volatile long minLatency;
+    private volatile long maxLatency;
+    private volatile double dropRate;
+    private volatile double rejectRate;
+    private volatile boolean verifySignatures = true;
+    private int threads = DEFAULT_THREADS;
+
+    private HttpServer server;
+    private ExecutorService executor;
+    private ChainContext context;
+
+    /**
+     * A node with the chain id, prefixes and paths of the default {@link ChainContext}.
+     */
+    public MockNode() {
+        this(ChainContext.builder().build());
+    }
+
+    /**
+     * A node with the chain id, prefixes and paths of the given context; its rest server url is ignored.
+     */
+    public MockNode(ChainContext template) {
+        this.template = template;
+    }
+
+    /**
+     * Starts serving on a free local port.
+     */
+    public synchronized MockNode start() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 1024);
+        executor = Executors.newFixedThreadPool(threads, r -> {
+            Thread t = new Thread(r, "okexchain-mock-node");
+            t.setDaemon(true);
+            return t;
+        });
+        server.setExecutor(executor);
+        server.createContext("/", this::handle);
+        server.start();
+        context = template.toBuilder().restServerUrl(getUrl()).build();
+        return this;
+    }
+
+    public String getUrl() {
+        return "http://127.0.0.1:" + server.getAddress().getPort();
+    }
+
+    /**
+     * Returns a context pointing at this node, with its own account caches.
+     */
+    public ChainContext getContext() {
+        return context;
+    }
+
+    @Override
+    public synchronized void close() {
+        if (server != null) {
+            server.stop(0);
+            executor.shutdownNow();
+            server = null;
+        }
+    }
+
+    /**
+     * Delays every answer by a random time between min and max milliseconds.
+     */
+    public void setLatency(long minMillis, long maxMillis) {
+        this.minLatency = minMillis;
+        this.maxLatency = Math.max(minMillis, maxMillis);
+    }
+
+    /**
+     * Share of the requests whose connection is closed without an answer, between 0 and 1.
+     */
+    public void setDropRate(double dropRate) {
+        this.dropRate = dropRate;
+    }
+
+    /**
+     * Share of the valid txs rejected with an insufficient funds error, between 0 and 1. The sequence of a
+     * rejected tx is not used.
+     */
+    public void setRejectRate(double rejectRate) {
+        this.rejectRate = rejectRate;
+    }
+
+    /**
+     * Turns the signature check off, e.g. to measure the client alone at rates the check would limit.
+     */
+    public void setVerifySignatures(boolean verifySignatures) {
+        this.verifySignatures = verifySignatures;
+    }
+
+    /**
+     * Sets the number of threads answering requests, before {@link #start()}.
+     */
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Returns the account, creating it with the next account number and sequence 0.
+     */
+    public Account getAccount(String address) {
+        return accounts.computeIfAbsent(address, a -> new Account(a, nextAccountNumber.getAndIncrement(), 0));
+    }
+
+    public void setAccount(String address, long accountNumber, long sequence) {
+        accounts.put(address, new Account(address, accountNumber, sequence));
+    }
+
+    public long getHeight() {
+        return height.get();
+    }
+
+    public long getCommittedCount() {
+        return committed.size();
+    }
+
+    public long getRejectedCount() {
+        return rejected.get();
+    }
+
+    /**
+     * Returns the number of txs posted to the node, accepted or not.
+     */
+    public long getBroadcastCount() {
+        return broadcasts.get();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try {
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            long latency = maxLatency > minLatency ? random.nextLong(minLatency, maxLatency + 1) : minLatency;
+            if (latency > 0) {
+                Thread.sleep(latency);
+            }
+            if (dropRate > 0 && random.nextDouble() < dropRate) {
+                // no status line, the client sees the connection close
+                return;
+            }
+
+            String path = exchange.getRequestURI().getPath();
+            String method = exchange.getRequestMethod();
+            String accountPath = template.getRestPathPrefix() + template.getAccountUrlPath();
+            String txPath = template.getTxUrlPath();
+            if ("GET".equals(method) && path.startsWith(accountPath)) {
+                reply(exchange, 200, account(path.substring(accountPath.length())));
+            } else if ("POST".equals(method) && path.equals(template.getSimulateUrlPath())) {
+                reply(exchange, 200, simulate(read(exchange)));
+            } else if ("POST".equals(method) && path.equals(txPath)) {
+                reply(exchange, 200, broadcast(read(exchange)));
+            } else if ("GET".equals(method) && path.startsWith(txPath + "/")) {
+                String tx = committed.get(path.substring(txPath.length() + 1).toUpperCase());
+                if (tx == null) {
+                    reply(exchange, 404, new JSONObject().fluentPut("error", "tx not found").toJSONString());
+                } else {
+                    reply(exchange, 200, tx);
+                }
+            } else {
+                reply(exchange, 404, new JSONObject().fluentPut("error", "unknown path " + path).toJSONString());
+            }
+        } catch (Exception e) {
+            reply(exchange, 500, new JSONObject().fluentPut("error", String.valueOf(e.getMessage())).toJSONString());
+        } finally {
+            exchange.close();
+        }
+    }
+
+    private String account(String address) {
+        Account account = getAccount(address);
+        JSONObject value = new JSONObject(true)
+                .fluentPut("address", address)
+                .fluentPut("coins", new JSONArray())
+                .fluentPut("account_number", String.valueOf(account.getAccountNumber()))
+                .fluentPut("sequence", String.valueOf(account.getSequence()));
+        return new JSONObject(true).fluentPut("type", "okexchain/EthAccount").fluentPut("value", value).toJSONString();
+    }
+
+    private String simulate(String body) {
+        Map<String, Object> tx = txOf(CodecInstance.getCodec().toMap(body));
+        return new JSONObject().fluentPut("gas_estimate", gasOf(msgsOf(tx).size())).toJSONString();
+    }
+
+    private String broadcast(String body) throws Exception {
+        broadcasts.incrementAndGet();
+        Map<String, Object> request = CodecInstance.getCodec().toMap(body);
+        Map<String, Object> tx = txOf(request);
+        String mode = request.get("mode") == null ? "sync" : request.get("mode").toString();
+        String txHash = hashOf(body);
+
+        List<Map<String, Object>> signatures = listOf(tx.get("signatures"));
+        if (signatures.isEmpty()) {
+            return failure(txHash, 4, "unauthorized: no signatures");
+        }
+        Map<String, Object> pubKey = mapOf(signatures.get(0).get("pub_key"));
+        byte[] pubKeyBytes = Base64.decode(pubKey.get("value").toString());
+        String signer = Crypto.generateAddressFromPub(template, Hex.toHexString(pubKeyBytes));
+        Account account = getAccount(signer);
+
+        long txHeight;
+        synchronized (account) {
+            long sequence = account.sequence;
+            if (verifySignatures && !verify(tx, account.accountNumber, sequence, pubKeyBytes,
+                    Base64.decode(signatures.get(0).get("signature").toString()))) {
+                return failure(txHash, 4, "unauthorized: signature verification failed; verify correct account sequence"
+                        + " (expected " + sequence + ") and chain-id (" + template.getChainID() + ")");
+            }
+            if (rejectRate > 0 && ThreadLocalRandom.current().nextDouble() < rejectRate) {
+                rejected.incrementAndGet();
+                return failure(txHash, 5, "insufficient funds: insufficient account funds");
+            }
+            account.sequence = sequence + 1;
+            txHeight = height.incrementAndGet();
+        }
+
+        List<Map<String, Object>> msgs = msgsOf(tx);
+        JSONArray logs = new JSONArray();
+        // order IDs are numbered across all the messages of the tx, like the chain does
+        AtomicInteger orderNumber = new AtomicInteger();
+        for (int i = 0; i < msgs.size(); i++) {
+            logs.add(logOf(i, msgs.get(i), signer, txHeight, orderNumber));
+        }
+        String gas = mapOf(tx.get("fee")).get("gas") == null ? "0" : mapOf(tx.get("fee")).get("gas").toString();
+        JSONObject result = new JSONObject(true)
+                .fluentPut("height", String.valueOf(txHeight))
+                .fluentPut("txhash", txHash)
+                .fluentPut("raw_log", logs.toJSONString())
+                .fluentPut("logs", logs)
+                .fluentPut("gas_wanted", gas)
+                .fluentPut("gas_used", String.valueOf(gasOf(msgs.size())));
+        String answer = result.toJSONString();
+        committed.put(txHash, answer);
+
+        if ("block".equals(mode)) {
+            return answer;
+        }
+        // sync and async answer before the tx is in a block
+        return new JSONObject(true).fluentPut("height", "0").fluentPut("txhash", txHash)
+                .fluentPut("raw_log", "[]").toJSONString();
+    }
+
+    /**
+     * Rebuilds the sign bytes of the tx from the posted json with the sequence the node expects and checks
+     * the keccak256 ECDSA signature against them.
+     */
+    private boolean verify(Map<String, Object> tx, long accountNumber, long sequence, byte[] pubKey, byte[] signature)
+            throws IOException {
+        Map<String, Object> data = new TreeMap<>();
+        data.put("account_number", String.valueOf(accountNumber));
+        data.put("chain_id", template.getChainID());
+        data.put("fee", tx.get("fee"));
+        data.put("memo", tx.get("memo") == null ? "" : tx.get("memo"));
+        data.put("msgs", tx.get("msg"));
+        data.put("sequence", String.valueOf(sequence));
+        byte[] signBytes = CANONICAL.writeValueAsBytes(data);
+        if (signature.length != 64) {
+            return false;
+        }
+        BigInteger r = new BigInteger(1, Arrays.copyOfRange(signature, 0, 32));
+        BigInteger s = new BigInteger(1, Arrays.copyOfRange(signature, 32, 64));
+        try {
+            return ECKey.verify(Hash.sha3(signBytes), new ECKey.ECDSASignature(r, s), pubKey);
+        } catch (RuntimeException e) {
+            return false;
+        }
+    }
+
+    private JSONObject logOf(int index, Map<String, Object> msg, String signer, long txHeight,
+                             AtomicInteger orderNumber) {
+        String type = String.valueOf(msg.get("type"));
+        String[] parts = type.split("/");
+        String name = parts[parts.length - 1];
+        String action = (name.startsWith("Msg") ? name.substring(3) : name).toLowerCase();
+
+        JSONArray attributes = new JSONArray();
+        attributes.add(attribute("action", action));
+        attributes.add(attribute("sender", signer));
+        if (parts.length > 1) {
+            attributes.add(attribute("module", parts[1]));
+        }
+        Map<String, Object> value = mapOf(msg.get("value"));
+        if (value.get("order_items") != null) {
+            JSONArray orders = new JSONArray();
+            List<Map<String, Object>> items = listOf(value.get("order_items"));
+            for (int i = 0; i < items.size(); i++) {
+                orders.add(new JSONObject(true)
+                        .fluentPut("orderid", String.format("ID%010d-%d", txHeight, orderNumber.incrementAndGet()))
+                        .fluentPut("error", ""));
+            }
+            attributes.add(attribute("orders", orders.toJSONString()));
+        } else if (value.get("order_ids") instanceof List) {
+            JSONArray orders = new JSONArray();
+            for (Object orderID : (List<?>) value.get("order_ids")) {
+                orders.add(new JSONObject(true).fluentPut("orderid", orderID).fluentPut("error", ""));
+            }
+            attributes.add(attribute("orders", orders.toJSONString()));
+        }
+
+        JSONArray events = new JSONArray();
+        events.add(new JSONObject(true).fluentPut("type", "message").fluentPut("attributes", attributes));
+        return new JSONObject(true).fluentPut("msg_index", index).fluentPut("log", "").fluentPut("events", events);
+    }
+
+    private static JSONObject attribute(String key, String value) {
+        return new JSONObject(true).fluentPut("key", key).fluentPut("value", value);
+    }
+
+    private static String failure(String txHash, int code, String rawLog) {
+        return new JSONObject(true).fluentPut("height", "0").fluentPut("txhash", txHash).fluentPut("code", code)
+                .fluentPut("codespace", "sdk").fluentPut("raw_log", rawLog).toJSONString();
+    }
+
+    private static long gasOf(int msgs) {
+        return BASE_GAS + GAS_PER_MSG * msgs;
+    }
+
+    /**
+     * Reports the hash the client computes for the tx, or a hash of the body for txs it can not read.
+     */
+    private static String hashOf(String body) throws Exception {
+        try {
+            return BroadcastTx.fromJson(body).txHash().toUpperCase();
+        } catch (Exception e) {
+            return Hex.toHexString(MessageDigest.getInstance("SHA-256")
+                    .digest(body.getBytes(StandardCharsets.UTF_8))).toUpperCase();
+        }
+    }
+
+    private static Map<String, Object> txOf(Map<String, Object> request) {
+        return mapOf(request.get("tx"));
+    }
+
+    private static List<Map<String, Object>> msgsOf(Map<String, Object> tx) {
+        return listOf(tx.get("msg"));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static Map<String, Object> mapOf(Object value) {
+        return value instanceof Map ? (Map<String, Object>) value : new TreeMap<>();
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<Map<String, Object>> listOf(Object value) {
+        return value instanceof List ? (List<Map<String, Object>>) value : new ArrayList<>();
+    }
+
+    private static String read(HttpExchange exchange) throws IOException {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        byte[] buf = new byte[4096];
+        try (InputStream in = exchange.getRequestBody()) {
+            for (int n; (n = in.read(buf)) > 0; ) {
+                out.write(buf, 0, n);
+            }
+        }
+        return new String(out.toByteArray(), StandardCharsets.UTF_8);
+    }
+
+    private static void reply(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", "application/json");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+}
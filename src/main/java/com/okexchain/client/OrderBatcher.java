@@ -0,0 +1,428 @@
+package com.okexchain.client;
+
+import com.alibaba.fastjson.JSONObject;
+import com.okexchain.msg.MsgBase;
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.order.MsgNewOrders;
+import com.okexchain.msg.order.OrderItem;
+import com.okexchain.msg.order.OrderMessages;
+import com.okexchain.msg.tx.BroadcastMode;
+import com.okexchain.msg.tx.EventIndex;
+import com.okexchain.msg.tx.Response;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * OrderBatcher collects order intents of one account, e.g. the quotes of a market maker, and sends them in
+ * as few txs as possible. Every tx starts with the cancels, so that the funds they free can back the new
+ * orders that follow in the same tx. Cancels and new orders are cut into messages of at most
+ * maxItemsPerMessage items, and at most maxMessagesPerTx messages go into a tx.
+ * <p>
+ * The batcher keeps the set of open orders it placed, learnt from the "orders" attribute of the new order
+ * messages of the committed tx. Order IDs are only known when the tx is broadcast in "block" mode.
+ * <p>
+ * The intents of a tx the node rejected are sent again by the next flush, behind the intents queued in the
+ * meantime, at most maxRetries times; after that they are dropped and listed in the result. A tx without an answer, e.g. on
+ * a transport error, may still have been committed: its result is {@link Status#UNKNOWN} and its intents are
+ * not sent again, the caller checks the chain before placing them anew.
+ */
+public class OrderBatcher {
+
+    public static final int DEFAULT_MAX_ITEMS_PER_MESSAGE = 200;
+    public static final int DEFAULT_MAX_MESSAGES_PER_TX = 2;
+    public static final long DEFAULT_BASE_GAS = 100000L;
+    public static final long DEFAULT_GAS_PER_ITEM = 20000L;
+    public static final int DEFAULT_MAX_RETRIES = 2;
+
+    public enum Status {
+        SUCCEED,
+        // the node answered with a non-zero code, nothing of the tx was applied
+        REJECTED,
+        // no answer, the tx may or may not have been committed
+        UNKNOWN
+    }
+
+    /**
+     * Outcome of one tx of a flush.
+     */
+    public static class Result {
+        private final List<String> cancelled;
+        private final List<OrderItem> placed;
+        private final List<String> orderIDs;
+        private final JSONObject response;
+        private final List<String> droppedCancels = new ArrayList<>();
+        private final List<OrderItem> droppedOrders = new ArrayList<>();
+
+        Result(List<String> cancelled, List<OrderItem> placed, List<String> orderIDs, JSONObject response) {
+            this.cancelled = cancelled;
+            this.placed = placed;
+            this.orderIDs = orderIDs;
+            this.response = response;
+        }
+
+        public Status getStatus() {
+            if (response.isEmpty()) {
+                return Status.UNKNOWN;
+            }
+            return response.getIntValue("code") == 0 ? Status.SUCCEED : Status.REJECTED;
+        }
+
+        public List<String> getCancelled() {
+            return cancelled;
+        }
+
+        public List<OrderItem> getPlaced() {
+            return placed;
+        }
+
+        /**
+         * Returns the IDs given to the placed items, in item order; empty when the tx failed or its logs
+         * were not returned.
+         */
+        public List<String> getOrderIDs() {
+            return orderIDs;
+        }
+
+        public JSONObject getResponse() {
+            return response;
+        }
+
+        public boolean isSucceed() {
+            return getStatus() == Status.SUCCEED;
+        }
+
+        /**
+         * Returns the cancels of a rejected tx that used up their retries and will not be sent again.
+         */
+        public List<String> getDroppedCancels() {
+            return droppedCancels;
+        }
+
+        /**
+         * Returns the orders of a rejected tx that used up their retries and will not be sent again.
+         */
+        public List<OrderItem> getDroppedOrders() {
+            return droppedOrders;
+        }
+    }
+
+    private final MsgBase account;
+
+    // open orders placed through the batcher, by order ID
+    private final Map<String, OrderItem> openOrders = new LinkedHashMap<>();
+    private final Set<String> pendingCancels = new LinkedHashSet<>();
+    private final List<OrderItem> pendingOrders = new ArrayList<>();
+    // intents of rejected txs, sent after the pending ones
+    private final Set<String> retryCancels = new LinkedHashSet<>();
+    private final List<OrderItem> retryOrders = new ArrayList<>();
+    // times the intents queued again were rejected
+    private final Map<String, Integer> cancelRejections = new HashMap<>();
+    private final Map<OrderItem, Integer> orderRejections = new IdentityHashMap<>();
+
+    private int maxItemsPerMessage = DEFAULT_MAX_ITEMS_PER_MESSAGE;
+    private int maxMessagesPerTx = DEFAULT_MAX_MESSAGES_PER_TX;
+    private long baseGas = DEFAULT_BASE_GAS;
+    private long gasPerItem = DEFAULT_GAS_PER_ITEM;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    private BigDecimal gasPrice = new BigDecimal(TxPacker.DEFAULT_GAS_PRICE);
+    private String memo = "";
+    private BroadcastMode broadcastMode = BroadcastMode.BLOCK;
+
+    /**
+     * @param account initialized message object holding the key of the trading account
+     */
+    public OrderBatcher(MsgBase account) {
+        this.account = account;
+    }
+
+    public synchronized void place(OrderItem item) {
+        pendingOrders.add(item);
+    }
+
+    public synchronized void place(List<OrderItem> items) {
+        pendingOrders.addAll(items);
+    }
+
+    public synchronized void cancel(String orderID) {
+        pendingCancels.add(orderID);
+    }
+
+    public synchronized void cancel(List<String> orderIDs) {
+        pendingCancels.addAll(orderIDs);
+    }
+
+    /**
+     * Replaces the quotes of a product: cancels every open order of the product and places the items.
+     */
+    public synchronized void requote(String product, List<OrderItem> items) {
+        for (Map.Entry<String, OrderItem> order : openOrders.entrySet()) {
+            if (product.equals(order.getValue().getProduct())) {
+                pendingCancels.add(order.getKey());
+            }
+        }
+        pendingOrders.addAll(items);
+    }
+
+    /**
+     * Returns the txs the pending intents would be sent in, without sending them.
+     */
+    public synchronized List<Message[]> preview() {
+        List<Message[]> txs = new ArrayList<>();
+        for (Batch batch : queued()) {
+            txs.add(batch.messages.toArray(new Message[0]));
+        }
+        return txs;
+    }
+
+    // the pending intents followed by the retries
+    private List<Batch> queued() {
+        Set<String> cancels = new LinkedHashSet<>(pendingCancels);
+        cancels.addAll(retryCancels);
+        List<OrderItem> orders = new ArrayList<>(pendingOrders);
+        orders.addAll(retryOrders);
+        return batches(new ArrayList<>(cancels), orders);
+    }
+
+    /**
+     * Drops the pending intents, e.g. the ones of a rejected tx that should not be sent again.
+     */
+    public synchronized void clearPending() {
+        pendingCancels.clear();
+        pendingOrders.clear();
+        retryCancels.clear();
+        retryOrders.clear();
+        cancelRejections.clear();
+        orderRejections.clear();
+    }
+
+    /**
+     * Sends the pending intents and updates the open order set from the committed txs. The intents of the
+     * rejected txs are queued again within the retry limit; the results tell the outcome of every tx.
+     */
+    public List<Result> flush() {
+        List<Batch> batches;
+        synchronized (this) {
+            batches = queued();
+            pendingCancels.clear();
+            pendingOrders.clear();
+            retryCancels.clear();
+            retryOrders.clear();
+        }
+
+        List<Result> results = new ArrayList<>(batches.size());
+        List<String> failedCancels = new ArrayList<>();
+        List<OrderItem> failedOrders = new ArrayList<>();
+        for (Batch batch : batches) {
+            long gas = baseGas + gasPerItem * (batch.cancelled.size() + batch.placed.size());
+            JSONObject response = account.submit(batch.messages.toArray(new Message[0]),
+                    TxPacker.feeOf(gasPrice, gas), String.valueOf(gas), memo, broadcastMode);
+            Result result = settle(batch, response);
+            synchronized (this) {
+                if (result.getStatus() == Status.REJECTED) {
+                    retry(batch, result, failedCancels, failedOrders);
+                } else {
+                    for (String orderID : batch.cancelled) {
+                        cancelRejections.remove(orderID);
+                    }
+                    for (OrderItem item : batch.placed) {
+                        orderRejections.remove(item);
+                    }
+                }
+            }
+            results.add(result);
+        }
+
+        if (!failedCancels.isEmpty() || !failedOrders.isEmpty()) {
+            synchronized (this) {
+                // kept apart so that a deterministic rejection does not hold back the intents queued next
+                retryCancels.addAll(failedCancels);
+                retryOrders.addAll(failedOrders);
+            }
+        }
+        return results;
+    }
+
+    // sorts the intents of a rejected tx into the ones to send again and the ones that used up their retries
+    private void retry(Batch batch, Result result, List<String> cancels, List<OrderItem> orders) {
+        for (String orderID : batch.cancelled) {
+            int rejections = cancelRejections.getOrDefault(orderID, 0) + 1;
+            if (rejections > maxRetries) {
+                cancelRejections.remove(orderID);
+                result.droppedCancels.add(orderID);
+            } else {
+                cancelRejections.put(orderID, rejections);
+                cancels.add(orderID);
+            }
+        }
+        for (OrderItem item : batch.placed) {
+            int rejections = orderRejections.getOrDefault(item, 0) + 1;
+            if (rejections > maxRetries) {
+                orderRejections.remove(item);
+                result.droppedOrders.add(item);
+            } else {
+                orderRejections.put(item, rejections);
+                orders.add(item);
+            }
+        }
+    }
+
+    private Result settle(Batch batch, JSONObject response) {
+        boolean succeed = !response.isEmpty() && response.getIntValue("code") == 0;
+        List<String> orderIDs = new ArrayList<>();
+        if (succeed && !batch.placed.isEmpty()) {
+            // cancels emit an "orders" attribute too, only the new order messages after them give the IDs
+            EventIndex events = Response.fromMap(response).getEvents();
+            try {
+                for (int msgIndex = batch.cancelMessages; msgIndex < batch.messages.size(); msgIndex++) {
+                    String orders = events.first(msgIndex, "orders");
+                    if (orders == null) {
+                        // no logs, e.g. in "sync" mode
+                        orderIDs.clear();
+                        break;
+                    }
+                    Collections.addAll(orderIDs, MsgNewOrders.parseOrderIDs(orders));
+                }
+            } catch (RuntimeException e) {
+                orderIDs.clear();
+            }
+        }
+
+        synchronized (this) {
+            if (succeed) {
+                for (String orderID : batch.cancelled) {
+                    openOrders.remove(orderID);
+                }
+                for (int i = 0; i < orderIDs.size() && i < batch.placed.size(); i++) {
+                    String orderID = orderIDs.get(i);
+                    if (orderID != null && !orderID.isEmpty()) {
+                        openOrders.put(orderID, batch.placed.get(i));
+                    }
+                }
+            }
+        }
+        return new Result(batch.cancelled, batch.placed, orderIDs, response);
+    }
+
+    /**
+     * Forgets an order that left the book, e.g. because it was filled.
+     */
+    public synchronized void closed(String orderID) {
+        openOrders.remove(orderID);
+    }
+
+    public synchronized Map<String, OrderItem> getOpenOrders() {
+        return new LinkedHashMap<>(openOrders);
+    }
+
+    private static class Batch {
+        final List<Message> messages = new ArrayList<>();
+        final List<String> cancelled = new ArrayList<>();
+        final List<OrderItem> placed = new ArrayList<>();
+        // the cancel messages come first in the tx
+        int cancelMessages;
+    }
+
+    private List<Batch> batches(List<String> cancels, List<OrderItem> orders) {
+        List<Batch> batches = new ArrayList<>();
+        Batch batch = null;
+        for (int i = 0; i < cancels.size(); i += maxItemsPerMessage) {
+            batch = room(batches, batch);
+            List<String> ids = new ArrayList<>(cancels.subList(i, Math.min(i + maxItemsPerMessage, cancels.size())));
+            batch.messages.add(OrderMessages.cancelOrders(account.getAddress(), ids.toArray(new String[0])));
+            batch.cancelled.addAll(ids);
+            batch.cancelMessages++;
+        }
+        for (int i = 0; i < orders.size(); i += maxItemsPerMessage) {
+            batch = room(batches, batch);
+            List<OrderItem> items = new ArrayList<>(orders.subList(i, Math.min(i + maxItemsPerMessage, orders.size())));
+            batch.messages.add(OrderMessages.newOrders(account.getAddress(), items));
+            batch.placed.addAll(items);
+        }
+        return batches;
+    }
+
+    // the current batch if it can take one more message, a new one otherwise
+    private Batch room(List<Batch> batches, Batch batch) {
+        if (batch == null || batch.messages.size() >= maxMessagesPerTx) {
+            batch = new Batch();
+            batches.add(batch);
+        }
+        return batch;
+    }
+
+    public int getMaxItemsPerMessage() {
+        return maxItemsPerMessage;
+    }
+
+    public void setMaxItemsPerMessage(int maxItemsPerMessage) {
+        this.maxItemsPerMessage = maxItemsPerMessage;
+    }
+
+    public int getMaxMessagesPerTx() {
+        return maxMessagesPerTx;
+    }
+
+    public void setMaxMessagesPerTx(int maxMessagesPerTx) {
+        this.maxMessagesPerTx = maxMessagesPerTx;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    /**
+     * Sets how many times the intents of a rejected tx are sent again, 0 to never send them again.
+     */
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public long getBaseGas() {
+        return baseGas;
+    }
+
+    public void setBaseGas(long baseGas) {
+        this.baseGas = baseGas;
+    }
+
+    public long getGasPerItem() {
+        return gasPerItem;
+    }
+
+    public void setGasPerItem(long gasPerItem) {
+        this.gasPerItem = gasPerItem;
+    }
+
+    public String getGasPrice() {
+        return gasPrice.toPlainString();
+    }
+
+    public void setGasPrice(String gasPrice) {
+        this.gasPrice = new BigDecimal(gasPrice);
+    }
+
+    public String getMemo() {
+        return memo;
+    }
+
+    public void setMemo(String memo) {
+        this.memo = memo;
+    }
+
+    public BroadcastMode getBroadcastMode() {
+        return broadcastMode;
+    }
+
+    public void setBroadcastMode(BroadcastMode broadcastMode) {
+        this.broadcastMode = broadcastMode;
+    }
+}
@@ -0,0 +1,602 @@
+package com.okexchain.client;
+
+import com.alibaba.fastjson.JSONObject;
+import com.okexchain.msg.MsgBase;
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.common.Token;
+import com.okexchain.msg.common.TransferUnit;
+import com.okexchain.msg.token.TokenMessages;
+import com.okexchain.msg.tx.BroadcastMode;
+import com.okexchain.msg.tx.BroadcastTx;
+import com.okexchain.msg.tx.Response;
+import com.okexchain.msg.tx.UnsignedTx;
+import com.okexchain.utils.Dec;
+import com.okexchain.utils.crypto.AddressUtil;
+import com.okexchain.utils.encoding.CodecInstance;
+import com.okexchain.utils.encoding.message.StdTxEncoder;
+import org.bouncycastle.util.encoders.Hex;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+
+/**
+ * PayoutEngine pays a stream of recipients, e.g. an airdrop read from a csv file, with MsgMultiTransfer txs.
+ * Recipients are cut into chunks that fit the recipient, gas and byte limits of a tx; every chunk is one tx.
+ * Up to maxInFlight txs are broadcast at once with consecutive sequences, so the engine does not wait for a
+ * tx to be checked before signing the next one.
+ * <p>
+ * Every signed tx is written to a {@link PayoutJournal} before it is broadcast. A run started again with
+ * the same journal and the same input skips the chunks already sent. A chunk whose outcome was lost in a
+ * crash is looked up on the node and, if the node does not know it, broadcast again with the very same
+ * signed bytes. Since a sequence can only be used once, such a chunk is never paid twice: it is only signed
+ * anew once the account moved past its sequence and its hash is still not in a block, which relies on the
+ * node indexing txs. Otherwise it is reported as unresolved and left as it is.
+ */
+public class PayoutEngine {
+
+    public static final int DEFAULT_MAX_RECIPIENTS = 100;
+    public static final long DEFAULT_MAX_GAS = 3000000L;
+    public static final int DEFAULT_MAX_BYTES = 64 * 1024;
+    public static final long DEFAULT_BASE_GAS = 50000L;
+    public static final long DEFAULT_GAS_PER_RECIPIENT = 25000L;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 8;
+    public static final int DEFAULT_MAX_RETRIES = 3;
+
+    /**
+     * Outcome of one chunk.
+     */
+    public static class ChunkResult {
+        private final int firstIndex;
+        private final int count;
+        private final String txHash;
+        private final int code;
+        private final String rawLog;
+
+        ChunkResult(int firstIndex, int count, String txHash, int code, String rawLog) {
+            this.firstIndex = firstIndex;
+            this.count = count;
+            this.txHash = txHash;
+            this.code = code;
+            this.rawLog = rawLog;
+        }
+
+        /**
+         * Returns the position in the input of the first recipient of the chunk.
+         */
+        public int getFirstIndex() {
+            return firstIndex;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public String getTxHash() {
+            return txHash;
+        }
+
+        public int getCode() {
+            return code;
+        }
+
+        public String getRawLog() {
+            return rawLog;
+        }
+    }
+
+    /**
+     * Outcome of a run.
+     */
+    public static class Report {
+        private final List<ChunkResult> sent = Collections.synchronizedList(new ArrayList<ChunkResult>());
+        private final List<ChunkResult> failed = Collections.synchronizedList(new ArrayList<ChunkResult>());
+        private final List<ChunkResult> unresolved = Collections.synchronizedList(new ArrayList<ChunkResult>());
+        private int skipped;
+
+        /**
+         * Chunks accepted by the node during this run.
+         */
+        public List<ChunkResult> getSent() {
+            return sent;
+        }
+
+        /**
+         * Chunks refused by the node; nothing was paid and a later run sends them again.
+         */
+        public List<ChunkResult> getFailed() {
+            return failed;
+        }
+
+        /**
+         * Chunks whose tx may or may not have been paid; they are left in the journal as they are.
+         */
+        public List<ChunkResult> getUnresolved() {
+            return unresolved;
+        }
+
+        /**
+         * Returns the number of recipients already paid by an earlier run.
+         */
+        public int getSkipped() {
+            return skipped;
+        }
+
+        public boolean isComplete() {
+            return failed.isEmpty() && unresolved.isEmpty();
+        }
+    }
+
+    private static class Chunk {
+        final int firstIndex;
+        final List<TransferUnit> transfers;
+        final String digest;
+        int attempts;
+
+        Chunk(int firstIndex, List<TransferUnit> transfers) {
+            this.firstIndex = firstIndex;
+            this.transfers = transfers;
+            this.digest = digest(transfers);
+        }
+    }
+
+    private final MsgBase account;
+    private final PayoutJournal journal;
+
+    private int maxRecipients = DEFAULT_MAX_RECIPIENTS;
+    private long maxGas = DEFAULT_MAX_GAS;
+    private int maxBytes = DEFAULT_MAX_BYTES;
+    private long baseGas = DEFAULT_BASE_GAS;
+    private long gasPerRecipient = DEFAULT_GAS_PER_RECIPIENT;
+    private BigDecimal gasPrice = new BigDecimal(TxPacker.DEFAULT_GAS_PRICE);
+    private int maxInFlight = DEFAULT_MAX_IN_FLIGHT;
+    private int maxRetries = DEFAULT_MAX_RETRIES;
+    private String memo = "";
+    private BroadcastMode broadcastMode = BroadcastMode.SYNC;
+
+    private int emptyMessageBytes = -1;
+
+    /**
+     * @param account initialized message object holding the key of the paying account
+     * @param journal progress journal, reopened from the same file to resume a run
+     */
+    public PayoutEngine(MsgBase account, PayoutJournal journal) {
+        this.account = account;
+        this.journal = journal;
+    }
+
+    /**
+     * Reads recipients lazily from lines of {@code address,amount} or {@code address,amount,denom}. Blank
+     * lines and lines starting with '#' are skipped. Addresses are kept as read, the engine converts hex
+     * addresses to bech32 with the prefix of the context of its account.
+     */
+    public static Iterator<TransferUnit> readCsv(Reader reader, final String denom) {
+        final BufferedReader lines = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        return new Iterator<TransferUnit>() {
+            private TransferUnit next;
+            private int lineNumber;
+
+            @Override
+            public boolean hasNext() {
+                while (next == null) {
+                    String line;
+                    try {
+                        line = lines.readLine();
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    if (line == null) {
+                        return false;
+                    }
+                    lineNumber++;
+                    line = line.trim();
+                    if (!line.isEmpty() && !line.startsWith("#")) {
+                        next = parse(line);
+                    }
+                }
+                return true;
+            }
+
+            @Override
+            public TransferUnit next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                TransferUnit unit = next;
+                next = null;
+                return unit;
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+
+            private TransferUnit parse(String line) {
+                String[] fields = line.split(",");
+                if (fields.length < 2 || fields.length > 3) {
+                    throw new IllegalArgumentException("line " + lineNumber + ": expected address,amount[,denom]");
+                }
+                Dec value;
+                try {
+                    value = Dec.valueOf(fields[1].trim());
+                } catch (NumberFormatException e) {
+                    throw new IllegalArgumentException("line " + lineNumber + ": invalid amount " + fields[1]);
+                }
+                Token amount = new Token(value, fields.length == 3 ? fields[2].trim() : denom);
+                return new TransferUnit(fields[0].trim(), Collections.singletonList(amount));
+            }
+        };
+    }
+
+    /**
+     * Pays every recipient of the stream and returns once every tx got an answer from the node.
+     */
+    public Report run(Iterator<TransferUnit> recipients) throws IOException, InterruptedException {
+        final Report report = new Report();
+        final Queue<Chunk> retries = new ConcurrentLinkedQueue<>();
+        final Semaphore window = new Semaphore(maxInFlight);
+        ChunkReader reader = new ChunkReader(recipients, report);
+
+        while (true) {
+            Chunk chunk = retries.poll();
+            if (chunk == null) {
+                chunk = reader.next();
+            }
+            if (chunk == null) {
+                // wait for the txs in flight, they may hand chunks back for retry
+                window.acquire(maxInFlight);
+                window.release(maxInFlight);
+                if (retries.isEmpty()) {
+                    return report;
+                }
+                continue;
+            }
+            window.acquire();
+            try {
+                send(chunk, report, retries, window);
+            } catch (RuntimeException | IOException e) {
+                window.release();
+                throw e;
+            }
+        }
+    }
+
+    private void send(final Chunk chunk, final Report report, final Queue<Chunk> retries, final Semaphore window) throws IOException {
+        final String address = account.getAddress();
+        final long sequence = account.getSequenceManager().next(address);
+        long gas = gasOf(chunk.transfers.size());
+
+        Message message = TokenMessages.multiTransfer(account.getAddress(), chunk.transfers);
+        UnsignedTx unsignedTx = account.getUnsignedTx(new Message[]{message}, TxPacker.feeOf(gasPrice, gas),
+                String.valueOf(gas), memo, sequence);
+        unsignedTx.setMode(broadcastMode);
+        BroadcastTx signedTx = unsignedTx.signed(account.getSigner().sign(unsignedTx.getSignBytes()));
+        final String tx = signedTx.toJson();
+        final String txHash = signedTx.txHash();
+
+        journal.signed(chunk.firstIndex, chunk.transfers.size(), chunk.digest, sequence, txHash, tx);
+        final int[] sends = new int[1];
+        // runs on a callback thread of the async transport, never on its io threads, so the journal may sync
+        broadcast(tx, sends).whenComplete((response, error) -> {
+            try {
+                if (error != null) {
+                    // the node may have the tx; it stays SIGNED in the journal and is resolved on the next run
+                    report.unresolved.add(new ChunkResult(chunk.firstIndex, chunk.transfers.size(), txHash, -1, error.toString()));
+                } else if (response.getCode() == 0) {
+                    journal.sent(chunk.firstIndex);
+                    report.sent.add(new ChunkResult(chunk.firstIndex, chunk.transfers.size(), txHash, 0, response.getRawLog()));
+                } else if (sends[0] > 1) {
+                    // an earlier send of the same bytes may have been accepted, e.g. "tx already in mempool"
+                    report.unresolved.add(new ChunkResult(chunk.firstIndex, chunk.transfers.size(), txHash,
+                            response.getCode(), response.getRawLog()));
+                } else {
+                    journal.rejected(chunk.firstIndex, response.getCode());
+                    rejected(chunk, sequence, response, report, retries);
+                }
+            } catch (Exception e) {
+                report.unresolved.add(new ChunkResult(chunk.firstIndex, chunk.transfers.size(), txHash, -1, e.toString()));
+            } finally {
+                window.release();
+            }
+        });
+    }
+
+    /**
+     * Broadcasts the signed tx, sending the same bytes again when the node could not be reached.
+     * The number of sends is counted in sends[0].
+     */
+    private CompletionStage<Response> broadcast(final String tx, final int[] sends) {
+        sends[0]++;
+        return account.broadcastAsync(tx)
+                .handle((response, error) -> {
+                    if (error == null) {
+                        return CompletableFuture.completedFuture(response);
+                    }
+                    if (sends[0] < maxRetries) {
+                        return broadcast(tx, sends);
+                    }
+                    CompletableFuture<Response> failed = new CompletableFuture<>();
+                    failed.completeExceptionally(error);
+                    return failed;
+                })
+                .thenCompose(stage -> stage);
+    }
+
+    /**
+     * The rejected tx is not in the mempool, so the chunk can be signed again safely. A sequence mismatch,
+     * typically because an earlier tx of the pipeline was refused, is retried with the repaired sequence.
+     * A tx committed with a failure, in "block" mode, used its sequence up, so the sequence is only given
+     * back when the tx was refused before reaching a block.
+     */
+    private void rejected(Chunk chunk, long sequence, Response response, Report report, Queue<Chunk> retries) throws IOException {
+        String address = account.getAddress();
+        if (response.getHeight() == 0) {
+            if (account.getSequenceManager().recover(address, response.getRawLog(), sequence) && ++chunk.attempts < maxRetries) {
+                retries.add(chunk);
+                return;
+            }
+            account.getSequenceManager().release(address, sequence);
+        }
+        report.failed.add(new ChunkResult(chunk.firstIndex, chunk.transfers.size(), response.getTxhash(),
+                response.getCode(), response.getRawLog()));
+    }
+
+    /**
+     * Settles a chunk left SIGNED by an earlier run. Returns true when the chunk still has to be paid.
+     */
+    private boolean resolve(PayoutJournal.Entry entry, Report report) {
+        Response committed = lookup(entry.getTxHash());
+        if (committed != null) {
+            if (committed.getCode() == 0) {
+                journal.sent(entry.getFirstIndex());
+                report.skipped += entry.getCount();
+                return false;
+            }
+            // committed but failed, nothing was paid
+            journal.rejected(entry.getFirstIndex(), committed.getCode());
+            return true;
+        }
+
+        JSONObject result = account.broadcast(entry.getTx());
+        if (!result.isEmpty() && result.getIntValue("code") == 0) {
+            journal.sent(entry.getFirstIndex());
+            report.sent.add(new ChunkResult(entry.getFirstIndex(), entry.getCount(), entry.getTxHash(), 0, result.getString("raw_log")));
+            return false;
+        }
+        // the account moved past the sequence of the tx without committing it, so it can never be committed
+        if (SequenceManager.expectedSequence(result.getString("raw_log")) > entry.getSequence()
+                && lookup(entry.getTxHash()) == null) {
+            journal.rejected(entry.getFirstIndex(), result.getIntValue("code"));
+            return true;
+        }
+        report.unresolved.add(new ChunkResult(entry.getFirstIndex(), entry.getCount(), entry.getTxHash(),
+                result.getIntValue("code"), result.getString("raw_log")));
+        return false;
+    }
+
+    private Response lookup(String txHash) {
+        try {
+            String body = account.getTransport().get(account.getContext().getTxUrl() + "/" + txHash);
+            Response response = CodecInstance.getCodec().fromJson(body, Response.class);
+            if (response != null && response.getTxhash() != null && response.getHeight() > 0) {
+                return response;
+            }
+        } catch (Exception e) {
+            // not found
+        }
+        return null;
+    }
+
+    /**
+     * Cuts the input into chunks, following the chunk boundaries of the journal for the part of the input
+     * an earlier run already went through.
+     */
+    private class ChunkReader {
+        private final Iterator<TransferUnit> recipients;
+        private final Report report;
+        private TransferUnit pending;
+        private int pendingBytes;
+        private int index;
+
+        ChunkReader(Iterator<TransferUnit> recipients, Report report) {
+            this.recipients = recipients;
+            this.report = report;
+        }
+
+        Chunk next() {
+            while (true) {
+                PayoutJournal.Entry entry = journal.get(index);
+                if (entry == null) {
+                    return fresh();
+                }
+                Chunk chunk = new Chunk(index, take(entry.getCount()));
+                if (!chunk.digest.equals(entry.getDigest())) {
+                    throw new IllegalStateException("recipients from " + index + " differ from the journal, the input changed");
+                }
+                index += entry.getCount();
+                switch (entry.getState()) {
+                    case SENT:
+                        report.skipped += entry.getCount();
+                        break;
+                    case REJECTED:
+                        return chunk;
+                    default:
+                        if (resolve(entry, report)) {
+                            return chunk;
+                        }
+                }
+            }
+        }
+
+        private List<TransferUnit> take(int count) {
+            List<TransferUnit> transfers = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                if (!recipients.hasNext()) {
+                    throw new IllegalStateException("input ends before recipient " + (index + i) + " recorded in the journal");
+                }
+                transfers.add(nextRecipient());
+            }
+            return transfers;
+        }
+
+        private TransferUnit nextRecipient() {
+            TransferUnit unit = recipients.next();
+            String to = AddressUtil.toBech32(account.getContext(), unit.getTo());
+            return to.equals(unit.getTo()) ? unit : new TransferUnit(to, unit.getCoins());
+        }
+
+        private Chunk fresh() {
+            List<TransferUnit> transfers = new ArrayList<>();
+            int bytes = emptyMessageBytes();
+            while (pending != null || recipients.hasNext()) {
+                if (pending == null) {
+                    pending = nextRecipient();
+                    pendingBytes = transferBytes(pending);
+                }
+                if (!transfers.isEmpty() && !fits(transfers.size() + 1, bytes + pendingBytes)) {
+                    break;
+                }
+                transfers.add(pending);
+                bytes += pendingBytes;
+                pending = null;
+            }
+            if (transfers.isEmpty()) {
+                return null;
+            }
+            Chunk chunk = new Chunk(index, transfers);
+            index += transfers.size();
+            return chunk;
+        }
+    }
+
+    private boolean fits(int recipients, int bytes) {
+        return recipients <= maxRecipients
+                && gasOf(recipients) <= maxGas
+                && bytes <= maxBytes - TxPacker.TX_OVERHEAD_BYTES;
+    }
+
+    private long gasOf(int recipients) {
+        return baseGas + gasPerRecipient * recipients;
+    }
+
+    private int emptyMessageBytes() {
+        if (emptyMessageBytes < 0) {
+            emptyMessageBytes = StdTxEncoder.messageSize(TokenMessages.multiTransfer(account.getAddress(), Collections.<TransferUnit>emptyList()));
+        }
+        return emptyMessageBytes;
+    }
+
+    // bytes a recipient adds to the message, with room for the message length growing by a byte
+    private int transferBytes(TransferUnit transfer) {
+        return StdTxEncoder.messageSize(TokenMessages.multiTransfer(account.getAddress(), Collections.singletonList(transfer))) - emptyMessageBytes() + 1;
+    }
+
+    private static String digest(List<TransferUnit> transfers) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            for (TransferUnit transfer : transfers) {
+                sha256.update(CodecInstance.getCodec().toJson(transfer).getBytes(StandardCharsets.UTF_8));
+                sha256.update((byte) '\n');
+            }
+            return Hex.toHexString(sha256.digest(), 0, 16);
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    public int getMaxRecipients() {
+        return maxRecipients;
+    }
+
+    public void setMaxRecipients(int maxRecipients) {
+        this.maxRecipients = maxRecipients;
+    }
+
+    public long getMaxGas() {
+        return maxGas;
+    }
+
+    public void setMaxGas(long maxGas) {
+        this.maxGas = maxGas;
+    }
+
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(int maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public long getBaseGas() {
+        return baseGas;
+    }
+
+    public void setBaseGas(long baseGas) {
+        this.baseGas = baseGas;
+    }
+
+    public long getGasPerRecipient() {
+        return gasPerRecipient;
+    }
+
+    public void setGasPerRecipient(long gasPerRecipient) {
+        this.gasPerRecipient = gasPerRecipient;
+    }
+
+    public String getGasPrice() {
+        return gasPrice.toPlainString();
+    }
+
+    public void setGasPrice(String gasPrice) {
+        this.gasPrice = new BigDecimal(gasPrice);
+    }
+
+    public int getMaxInFlight() {
+        return maxInFlight;
+    }
+
+    public void setMaxInFlight(int maxInFlight) {
+        this.maxInFlight = maxInFlight;
+    }
+
+    public int getMaxRetries() {
+        return maxRetries;
+    }
+
+    public void setMaxRetries(int maxRetries) {
+        this.maxRetries = maxRetries;
+    }
+
+    public String getMemo() {
+        return memo;
+    }
+
+    public void setMemo(String memo) {
+        this.memo = memo;
+    }
+
+    public BroadcastMode getBroadcastMode() {
+        return broadcastMode;
+    }
+
+    public void setBroadcastMode(BroadcastMode broadcastMode) {
+        this.broadcastMode = broadcastMode;
+    }
+}
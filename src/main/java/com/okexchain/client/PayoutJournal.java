@@ -0,0 +1,204 @@
+package com.okexchain.client;
+
+import java.io.BufferedReader;
+import java.io.Closeable;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * PayoutJournal records the progress of a {@link PayoutEngine} run in an append-only text file, one
+ * tab separated record per line, each synced to disk before the engine goes on.
+ * A chunk is recorded as SIGNED with its signed tx before the tx is broadcast, then as SENT or REJECTED
+ * once the node answered. Reopening the file restores the last state of every chunk; a torn last line left
+ * by a crash is cut off. Such a line was never synced, so its tx was never broadcast.
+ */
+public class PayoutJournal implements Closeable {
+
+    public enum State {
+        /** signed and about to be broadcast; whether the node got it is unknown */
+        SIGNED,
+        /** accepted by the node */
+        SENT,
+        /** refused by the node, nothing was paid */
+        REJECTED
+    }
+
+    /**
+     * Last known state of the chunk starting at a given recipient.
+     */
+    public static class Entry {
+        private final int firstIndex;
+        private final int count;
+        private final String digest;
+        private final long sequence;
+        private final String txHash;
+        private final String tx;
+        private State state = State.SIGNED;
+        private int code;
+
+        Entry(int firstIndex, int count, String digest, long sequence, String txHash, String tx) {
+            this.firstIndex = firstIndex;
+            this.count = count;
+            this.digest = digest;
+            this.sequence = sequence;
+            this.txHash = txHash;
+            this.tx = tx;
+        }
+
+        public int getFirstIndex() {
+            return firstIndex;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        /**
+         * Returns the digest of the recipients of the chunk, used to detect a changed input on resume.
+         */
+        public String getDigest() {
+            return digest;
+        }
+
+        public long getSequence() {
+            return sequence;
+        }
+
+        public String getTxHash() {
+            return txHash;
+        }
+
+        /**
+         * Returns the signed tx as broadcast, so that it can be sent again byte for byte.
+         */
+        public String getTx() {
+            return tx;
+        }
+
+        public State getState() {
+            return state;
+        }
+
+        public int getCode() {
+            return code;
+        }
+    }
+
+    private static final String SEPARATOR = "\t";
+
+    private final Map<Integer, Entry> entries = new HashMap<>();
+    private final FileOutputStream out;
+
+    public PayoutJournal(File file) throws IOException {
+        if (file.exists()) {
+            cutTornTail(file);
+            load(file);
+        }
+        this.out = new FileOutputStream(file, true);
+    }
+
+    public synchronized Entry get(int firstIndex) {
+        return entries.get(firstIndex);
+    }
+
+    public synchronized List<Entry> getEntries() {
+        return new ArrayList<>(entries.values());
+    }
+
+    public synchronized void signed(int firstIndex, int count, String digest, long sequence, String txHash, String tx) {
+        append(State.SIGNED.name(), String.valueOf(firstIndex), String.valueOf(count), digest,
+                String.valueOf(sequence), txHash, tx);
+        entries.put(firstIndex, new Entry(firstIndex, count, digest, sequence, txHash, tx));
+    }
+
+    public synchronized void sent(int firstIndex) {
+        update(firstIndex, State.SENT, 0);
+    }
+
+    public synchronized void rejected(int firstIndex, int code) {
+        update(firstIndex, State.REJECTED, code);
+    }
+
+    private void update(int firstIndex, State state, int code) {
+        Entry entry = entries.get(firstIndex);
+        if (entry == null) {
+            throw new IllegalStateException("chunk " + firstIndex + " was never signed");
+        }
+        append(state.name(), String.valueOf(firstIndex), entry.txHash, String.valueOf(code));
+        entry.state = state;
+        entry.code = code;
+    }
+
+    private void append(String... fields) {
+        StringBuilder line = new StringBuilder();
+        for (String field : fields) {
+            if (line.length() > 0) {
+                line.append(SEPARATOR);
+            }
+            line.append(field);
+        }
+        line.append('\n');
+        try {
+            out.write(line.toString().getBytes(StandardCharsets.UTF_8));
+            out.getFD().sync();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Drops the bytes after the last complete line.
+     */
+    private static void cutTornTail(File file) throws IOException {
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            long end = raf.length();
+            while (end > 0) {
+                raf.seek(end - 1);
+                if (raf.read() == '\n') {
+                    break;
+                }
+                end--;
+            }
+            raf.setLength(end);
+        }
+    }
+
+    private void load(File file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                String[] fields = line.split(SEPARATOR, -1);
+                try {
+                    if (fields[0].equals(State.SIGNED.name()) && fields.length == 7) {
+                        int firstIndex = Integer.parseInt(fields[1]);
+                        entries.put(firstIndex, new Entry(firstIndex, Integer.parseInt(fields[2]), fields[3],
+                                Long.parseLong(fields[4]), fields[5], fields[6]));
+                    } else if (fields.length == 4) {
+                        Entry entry = entries.get(Integer.parseInt(fields[1]));
+                        if (entry != null && entry.txHash.equals(fields[2])) {
+                            entry.state = State.valueOf(fields[0]);
+                            entry.code = Integer.parseInt(fields[3]);
+                        }
+                    }
+                } catch (IllegalArgumentException e) {
+                    // not a record of this journal
+                }
+            }
+        }
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        out.close();
+    }
+}
@@ -0,0 +1,152 @@
+package com.okexchain.client;
+
+import com.okexchain.msg.MsgBase;
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.tx.Response;
+import com.okexchain.utils.crypto.PrivateKey;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * SenderPool spreads txs over several funded accounts. Each account is a lane with its own sequence, so
+ * lanes are signed and broadcast in parallel and throughput grows with the number of accounts.
+ * Every message goes to the lane with the fewest txs in flight.
+ */
+public class SenderPool {
+
+    /**
+     * Builds the message for the lane that was picked. The message must be sent from the lane's address.
+     */
+    public interface MessageBuilder {
+        Message build(Lane lane);
+    }
+
+    /**
+     * One sending account of the pool.
+     */
+    public static class Lane {
+        private final MsgBase account;
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicLong submitted = new AtomicLong();
+
+        Lane(MsgBase account) {
+            this.account = account;
+        }
+
+        public String getAddress() {
+            return account.getAddress();
+        }
+
+        public MsgBase getAccount() {
+            return account;
+        }
+
+        /**
+         * Returns a message object of the given type bound to this lane's account, e.g.
+         * {@code lane.as(MsgSend.class).produceSendMsg(...)}.
+         */
+        public <T extends MsgBase> T as(Class<T> type) {
+            return account.as(type);
+        }
+
+        public int getInFlight() {
+            return inFlight.get();
+        }
+
+        public long getSubmitted() {
+            return submitted.get();
+        }
+    }
+
+    private final List<Lane> lanes;
+    private final AtomicInteger cursor = new AtomicInteger();
+
+    /**
+     * Creates one lane per key; each account is read from the node once.
+     */
+    public static SenderPool fromKeys(List<PrivateKey> keys) {
+        List<MsgBase> accounts = new ArrayList<>(keys.size());
+        for (PrivateKey key : keys) {
+            MsgBase account = new MsgBase();
+            account.init(key);
+            accounts.add(account);
+        }
+        return new SenderPool(accounts);
+    }
+
+    /**
+     * @param accounts initialized message objects holding the private key of each lane
+     */
+    public SenderPool(List<? extends MsgBase> accounts) {
+        if (accounts.isEmpty()) {
+            throw new IllegalArgumentException("sender pool needs at least one account");
+        }
+        List<Lane> list = new ArrayList<>(accounts.size());
+        for (MsgBase account : accounts) {
+            list.add(new Lane(account));
+        }
+        this.lanes = Collections.unmodifiableList(list);
+    }
+
+    public List<Lane> getLanes() {
+        return lanes;
+    }
+
+    public int size() {
+        return lanes.size();
+    }
+
+    public CompletionStage<Response> submit(MessageBuilder builder, String feeAmount, String gas, String memo) {
+        final Lane lane = pick();
+        lane.inFlight.incrementAndGet();
+        lane.submitted.incrementAndGet();
+
+        CompletionStage<Response> result;
+        try {
+            result = lane.account.submitAsync(builder.build(lane), feeAmount, gas, memo);
+        } catch (RuntimeException e) {
+            CompletableFuture<Response> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            result = failed;
+        }
+        return result.whenComplete((response, error) -> lane.inFlight.decrementAndGet());
+    }
+
+    public List<CompletionStage<Response>> submitAll(List<MessageBuilder> builders, String feeAmount, String gas, String memo) {
+        List<CompletionStage<Response>> results = new ArrayList<>(builders.size());
+        for (MessageBuilder builder : builders) {
+            results.add(submit(builder, feeAmount, gas, memo));
+        }
+        return results;
+    }
+
+    public int getInFlight() {
+        int total = 0;
+        for (Lane lane : lanes) {
+            total += lane.getInFlight();
+        }
+        return total;
+    }
+
+    /**
+     * Picks the least loaded lane. The scan starts at a rotating offset so that ties are spread evenly.
+     */
+    private Lane pick() {
+        int n = lanes.size();
+        int start = (cursor.getAndIncrement() & Integer.MAX_VALUE) % n;
+        Lane best = lanes.get(start);
+        for (int i = 1; i < n && best.inFlight.get() > 0; i++) {
+            Lane lane = lanes.get((start + i) % n);
+            if (lane.inFlight.get() < best.inFlight.get()) {
+                best = lane;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,142 @@
+package com.okexchain.client;
+
+import java.io.IOException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * SequenceManager hands out account sequences locally so that many txs of one account can be signed and
+ * broadcast without reading the account back from the node in between.
+ * The node is only asked again when an account is first used or after it reported a sequence mismatch.
+ */
+public class SequenceManager {
+
+    private static final SequenceManager DEFAULT = new SequenceManager(new AccountFetcher());
+
+    private static final String[] MISMATCH_MARKERS = {
+            "incorrect account sequence",
+            "invalid sequence",
+            "verify correct account sequence",
+            "invalid nonce"
+    };
+
+    private static final Pattern EXPECTED_SEQUENCE = Pattern.compile("expected (\\d+)");
+
+    private final ConcurrentHashMap<String, AtomicLong> sequences = new ConcurrentHashMap<>();
+    private final AccountFetcher fetcher;
+
+    public SequenceManager(AccountFetcher fetcher) {
+        this.fetcher = fetcher;
+    }
+
+    public static SequenceManager getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * Allocates the next sequence of the account, loading it from the node on first use.
+     */
+    public long next(String address) throws IOException {
+        AtomicLong sequence = sequences.get(address);
+        if (sequence == null) {
+            sequence = load(address);
+        }
+        return sequence.getAndIncrement();
+    }
+
+    /**
+     * Returns the sequence the next allocation would hand out, or -1 when the account is unknown.
+     */
+    public long peek(String address) {
+        AtomicLong sequence = sequences.get(address);
+        return sequence == null ? -1 : sequence.get();
+    }
+
+    /**
+     * Sets the sequence of an account that is not tracked yet. Already tracked accounts keep their
+     * local value, which may be ahead of the node because of txs still in flight.
+     */
+    public void seed(String address, long sequence) {
+        sequences.putIfAbsent(address, new AtomicLong(sequence));
+    }
+
+    /**
+     * Overwrites the local sequence of the account.
+     */
+    public void reset(String address, long sequence) {
+        AtomicLong current = sequences.putIfAbsent(address, new AtomicLong(sequence));
+        if (current != null) {
+            current.set(sequence);
+        }
+    }
+
+    /**
+     * Gives back a sequence whose tx was rejected before it reached the mempool, provided nothing
+     * was allocated after it. Otherwise the gap is left for {@link #recover} to repair.
+     */
+    public boolean release(String address, long sequence) {
+        AtomicLong current = sequences.get(address);
+        return current != null && current.compareAndSet(sequence + 1, sequence);
+    }
+
+    /**
+     * Reloads the sequence from the node.
+     */
+    public long resync(String address) throws IOException {
+        long sequence = fetcher.fetch(address).getSequence();
+        reset(address, sequence);
+        return sequence;
+    }
+
+    /**
+     * Repairs the local sequence if the raw log reports a sequence other than the one the tx was signed with.
+     * The signature failure text of the chain mentions the sequence whatever the cause, e.g. a wrong chain-id,
+     * so a log without an expected sequence, or with the sent one, is not taken as a mismatch.
+     *
+     * @return true if a mismatch was detected and the tx should be signed again
+     */
+    public boolean recover(String address, String rawLog, long sentSequence) {
+        long expected = expectedSequence(rawLog);
+        if (expected < 0 || expected == sentSequence) {
+            return false;
+        }
+        reset(address, expected);
+        return true;
+    }
+
+    /**
+     * Returns the sequence the node expected according to a sequence mismatch log, or -1 if the log
+     * does not tell.
+     */
+    public static long expectedSequence(String rawLog) {
+        if (!isSequenceMismatch(rawLog)) {
+            return -1;
+        }
+        Matcher matcher = EXPECTED_SEQUENCE.matcher(rawLog);
+        return matcher.find() ? Long.parseLong(matcher.group(1)) : -1;
+    }
+
+    public void forget(String address) {
+        sequences.remove(address);
+    }
+
+    public static boolean isSequenceMismatch(String rawLog) {
+        if (rawLog == null) {
+            return false;
+        }
+        for (String marker : MISMATCH_MARKERS) {
+            if (rawLog.contains(marker)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private AtomicLong load(String address) throws IOException {
+        AtomicLong loaded = new AtomicLong(fetcher.fetch(address).getSequence());
+        AtomicLong current = sequences.putIfAbsent(address, loaded);
+        return current == null ? loaded : current;
+    }
+}
@@ -0,0 +1,341 @@
+package com.okexchain.client;
+
+import com.okexchain.env.ChainContext;
+import com.okexchain.env.EnvInstance;
+import com.okexchain.msg.tx.Response;
+import com.okexchain.utils.AsyncHttpTransport;
+import com.okexchain.utils.HttpTransport;
+import com.okexchain.utils.encoding.CodecInstance;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * TxConfirmationTracker follows txs broadcast in "sync" or "async" mode until they are included in a block.
+ * Pending hashes are polled in rounds: every poll interval at most maxQueriesPerPoll hashes are looked up,
+ * oldest first, so the load put on the rest server stays bounded however many txs are pending. A round is
+ * scheduled once the lookups of the previous one have completed, the polling thread never waits for them.
+ */
+public class TxConfirmationTracker implements Closeable {
+
+    public static final long DEFAULT_POLL_INTERVAL = 1000;
+    public static final int DEFAULT_MAX_QUERIES_PER_POLL = 50;
+    public static final long DEFAULT_TIMEOUT = 60000;
+
+    /**
+     * Listener called on the polling thread once the outcome of a tx is known.
+     */
+    public interface Listener {
+        void onConfirmed(String txHash, Response response);
+
+        /**
+         * @param response the committed tx result, or null when the tx could not be found before the timeout
+         * @param error    the reason, or null when the tx was committed with a non-zero code
+         */
+        void onFailed(String txHash, Response response, Throwable error);
+    }
+
+    private static class Pending {
+        final CompletableFuture<Response> future = new CompletableFuture<>();
+        final List<Listener> listeners = new CopyOnWriteArrayList<>();
+        final long deadline;
+
+        Pending(long deadline) {
+            this.deadline = deadline;
+        }
+    }
+
+    /**
+     * Delivers at most one outcome, since a listener registered while its tx resolves can be reached twice.
+     */
+    private static class OnceListener implements Listener {
+        final Listener delegate;
+        final AtomicBoolean fired = new AtomicBoolean();
+
+        OnceListener(Listener delegate) {
+            this.delegate = delegate;
+        }
+
+        @Override
+        public void onConfirmed(String txHash, Response response) {
+            if (fired.compareAndSet(false, true)) {
+                delegate.onConfirmed(txHash, response);
+            }
+        }
+
+        @Override
+        public void onFailed(String txHash, Response response, Throwable error) {
+            if (fired.compareAndSet(false, true)) {
+                delegate.onFailed(txHash, response, error);
+            }
+        }
+    }
+
+    private final String txUrl;
+    private final AsyncHttpTransport transport;
+    private final boolean ownsTransport;
+    private final long pollInterval;
+    private final int maxQueriesPerPoll;
+    private final long timeout;
+
+    private final ConcurrentHashMap<String, Pending> pending = new ConcurrentHashMap<>();
+    private final ConcurrentLinkedQueue<String> queue = new ConcurrentLinkedQueue<>();
+    private final ScheduledExecutorService scheduler;
+
+    public TxConfirmationTracker() {
+        this(EnvInstance.getContext());
+    }
+
+    /**
+     * Tracks txs of the chain of the context.
+     */
+    public TxConfirmationTracker(ChainContext context) {
+        this(context, DEFAULT_POLL_INTERVAL, DEFAULT_MAX_QUERIES_PER_POLL, DEFAULT_TIMEOUT);
+    }
+
+    /**
+     * Tracks txs of the chain of the context, see {@link #TxConfirmationTracker(String, AsyncHttpTransport, long, int, long)}
+     * for the parameters. The lookups go through a transport of the tracker with a window of maxQueriesPerPoll,
+     * so a round never waits for a permit taken by the senders of the context; close() closes it.
+     */
+    public TxConfirmationTracker(ChainContext context, long pollInterval, int maxQueriesPerPoll, long timeout) {
+        this(new AsyncHttpTransport(maxQueriesPerPoll, maxQueriesPerPoll,
+                        HttpTransport.DEFAULT_CONNECT_TIMEOUT, HttpTransport.DEFAULT_SOCKET_TIMEOUT),
+                true, context.getTxUrl(), pollInterval, maxQueriesPerPoll, timeout);
+    }
+
+    /**
+     * The polling thread waits while the window of the transport is full, so the transport should not be
+     * shared with senders and should allow maxQueriesPerPoll requests in flight.
+     *
+     * @param restServerUrl     rest server to query
+     * @param transport         transport used for the lookups, left open by close()
+     * @param pollInterval      delay between two polling rounds in milliseconds
+     * @param maxQueriesPerPoll maximum number of hashes looked up per round
+     * @param timeout           time in milliseconds after which an unseen tx is reported as failed
+     */
+    public TxConfirmationTracker(String restServerUrl, AsyncHttpTransport transport,
+                                 long pollInterval, int maxQueriesPerPoll, long timeout) {
+        this(transport, false, restServerUrl + EnvInstance.getEnv().GetTxUrlPath(), pollInterval, maxQueriesPerPoll, timeout);
+    }
+
+    private TxConfirmationTracker(AsyncHttpTransport transport, boolean ownsTransport, String txUrl,
+                                  long pollInterval, int maxQueriesPerPoll, long timeout) {
+        this.txUrl = txUrl;
+        this.transport = transport;
+        this.ownsTransport = ownsTransport;
+        this.pollInterval = pollInterval;
+        this.maxQueriesPerPoll = maxQueriesPerPoll;
+        this.timeout = timeout;
+
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread t = new Thread(r, "okexchain-tx-tracker");
+            t.setDaemon(true);
+            return t;
+        });
+        schedulePoll();
+    }
+
+    /**
+     * Starts tracking a tx hash. The future completes with the committed result, whatever its code,
+     * and completes exceptionally with a TimeoutException if the tx is not found in time.
+     */
+    public CompletableFuture<Response> track(String txHash) {
+        Pending p = pending.get(txHash);
+        if (p == null) {
+            Pending created = new Pending(System.currentTimeMillis() + timeout);
+            p = pending.putIfAbsent(txHash, created);
+            if (p == null) {
+                p = created;
+                queue.add(txHash);
+            }
+        }
+        return p.future;
+    }
+
+    public CompletableFuture<Response> track(String txHash, Listener listener) {
+        listener = new OnceListener(listener);
+        CompletableFuture<Response> future = track(txHash);
+        Pending p = pending.get(txHash);
+        if (p != null) {
+            p.listeners.add(listener);
+        }
+        if (future.isDone()) {
+            // the tx was resolved while the listener was being registered
+            notifyListener(listener, txHash, future);
+        }
+        return future;
+    }
+
+    /**
+     * Tracks the tx of a "sync" or "async" broadcast response. A response rejected by CheckTx is
+     * reported as failed right away instead of being polled.
+     */
+    public CompletableFuture<Response> track(Response broadcastResponse, Listener listener) {
+        if (broadcastResponse.getCode() != 0 || broadcastResponse.getTxhash() == null) {
+            CompletableFuture<Response> failed = CompletableFuture.completedFuture(broadcastResponse);
+            if (listener != null) {
+                listener.onFailed(broadcastResponse.getTxhash(), broadcastResponse, null);
+            }
+            return failed;
+        }
+        if (listener == null) {
+            return track(broadcastResponse.getTxhash());
+        }
+        return track(broadcastResponse.getTxhash(), listener);
+    }
+
+    public int getPendingCount() {
+        return pending.size();
+    }
+
+    private void poll() {
+        // hashes taken from the queue in this round, they are lost for later rounds if the round breaks
+        List<String> taken = new ArrayList<>(maxQueriesPerPoll);
+        try {
+            long now = System.currentTimeMillis();
+            List<String> batch = new ArrayList<>(maxQueriesPerPoll);
+            int size = queue.size();
+            for (int i = 0; i < size && batch.size() < maxQueriesPerPoll; i++) {
+                String txHash = queue.poll();
+                if (txHash == null) {
+                    break;
+                }
+                taken.add(txHash);
+                Pending p = pending.get(txHash);
+                if (p == null) {
+                    continue;
+                }
+                if (now > p.deadline) {
+                    fail(txHash, null, new TimeoutException("tx " + txHash + " not found after " + timeout + "ms"));
+                    continue;
+                }
+                batch.add(txHash);
+            }
+
+            List<CompletableFuture<Void>> lookups = new ArrayList<>(batch.size());
+            for (final String txHash : batch) {
+                CompletableFuture<String> lookup;
+                try {
+                    lookup = transport.get(txUrl + "/" + txHash);
+                } catch (Exception e) {
+                    lookup = new CompletableFuture<>();
+                    lookup.completeExceptionally(e);
+                }
+                // a failed lookup leaves the tx queued for the next round
+                lookups.add(lookup.handleAsync((body, error) -> {
+                    handleLookup(txHash, error == null ? body : null);
+                    return null;
+                }, scheduler));
+            }
+            CompletableFuture.allOf(lookups.toArray(new CompletableFuture[0]))
+                    .whenComplete((ignored, error) -> schedulePoll());
+        } catch (Exception e) {
+            for (String txHash : taken) {
+                fail(txHash, null, e);
+            }
+            schedulePoll();
+        }
+    }
+
+    private void schedulePoll() {
+        try {
+            scheduler.schedule(this::poll, pollInterval, TimeUnit.MILLISECONDS);
+        } catch (RejectedExecutionException e) {
+            // closed
+        }
+    }
+
+    private void handleLookup(String txHash, String body) {
+        Response response = null;
+        if (body != null) {
+            try {
+                Response result = CodecInstance.getCodec().fromJson(body, Response.class);
+                if (result != null && result.getTxhash() != null && result.getHeight() > 0) {
+                    response = result;
+                }
+            } catch (Exception e) {
+                // not a tx result, most likely "not found" while the tx is still in the mempool
+            }
+        }
+
+        if (response == null) {
+            queue.add(txHash);
+        } else if (response.getCode() == 0) {
+            confirm(txHash, response);
+        } else {
+            fail(txHash, response, null);
+        }
+    }
+
+    private void confirm(String txHash, Response response) {
+        Pending p = pending.remove(txHash);
+        if (p == null) {
+            return;
+        }
+        p.future.complete(response);
+        for (Listener listener : p.listeners) {
+            try {
+                listener.onConfirmed(txHash, response);
+            } catch (RuntimeException e) {
+                // a failing listener must not keep the others or the polling round from running
+            }
+        }
+    }
+
+    private void fail(String txHash, Response response, Throwable error) {
+        Pending p = pending.remove(txHash);
+        if (p == null) {
+            return;
+        }
+        if (error != null) {
+            p.future.completeExceptionally(error);
+        } else {
+            p.future.complete(response);
+        }
+        for (Listener listener : p.listeners) {
+            try {
+                listener.onFailed(txHash, response, error);
+            } catch (RuntimeException e) {
+                // a failing listener must not keep the others or the polling round from running
+            }
+        }
+    }
+
+    private static void notifyListener(Listener listener, String txHash, CompletableFuture<Response> future) {
+        try {
+            Response response = future.join();
+            if (response.getCode() == 0) {
+                listener.onConfirmed(txHash, response);
+            } else {
+                listener.onFailed(txHash, response, null);
+            }
+        } catch (Exception e) {
+            listener.onFailed(txHash, null, e.getCause() != null ? e.getCause() : e);
+        }
+    }
+
+    @Override
+    public void close() {
+        scheduler.shutdownNow();
+        if (ownsTransport) {
+            try {
+                transport.close();
+            } catch (IOException e) {
+                // nothing left to release
+            }
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.okexchain.client;
+
+/**
+ * TxMetrics receives the timings and counters of the tx pipeline: how long each stage of a submit takes,
+ * how many txs are in flight, the result codes reported by the node and the size of the http bodies.
+ * <p>
+ * All methods take primitives so that nothing is allocated on the hot path. The default implementation of
+ * every method does nothing, {@link #NOOP} is used unless metrics are set on the account or its
+ * {@link com.okexchain.env.ChainContext}. {@link InMemoryTxMetrics} keeps them in memory and exports
+ * snapshots.
+ */
+public interface TxMetrics {
+
+    enum Stage {
+        // next sequence, reads the account from the node on first use or after a mismatch
+        ACCOUNT,
+        // amino json of the tx to sign
+        SIGN_BYTES,
+        // ecdsa signature
+        SIGN,
+        // json body of the signed tx
+        ENCODE,
+        // post of the tx until the node answered
+        HTTP,
+        // decoding of the node response
+        PARSE,
+        // a whole submit, including sequence retries
+        SUBMIT
+    }
+
+    TxMetrics NOOP = new TxMetrics() {
+    };
+
+    /**
+     * Tells whether the metrics are recorded, so that callers can skip work that only feeds them.
+     */
+    default boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * Returns the start time of a stage, to be passed to {@link #stop(Stage, long)}.
+     */
+    default long start() {
+        return 0;
+    }
+
+    default void stop(Stage stage, long start) {
+        if (isEnabled()) {
+            record(stage, System.nanoTime() - start);
+        }
+    }
+
+    default void record(Stage stage, long nanos) {
+    }
+
+    /**
+     * Counts txs sent to the node and not answered yet, delta is 1 when a tx is posted and -1 when it
+     * is answered.
+     */
+    default void inFlight(int delta) {
+    }
+
+    /**
+     * Counts the result of a tx answered by the node, code 0 is a success.
+     */
+    default void result(String codespace, int code) {
+    }
+
+    /**
+     * Counts txs that got no answer from the node, e.g. because the connection failed.
+     */
+    default void transportError() {
+    }
+
+    /**
+     * Counts the length of the tx bodies posted to the node; they are ascii json, so characters are bytes.
+     */
+    default void bytesSent(long bytes) {
+    }
+
+    default void bytesReceived(long bytes) {
+    }
+}
@@ -0,0 +1,346 @@
+package com.okexchain.client;
+
+import com.alibaba.fastjson.JSONObject;
+import com.okexchain.msg.MsgBase;
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.tx.BroadcastMode;
+import com.okexchain.utils.encoding.CodecInstance;
+import com.okexchain.utils.encoding.message.StdTxEncoder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * TxPacker puts many messages into few txs. Messages are taken in order from a stream, of any module, and
+ * added to the current tx until the next one would exceed the gas, byte or message limit of a tx. The full
+ * tx is then signed once and broadcast with the next sequence of the account.
+ * Messages keep their order, so messages that depend on each other may be packed together. A message that
+ * exceeds a limit on its own is sent alone.
+ */
+public class TxPacker {
+
+    public static final long DEFAULT_MAX_GAS = 2000000L;
+    public static final int DEFAULT_MAX_BYTES = 64 * 1024;
+    public static final int DEFAULT_MAX_MESSAGES = 100;
+    public static final String DEFAULT_GAS_PRICE = "0.00000005";
+
+    // room kept in every tx for the fee, the signature and the memo
+    static final int TX_OVERHEAD_BYTES = 256;
+
+    private static final int FEE_PRECISION = 18;
+
+    /**
+     * Tells the gas a message needs once packed in a tx.
+     */
+    public interface GasSchedule {
+        long gasOf(Message message);
+    }
+
+    public static GasSchedule fixedGas(final long gas) {
+        return new GasSchedule() {
+            @Override
+            public long gasOf(Message message) {
+                return gas;
+            }
+        };
+    }
+
+    /**
+     * Messages packed in one tx.
+     */
+    public static class Pack {
+        private final int firstIndex;
+        private final List<Message> messages = new ArrayList<>();
+        private long gas;
+        private int bytes;
+
+        Pack(int firstIndex) {
+            this.firstIndex = firstIndex;
+        }
+
+        /**
+         * Returns the position in the input stream of the first message of the pack.
+         */
+        public int getFirstIndex() {
+            return firstIndex;
+        }
+
+        public List<Message> getMessages() {
+            return Collections.unmodifiableList(messages);
+        }
+
+        public Message[] toArray() {
+            return messages.toArray(new Message[0]);
+        }
+
+        public int size() {
+            return messages.size();
+        }
+
+        public long getGas() {
+            return gas;
+        }
+
+        /**
+         * Returns the amino size of the messages, without the fee, signature and memo.
+         */
+        public int getBytes() {
+            return bytes;
+        }
+    }
+
+    /**
+     * Where a pack of messages landed.
+     */
+    public static class Receipt {
+        private final int firstIndex;
+        private final int count;
+        private final long gas;
+        private final String txHash;
+        private final JSONObject response;
+
+        Receipt(int firstIndex, int count, long gas, String txHash, JSONObject response) {
+            this.firstIndex = firstIndex;
+            this.count = count;
+            this.gas = gas;
+            this.txHash = txHash;
+            this.response = response;
+        }
+
+        public int getFirstIndex() {
+            return firstIndex;
+        }
+
+        public int getCount() {
+            return count;
+        }
+
+        public boolean contains(int messageIndex) {
+            return messageIndex >= firstIndex && messageIndex < firstIndex + count;
+        }
+
+        public long getGas() {
+            return gas;
+        }
+
+        /**
+         * Returns the hash reported by the node, null when the tx did not reach it.
+         */
+        public String getTxHash() {
+            return txHash;
+        }
+
+        public JSONObject getResponse() {
+            return response;
+        }
+
+        public boolean isSucceed() {
+            return txHash != null && response.getIntValue("code") == 0;
+        }
+    }
+
+    private final MsgBase account;
+    private final GasSchedule gasSchedule;
+
+    private long maxGas = DEFAULT_MAX_GAS;
+    private int maxBytes = DEFAULT_MAX_BYTES;
+    private int maxMessages = DEFAULT_MAX_MESSAGES;
+    private BigDecimal gasPrice = new BigDecimal(DEFAULT_GAS_PRICE);
+    private String memo = "";
+    private BroadcastMode broadcastMode;
+
+    /**
+     * @param account     initialized message object holding the key that signs every tx
+     * @param gasSchedule gas of each message, summed up to the gas of a tx
+     */
+    public TxPacker(MsgBase account, GasSchedule gasSchedule) {
+        this.account = account;
+        this.gasSchedule = gasSchedule;
+    }
+
+    /**
+     * Packs the messages lazily: a pack is built when it is asked for, so the stream may be of any length.
+     */
+    public Iterator<Pack> pack(final Iterator<? extends Message> messages) {
+        return new Iterator<Pack>() {
+            private Message pending;
+            private long pendingGas;
+            private int pendingBytes;
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return pending != null || messages.hasNext();
+            }
+
+            @Override
+            public Pack next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                Pack pack = new Pack(index);
+                while (true) {
+                    if (pending == null) {
+                        if (!messages.hasNext()) {
+                            return pack;
+                        }
+                        pending = messages.next();
+                        pendingGas = gasSchedule.gasOf(pending);
+                        pendingBytes = sizeOf(pending);
+                    }
+                    if (pack.size() > 0 && !fits(pack, pendingGas, pendingBytes)) {
+                        return pack;
+                    }
+                    pack.messages.add(pending);
+                    pack.gas += pendingGas;
+                    pack.bytes += pendingBytes;
+                    pending = null;
+                    index++;
+                }
+            }
+
+            @Override
+            public void remove() {
+                throw new UnsupportedOperationException();
+            }
+        };
+    }
+
+    public List<Pack> pack(List<? extends Message> messages) {
+        List<Pack> packs = new ArrayList<>();
+        Iterator<Pack> it = pack(messages.iterator());
+        while (it.hasNext()) {
+            packs.add(it.next());
+        }
+        return packs;
+    }
+
+    /**
+     * Packs, signs and broadcasts the messages one tx after the other and returns a receipt per tx.
+     */
+    public List<Receipt> submit(Iterator<? extends Message> messages) {
+        List<Receipt> receipts = new ArrayList<>();
+        Iterator<Pack> packs = pack(messages);
+        while (packs.hasNext()) {
+            receipts.add(submit(packs.next()));
+        }
+        return receipts;
+    }
+
+    public List<Receipt> submit(List<? extends Message> messages) {
+        return submit(messages.iterator());
+    }
+
+    public Receipt submit(Pack pack) {
+        BroadcastMode mode = broadcastMode == null ? account.getBroadcastMode() : broadcastMode;
+        JSONObject response = account.submit(pack.toArray(), feeOf(pack.getGas()), String.valueOf(pack.getGas()), memo, mode);
+        return new Receipt(pack.getFirstIndex(), pack.size(), pack.getGas(), response.getString("txhash"), response);
+    }
+
+    /**
+     * Returns the hash of the tx holding the message at the given position of the stream, null if the
+     * message was not sent.
+     */
+    public static String txHashOf(List<Receipt> receipts, int messageIndex) {
+        int low = 0;
+        int high = receipts.size() - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            Receipt receipt = receipts.get(mid);
+            if (messageIndex < receipt.getFirstIndex()) {
+                high = mid - 1;
+            } else if (!receipt.contains(messageIndex)) {
+                low = mid + 1;
+            } else {
+                return receipt.getTxHash();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Returns the fee paid for the gas, rounded up to the precision of the fee denom.
+     */
+    public String feeOf(long gas) {
+        return feeOf(gasPrice, gas);
+    }
+
+    static String feeOf(BigDecimal gasPrice, long gas) {
+        return gasPrice.multiply(BigDecimal.valueOf(gas)).setScale(FEE_PRECISION, RoundingMode.UP)
+                .stripTrailingZeros().toPlainString();
+    }
+
+    private boolean fits(Pack pack, long gas, int bytes) {
+        return pack.size() < maxMessages
+                && pack.gas + gas <= maxGas
+                && pack.bytes + bytes <= maxBytes - TX_OVERHEAD_BYTES;
+    }
+
+    /**
+     * Amino size of the message; its json size, which is larger, when the type has no amino layout.
+     */
+    static int sizeOf(Message message) {
+        try {
+            return StdTxEncoder.messageSize(message);
+        } catch (IllegalArgumentException e) {
+            return CodecInstance.getCodec().toJson(message).getBytes(StandardCharsets.UTF_8).length;
+        }
+    }
+
+    public long getMaxGas() {
+        return maxGas;
+    }
+
+    public void setMaxGas(long maxGas) {
+        this.maxGas = maxGas;
+    }
+
+    public int getMaxBytes() {
+        return maxBytes;
+    }
+
+    public void setMaxBytes(int maxBytes) {
+        this.maxBytes = maxBytes;
+    }
+
+    public int getMaxMessages() {
+        return maxMessages;
+    }
+
+    public void setMaxMessages(int maxMessages) {
+        this.maxMessages = maxMessages;
+    }
+
+    public String getGasPrice() {
+        return gasPrice.toPlainString();
+    }
+
+    public void setGasPrice(String gasPrice) {
+        this.gasPrice = new BigDecimal(gasPrice);
+    }
+
+    public String getMemo() {
+        return memo;
+    }
+
+    public void setMemo(String memo) {
+        this.memo = memo;
+    }
+
+    public BroadcastMode getBroadcastMode() {
+        return broadcastMode;
+    }
+
+    /**
+     * Overrides the broadcast mode of the account for the packed txs.
+     */
+    public void setBroadcastMode(BroadcastMode broadcastMode) {
+        this.broadcastMode = broadcastMode;
+    }
+}
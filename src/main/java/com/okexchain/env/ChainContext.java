@@ -0,0 +1,314 @@
+package com.okexchain.env;
+
+import com.okexchain.client.AccountCache;
+import com.okexchain.client.AccountFetcher;
+import com.okexchain.client.SequenceManager;
+import com.okexchain.client.TxMetrics;
+import com.okexchain.utils.AsyncHttpTransport;
+import com.okexchain.utils.HttpTransport;
+
+/**
+ * ChainContext holds everything that ties a client to one chain: the rest server, chain id, address prefixes,
+ * denom, hd path, the transports, the account caches and the tx metrics. It is immutable, so any number of
+ * contexts, e.g. for mainnet, testnet and a local node, can be used from many threads of one process at the
+ * same time.
+ * <p>
+ * A context is created with a {@link Builder}. The static {@link EnvInstance} keeps working as the default
+ * context, see {@link EnvInstance#getContext()}.
+ */
+public final class ChainContext {
+
+    private final String restServerUrl;
+    private final String chainID;
+    private final String mainPrefix;
+    private final String validatorAddrPrefix;
+    private final String pubPrefix;
+    private final String denom;
+    private final String hdPath;
+    private final String restPathPrefix;
+    private final String txUrlPath;
+    private final String accountUrlPath;
+    private final String simulateUrlPath;
+
+    // null means the process wide default transport
+    private final HttpTransport transport;
+    private final AsyncHttpTransport asyncTransport;
+
+    private final AccountCache accountCache;
+    private final SequenceManager sequenceManager;
+    private final TxMetrics metrics;
+
+    private ChainContext(Builder builder) {
+        this.restServerUrl = builder.restServerUrl;
+        this.chainID = builder.chainID;
+        this.mainPrefix = builder.mainPrefix;
+        this.validatorAddrPrefix = builder.validatorAddrPrefix;
+        this.pubPrefix = builder.pubPrefix;
+        this.denom = builder.denom;
+        this.hdPath = builder.hdPath;
+        this.restPathPrefix = builder.restPathPrefix;
+        this.txUrlPath = builder.txUrlPath;
+        this.accountUrlPath = builder.accountUrlPath;
+        this.simulateUrlPath = builder.simulateUrlPath;
+        this.transport = builder.transport;
+        this.asyncTransport = builder.asyncTransport;
+        this.metrics = builder.metrics != null ? builder.metrics : TxMetrics.NOOP;
+
+        // accounts are read from the rest server of this context unless caches were given
+        AccountFetcher fetcher = new AccountFetcher(this);
+        this.accountCache = builder.accountCache != null ? builder.accountCache
+                : new AccountCache(fetcher, AccountCache.DEFAULT_MAX_SIZE, AccountCache.DEFAULT_TTL);
+        this.sequenceManager = builder.sequenceManager != null ? builder.sequenceManager
+                : new SequenceManager(fetcher);
+    }
+
+    /**
+     * Returns a builder starting from the default settings of {@link EnvBase}.
+     */
+    public static Builder builder() {
+        return new Builder(new EnvBase());
+    }
+
+    /**
+     * Returns a builder starting from the settings of the given env.
+     */
+    public static Builder builder(EnvBase env) {
+        return new Builder(env);
+    }
+
+    /**
+     * Returns a builder starting from this context, to derive a context that differs in a few settings.
+     * The caches are not copied, they belong to the rest server of this context.
+     */
+    public Builder toBuilder() {
+        Builder builder = new Builder();
+        builder.restServerUrl = restServerUrl;
+        builder.chainID = chainID;
+        builder.mainPrefix = mainPrefix;
+        builder.validatorAddrPrefix = validatorAddrPrefix;
+        builder.pubPrefix = pubPrefix;
+        builder.denom = denom;
+        builder.hdPath = hdPath;
+        builder.restPathPrefix = restPathPrefix;
+        builder.txUrlPath = txUrlPath;
+        builder.accountUrlPath = accountUrlPath;
+        builder.simulateUrlPath = simulateUrlPath;
+        builder.transport = transport;
+        builder.asyncTransport = asyncTransport;
+        builder.metrics = metrics;
+        return builder;
+    }
+
+    public String getRestServerUrl() {
+        return restServerUrl;
+    }
+
+    public String getChainID() {
+        return chainID;
+    }
+
+    public String getMainPrefix() {
+        return mainPrefix;
+    }
+
+    public String getValidatorAddrPrefix() {
+        return validatorAddrPrefix;
+    }
+
+    public String getPubPrefix() {
+        return pubPrefix;
+    }
+
+    public String getDenom() {
+        return denom;
+    }
+
+    public String getHdPath() {
+        return hdPath;
+    }
+
+    public String getRestPathPrefix() {
+        return restPathPrefix;
+    }
+
+    public String getTxUrlPath() {
+        return txUrlPath;
+    }
+
+    public String getAccountUrlPath() {
+        return accountUrlPath;
+    }
+
+    public String getSimulateUrlPath() {
+        return simulateUrlPath;
+    }
+
+    public String getTxUrl() {
+        return restServerUrl + txUrlPath;
+    }
+
+    public String getAccountUrl(String address) {
+        return restServerUrl + restPathPrefix + accountUrlPath + address;
+    }
+
+    public String getSimulateUrl() {
+        return restServerUrl + simulateUrlPath;
+    }
+
+    public HttpTransport getTransport() {
+        return transport != null ? transport : HttpTransport.getDefault();
+    }
+
+    public AsyncHttpTransport getAsyncTransport() {
+        return asyncTransport != null ? asyncTransport : AsyncHttpTransport.getDefault();
+    }
+
+    public AccountCache getAccountCache() {
+        return accountCache;
+    }
+
+    public SequenceManager getSequenceManager() {
+        return sequenceManager;
+    }
+
+    public TxMetrics getMetrics() {
+        return metrics;
+    }
+
+    @Override
+    public String toString() {
+        return "ChainContext{" + chainID + "@" + restServerUrl + "}";
+    }
+
+    public static final class Builder {
+        private String restServerUrl;
+        private String chainID;
+        private String mainPrefix;
+        private String validatorAddrPrefix;
+        private String pubPrefix;
+        private String denom;
+        private String hdPath;
+        private String restPathPrefix;
+        private String txUrlPath;
+        private String accountUrlPath;
+        private String simulateUrlPath;
+        private HttpTransport transport;
+        private AsyncHttpTransport asyncTransport;
+        private AccountCache accountCache;
+        private SequenceManager sequenceManager;
+        private TxMetrics metrics;
+
+        private Builder() {
+        }
+
+        private Builder(EnvBase env) {
+            restServerUrl = env.GetRestServerUrl();
+            chainID = env.GetChainid();
+            mainPrefix = env.GetMainPrefix();
+            validatorAddrPrefix = env.GetValidatorAddrPrefix();
+            pubPrefix = env.GetPubPrefix();
+            denom = env.GetDenom();
+            hdPath = env.GetHDPath();
+            restPathPrefix = env.GetRestPathPrefix();
+            txUrlPath = env.GetTxUrlPath();
+            accountUrlPath = env.GetAccountUrlPath();
+            simulateUrlPath = env.GetSimulateUrlPath();
+        }
+
+        public Builder restServerUrl(String restServerUrl) {
+            this.restServerUrl = restServerUrl;
+            return this;
+        }
+
+        public Builder chainID(String chainID) {
+            this.chainID = chainID;
+            return this;
+        }
+
+        public Builder mainPrefix(String mainPrefix) {
+            this.mainPrefix = mainPrefix;
+            return this;
+        }
+
+        public Builder validatorAddrPrefix(String validatorAddrPrefix) {
+            this.validatorAddrPrefix = validatorAddrPrefix;
+            return this;
+        }
+
+        public Builder pubPrefix(String pubPrefix) {
+            this.pubPrefix = pubPrefix;
+            return this;
+        }
+
+        public Builder denom(String denom) {
+            this.denom = denom;
+            return this;
+        }
+
+        public Builder hdPath(String hdPath) {
+            this.hdPath = hdPath;
+            return this;
+        }
+
+        public Builder restPathPrefix(String restPathPrefix) {
+            this.restPathPrefix = restPathPrefix;
+            return this;
+        }
+
+        public Builder txUrlPath(String txUrlPath) {
+            this.txUrlPath = txUrlPath;
+            return this;
+        }
+
+        public Builder accountUrlPath(String accountUrlPath) {
+            this.accountUrlPath = accountUrlPath;
+            return this;
+        }
+
+        public Builder simulateUrlPath(String simulateUrlPath) {
+            this.simulateUrlPath = simulateUrlPath;
+            return this;
+        }
+
+        public Builder transport(HttpTransport transport) {
+            this.transport = transport;
+            return this;
+        }
+
+        public Builder asyncTransport(AsyncHttpTransport asyncTransport) {
+            this.asyncTransport = asyncTransport;
+            return this;
+        }
+
+        /**
+         * Shares an account cache with other contexts. By default every context gets its own.
+         */
+        public Builder accountCache(AccountCache accountCache) {
+            this.accountCache = accountCache;
+            return this;
+        }
+
+        /**
+         * Shares a sequence manager with other contexts. By default every context gets its own.
+         */
+        public Builder sequenceManager(SequenceManager sequenceManager) {
+            this.sequenceManager = sequenceManager;
+            return this;
+        }
+
+        /**
+         * Records the timings and counters of the txs sent through this context, none by default.
+         */
+        public Builder metrics(TxMetrics metrics) {
+            this.metrics = metrics;
+            return this;
+        }
+
+        public ChainContext build() {
+            if (restServerUrl == null || chainID == null || mainPrefix == null || denom == null) {
+                throw new IllegalStateException("rest server url, chain id, main prefix and denom are required");
+            }
+            return new ChainContext(this);
+        }
+    }
+}
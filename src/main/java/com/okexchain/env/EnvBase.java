@@ -1,5 +1,8 @@
 package com.okexchain.env;
 
+import com.okexchain.client.AccountCache;
+import com.okexchain.client.SequenceManager;
+
 public class EnvBase {
 
     protected String restServerUrl;
@@ -12,6 +15,10 @@ public class EnvBase {
     protected String restPathPrefix;
     protected String txUrlPath;
     protected String accountUrlPath;
+    protected String simulateUrlPath;
+
+    // snapshot of the settings, dropped by every setter
+    private volatile ChainContext context;
 
     public EnvBase() {
         this.restServerUrl = "http://127.0.0.1:8545";
@@ -27,6 +34,7 @@ public class EnvBase {
         //todo
         this.txUrlPath = "/okexchain/v1/txs";
         this.accountUrlPath = "/auth/accounts/";
+        this.simulateUrlPath = "/okexchain/v1/txs/simulate";
     }
 
     public String GetMainPrefix() {
@@ -69,43 +77,78 @@ public class EnvBase {
         return this.accountUrlPath;
     }
 
+    public String GetSimulateUrlPath() {
+        return this.simulateUrlPath;
+    }
+
     public void setRestServerUrl(String restServerUrl) {
         this.restServerUrl = restServerUrl;
+        this.context = null;
     }
 
     public void setMainPrefix(String mainPrefix) {
         this.mainPrefix = mainPrefix;
+        this.context = null;
     }
 
     public void setDenom(String denom) {
         this.denom = denom;
+        this.context = null;
     }
 
     public void setChainID(String chainID) {
         this.chainID = chainID;
+        this.context = null;
     }
 
     public void setHdPath(String hdPath) {
         this.hdPath = hdPath;
+        this.context = null;
     }
 
     public void setValidatorAddrPrefix(String validatorAddrPrefix) {
         this.validatorAddrPrefix = validatorAddrPrefix;
+        this.context = null;
     }
 
     public void setPubPrefix(String pubPrefix) {
         this.pubPrefix = pubPrefix;
+        this.context = null;
     }
 
     public void setRestPathPrefix(String restPathPrefix) {
         this.restPathPrefix = restPathPrefix;
+        this.context = null;
     }
 
     public void setTxUrlPath(String txUrlPath) {
         this.txUrlPath = txUrlPath;
+        this.context = null;
     }
 
     public void setAccountUrlPath(String accountUrlPath) {
         this.accountUrlPath = accountUrlPath;
+        this.context = null;
+    }
+
+    public void setSimulateUrlPath(String simulateUrlPath) {
+        this.simulateUrlPath = simulateUrlPath;
+        this.context = null;
+    }
+
+    /**
+     * Returns the settings of this env as an immutable context, using the process wide transports and
+     * account caches. The context is built again after a setter was called.
+     */
+    public ChainContext toContext() {
+        ChainContext current = context;
+        if (current == null) {
+            current = ChainContext.builder(this)
+                    .accountCache(AccountCache.getDefault())
+                    .sequenceManager(SequenceManager.getDefault())
+                    .build();
+            context = current;
+        }
+        return current;
     }
 }
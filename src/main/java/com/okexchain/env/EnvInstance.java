@@ -1,8 +1,12 @@
 package com.okexchain.env;
 
+/**
+ * EnvInstance holds the process wide env used by the static api. Clients that talk to several chains at
+ * once should be given their own {@link ChainContext} instead.
+ */
 public class EnvInstance {
 
-    static EnvBase env = new EnvBase();
+    static volatile EnvBase env = new EnvBase();
 
     static public void setEnv(String type) {
     }
@@ -14,4 +18,11 @@ public class EnvInstance {
     static public EnvBase getEnv() {
         return env;
     }
+
+    /**
+     * Returns the current env as the default chain context.
+     */
+    static public ChainContext getContext() {
+        return env.toContext();
+    }
 }
@@ -1,29 +1,33 @@
 package com.okexchain.msg;
 
-import com.alibaba.fastjson.JSON;
-import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
-import com.alibaba.fastjson.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okexchain.client.AccountCache;
+import com.okexchain.client.AccountInfo;
+import com.okexchain.client.SequenceManager;
+import com.okexchain.client.TxMetrics;
+import com.okexchain.env.ChainContext;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.tx.*;
-import com.okexchain.utils.HttpUtils;
+import com.okexchain.utils.AsyncHttpTransport;
+import com.okexchain.utils.HttpTransport;
 import com.okexchain.utils.Utils;
 import com.okexchain.utils.crypto.Crypto;
 import com.okexchain.msg.common.*;
 import com.okexchain.utils.crypto.PrivateKey;
-import org.bouncycastle.util.Strings;
-import org.bouncycastle.util.encoders.Base64;
+import com.okexchain.utils.crypto.Signer;
+import com.okexchain.utils.encoding.CodecInstance;
+import com.okexchain.utils.exception.RequestNotSentException;
 import org.bouncycastle.util.encoders.Hex;
-import org.web3j.crypto.ECKeyPair;
 import org.web3j.crypto.Sign;
 
 import java.io.BufferedOutputStream;
 import java.io.FileOutputStream;
-import java.math.BigInteger;
+import java.io.IOException;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
 
 public class MsgBase {
 
@@ -34,84 +38,351 @@ public class MsgBase {
     protected String address;
     protected String operAddress;
     protected String priKeyString;
+    protected Signer signer;
+
+    protected HttpTransport transport = HttpTransport.getDefault();
+    protected AsyncHttpTransport asyncTransport;
+    protected BroadcastMode broadcastMode = BroadcastMode.BLOCK;
+    protected SequenceManager sequenceManager = SequenceManager.getDefault();
+    protected AccountCache accountCache = AccountCache.getDefault();
+    // chain this object talks to, null for the default context of EnvInstance
+    protected ChainContext context;
+    protected TxMetrics metrics = TxMetrics.NOOP;
+
+    private static final int SEQUENCE_RETRIES = 3;
+
+    // prints every built tx and broadcast answer, for debugging
+    private static volatile boolean printTxs;
+
+    // type of the messages this object produces, set by the subclass
+    protected String msgType;
+
+    /**
+     * Turns on the printing of every unsigned tx, broadcast tx and answer to System.out. Off by default.
+     */
+    public static void setPrintTxs(boolean printTxs) {
+        MsgBase.printTxs = printTxs;
+    }
 
-    static protected String msgType;
+    public static boolean isPrintTxs() {
+        return printTxs;
+    }
 
     public void setMsgType(String type) {
         this.msgType = type;
     }
 
+    public String getMsgType() {
+        return msgType;
+    }
+
+    /**
+     * Stamps the message type of this object on a message built by a module factory, so that a type set
+     * with {@link #setMsgType(String)} is kept.
+     */
+    protected <T> Message<T> withMsgType(Message<T> msg) {
+        msg.setType(msgType);
+        return msg;
+    }
+
     public void initMnemonic(String mnemonic) {
-        String prikeyStr = Crypto.generatePrivateKeyFromMnemonic(mnemonic);
+        String prikeyStr = Crypto.generatePrivateKeyFromMnemonic(getContext(), mnemonic);
         PrivateKey pri = new PrivateKey(prikeyStr);
         init(pri);
     }
 
     public void init(PrivateKey privateKey) {
         priKeyString = privateKey.getPriKey();
+        signer = new Signer(priKeyString);
         init(privateKey.getPubKey());
     }
 
-    private String getAccountPrivate(String userAddress) {
-        String url = EnvInstance.getEnv().GetRestServerUrl() +
-                EnvInstance.getEnv().GetRestPathPrefix() +
-                EnvInstance.getEnv().GetAccountUrlPath() + userAddress;
-        System.out.println(url);
-        return HttpUtils.httpGet(url);
+    public static JSONObject broadcast(String tx, String url) {
+        return broadcast(tx, url, HttpTransport.getDefault());
     }
 
-    private String getSequance(JSONObject account) {
-        String res = account
-                .getJSONObject("value")
-                .get("sequence").toString();
-        return res;
+    public static JSONObject broadcast(String tx, String url, HttpTransport transport) {
+        return post(url + EnvInstance.getEnv().GetTxUrlPath(), tx, transport, TxMetrics.NOOP);
     }
 
-    private String getAccountNumber(JSONObject account) {
-        String res = account
-                .getJSONObject("value")
-                .get("account_number").toString();
-        return res;
+    /**
+     * Broadcasts the signed tx to the rest server of the context.
+     */
+    public static JSONObject broadcast(ChainContext context, String tx) {
+        return post(context.getTxUrl(), tx, context.getTransport(), context.getMetrics());
     }
 
-    public static JSONObject broadcast(String tx, String url) {
-        System.out.println("Broadcast tx:");
-        System.out.println(tx);
+    /**
+     * Broadcasts a tx signed by this account to its chain, with its transport.
+     */
+    public JSONObject broadcast(String tx) {
+        return post(getContext().getTxUrl(), tx, transport, metrics);
+    }
 
-        System.out.println("Response:");
-        String res = HttpUtils.httpPost(url + EnvInstance.getEnv().GetTxUrlPath(), tx);
-        JSONObject result = JSON.parseObject(res);
+    private static JSONObject post(String txUrl, String tx, HttpTransport transport, TxMetrics metrics) {
+        if (printTxs) {
+            System.out.println("Broadcast tx:");
+            System.out.println(tx);
+        }
+
+        JSONObject result;
+        metrics.bytesSent(tx.length());
+        metrics.inFlight(1);
+        try {
+            long start = metrics.start();
+            String res;
+            try {
+                res = transport.post(txUrl, tx);
+            } finally {
+                metrics.inFlight(-1);
+            }
+            metrics.stop(TxMetrics.Stage.HTTP, start);
+            metrics.bytesReceived(res.length());
 
-        System.out.println(result);
-        System.out.println("------------------------------------------------------");
+            start = metrics.start();
+            result = new JSONObject(CodecInstance.getCodec().toMap(res));
+            metrics.stop(TxMetrics.Stage.PARSE, start);
+        } catch (Exception e) {
+            metrics.transportError();
+            e.printStackTrace();
+            return new JSONObject();
+        }
+        metrics.result(result.getString("codespace"), result.getIntValue("code"));
+
+        if (printTxs) {
+            System.out.println("Response:");
+            System.out.println(result);
+            System.out.println("------------------------------------------------------");
+        }
         return result;
     }
 
+    public static CompletionStage<Response> broadcastAsync(String tx, String url) {
+        return broadcastAsync(tx, url, AsyncHttpTransport.getDefault());
+    }
+
+    /**
+     * Posts the signed tx without blocking the caller. The returned stage completes on a callback
+     * thread of the transport once the node answers; in "block" mode that is after the tx was committed.
+     */
+    public static CompletionStage<Response> broadcastAsync(String tx, String url, AsyncHttpTransport transport) {
+        return postAsync(url + EnvInstance.getEnv().GetTxUrlPath(), tx, transport, TxMetrics.NOOP);
+    }
+
+    public static CompletionStage<Response> broadcastAsync(ChainContext context, String tx) {
+        return postAsync(context.getTxUrl(), tx, context.getAsyncTransport(), context.getMetrics());
+    }
+
+    /**
+     * Broadcasts a tx signed by this account to its chain without blocking the caller.
+     */
+    public CompletionStage<Response> broadcastAsync(String tx) {
+        return postAsync(getContext().getTxUrl(), tx, getAsyncTransport(), metrics);
+    }
+
+    private static CompletionStage<Response> postAsync(String txUrl, String tx, AsyncHttpTransport transport,
+                                                       final TxMetrics metrics) {
+        if (!metrics.isEnabled()) {
+            return transport.post(txUrl, tx)
+                    .thenApply(res -> CodecInstance.getCodec().fromJson(res, Response.class));
+        }
+        metrics.bytesSent(tx.length());
+        metrics.inFlight(1);
+        final long start = metrics.start();
+        return transport.post(txUrl, tx)
+                .whenComplete((res, error) -> {
+                    metrics.inFlight(-1);
+                    if (error != null) {
+                        metrics.transportError();
+                    }
+                })
+                .thenApply(res -> {
+                    metrics.stop(TxMetrics.Stage.HTTP, start);
+                    metrics.bytesReceived(res.length());
+
+                    long parseStart = metrics.start();
+                    Response response = CodecInstance.getCodec().fromJson(res, Response.class);
+                    metrics.stop(TxMetrics.Stage.PARSE, parseStart);
+                    metrics.result(response.getCodespace(), response.getCode());
+                    return response;
+                });
+    }
 
     public JSONObject submit(Message message,
                              String feeAmount,
                              String gas,
                              String memo) {
-        try {
-            UnsignedTx unsignedTx = getUnsignedTx(message, Utils.NewDecString(feeAmount), gas, memo);
-
-            Signature signature = MsgBase.signTx(unsignedTx.toString(), priKeyString);
+        return submit(message, feeAmount, gas, memo, broadcastMode);
+    }
 
-            BroadcastTx signedTx = unsignedTx.signed(signature);
+    /**
+     * Signs and broadcasts the message with the next locally allocated sequence. When the node reports a
+     * sequence mismatch the sequence is resynchronized and the tx is signed again with the new value.
+     */
+    public JSONObject submit(Message message,
+                             String feeAmount,
+                             String gas,
+                             String memo,
+                             BroadcastMode mode) {
+        return submit(new Message[]{message}, feeAmount, gas, memo, mode);
+    }
 
-            return broadcast(signedTx.toJson(), EnvInstance.getEnv().GetRestServerUrl());
+    /**
+     * Signs and broadcasts all the messages in a single tx, see {@link #submit(Message, String, String, String, BroadcastMode)}.
+     */
+    public JSONObject submit(Message[] msgs,
+                             String feeAmount,
+                             String gas,
+                             String memo,
+                             BroadcastMode mode) {
+        long submitStart = metrics.start();
+        try {
+            for (int attempt = 0; ; attempt++) {
+                long sequence = nextSequence();
+                UnsignedTx unsignedTx = buildUnsignedTx(msgs, Utils.NewDecString(feeAmount), gas, memo, String.valueOf(sequence));
+                unsignedTx.setMode(mode);
+
+                JSONObject result = broadcast(signAndEncode(unsignedTx));
+                sequenceNum = String.valueOf(sequence);
+                if (!retryOnSequence(sequence, result.getIntValue("code"), result.getLongValue("height"),
+                        result.getString("raw_log"), attempt)) {
+                    return result;
+                }
+            }
         } catch (Exception e) {
             System.out.println("serialize transfer msg failed");
             return new JSONObject();
+        } finally {
+            metrics.stop(TxMetrics.Stage.SUBMIT, submitStart);
+        }
+    }
+
+    private long nextSequence() throws IOException {
+        long start = metrics.start();
+        long sequence = sequenceManager.next(address);
+        metrics.stop(TxMetrics.Stage.ACCOUNT, start);
+        return sequence;
+    }
+
+    private String signAndEncode(UnsignedTx unsignedTx) throws Exception {
+        long start = metrics.start();
+        Signature signature = getSigner().sign(unsignedTx.getSignBytes());
+        metrics.stop(TxMetrics.Stage.SIGN, start);
+
+        start = metrics.start();
+        String tx = unsignedTx.signed(signature).toJson();
+        metrics.stop(TxMetrics.Stage.ENCODE, start);
+        return tx;
+    }
+
+    /**
+     * Builds and signs the tx on the calling thread, then broadcasts it asynchronously.
+     */
+    public CompletionStage<Response> submitAsync(Message message,
+                                                 String feeAmount,
+                                                 String gas,
+                                                 String memo) {
+        return submitAsync(message, feeAmount, gas, memo, broadcastMode);
+    }
+
+    public CompletionStage<Response> submitAsync(Message message,
+                                                 String feeAmount,
+                                                 String gas,
+                                                 String memo,
+                                                 BroadcastMode mode) {
+        final long start = metrics.start();
+        CompletionStage<Response> stage = submitAsync(new Message[]{message}, feeAmount, gas, memo, mode, 0);
+        if (metrics.isEnabled()) {
+            stage = stage.whenComplete((response, error) -> metrics.stop(TxMetrics.Stage.SUBMIT, start));
+        }
+        return stage;
+    }
+
+    private CompletionStage<Response> submitAsync(final Message[] msgs,
+                                                  final String feeAmount,
+                                                  final String gas,
+                                                  final String memo,
+                                                  final BroadcastMode mode,
+                                                  final int attempt) {
+        try {
+            final long sequence = nextSequence();
+            UnsignedTx unsignedTx = buildUnsignedTx(msgs, Utils.NewDecString(feeAmount), gas, memo, String.valueOf(sequence));
+            unsignedTx.setMode(mode);
+
+            return broadcastAsync(signAndEncode(unsignedTx))
+                    .whenComplete((response, error) -> {
+                        // the node never saw the tx, so its sequence is free again
+                        if (error != null && RequestNotSentException.isCause(error)) {
+                            sequenceManager.release(address, sequence);
+                        }
+                    })
+                    .thenCompose(response -> {
+                        try {
+                            if (retryOnSequence(sequence, response.getCode(), response.getHeight(), response.getRawLog(), attempt)) {
+                                return submitAsync(msgs, feeAmount, gas, memo, mode, attempt + 1);
+                            }
+                        } catch (Exception e) {
+                            CompletableFuture<Response> failed = new CompletableFuture<>();
+                            failed.completeExceptionally(e);
+                            return failed;
+                        }
+                        return CompletableFuture.completedFuture(response);
+                    });
+        } catch (Exception e) {
+            CompletableFuture<Response> failed = new CompletableFuture<>();
+            failed.completeExceptionally(e);
+            return failed;
         }
     }
 
+    /**
+     * Updates the local sequence after a broadcast and tells whether the tx has to be signed again.
+     * A tx rejected before reaching a block gives its sequence back; a sequence mismatch triggers a resync.
+     */
+    private boolean retryOnSequence(long sequence, int code, long height, String rawLog, int attempt) throws Exception {
+        if (code == 0 || height > 0) {
+            return false;
+        }
+        if (sequenceManager.recover(address, rawLog, sequence)) {
+            return attempt < SEQUENCE_RETRIES;
+        }
+        sequenceManager.release(address, sequence);
+        return false;
+    }
+
     public UnsignedTx getUnsignedTx(Message message,
                                     String feeAmount,
                                     String gas,
                                     String memo) {
+        return getUnsignedTx(new Message[]{message}, feeAmount, gas, memo);
+    }
+
+    public UnsignedTx getUnsignedTx(Message[] msgs,
+                                    String feeAmount,
+                                    String gas,
+                                    String memo) {
+        return buildUnsignedTx(msgs, feeAmount, gas, memo, sequenceNum);
+    }
+
+    /**
+     * Builds the tx with a sequence the caller allocated, e.g. from the {@link SequenceManager}.
+     */
+    public UnsignedTx getUnsignedTx(Message[] msgs,
+                                    String feeAmount,
+                                    String gas,
+                                    String memo,
+                                    long sequence) {
+        return buildUnsignedTx(msgs, feeAmount, gas, memo, String.valueOf(sequence));
+    }
+
+    protected UnsignedTx buildUnsignedTx(Message[] msgs,
+                                         String feeAmount,
+                                         String gas,
+                                         String memo,
+                                         String sequence) {
 
         UnsignedTx tx = null;
+        ChainContext context = getContext();
         try {
             // generate unsigned tx
             Fee fee = new Fee();
@@ -120,27 +391,28 @@ public class MsgBase {
 
             if (feeAmount.length() > 0) {
                 Token amount = new Token();
-                amount.setDenom(EnvInstance.getEnv().GetDenom());
+                amount.setDenom(context.getDenom());
                 amount.setAmount(Utils.NewDecString(feeAmount));
                 amountList.add(amount);
             }
             fee.setGas(gas);
 
-            Message[] msgs = new Message[1];
-            msgs[0] = message;
-
-            Data2Sign data = new Data2Sign(accountNum, EnvInstance.getEnv().GetChainid(), fee, memo, msgs, sequenceNum);
-            String unsignedTxJson = new ObjectMapper().writeValueAsString(data);
-
-            System.out.println("row data:");
-            System.out.println(unsignedTxJson);
+            Data2Sign data = new Data2Sign(accountNum, context.getChainID(), fee, memo, msgs, sequence);
+            long start = metrics.start();
+            byte[] signBytes = CodecInstance.getCodec().toSignBytes(data);
+            metrics.stop(TxMetrics.Stage.SIGN_BYTES, start);
 
             TxValue txValue = new TxValue();
             txValue.setMsgs(msgs);
             txValue.setFee(fee);
             txValue.setMemo(memo);
 
-            tx = new UnsignedTx(txValue, unsignedTxJson);
+            tx = new UnsignedTx(txValue, signBytes, broadcastMode);
+
+            if (printTxs) {
+                System.out.println("row data:");
+                System.out.println(tx);
+            }
         } catch (Exception e) {
             System.out.println("serialize transfer msg failed");
         }
@@ -150,38 +422,37 @@ public class MsgBase {
 
 
     public static Signature signTx(String unsignedTx, String privateKey) throws Exception {
-        byte[] byteSignData = unsignedTx.getBytes();
-        BigInteger privKey = new BigInteger(privateKey, 16);
-        Sign.SignatureData sig = Sign.signMessage(byteSignData, ECKeyPair.create(privKey));
-        String sigResult = toBase64(sig);
-
-        Signature signature = new Signature();
-        Pubkey pubkey = new Pubkey();
-        pubkey.setType("ethermint/PubKeyEthSecp256k1");
-        pubkey.setValue(Strings.fromByteArray(Base64.encode(Hex.decode(Crypto.generatePubKeyHexFromPriv(privateKey)))));
-        signature.setPubkey(pubkey);
-        signature.setSignature(sigResult);
+        return new Signer(privateKey).sign(unsignedTx);
+    }
 
-        return signature;
+    /**
+     * Returns the signer of this account, prepared once from the private key.
+     */
+    public Signer getSigner() {
+        if (signer == null) {
+            signer = new Signer(priKeyString);
+        }
+        return signer;
     }
 
 
     public void init(String pubkey) {
-        pubKeyString = pubkey;
-        address = Crypto.generateAddressFromPub(pubKeyString);
-        JSONObject accountJson = JSON.parseObject(getAccountPrivate(address));
-        sequenceNum = getSequance(accountJson);
-        accountNum = getAccountNumber(accountJson);
-        operAddress = Crypto.generateValidatorAddressFromPub(pubKeyString);
+        init(Crypto.generateAddressFromPub(getContext(), pubkey), pubkey);
     }
 
     public void init(String addr, String pubkey) {
         pubKeyString = pubkey;
         address = addr;
-        JSONObject accountJson = JSON.parseObject(getAccountPrivate(address));
-        sequenceNum = getSequance(accountJson);
-        accountNum = getAccountNumber(accountJson);
-        operAddress = Crypto.generateValidatorAddressFromPub(pubKeyString);
+        AccountInfo account;
+        try {
+            account = accountCache.get(address);
+        } catch (IOException e) {
+            throw new RuntimeException(e);
+        }
+        sequenceNum = String.valueOf(account.getSequence());
+        accountNum = String.valueOf(account.getAccountNumber());
+        operAddress = Crypto.generateValidatorAddressFromPub(getContext(), pubKeyString);
+        sequenceManager.seed(address, account.getSequence());
     }
 
     public void init(String addr, String accountnum, String sequencenum, String pubkey) {
@@ -189,15 +460,17 @@ public class MsgBase {
         address = addr;
         accountNum = accountnum;
         sequenceNum = sequencenum;
-        operAddress = Crypto.generateValidatorAddressFromPub(pubKeyString);
+        operAddress = Crypto.generateValidatorAddressFromPub(getContext(), pubKeyString);
+        sequenceManager.reset(address, Long.parseLong(sequenceNum));
     }
 
     public void init(String pubkey, String accountNum, String sequenceNum) {
         pubKeyString = pubkey;
-        address = Crypto.generateAddressFromPub(pubKeyString);
+        address = Crypto.generateAddressFromPub(getContext(), pubKeyString);
         this.sequenceNum = sequenceNum;
         this.accountNum = accountNum;
-        operAddress = Crypto.generateValidatorAddressFromPub(pubKeyString);
+        operAddress = Crypto.generateValidatorAddressFromPub(getContext(), pubKeyString);
+        sequenceManager.reset(address, Long.parseLong(sequenceNum));
     }
 
 
@@ -217,28 +490,35 @@ public class MsgBase {
         byte[] sigData = new byte[64];  // 32 bytes for R + 32 bytes for S
         System.arraycopy(sig.getR(), 0, sigData, 0, 32);
         System.arraycopy(sig.getS(), 0, sigData, 32, 32);
-        System.out.println(Hex.toHexString(sigData));
+        if (printTxs) {
+            System.out.println(Hex.toHexString(sigData));
+        }
         return new String(org.spongycastle.util.encoders.Base64.encode(sigData), Charset.forName("UTF-8"));
     }
 
     public String getMatchedAttribute(JSONObject result, String matchedKey) throws Exception {
-        Response response = JSON.parseObject(result.toString(), Response.class);
-        if (result.isEmpty()) {
-            throw new Exception("result is empty");
-        } else if (response.getCode() != 0) {
-            throw new Exception("execute tx failed: " + response.getRawLog());
+        String value = committedResponse(result).getEvents().first(0, matchedKey);
+        if (value == null) {
+            throw new Exception("can not find matched attribute");
         }
+        return value;
+    }
 
-        JSONArray rawLogs = JSON.parseArray(response.getRawLog());
-        RawLog<StringEvent<Attribute>> rawLog1 = JSONObject.parseObject(rawLogs.get(0).toString(), new TypeReference<RawLog<StringEvent<Attribute>>>() {});
-        for (StringEvent<Attribute> event : rawLog1.getEvents()) {
-            for (Attribute attr : event.getAttributes()) {
-                if (attr.getKey().equals(matchedKey)) {
-                    return attr.getValue();
-                }
-            }
+    /**
+     * Returns the first value of the matched attribute in the log of every message of the tx, in message
+     * order. Messages whose log has no such attribute are left out.
+     */
+    public List<String> getMatchedAttributes(JSONObject result, String matchedKey) throws Exception {
+        return committedResponse(result).getEvents().firstOfEachMessage(matchedKey);
+    }
+
+    private static Response committedResponse(JSONObject result) throws Exception {
+        if (result.isEmpty()) {
+            throw new Exception("result is empty");
+        } else if (result.getIntValue("code") != 0) {
+            throw new Exception("execute tx failed: " + result.getString("raw_log"));
         }
-        throw  new Exception("can not find matched attribute");
+        return Response.fromMap(result);
     }
 
     public boolean isTxSucceed(JSONObject result) throws Exception {
@@ -246,11 +526,46 @@ public class MsgBase {
             throw new Exception("result is empty");
         }
 
-        Response response = JSON.parseObject(result.toString(), Response.class);
-        if (response.getRawLog() == null) {
+        if (result.getString("raw_log") == null) {
             throw new Exception("result is empty");
         }
-        return response.getCode() == 0;
+        return result.getIntValue("code") == 0;
+    }
+
+    /**
+     * Returns a message object of the given type bound to the same account, key and client settings.
+     * The account is not read from the node again.
+     */
+    public <T extends MsgBase> T as(Class<T> type) {
+        T target;
+        try {
+            target = type.getDeclaredConstructor().newInstance();
+        } catch (Exception e) {
+            throw new IllegalArgumentException("can not instantiate " + type.getName(), e);
+        }
+        target.sequenceNum = sequenceNum;
+        target.accountNum = accountNum;
+        target.pubKeyString = pubKeyString;
+        target.address = address;
+        target.operAddress = operAddress;
+        target.priKeyString = priKeyString;
+        target.signer = signer;
+        target.transport = transport;
+        target.asyncTransport = asyncTransport;
+        target.broadcastMode = broadcastMode;
+        target.sequenceManager = sequenceManager;
+        target.accountCache = accountCache;
+        target.context = context;
+        target.metrics = metrics;
+        return target;
+    }
+
+    public String getAddress() {
+        return address;
+    }
+
+    public String getOperAddress() {
+        return operAddress;
     }
 
     public String getSequenceNum() {
@@ -260,4 +575,75 @@ public class MsgBase {
     public String getAccountNum() {
         return accountNum;
     }
+
+    /**
+     * Returns the chain this object talks to, the default context of {@link EnvInstance} unless one was set.
+     */
+    public ChainContext getContext() {
+        return context != null ? context : EnvInstance.getContext();
+    }
+
+    /**
+     * Binds this object to a chain, taking the transports and account caches of the context. Call it before
+     * init, which derives the addresses and reads the account with the settings of the context.
+     */
+    public void setContext(ChainContext context) {
+        this.context = context;
+        this.transport = context.getTransport();
+        this.asyncTransport = context.getAsyncTransport();
+        this.sequenceManager = context.getSequenceManager();
+        this.accountCache = context.getAccountCache();
+        this.metrics = context.getMetrics();
+    }
+
+    public TxMetrics getMetrics() {
+        return metrics;
+    }
+
+    public void setMetrics(TxMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    public HttpTransport getTransport() {
+        return transport;
+    }
+
+    public void setTransport(HttpTransport transport) {
+        this.transport = transport;
+    }
+
+    public AccountCache getAccountCache() {
+        return accountCache;
+    }
+
+    public void setAccountCache(AccountCache accountCache) {
+        this.accountCache = accountCache;
+    }
+
+    public SequenceManager getSequenceManager() {
+        return sequenceManager;
+    }
+
+    public void setSequenceManager(SequenceManager sequenceManager) {
+        this.sequenceManager = sequenceManager;
+    }
+
+    public BroadcastMode getBroadcastMode() {
+        return broadcastMode;
+    }
+
+    public void setBroadcastMode(BroadcastMode broadcastMode) {
+        this.broadcastMode = broadcastMode;
+    }
+
+    public AsyncHttpTransport getAsyncTransport() {
+        if (asyncTransport == null) {
+            asyncTransport = AsyncHttpTransport.getDefault();
+        }
+        return asyncTransport;
+    }
+
+    public void setAsyncTransport(AsyncHttpTransport asyncTransport) {
+        this.asyncTransport = asyncTransport;
+    }
 }
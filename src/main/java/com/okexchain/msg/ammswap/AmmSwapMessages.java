@@ -0,0 +1,72 @@
+package com.okexchain.msg.ammswap;
+
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.common.Token;
+import com.okexchain.utils.Utils;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Builds the messages of the ammswap module. The methods keep no state and may be called from any thread;
+ * the sender is passed in instead of being read from an account. A deadline is an ISO-8601 duration,
+ * e.g. "PT10M", counted from the time the message is built.
+ */
+public final class AmmSwapMessages {
+
+    public static final String CREATE_EXCHANGE = "okexchain/ammswap/MsgCreateExchange";
+    public static final String ADD_LIQUIDITY = "okexchain/ammswap/MsgAddLiquidity";
+    public static final String REMOVE_LIQUIDITY = "okexchain/ammswap/MsgRemoveLiquidity";
+    public static final String SWAP_TOKEN = "okexchain/ammswap/MsgSwapToken";
+
+    private AmmSwapMessages() {
+    }
+
+    public static Message<MsgCreateExchangeValue> createExchange(String sender, String token0Name, String token1Name) {
+        MsgCreateExchangeValue value = new MsgCreateExchangeValue();
+        value.setSender(sender);
+        value.setTokenNameBefore(token0Name);
+        value.setTokenNameAfter(token1Name);
+        return new Message<>(CREATE_EXCHANGE, value);
+    }
+
+    public static Message<MsgAddLiquidityValue> addLiquidity(String sender, String deadline, String minLiquidity,
+                                                             String maxBaseAmount, String baseDenom,
+                                                             String quoteAmount, String quoteDenom) {
+        MsgAddLiquidityValue value = new MsgAddLiquidityValue();
+        value.setDeadline(deadlineOf(deadline));
+        value.setSender(sender);
+        value.setMinLiquidity(Utils.NewDecString(minLiquidity));
+        value.setMaxBaseAmount(new Token(Utils.NewDecString(maxBaseAmount), baseDenom));
+        value.setQuoteAmount(new Token(Utils.NewDecString(quoteAmount), quoteDenom));
+        return new Message<>(ADD_LIQUIDITY, value);
+    }
+
+    public static Message<MsgRemoveLiquidityValue> removeLiquidity(String sender, String deadline, String liquidity,
+                                                                   String minBaseAmount, String baseDenom,
+                                                                   String minQuoteAmount, String quoteDenom) {
+        MsgRemoveLiquidityValue value = new MsgRemoveLiquidityValue();
+        value.setDeadline(deadlineOf(deadline));
+        value.setSender(sender);
+        value.setMinBaseAmount(new Token(Utils.NewDecString(minBaseAmount), baseDenom));
+        value.setMinQuoteAmount(new Token(Utils.NewDecString(minQuoteAmount), quoteDenom));
+        value.setLiquidity(Utils.NewDecString(liquidity));
+        return new Message<>(REMOVE_LIQUIDITY, value);
+    }
+
+    public static Message<MsgSwapTokenValue> swapToken(String sender, String deadline, String recipient,
+                                                       String minBoughtAmount, String boughtDenom,
+                                                       String soldAmount, String soldDenom) {
+        MsgSwapTokenValue value = new MsgSwapTokenValue();
+        value.setDeadline(deadlineOf(deadline));
+        value.setSender(sender);
+        value.setRecipient(recipient);
+        value.setMinBoughtTokenAmount(new Token(Utils.NewDecString(minBoughtAmount), boughtDenom));
+        value.setSoldTokenAmount(new Token(Utils.NewDecString(soldAmount), soldDenom));
+        return new Message<>(SWAP_TOKEN, value);
+    }
+
+    private static String deadlineOf(String deadline) {
+        return Long.toString(Instant.now().getEpochSecond() + Duration.parse(deadline).getSeconds());
+    }
+}
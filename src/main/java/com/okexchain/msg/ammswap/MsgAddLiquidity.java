@@ -4,40 +4,15 @@ import com.alibaba.fastjson.JSONObject;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.msg.common.Token;
-import com.okexchain.utils.Utils;
 import com.okexchain.utils.crypto.PrivateKey;
 
-import java.time.Duration;
-import java.time.Instant;
 
 public class MsgAddLiquidity extends MsgBase {
 
-    public MsgAddLiquidity() { setMsgType("okexchain/ammswap/MsgAddLiquidity"); }
+    public MsgAddLiquidity() { setMsgType(AmmSwapMessages.ADD_LIQUIDITY); }
 
     public Message produceMsg(String deadline, String minLiquidity, String maxBaseAmount, String baseDenom, String quoteAmount, String quoteDenom) {
-
-        Token maxBaseToken = new Token();
-        maxBaseToken.setDenom(baseDenom);
-        maxBaseToken.setAmount(Utils.NewDecString(maxBaseAmount));
-
-        Token quoteToken = new Token();
-        quoteToken.setDenom(quoteDenom);
-        quoteToken.setAmount(Utils.NewDecString(quoteAmount));
-
-        MsgAddLiquidityValue value = new MsgAddLiquidityValue();
-
-        long current = Instant.now().getEpochSecond() + Duration.parse(deadline).getSeconds();
-        value.setDeadline(Long.toString(current));
-        value.setSender(this.address);
-        value.setMinLiquidity(Utils.NewDecString(minLiquidity));
-        value.setMaxBaseAmount(maxBaseToken);
-        value.setQuoteAmount(quoteToken);
-
-        Message<MsgAddLiquidityValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(AmmSwapMessages.addLiquidity(this.address, deadline, minLiquidity, maxBaseAmount, baseDenom, quoteAmount, quoteDenom));
     }
 
     public static void main(String[] args) {
@@ -8,20 +8,10 @@ import com.okexchain.utils.crypto.PrivateKey;
 
 public class MsgCreateExchange extends MsgBase {
 
-    public MsgCreateExchange() { setMsgType("okexchain/ammswap/MsgCreateExchange"); }
+    public MsgCreateExchange() { setMsgType(AmmSwapMessages.CREATE_EXCHANGE); }
 
     public Message productMsg(String token0Name, String token1Name) {
-
-        MsgCreateExchangeValue value = new MsgCreateExchangeValue();
-
-        value.setSender(this.address);
-        value.setTokenNameBefore(token0Name);
-        value.setTokenNameAfter(token1Name);
-
-        Message<MsgCreateExchangeValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(AmmSwapMessages.createExchange(this.address, token0Name, token1Name));
     }
 
     public static void main(String[] args) {
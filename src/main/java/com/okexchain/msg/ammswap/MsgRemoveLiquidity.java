@@ -1,44 +1,18 @@
 package com.okexchain.msg.ammswap;
 
-import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONObject;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.msg.common.Token;
-import com.okexchain.utils.Utils;
 import com.okexchain.utils.crypto.PrivateKey;
 
-import java.time.Duration;
-import java.time.Instant;
 
 public class MsgRemoveLiquidity extends MsgBase {
 
-    public MsgRemoveLiquidity() { setMsgType("okexchain/ammswap/MsgRemoveLiquidity"); }
+    public MsgRemoveLiquidity() { setMsgType(AmmSwapMessages.REMOVE_LIQUIDITY); }
 
     public Message produce(String deadline, String liquidity, String minBaseAmount, String BaseDenom, String minQuoteAmount, String quoteDenom){
-
-        Token coinMinBaseAmount = new Token();
-        coinMinBaseAmount.setDenom(BaseDenom);
-        coinMinBaseAmount.setAmount(Utils.NewDecString(minBaseAmount));
-
-        Token coinMinQuoteAmount = new Token();
-        coinMinQuoteAmount.setDenom(quoteDenom);
-        coinMinQuoteAmount.setAmount(Utils.NewDecString(minQuoteAmount));
-
-        MsgRemoveLiquidityValue value = new MsgRemoveLiquidityValue();
-
-        long current = Instant.now().getEpochSecond() + Duration.parse(deadline).getSeconds();
-        value.setDeadline(Long.toString(current));
-        value.setSender(this.address);
-        value.setMinBaseAmount(coinMinBaseAmount);
-        value.setMinQuoteAmount(coinMinQuoteAmount);
-        value.setLiquidity(Utils.NewDecString(liquidity));
-
-        Message<MsgRemoveLiquidityValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(AmmSwapMessages.removeLiquidity(this.address, deadline, liquidity, minBaseAmount, BaseDenom, minQuoteAmount, quoteDenom));
     }
 
     public static void main(String[] args) {
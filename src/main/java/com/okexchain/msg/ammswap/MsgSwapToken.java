@@ -4,40 +4,15 @@ import com.alibaba.fastjson.JSONObject;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.msg.common.Token;
-import com.okexchain.utils.Utils;
 import com.okexchain.utils.crypto.PrivateKey;
 
-import java.time.Duration;
-import java.time.Instant;
 
 public class MsgSwapToken extends MsgBase {
 
-    public MsgSwapToken() { setMsgType("okexchain/ammswap/MsgSwapToken"); }
+    public MsgSwapToken() { setMsgType(AmmSwapMessages.SWAP_TOKEN); }
 
     public Message produceMsg(String deadline, String recipient, String minBoughtAmount, String boughtDenom, String soldAmount, String soldDenom) {
-
-        Token coinMinBoughtToken = new Token();
-        coinMinBoughtToken.setDenom(boughtDenom);
-        coinMinBoughtToken.setAmount(Utils.NewDecString(minBoughtAmount));
-
-        Token coinSoldToken = new Token();
-        coinSoldToken.setDenom(soldDenom);
-        coinSoldToken.setAmount(Utils.NewDecString(soldAmount));
-
-        MsgSwapTokenValue value = new MsgSwapTokenValue();
-
-        long current = Instant.now().getEpochSecond() + Duration.parse(deadline).getSeconds();
-        value.setDeadline(Long.toString(current));
-        value.setSender(this.address);
-        value.setRecipient(recipient);
-        value.setMinBoughtTokenAmount(coinMinBoughtToken);
-        value.setSoldTokenAmount(coinSoldToken);
-
-        Message<MsgSwapTokenValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(AmmSwapMessages.swapToken(this.address, deadline, recipient, minBoughtAmount, boughtDenom, soldAmount, soldDenom));
     }
 
     public static void main(String[] args) {
@@ -0,0 +1,414 @@
+package com.okexchain.msg.common;
+
+import com.okexchain.utils.Dec;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Coins is an immutable set of amounts by denom, sorted by denom, for fee, balance and total computations.
+ * <p>
+ * The amounts are held in parallel arrays, unscaled like in {@link Dec}: a long per denom and a BigInteger only
+ * for the amounts that do not fit in a long. Denoms with a zero amount are dropped, amounts may be negative after
+ * {@link #sub(Coins)}. Use {@link Builder} to sum many amounts, e.g. all the messages of a batch, without creating
+ * an intermediate Coins for each of them:
+ * <pre>
+ * Coins.Builder total = Coins.builder();
+ * for (TransferUnit unit : units) {
+ *     total.add(unit.getCoins());
+ * }
+ * if (!balance.isAllGTE(total.build())) ...
+ * </pre>
+ */
+public final class Coins {
+
+    public static final Coins EMPTY = new Coins(new String[0], new long[0], null);
+
+    private final String[] denoms;
+    private final long[] amounts;
+    // null when all the amounts fit in a long, else the amounts that do not at their index
+    private final BigInteger[] bigs;
+
+    private Coins(String[] denoms, long[] amounts, BigInteger[] bigs) {
+        this.denoms = denoms;
+        this.amounts = amounts;
+        this.bigs = bigs;
+    }
+
+    public static Coins of(String denom, Dec amount) {
+        return builder().add(denom, amount).build();
+    }
+
+    /**
+     * Sums the tokens by denom.
+     *
+     * @throws NumberFormatException if an amount is not a decimal
+     */
+    public static Coins fromTokens(List<Token> tokens) {
+        return builder().add(tokens).build();
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return denoms.length;
+    }
+
+    public boolean isEmpty() {
+        return denoms.length == 0;
+    }
+
+    public String getDenom(int index) {
+        return denoms[index];
+    }
+
+    public Dec getAmount(int index) {
+        return isBig(index) ? Dec.ofUnscaled(bigs[index]) : Dec.ofUnscaled(amounts[index]);
+    }
+
+    /**
+     * Returns the index of the denom, or -1 if it has no amount.
+     */
+    public int indexOf(String denom) {
+        int index = Arrays.binarySearch(denoms, denom);
+        return index < 0 ? -1 : index;
+    }
+
+    public Dec amountOf(String denom) {
+        int index = indexOf(denom);
+        return index < 0 ? Dec.ZERO : getAmount(index);
+    }
+
+    /**
+     * Returns the amount of the denom multiplied by 10^18, 0 if it has no amount.
+     *
+     * @throws ArithmeticException if the unscaled amount does not fit in a long
+     */
+    public long unscaledOf(String denom) {
+        int index = indexOf(denom);
+        if (index < 0) {
+            return 0;
+        }
+        if (isBig(index)) {
+            throw new ArithmeticException("amount of " + denom + " out of long range");
+        }
+        return amounts[index];
+    }
+
+    public Coins add(Coins other) {
+        return merge(other, false);
+    }
+
+    /**
+     * Subtracts denom by denom, the result may hold negative amounts.
+     */
+    public Coins sub(Coins other) {
+        return merge(other, true);
+    }
+
+    /**
+     * Tells whether there is at least one amount and all the amounts are positive.
+     */
+    public boolean isAllPositive() {
+        if (denoms.length == 0) {
+            return false;
+        }
+        for (int i = 0; i < denoms.length; i++) {
+            if (signum(i) <= 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public boolean isAnyNegative() {
+        for (int i = 0; i < denoms.length; i++) {
+            if (signum(i) < 0) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Tells whether the amount of every denom is greater than or equal to its amount in {@code other}, e.g. a
+     * balance covers a total. A denom missing on either side counts as zero.
+     */
+    public boolean isAllGTE(Coins other) {
+        int i = 0;
+        int j = 0;
+        while (i < denoms.length || j < other.denoms.length) {
+            int order = i == denoms.length ? 1 : j == other.denoms.length ? -1 : denoms[i].compareTo(other.denoms[j]);
+            if (order < 0) {
+                if (signum(i++) < 0) {
+                    return false;
+                }
+            } else if (order > 0) {
+                if (other.signum(j++) > 0) {
+                    return false;
+                }
+            } else if (compare(this, i++, other, j++) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    public List<Token> toTokens() {
+        List<Token> tokens = new ArrayList<>(denoms.length);
+        for (int i = 0; i < denoms.length; i++) {
+            tokens.add(new Token(getAmount(i), denoms[i]));
+        }
+        return tokens;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Coins)) {
+            return false;
+        }
+        Coins other = (Coins) o;
+        if (!Arrays.equals(denoms, other.denoms)) {
+            return false;
+        }
+        for (int i = 0; i < denoms.length; i++) {
+            if (compare(this, i, other, i) != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = Arrays.hashCode(denoms);
+        for (int i = 0; i < denoms.length; i++) {
+            hash = 31 * hash + getAmount(i).hashCode();
+        }
+        return hash;
+    }
+
+    /**
+     * Returns the coins the way the chain prints them, e.g. "1.500000000000000000btc,10.000000000000000000okt".
+     */
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < denoms.length; i++) {
+            if (i > 0) {
+                sb.append(',');
+            }
+            sb.append(getAmount(i)).append(denoms[i]);
+        }
+        return sb.toString();
+    }
+
+    private boolean isBig(int index) {
+        return bigs != null && bigs[index] != null;
+    }
+
+    private int signum(int index) {
+        return isBig(index) ? bigs[index].signum() : Long.signum(amounts[index]);
+    }
+
+    private BigInteger bigAt(int index) {
+        return isBig(index) ? bigs[index] : BigInteger.valueOf(amounts[index]);
+    }
+
+    private static int compare(Coins a, int i, Coins b, int j) {
+        if (!a.isBig(i) && !b.isBig(j)) {
+            return Long.compare(a.amounts[i], b.amounts[j]);
+        }
+        return a.bigAt(i).compareTo(b.bigAt(j));
+    }
+
+    private Coins merge(Coins other, boolean subtract) {
+        Builder result = new Builder(denoms.length + other.denoms.length);
+        int i = 0;
+        int j = 0;
+        while (i < denoms.length || j < other.denoms.length) {
+            int order = i == denoms.length ? 1 : j == other.denoms.length ? -1 : denoms[i].compareTo(other.denoms[j]);
+            if (order < 0) {
+                result.append(denoms[i], amounts[i], isBig(i) ? bigs[i] : null);
+                i++;
+            } else if (order > 0) {
+                result.append(other.denoms[j], 0, null);
+                result.addAt(result.size - 1, other.amounts[j], other.isBig(j) ? other.bigs[j] : null, subtract);
+                j++;
+            } else {
+                result.append(denoms[i], amounts[i], isBig(i) ? bigs[i] : null);
+                result.addAt(result.size - 1, other.amounts[j], other.isBig(j) ? other.bigs[j] : null, subtract);
+                i++;
+                j++;
+            }
+        }
+        return result.build();
+    }
+
+    /**
+     * Sums amounts by denom in place. A builder is not thread safe.
+     */
+    public static final class Builder {
+        private String[] denoms;
+        private long[] amounts;
+        private BigInteger[] bigs;
+        private int size;
+
+        private Builder() {
+            this(4);
+        }
+
+        private Builder(int capacity) {
+            denoms = new String[Math.max(capacity, 1)];
+            amounts = new long[denoms.length];
+        }
+
+        public Builder add(String denom, Dec amount) {
+            int index = Arrays.binarySearch(denoms, 0, size, denom);
+            if (index < 0) {
+                index = -index - 1;
+                insert(index, denom);
+            }
+            if (amount.isUnscaledLong()) {
+                addAt(index, amount.unscaledLong(), null, false);
+            } else {
+                addAt(index, 0, amount.unscaledValue(), false);
+            }
+            return this;
+        }
+
+        /**
+         * @throws NumberFormatException if the amount is not a decimal
+         */
+        public Builder add(Token token) {
+            return add(token.getDenom(), Dec.valueOf(token.getAmount()));
+        }
+
+        public Builder add(DecCoin coin) {
+            return add(coin.getDenom(), Dec.valueOf(coin.getAmount()));
+        }
+
+        public Builder add(List<Token> tokens) {
+            for (Token token : tokens) {
+                add(token);
+            }
+            return this;
+        }
+
+        public Builder add(Coins coins) {
+            for (int i = 0; i < coins.denoms.length; i++) {
+                add(coins.denoms[i], coins.getAmount(i));
+            }
+            return this;
+        }
+
+        /**
+         * Returns the sum, without the denoms whose amounts add up to zero.
+         */
+        public Coins build() {
+            int count = 0;
+            boolean anyBig = false;
+            for (int i = 0; i < size; i++) {
+                boolean big = bigs != null && bigs[i] != null;
+                if (big || amounts[i] != 0) {
+                    count++;
+                    anyBig |= big;
+                }
+            }
+            if (count == 0) {
+                return EMPTY;
+            }
+            String[] resultDenoms = new String[count];
+            long[] resultAmounts = new long[count];
+            BigInteger[] resultBigs = anyBig ? new BigInteger[count] : null;
+            for (int i = 0, k = 0; i < size; i++) {
+                boolean big = bigs != null && bigs[i] != null;
+                if (big || amounts[i] != 0) {
+                    resultDenoms[k] = denoms[i];
+                    resultAmounts[k] = amounts[i];
+                    if (big) {
+                        resultBigs[k] = bigs[i];
+                    }
+                    k++;
+                }
+            }
+            return new Coins(resultDenoms, resultAmounts, resultBigs);
+        }
+
+        // appends a denom greater than all the others
+        private void append(String denom, long amount, BigInteger big) {
+            ensureCapacity();
+            denoms[size] = denom;
+            amounts[size] = amount;
+            if (big != null) {
+                bigs()[size] = big;
+            }
+            size++;
+        }
+
+        private void insert(int index, String denom) {
+            ensureCapacity();
+            System.arraycopy(denoms, index, denoms, index + 1, size - index);
+            System.arraycopy(amounts, index, amounts, index + 1, size - index);
+            if (bigs != null) {
+                System.arraycopy(bigs, index, bigs, index + 1, size - index);
+                bigs[index] = null;
+            }
+            denoms[index] = denom;
+            amounts[index] = 0;
+            size++;
+        }
+
+        private void ensureCapacity() {
+            if (size == denoms.length) {
+                denoms = Arrays.copyOf(denoms, size * 2);
+                amounts = Arrays.copyOf(amounts, size * 2);
+                if (bigs != null) {
+                    bigs = Arrays.copyOf(bigs, size * 2);
+                }
+            }
+        }
+
+        private BigInteger[] bigs() {
+            if (bigs == null) {
+                bigs = new BigInteger[denoms.length];
+            }
+            return bigs;
+        }
+
+        // adds (or subtracts) an unscaled amount, given as a long or, if big is not null, as a BigInteger
+        private void addAt(int index, long amount, BigInteger big, boolean subtract) {
+            boolean current = bigs != null && bigs[index] != null;
+            if (!current && big == null) {
+                long a = amounts[index];
+                long r = subtract ? a - amount : a + amount;
+                boolean overflow = subtract
+                        ? ((a ^ amount) & (a ^ r)) < 0
+                        : ((a ^ r) & (amount ^ r)) < 0;
+                if (!overflow) {
+                    amounts[index] = r;
+                    return;
+                }
+            }
+            BigInteger a = current ? bigs[index] : BigInteger.valueOf(amounts[index]);
+            BigInteger b = big != null ? big : BigInteger.valueOf(amount);
+            BigInteger r = subtract ? a.subtract(b) : a.add(b);
+            if (r.bitLength() < 64) {
+                amounts[index] = r.longValue();
+                if (current) {
+                    bigs[index] = null;
+                }
+            } else {
+                amounts[index] = 0;
+                bigs()[index] = r;
+            }
+        }
+    }
+}
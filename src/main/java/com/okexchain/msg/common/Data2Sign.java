@@ -4,7 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.google.gson.annotations.SerializedName;
-import com.okexchain.utils.Utils;
+import com.okexchain.utils.encoding.CodecInstance;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
@@ -36,6 +36,9 @@ public class Data2Sign {
     @SerializedName("sequence")
     private String sequence;
 
+    private Data2Sign() {
+    }
+
     public Data2Sign(String accountNumber, String chainId, Fee fee, String memo, Message[] msgs, String sequence) {
         this.accountNumber = accountNumber;
         this.chainId = chainId;
@@ -110,10 +113,10 @@ public class Data2Sign {
     }
 
     public String toJson() {
-        return Utils.serializer.toJson(this);
+        return CodecInstance.getCodec().toJson(this);
     }
 
     public static Data2Sign fromJson(String json) {
-        return Utils.serializer.fromJson(json, Data2Sign.class);
+        return CodecInstance.getCodec().fromJson(json, Data2Sign.class);
     }
 }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.google.gson.annotations.SerializedName;
+import com.okexchain.utils.Dec;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
@@ -18,6 +19,23 @@ public class DecCoin {
     @SerializedName("denom")
     private String denom;
 
+    public DecCoin() {
+
+    }
+
+    public DecCoin(Dec amount, String denom) {
+        this.amount = amount.toString();
+        this.denom = denom;
+    }
+
+    public String getDenom() {
+        return denom;
+    }
+
+    public String getAmount() {
+        return amount;
+    }
+
     public void setDenom(String denom) {
         this.denom = denom;
     }
@@ -4,9 +4,12 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.google.gson.annotations.SerializedName;
+import com.okexchain.utils.Dec;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
@@ -21,6 +24,18 @@ public class Fee {
     @SerializedName("gas")
     private String gas;
 
+    public Fee() {
+
+    }
+
+    /**
+     * A fee of {@code amount} of {@code denom}, no amount at all if it is zero.
+     */
+    public Fee(Dec amount, String denom, String gas) {
+        this.amount = amount.isZero() ? new ArrayList<>() : new ArrayList<>(Collections.singletonList(new Token(amount, denom)));
+        this.gas = gas;
+    }
+
     public List<Token> getAmount() {
         return amount;
     }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.google.gson.annotations.SerializedName;
+import com.okexchain.utils.Dec;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
 
@@ -28,6 +29,10 @@ public class Token {
         this.denom = denom;
     }
 
+    public Token(Dec amount, String denom) {
+        this(amount.toString(), denom);
+    }
+
     public String getDenom() {
         return denom;
     }
@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.google.gson.annotations.SerializedName;
+import com.okexchain.env.ChainContext;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.utils.crypto.AddressUtil;
 import org.apache.commons.lang3.builder.ToStringBuilder;
@@ -37,11 +38,14 @@ public class TransferUnit {
     }
 
     public void setTo(String to) {
-        // eth address
-        if (!to.startsWith(EnvInstance.getEnv().GetMainPrefix())) {
-            to = AddressUtil.convertAddressFromHexToBech32(to);
-        }
-        this.to = to;
+        setTo(EnvInstance.getContext(), to);
+    }
+
+    /**
+     * Converts an eth address with the prefix of the context, bech32 addresses of any chain are kept as they are.
+     */
+    public void setTo(ChainContext context, String to) {
+        this.to = AddressUtil.toBech32(context, to);
     }
 
     public void setCoins(List<Token> coins) {
@@ -0,0 +1,79 @@
+package com.okexchain.msg.dex;
+
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.common.Token;
+import com.okexchain.utils.Utils;
+
+/**
+ * Builds the messages of the dex module. The methods keep no state and may be called from any thread;
+ * the sender is passed in instead of being read from an account.
+ */
+public final class DexMessages {
+
+    public static final String LIST = "okexchain/dex/MsgList";
+    public static final String DEPOSIT = "okexchain/dex/MsgDeposit";
+    public static final String WITHDRAW = "okexchain/dex/MsgWithdraw";
+    public static final String TRANSFER_OWNERSHIP = "okexchain/dex/MsgTransferTradingPairOwnership";
+    public static final String CONFIRM_OWNERSHIP = "okexchain/dex/MsgConfirmOwnership";
+    public static final String CREATE_OPERATOR = "okexchain/dex/CreateOperator";
+    public static final String UPDATE_OPERATOR = "okexchain/dex/UpdateOperator";
+
+    private DexMessages() {
+    }
+
+    public static Message<MsgListValue> list(String owner, String listAsset, String quoteAsset, String initPrice) {
+        MsgListValue value = new MsgListValue();
+        value.setOwner(owner);
+        value.setListAsset(listAsset);
+        value.setQuoteAsset(quoteAsset);
+        value.setInitPrice(Utils.NewDecString(initPrice));
+        return new Message<>(LIST, value);
+    }
+
+    public static Message<MsgDepositValue> deposit(String depositor, String product, String denom, String amount) {
+        MsgDepositValue value = new MsgDepositValue();
+        value.setAmount(new Token(Utils.NewDecString(amount), denom));
+        value.setDepositor(depositor);
+        value.setProduct(product);
+        return new Message<>(DEPOSIT, value);
+    }
+
+    public static Message<MsgWithdrawDepositValue> withdraw(String depositor, String product, String denom, String amount) {
+        MsgWithdrawDepositValue value = new MsgWithdrawDepositValue();
+        value.setDepositor(depositor);
+        value.setAmount(new Token(Utils.NewDecString(amount), denom));
+        value.setProduct(product);
+        return new Message<>(WITHDRAW, value);
+    }
+
+    public static Message<MsgTransferTokenPairOwnershipValue> transferOwnership(String from, String to, String product) {
+        MsgTransferTokenPairOwnershipValue value = new MsgTransferTokenPairOwnershipValue();
+        value.setFromAddress(from);
+        value.setProduct(product);
+        value.setToAddress(to);
+        return new Message<>(TRANSFER_OWNERSHIP, value);
+    }
+
+    public static Message<MsgConfirmTokenPairOwnershipValue> confirmOwnership(String from, String product) {
+        MsgConfirmTokenPairOwnershipValue value = new MsgConfirmTokenPairOwnershipValue();
+        value.setFromAddress(from);
+        value.setProduct(product);
+        return new Message<>(CONFIRM_OWNERSHIP, value);
+    }
+
+    public static Message<MsgCreateOperatorValue> createOperator(String owner, String handlingFeeAddress, String website) {
+        MsgCreateOperatorValue value = new MsgCreateOperatorValue();
+        value.setOwner(owner);
+        value.setHandlingFeeAddress(handlingFeeAddress);
+        value.setWebsite(website);
+        return new Message<>(CREATE_OPERATOR, value);
+    }
+
+    public static Message<MsgUpdateOperatorValue> updateOperator(String owner, String handlingFeeAddress, String website) {
+        MsgUpdateOperatorValue value = new MsgUpdateOperatorValue();
+        value.setOwner(owner);
+        value.setHandlingFeeAddress(handlingFeeAddress);
+        value.setWebsite(website);
+        return new Message<>(UPDATE_OPERATOR, value);
+    }
+}
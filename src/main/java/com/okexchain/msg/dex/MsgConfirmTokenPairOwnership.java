@@ -6,19 +6,10 @@ import com.okexchain.msg.common.Message;
 public class MsgConfirmTokenPairOwnership extends MsgBase {
 
     public MsgConfirmTokenPairOwnership () {
-        setMsgType("okexchain/dex/MsgConfirmOwnership");
+        setMsgType(DexMessages.CONFIRM_OWNERSHIP);
     }
 
     public Message produceConfirmTokenPairOwnershipMsg (String fromAddress, String product) {
-
-        MsgConfirmTokenPairOwnershipValue value = new MsgConfirmTokenPairOwnershipValue();
-        value.setFromAddress(fromAddress);
-        value.setProduct(product);
-
-        Message<MsgConfirmTokenPairOwnershipValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
-
+        return withMsgType(DexMessages.confirmOwnership(fromAddress, product));
     }
 }
\ No newline at end of file
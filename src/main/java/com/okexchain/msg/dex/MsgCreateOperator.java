@@ -7,7 +7,7 @@ import com.okexchain.utils.crypto.PrivateKey;
 
 public class MsgCreateOperator extends MsgBase {
     public MsgCreateOperator() {
-        setMsgType("okexchain/dex/CreateOperator");
+        setMsgType(DexMessages.CREATE_OPERATOR);
     }
 
     public static void main(String[] args) {
@@ -28,15 +28,6 @@ public class MsgCreateOperator extends MsgBase {
     }
 
     public Message produceCreateOperatorMsg(String handlingFeeAddress, String website) {
-
-        MsgCreateOperatorValue value = new MsgCreateOperatorValue();
-        value.setOwner(this.address);
-        value.setHandlingFeeAddress(handlingFeeAddress);
-        value.setWebsite(website);
-
-        Message<MsgCreateOperatorValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(DexMessages.createOperator(this.address, handlingFeeAddress, website));
     }
 }
\ No newline at end of file
@@ -4,30 +4,14 @@ import com.alibaba.fastjson.JSONObject;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.msg.common.Token;
-import com.okexchain.utils.Utils;
 import com.okexchain.utils.crypto.PrivateKey;
 
 public class MsgDeposit extends MsgBase {
 
-    public MsgDeposit() { setMsgType("okexchain/dex/MsgDeposit"); }
+    public MsgDeposit() { setMsgType(DexMessages.DEPOSIT); }
 
     public Message produceMsg(String denom, String amount, String product) {
-
-        Token token = new Token();
-        token.setDenom(denom);
-        token.setAmount(Utils.NewDecString(amount));
-
-        MsgDepositValue value = new MsgDepositValue();
-
-        value.setAmount(token);
-        value.setDepositor(this.address);
-        value.setProduct(product);
-
-        Message<MsgDepositValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(DexMessages.deposit(this.address, product, denom, amount));
     }
 
     public static void main(String[] args) {
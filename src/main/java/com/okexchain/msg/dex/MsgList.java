@@ -3,12 +3,11 @@ package com.okexchain.msg.dex;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.utils.Utils;
 
 public class MsgList extends MsgBase {
 
     public MsgList() {
-        setMsgType("okexchain/dex/MsgList");
+        setMsgType(DexMessages.LIST);
     }
 
     public static void main(String[] args) {
@@ -28,16 +27,6 @@ public class MsgList extends MsgBase {
     }
 
     public Message produceListMsg(String listAsset, String quoteAsset, String initPrice) {
-
-        MsgListValue value = new MsgListValue();
-        value.setOwner(this.address);
-        value.setListAsset(listAsset);
-        value.setQuoteAsset(quoteAsset);
-        value.setInitPrice(Utils.NewDecString(initPrice));
-
-        Message<MsgListValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(DexMessages.list(this.address, listAsset, quoteAsset, initPrice));
     }
 }
@@ -6,19 +6,9 @@ import com.okexchain.msg.common.Message;
 public class MsgTransferTokenPairOwnership extends MsgBase {
 
     public MsgTransferTokenPairOwnership () {
-        setMsgType("okexchain/dex/MsgTransferTradingPairOwnership");
+        setMsgType(DexMessages.TRANSFER_OWNERSHIP);
     }
     public Message produceTransferTokenPairOwnershipMsg (String fromAddress, String toAddress, String product) {
-
-        MsgTransferTokenPairOwnershipValue value = new MsgTransferTokenPairOwnershipValue();
-        value.setFromAddress(fromAddress);
-        value.setProduct(product);
-        value.setToAddress(toAddress);
-
-        Message<MsgTransferTokenPairOwnershipValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
-
+        return withMsgType(DexMessages.transferOwnership(fromAddress, toAddress, product));
     }
 }
\ No newline at end of file
@@ -5,7 +5,7 @@ import com.okexchain.msg.common.Message;
 
 public class MsgUpdateOperator extends MsgBase {
     public MsgUpdateOperator() {
-        setMsgType("okexchain/dex/UpdateOperator");
+        setMsgType(DexMessages.UPDATE_OPERATOR);
     }
 
     public static void main(String[] args) {
@@ -22,15 +22,6 @@ public class MsgUpdateOperator extends MsgBase {
     }
 
     public Message produceUpdateOperatorMsg(String handlingFeeAddress, String website) {
-
-        MsgUpdateOperatorValue value = new MsgUpdateOperatorValue();
-        value.setOwner(this.address);
-        value.setHandlingFeeAddress(handlingFeeAddress);
-        value.setWebsite(website);
-
-        Message<MsgUpdateOperatorValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(DexMessages.updateOperator(this.address, handlingFeeAddress, website));
     }
 }
\ No newline at end of file
@@ -0,0 +1,29 @@
+package com.okexchain.msg.distribution;
+
+import com.okexchain.msg.common.Message;
+
+/**
+ * Builds the messages of the distribution module. The methods keep no state and may be called from any
+ * thread; the sender is passed in instead of being read from an account.
+ */
+public final class DistributionMessages {
+
+    public static final String MODIFY_WITHDRAW_ADDRESS = "okexchain/distribution/MsgModifyWithdrawAddress";
+    public static final String WITHDRAW_REWARD = "okexchain/distribution/MsgWithdrawReward";
+
+    private DistributionMessages() {
+    }
+
+    public static Message<MsgModifyWithdrawAddressValue> modifyWithdrawAddress(String delegator, String withdrawAddress) {
+        MsgModifyWithdrawAddressValue value = new MsgModifyWithdrawAddressValue();
+        value.setDelegatorAddress(delegator);
+        value.setWithdrawAddress(withdrawAddress);
+        return new Message<>(MODIFY_WITHDRAW_ADDRESS, value);
+    }
+
+    public static Message<MsgWithdrawRewardValue> withdrawReward(String validator) {
+        MsgWithdrawRewardValue value = new MsgWithdrawRewardValue();
+        value.setValidatorAddress(validator);
+        return new Message<>(WITHDRAW_REWARD, value);
+    }
+}
@@ -6,7 +6,7 @@ import com.okexchain.msg.common.Message;
 public class MsgModifyWithdrawAddress extends MsgBase {
 
     public MsgModifyWithdrawAddress() {
-        setMsgType("okexchain/distribution/MsgModifyWithdrawAddress");
+        setMsgType(DistributionMessages.MODIFY_WITHDRAW_ADDRESS);
     }
 
     public static void main(String[] args) {
@@ -21,15 +21,7 @@ public class MsgModifyWithdrawAddress extends MsgBase {
     }
 
     public Message produceModifyWithdrawAddressMsg(String withdrawAddress) {
-
-        MsgModifyWithdrawAddressValue value = new MsgModifyWithdrawAddressValue();
-        value.setDelegatorAddress(this.address);
-        value.setWithdrawAddress(withdrawAddress);
-
-        Message<MsgModifyWithdrawAddressValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(DistributionMessages.modifyWithdrawAddress(this.address, withdrawAddress));
     }
 
 }
@@ -6,7 +6,7 @@ import com.okexchain.msg.common.Message;
 public class MsgWithdrawReward extends MsgBase {
 
     public MsgWithdrawReward() {
-        setMsgType("okexchain/distribution/MsgWithdrawReward");
+        setMsgType(DistributionMessages.WITHDRAW_REWARD);
     }
 
     public static void main(String[] args) {
@@ -21,14 +21,7 @@ public class MsgWithdrawReward extends MsgBase {
     }
 
     public Message produceWithdrawRewardMsg(String withdrawAddress) {
-
-        MsgWithdrawRewardValue value = new MsgWithdrawRewardValue();
-        value.setValidatorAddress(withdrawAddress);
-
-        Message<MsgWithdrawRewardValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(DistributionMessages.withdrawReward(withdrawAddress));
     }
 
 }
@@ -0,0 +1,73 @@
+package com.okexchain.msg.farm;
+
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.common.Token;
+import com.okexchain.utils.Utils;
+
+/**
+ * Builds the messages of the farm module. The methods keep no state and may be called from any thread;
+ * the sender is passed in instead of being read from an account.
+ */
+public final class FarmMessages {
+
+    public static final String CREATE_POOL = "okexchain/farm/MsgCreatePool";
+    public static final String DESTROY_POOL = "okexchain/farm/MsgDestroyPool";
+    public static final String PROVIDE = "okexchain/farm/MsgProvide";
+    public static final String LOCK = "okexchain/farm/MsgLock";
+    public static final String UNLOCK = "okexchain/farm/MsgUnlock";
+    public static final String CLAIM = "okexchain/farm/MsgClaim";
+
+    private FarmMessages() {
+    }
+
+    public static Message<MsgCreatePoolValue> createPool(String owner, String poolName, String minLockAmount,
+                                                         String minLockDenom, String yieldedSymbol) {
+        MsgCreatePoolValue value = new MsgCreatePoolValue();
+        value.setMinLockAmount(new Token(Utils.NewDecString(minLockAmount), minLockDenom));
+        value.setOwner(owner);
+        value.setPoolName(poolName);
+        value.setYieldedSymbol(yieldedSymbol);
+        return new Message<>(CREATE_POOL, value);
+    }
+
+    public static Message<MsgDestroyPoolValue> destroyPool(String owner, String poolName) {
+        MsgDestroyPoolValue value = new MsgDestroyPoolValue();
+        value.setOwner(owner);
+        value.setPoolName(poolName);
+        return new Message<>(DESTROY_POOL, value);
+    }
+
+    public static Message<MsgProvideValue> provide(String address, String poolName, String amount, String denom,
+                                                   String amountYieldedPerBlock, String startHeightToYield) {
+        MsgProvideValue value = new MsgProvideValue();
+        value.setAddress(address);
+        value.setAmount(new Token(Utils.NewDecString(amount), denom));
+        value.setAmountYieldedPerBlock(Utils.NewDecString(amountYieldedPerBlock));
+        value.setPoolName(poolName);
+        value.setStartHeightToYield(startHeightToYield);
+        return new Message<>(PROVIDE, value);
+    }
+
+    public static Message<MsgLockValue> lock(String address, String poolName, String amount, String denom) {
+        MsgLockValue value = new MsgLockValue();
+        value.setAddress(address);
+        value.setAmount(new Token(Utils.NewDecString(amount), denom));
+        value.setPoolName(poolName);
+        return new Message<>(LOCK, value);
+    }
+
+    public static Message<MsgUnlockValue> unlock(String address, String poolName, String amount, String denom) {
+        MsgUnlockValue value = new MsgUnlockValue();
+        value.setAddress(address);
+        value.setAmount(new Token(Utils.NewDecString(amount), denom));
+        value.setPoolName(poolName);
+        return new Message<>(UNLOCK, value);
+    }
+
+    public static Message<MsgClaimValue> claim(String address, String poolName) {
+        MsgClaimValue value = new MsgClaimValue();
+        value.setAddress(address);
+        value.setPoolName(poolName);
+        return new Message<>(CLAIM, value);
+    }
+}
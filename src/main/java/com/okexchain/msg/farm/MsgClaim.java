@@ -8,19 +8,10 @@ import com.okexchain.utils.crypto.PrivateKey;
 
 public class MsgClaim extends MsgBase {
 
-    public MsgClaim() { setMsgType("okexchain/farm/MsgClaim"); }
+    public MsgClaim() { setMsgType(FarmMessages.CLAIM); }
 
     public Message produceMsg(String poolName) {
-
-        MsgClaimValue value = new MsgClaimValue();
-
-        value.setAddress(this.address);
-        value.setPoolName(poolName);
-
-        Message<MsgClaimValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(FarmMessages.claim(this.address, poolName));
     }
 
     public static void main(String[] args) {
@@ -4,31 +4,14 @@ import com.alibaba.fastjson.JSONObject;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.msg.common.Token;
-import com.okexchain.utils.Utils;
 import com.okexchain.utils.crypto.PrivateKey;
 
 public class MsgCreatePool extends MsgBase {
 
-    public MsgCreatePool() { setMsgType("okexchain/farm/MsgCreatePool"); }
+    public MsgCreatePool() { setMsgType(FarmMessages.CREATE_POOL); }
 
     public Message produceMsg(String minLockAmount, String minLockDenom, String poolName, String yieldedSymbol) {
-
-        Token minLockAmountToken = new Token();
-        minLockAmountToken.setAmount(Utils.NewDecString(minLockAmount));
-        minLockAmountToken.setDenom(minLockDenom);
-
-        MsgCreatePoolValue value = new MsgCreatePoolValue();
-
-        value.setMinLockAmount(minLockAmountToken);
-        value.setOwner(this.address);
-        value.setPoolName(poolName);
-        value.setYieldedSymbol(yieldedSymbol);
-
-        Message<MsgCreatePoolValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(FarmMessages.createPool(this.address, poolName, minLockAmount, minLockDenom, yieldedSymbol));
     }
 
     public static void main(String[] args) {
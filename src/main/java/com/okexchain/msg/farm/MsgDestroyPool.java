@@ -3,25 +3,15 @@ package com.okexchain.msg.farm;
 import com.alibaba.fastjson.JSONObject;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
-import com.okexchain.msg.ammswap.MsgAddLiquidityValue;
 import com.okexchain.msg.common.Message;
 import com.okexchain.utils.crypto.PrivateKey;
 
 public class MsgDestroyPool extends MsgBase {
 
-    public MsgDestroyPool() { setMsgType("okexchain/farm/MsgDestroyPool"); }
+    public MsgDestroyPool() { setMsgType(FarmMessages.DESTROY_POOL); }
 
     public Message produceMsg(String poolName) {
-
-        MsgDestroyPoolValue value = new MsgDestroyPoolValue();
-
-        value.setOwner(this.address);
-        value.setPoolName(poolName);
-
-        Message<MsgDestroyPoolValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(FarmMessages.destroyPool(this.address, poolName));
     }
 
     public static void main(String[] args) {
@@ -4,30 +4,14 @@ import com.alibaba.fastjson.JSONObject;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.msg.common.Token;
-import com.okexchain.utils.Utils;
 import com.okexchain.utils.crypto.PrivateKey;
 
 public class MsgLock extends MsgBase {
 
-    public MsgLock() { setMsgType("okexchain/farm/MsgLock"); }
+    public MsgLock() { setMsgType(FarmMessages.LOCK); }
 
     public Message produceMsg(String amount, String denom, String poolName) {
-
-        Token token = new Token();
-        token.setAmount(Utils.NewDecString(amount));
-        token.setDenom(denom);
-
-        MsgLockValue value = new MsgLockValue();
-
-        value.setAddress(this.address);
-        value.setAmount(token);
-        value.setPoolName(poolName);
-
-        Message<MsgLockValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(FarmMessages.lock(this.address, poolName, amount, denom));
     }
 
     public static void main(String[] args) {
@@ -4,32 +4,14 @@ import com.alibaba.fastjson.JSONObject;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.msg.common.Token;
-import com.okexchain.utils.Utils;
 import com.okexchain.utils.crypto.PrivateKey;
 
 public class MsgProvide extends MsgBase {
 
-    public MsgProvide() { setMsgType("okexchain/farm/MsgProvide"); }
+    public MsgProvide() { setMsgType(FarmMessages.PROVIDE); }
 
     public Message produceMsg(String amount, String denom, String amountYieldedPerBlock, String poolName, String startHeightToYield) {
-
-        Token token = new Token();
-        token.setAmount(Utils.NewDecString(amount));
-        token.setDenom(denom);
-
-        MsgProvideValue value = new MsgProvideValue();
-
-        value.setAddress(this.address);
-        value.setAmount(token);
-        value.setAmountYieldedPerBlock(Utils.NewDecString(amountYieldedPerBlock));
-        value.setPoolName(poolName);
-        value.setStartHeightToYield(startHeightToYield);
-
-        Message<MsgProvideValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(FarmMessages.provide(this.address, poolName, amount, denom, amountYieldedPerBlock, startHeightToYield));
     }
 
     public static void main(String[] args) {
@@ -4,30 +4,14 @@ import com.alibaba.fastjson.JSONObject;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.msg.common.Token;
-import com.okexchain.utils.Utils;
 import com.okexchain.utils.crypto.PrivateKey;
 
 public class MsgUnlock extends MsgBase {
 
-    public MsgUnlock() { setMsgType("okexchain/farm/MsgUnlock"); }
+    public MsgUnlock() { setMsgType(FarmMessages.UNLOCK); }
 
     public Message produceMsg(String amount, String denom, String poolName) {
-
-        Token token = new Token();
-        token.setAmount(Utils.NewDecString(amount));
-        token.setDenom(denom);
-
-        MsgUnlockValue value = new MsgUnlockValue();
-
-        value.setAddress(this.address);
-        value.setAmount(token);
-        value.setPoolName(poolName);
-
-        Message<MsgUnlockValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(FarmMessages.unlock(this.address, poolName, amount, denom));
     }
 
     public static void main(String[] args) {
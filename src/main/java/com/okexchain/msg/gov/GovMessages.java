@@ -0,0 +1,133 @@
+package com.okexchain.msg.gov;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.alibaba.fastjson.parser.Feature;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.common.Token;
+import com.okexchain.utils.Utils;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+
+/**
+ * Builds the messages of the gov module. The methods keep no state and may be called from any thread;
+ * the sender is passed in instead of being read from an account.
+ */
+public final class GovMessages {
+
+    public static final String SUBMIT_PROPOSAL = "okexchain/gov/MsgSubmitProposal";
+    public static final String DEPOSIT = "okexchain/gov/MsgDeposit";
+    public static final String VOTE = "okexchain/gov/MsgVote";
+
+    public static final String DELIST_PROPOSAL = "okexchain/dex/DelistProposal";
+    public static final String MANAGE_WHITE_LIST_PROPOSAL = "okexchain/farm/ManageWhiteListProposal";
+    public static final String PARAMETER_CHANGE_PROPOSAL = "okexchain/params/ParameterChangeProposal";
+    public static final String CONTRACT_DEPLOYMENT_WHITELIST_PROPOSAL = "okexchain/evm/ManageContractDeploymentWhitelistProposal";
+    public static final String CONTRACT_BLOCKED_LIST_PROPOSAL = "okexchain/evm/ManageContractBlockedListProposal";
+
+    // configured once, an ObjectWriter is immutable and shared by all threads
+    private static final ObjectWriter NON_EMPTY_WRITER = new ObjectMapper()
+            .setSerializationInclusion(JsonInclude.Include.NON_EMPTY).writer();
+
+    private GovMessages() {
+    }
+
+    public static Message<MsgVoteValue> vote(String voter, String proposalID, String option) {
+        MsgVoteValue value = new MsgVoteValue();
+        value.setProposalID(proposalID);
+        value.setVoters(voter);
+        value.setOption(option);
+        return new Message<>(VOTE, value);
+    }
+
+    public static Message<MsgDepositValue> deposit(String depositor, String proposalID, List<Token> amount) {
+        MsgDepositValue value = new MsgDepositValue();
+        value.setProposalID(proposalID);
+        value.setDepositor(depositor);
+        value.setAmount(amount);
+        return new Message<>(DEPOSIT, value);
+    }
+
+    /**
+     * Wraps a proposal of any module in a submit message with the initial deposit.
+     */
+    public static <T> Message<MsgSubmitProposalValue<Content<T>>> submitProposal(String proposer, String contentType, T proposal,
+                                                                               String denom, String amountDeposit) {
+        List<Token> depositList = new ArrayList<>();
+        depositList.add(new Token(Utils.NewDecString(amountDeposit), denom));
+
+        MsgSubmitProposalValue<Content<T>> value = new MsgSubmitProposalValue<>();
+        value.setContent(new Content<>(contentType, proposal));
+        value.setInitialDeposit(depositList);
+        value.setProposer(proposer);
+        return new Message<>(SUBMIT_PROPOSAL, value);
+    }
+
+    public static Message<MsgSubmitProposalValue<Content<MsgDeListProposalValue>>> delistProposal(
+            String proposer, String title, String description, String baseAsset, String quoteAsset,
+            String denom, String amountDeposit) {
+        MsgDeListProposalValue proposal = new MsgDeListProposalValue();
+        proposal.setTitle(title);
+        proposal.setDescription(description);
+        proposal.setProposer(proposer);
+        proposal.setBaseAsset(baseAsset);
+        proposal.setQuoteAsset(quoteAsset);
+        return submitProposal(proposer, DELIST_PROPOSAL, proposal, denom, amountDeposit);
+    }
+
+    public static Message<MsgSubmitProposalValue<Content<MsgManageWhiteListProposalValue>>> manageWhiteListProposal(
+            String proposer, String title, String description, String poolName, boolean isAdded,
+            String denom, String amountDeposit) {
+        MsgManageWhiteListProposalValue proposal = new MsgManageWhiteListProposalValue();
+        proposal.setTitle(title);
+        proposal.setDescription(description);
+        proposal.setPoolName(poolName);
+        proposal.setIsAdded(isAdded);
+        return submitProposal(proposer, MANAGE_WHITE_LIST_PROPOSAL, proposal, denom, amountDeposit);
+    }
+
+    public static Message<MsgSubmitProposalValue<Content<MsgContractDeploymentWhitelistProposalValue>>> contractDeploymentWhitelistProposal(
+            String proposer, MsgContractDeploymentWhitelistProposalValue proposal, String denom, String amountDeposit) {
+        return submitProposal(proposer, CONTRACT_DEPLOYMENT_WHITELIST_PROPOSAL, proposal, denom, amountDeposit);
+    }
+
+    public static Message<MsgSubmitProposalValue<Content<MsgContractBlockedListProposalValue>>> contractBlockedListProposal(
+            String proposer, MsgContractBlockedListProposalValue proposal, String denom, String amountDeposit) {
+        return submitProposal(proposer, CONTRACT_BLOCKED_LIST_PROPOSAL, proposal, denom, amountDeposit);
+    }
+
+    public static Message<MsgSubmitProposalValue<Content<MsgParameterChangeProposalWrapperValue>>> parameterChangeProposal(
+            String proposer, String title, String description, String subspace, String key, String subKey,
+            String toValue, String height, String denom, String amountDeposit) throws JsonProcessingException {
+        MsgParamChangeValue change = new MsgParamChangeValue();
+        change.setKey(key);
+        change.setSubKey(subKey);
+        change.setSubspace(subspace);
+        change.setValue(toValue);
+
+        // the change is written without its empty fields, keeping the order of its keys
+        LinkedHashMap<String, Object> jsonMap = JSON.parseObject(NON_EMPTY_WRITER.writeValueAsString(change),
+                LinkedHashMap.class, Feature.OrderedField);
+        JSONObject jsonObject = new JSONObject(true);
+        jsonObject.putAll(jsonMap);
+        JSONArray changesList = new JSONArray();
+        changesList.add(jsonObject);
+
+        MsgParameterChangeProposalValue proposal = new MsgParameterChangeProposalValue();
+        proposal.setTitle(title);
+        proposal.setDescription(description);
+        proposal.setChanges(changesList);
+
+        MsgParameterChangeProposalWrapperValue wrappedProposal = new MsgParameterChangeProposalWrapperValue();
+        wrappedProposal.setProposal(proposal);
+        wrappedProposal.setHeight(height);
+        return submitProposal(proposer, PARAMETER_CHANGE_PROPOSAL, wrappedProposal, denom, amountDeposit);
+    }
+}
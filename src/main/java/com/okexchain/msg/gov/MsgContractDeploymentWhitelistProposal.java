@@ -2,16 +2,12 @@ package com.okexchain.msg.gov;
 
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.msg.common.Token;
-import com.okexchain.utils.Utils;
 
-import java.util.ArrayList;
-import java.util.List;
 
 public class MsgContractDeploymentWhitelistProposal extends MsgBase {
 
     public MsgContractDeploymentWhitelistProposal() {
-        setMsgType("okexchain/gov/MsgSubmitProposal");
+        setMsgType(GovMessages.SUBMIT_PROPOSAL);
     }
 
 
@@ -40,28 +36,7 @@ public class MsgContractDeploymentWhitelistProposal extends MsgBase {
             String denom,
             String amountDeposit
     ) {
-
-        // content
-        Content<MsgContractDeploymentWhitelistProposalValue> content = new Content<>();
-        content.setType("okexchain/evm/ManageContractDeploymentWhitelistProposal");
-        content.setValue(proposal);
-
-        // submit
-        List<Token> depositList = new ArrayList<>();
-        Token deposit = new Token();
-        deposit.setDenom(denom);
-        deposit.setAmount(Utils.NewDecString(amountDeposit));
-        depositList.add(deposit);
-
-        MsgSubmitProposalValue<Content<MsgContractDeploymentWhitelistProposalValue>> value = new MsgSubmitProposalValue<>();
-        value.setContent(content);
-        value.setInitialDeposit(depositList);
-        value.setProposer(this.address);
-
-        Message<MsgSubmitProposalValue<Content<MsgContractDeploymentWhitelistProposalValue>>> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(GovMessages.contractDeploymentWhitelistProposal(this.address, proposal, denom, amountDeposit));
     }
 
 }
@@ -4,17 +4,12 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.msg.common.Token;
-import com.okexchain.msg.token.MsgTokenIssue;
-import com.okexchain.utils.Utils;
 import com.okexchain.utils.crypto.PrivateKey;
 
-import java.util.ArrayList;
-import java.util.List;
 
 public class MsgDeListProposal extends MsgBase {
     public MsgDeListProposal() {
-        setMsgType("okexchain/gov/MsgSubmitProposal");
+        setMsgType(GovMessages.SUBMIT_PROPOSAL);
     }
 
     public static void main(String[] args) throws JsonProcessingException {
@@ -43,35 +38,7 @@ public class MsgDeListProposal extends MsgBase {
             String quoteAsset,
             String amountDeposit
     ) {
-
-        // proposal
-        MsgDeListProposalValue proposal = new MsgDeListProposalValue();
-        proposal.setTitle(title);
-        proposal.setDescription(description);
-        proposal.setProposer(this.address);
-        proposal.setBaseAsset(baseAsset);
-        proposal.setQuoteAsset(quoteAsset);
-
-        // wrapper
-        Content<MsgDeListProposalValue> content = new Content<>();
-        content.setType("okexchain/dex/DelistProposal");
-        content.setValue(proposal);
-
-        // submit
-        List<Token> depositList = new ArrayList<>();
-        Token deposit = new Token();
-        deposit.setDenom(EnvInstance.getEnv().GetDenom());
-        deposit.setAmount(Utils.NewDecString(amountDeposit));
-        depositList.add(deposit);
-
-        MsgSubmitProposalValue<Content<MsgDeListProposalValue>> value = new MsgSubmitProposalValue<>();
-        value.setContent(content);
-        value.setInitialDeposit(depositList);
-        value.setProposer(this.address);
-
-        Message<MsgSubmitProposalValue<Content<MsgDeListProposalValue>>> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(GovMessages.delistProposal(this.address, title, description, baseAsset, quoteAsset,
+                getContext().getDenom(), amountDeposit));
     }
 }
@@ -13,7 +13,7 @@ import java.util.List;
 public class MsgDeposit extends MsgBase {
 
     public MsgDeposit() {
-        setMsgType("okexchain/gov/MsgDeposit");
+        setMsgType(GovMessages.DEPOSIT);
     }
 
     public static void main(String[] args) throws Exception {
@@ -40,16 +40,7 @@ public class MsgDeposit extends MsgBase {
     }
 
     public Message produceDepositMsg(String ProposalID, List<Token> amount) {
-
-        MsgDepositValue value = new MsgDepositValue();
-        value.setProposalID(ProposalID);
-        value.setDepositor(this.address);
-        value.setAmount(amount);
-
-        Message<MsgDepositValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(GovMessages.deposit(this.address, ProposalID, amount));
     }
 
 }
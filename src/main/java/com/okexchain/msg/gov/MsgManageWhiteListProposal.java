@@ -5,17 +5,13 @@ import com.fasterxml.jackson.core.JsonProcessingException;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.msg.common.Token;
-import com.okexchain.utils.Utils;
 import com.okexchain.utils.crypto.PrivateKey;
 
-import java.util.ArrayList;
-import java.util.List;
 
 public class MsgManageWhiteListProposal extends MsgBase {
 
     public MsgManageWhiteListProposal() {
-        setMsgType("okexchain/gov/MsgSubmitProposal");
+        setMsgType(GovMessages.SUBMIT_PROPOSAL);
     }
 
     public static void main(String[] args) throws JsonProcessingException {
@@ -51,35 +47,8 @@ public class MsgManageWhiteListProposal extends MsgBase {
             boolean isAdded,
             String amountDeposit
     ) {
-
-        // proposal
-        MsgManageWhiteListProposalValue proposal = new MsgManageWhiteListProposalValue();
-        proposal.setTitle(title);
-        proposal.setDescription(description);
-        proposal.setPoolName(poolName);
-        proposal.setIsAdded(isAdded);
-
-        // content
-        Content<MsgManageWhiteListProposalValue> content = new Content<>();
-        content.setType("okexchain/farm/ManageWhiteListProposal");
-        content.setValue(proposal);
-
-        // submit
-        List<Token> depositList = new ArrayList<>();
-        Token deposit = new Token();
-        deposit.setDenom(EnvInstance.getEnv().GetDenom());
-        deposit.setAmount(Utils.NewDecString(amountDeposit));
-        depositList.add(deposit);
-
-        MsgSubmitProposalValue<Content<MsgManageWhiteListProposalValue>> value = new MsgSubmitProposalValue<>();
-        value.setContent(content);
-        value.setInitialDeposit(depositList);
-        value.setProposer(this.address);
-
-        Message<MsgSubmitProposalValue<Content<MsgManageWhiteListProposalValue>>> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(GovMessages.manageWhiteListProposal(this.address, title, description, poolName, isAdded,
+                getContext().getDenom(), amountDeposit));
     }
 
 }
@@ -6,7 +6,7 @@ import com.okexchain.msg.common.Message;
 public class MsgVote extends MsgBase {
 
     public MsgVote() {
-        setMsgType("okexchain/gov/MsgVote");
+        setMsgType(GovMessages.VOTE);
     }
 
     public static void main(String[] args) {
@@ -22,16 +22,7 @@ public class MsgVote extends MsgBase {
     }
 
     public Message produceVoteMsg(String ProposalID, String option) {
-
-        MsgVoteValue value = new MsgVoteValue();
-        value.setProposalID(ProposalID);
-        value.setVoters(this.address);
-        value.setOption(option);
-
-        Message<MsgVoteValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(GovMessages.vote(this.address, ProposalID, option));
     }
 
 }
@@ -1,11 +1,9 @@
 package com.okexchain.msg.order;
 
-import com.alibaba.fastjson.JSON;
 import com.alibaba.fastjson.JSONObject;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.msg.tx.UnsignedTx;
 import com.okexchain.utils.crypto.PrivateKey;
 
 import java.util.ArrayList;
@@ -13,19 +11,11 @@ import java.util.ArrayList;
 public class MsgCancelOrders extends MsgBase {
 
     public MsgCancelOrders() {
-        setMsgType("okexchain/order/MsgCancel");
+        setMsgType(OrderMessages.CANCEL);
     }
 
     public Message produceMsg(String[] orderIDs) {
-
-        MsgCancelOrdersValue value = new MsgCancelOrdersValue();
-        value.setSender(this.address);
-        value.setOrderIDs(orderIDs);
-
-        Message<MsgCancelOrdersValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(OrderMessages.cancelOrders(this.address, orderIDs));
     }
 
     public static void main(String[] args) throws Exception {
@@ -1,39 +1,40 @@
 package com.okexchain.msg.order;
 
-import com.alibaba.fastjson.JSONArray;
 import com.alibaba.fastjson.JSONObject;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
 import com.okexchain.utils.crypto.PrivateKey;
+import com.okexchain.utils.encoding.CodecInstance;
 
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 
 public class MsgNewOrders extends MsgBase {
 
     public MsgNewOrders() {
-        setMsgType("okexchain/order/MsgNew");
+        setMsgType(OrderMessages.NEW);
     }
 
     public Message produceMsg(List<OrderItem> orderItems) {
-        MsgNewOrdersValue value = new MsgNewOrdersValue();
-        value.setSender(this.address);
-        value.setNewOrderItem(orderItems);
-
-        Message<MsgNewOrdersValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(OrderMessages.newOrders(this.address, orderItems));
     }
 
     public String[] getOrderIDs(JSONObject result) throws Exception {
-        String orders = getMatchedAttribute(result, "orders");
-        JSONArray orderJSONs = JSONObject.parseArray(orders);
+        return parseOrderIDs(getMatchedAttribute(result, "orders"));
+    }
+
+    /**
+     * Returns the order IDs of the "orders" attribute of a new order message, in the order of its items.
+     * An item that was not placed may have a null or empty ID.
+     */
+    public static String[] parseOrderIDs(String orders) {
+        List<Map<String, Object>> orderJSONs = CodecInstance.getCodec().fromJson(orders, List.class);
         String[] orderIDs = new String[orderJSONs.size()];
         for (int i = 0; i < orderJSONs.size(); i++) {
-            orderIDs[i] = orderJSONs.getJSONObject(i).getString("orderid");
+            orderIDs[i] = (String) orderJSONs.get(i).get("orderid");
         }
         return orderIDs;
     }
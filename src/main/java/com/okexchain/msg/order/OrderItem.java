@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.google.gson.annotations.SerializedName;
+import com.okexchain.utils.Dec;
 import com.okexchain.utils.Utils;
 import org.apache.commons.lang3.builder.ToStringBuilder;
 import org.apache.commons.lang3.builder.ToStringStyle;
@@ -39,6 +40,13 @@ public class OrderItem {
         this.side = side;
     }
 
+    public OrderItem(Dec price, String product, Dec quantity, String side) {
+        this.price = price.toString();
+        this.product = product;
+        this.quantity = quantity.toString();
+        this.side = side;
+    }
+
     public String getProduct() {
         return product;
     }
@@ -0,0 +1,32 @@
+package com.okexchain.msg.order;
+
+import com.okexchain.msg.common.Message;
+
+import java.util.List;
+
+/**
+ * Builds the messages of the order module. The methods keep no state and may be called from any thread;
+ * the sender is passed in instead of being read from an account.
+ */
+public final class OrderMessages {
+
+    public static final String NEW = "okexchain/order/MsgNew";
+    public static final String CANCEL = "okexchain/order/MsgCancel";
+
+    private OrderMessages() {
+    }
+
+    public static Message<MsgNewOrdersValue> newOrders(String sender, List<OrderItem> orderItems) {
+        MsgNewOrdersValue value = new MsgNewOrdersValue();
+        value.setSender(sender);
+        value.setNewOrderItem(orderItems);
+        return new Message<>(NEW, value);
+    }
+
+    public static Message<MsgCancelOrdersValue> cancelOrders(String sender, String[] orderIDs) {
+        MsgCancelOrdersValue value = new MsgCancelOrdersValue();
+        value.setSender(sender);
+        value.setOrderIDs(orderIDs);
+        return new Message<>(CANCEL, value);
+    }
+}
@@ -6,7 +6,7 @@ import com.okexchain.msg.common.Message;
 
 public class MsgUnjail  extends MsgBase {
     public MsgUnjail () {
-        setMsgType("cosmos-sdk/MsgUnjail");
+        setMsgType(SlashingMessages.UNJAIL);
     }
 
     public static void main(String[] args) {
@@ -18,13 +18,7 @@ public class MsgUnjail  extends MsgBase {
     }
 
     public Message produceMsg(String operAddress) {
-        MsgUnjailValue value = new MsgUnjailValue();
-        value.setAddress(operAddress);
-
-        Message<MsgUnjailValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(SlashingMessages.unjail(operAddress));
     }
 }
 
@@ -0,0 +1,20 @@
+package com.okexchain.msg.slashing;
+
+import com.okexchain.msg.common.Message;
+
+/**
+ * Builds the messages of the slashing module. The methods keep no state and may be called from any thread.
+ */
+public final class SlashingMessages {
+
+    public static final String UNJAIL = "cosmos-sdk/MsgUnjail";
+
+    private SlashingMessages() {
+    }
+
+    public static Message<MsgUnjailValue> unjail(String validator) {
+        MsgUnjailValue value = new MsgUnjailValue();
+        value.setAddress(validator);
+        return new Message<>(UNJAIL, value);
+    }
+}
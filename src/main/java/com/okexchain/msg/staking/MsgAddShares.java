@@ -1,13 +1,12 @@
 package com.okexchain.msg.staking;
 
-import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
 
 public class MsgAddShares extends MsgBase {
 
     public MsgAddShares() {
-        setMsgType("okexchain/staking/MsgAddShares");
+        setMsgType(StakingMessages.ADD_SHARES);
     }
 
    public static void main(String[] args) {
@@ -22,13 +21,6 @@ public class MsgAddShares extends MsgBase {
     }
 
     public Message produceMsg(String delegator, String [] validators) {
-        MsgAddSharesValue value = new MsgAddSharesValue();
-        value.setDelAddr(delegator);
-        value.setValAddrs(validators);
-
-        Message<MsgAddSharesValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(StakingMessages.addShares(delegator, validators));
     }
 }
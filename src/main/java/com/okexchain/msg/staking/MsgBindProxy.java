@@ -8,7 +8,7 @@ import com.okexchain.msg.common.Message;
 public class MsgBindProxy extends MsgBase {
 
     public MsgBindProxy() {
-        setMsgType("okexchain/staking/MsgBindProxy");
+        setMsgType(StakingMessages.BIND_PROXY);
     }
     public static void main(String[] args) {
         EnvInstance.setEnv("okq");
@@ -22,17 +22,6 @@ public class MsgBindProxy extends MsgBase {
     }
 
     public Message produceMsg(String delegator_address, String proxy_address) {
-        MsgBindProxyValue value = new MsgBindProxyValue();
-
-        System.out.println("this.operAddress:");
-        System.out.println(this.operAddress);
-
-        value.setDelAddress(delegator_address);
-        value.setProxyAddress(proxy_address);
-
-        Message<MsgBindProxyValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(StakingMessages.bindProxy(delegator_address, proxy_address));
     }
 }
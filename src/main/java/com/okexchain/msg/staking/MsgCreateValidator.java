@@ -3,15 +3,12 @@ package com.okexchain.msg.staking;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.msg.common.Description;
-import com.okexchain.msg.common.Token;
-import com.okexchain.utils.Utils;
 
 
 public class MsgCreateValidator extends MsgBase {
 
     public MsgCreateValidator() {
-        setMsgType("okexchain/staking/MsgCreateValidator");
+        setMsgType(StakingMessages.CREATE_VALIDATOR);
     }
 
     public static void main(String[] args) {
@@ -24,55 +21,13 @@ public class MsgCreateValidator extends MsgBase {
     }
 
     public Message produceMsg() {
-        MsgCreateValidatorValue value = new MsgCreateValidatorValue();
-
-        value.setDelegatorAddress(this.address);
-        value.setValidatorAddress(this.operAddress);
-        value.setPubKey("okchainvalconspub1zcjduepqwfr8lelpqerf8xyc63vqtje0wvhd68h7uce6ludygc28uj5hc9ushev2kp");
-
-        Description d = new Description();
-        d.setDetails("1");
-        d.setIdentity("2");
-        d.setMoniker("3");
-        d.setWebsite("4");
-
-
-        Token t = new Token();
-        t.setAmount(Utils.NewDecString("10000.00000000"));
-        t.setDenom(EnvInstance.getEnv().GetDenom());
-
-        value.setDescription(d);
-        value.setMinSelfDelegation(t);
-
-
-        Message<MsgCreateValidatorValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(StakingMessages.createValidator(this.address, this.operAddress,
+                "okchainvalconspub1zcjduepqwfr8lelpqerf8xyc63vqtje0wvhd68h7uce6ludygc28uj5hc9ushev2kp",
+                StakingMessages.description("3", "2", "4", "1"), "10000.00000000", getContext().getDenom()));
     }
 
     public Message produceMsg(String nodePubKey, String moniker, String website, String identity, String details, String msdAmount) {
-        MsgCreateValidatorValue value = new MsgCreateValidatorValue();
-
-        value.setDelegatorAddress(this.address);
-        value.setValidatorAddress(this.operAddress);
-        value.setPubKey(nodePubKey);
-
-        Description d = new Description();
-        d.setMoniker(moniker);
-        d.setWebsite(website);
-        d.setIdentity(identity);
-        d.setDetails(details);
-        value.setDescription(d);
-
-        Token t = new Token();
-        t.setAmount(Utils.NewDecString(msdAmount));
-        t.setDenom(EnvInstance.getEnv().GetDenom());
-        value.setMinSelfDelegation(t);
-
-        Message<MsgCreateValidatorValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(StakingMessages.createValidator(this.address, this.operAddress, nodePubKey,
+                StakingMessages.description(moniker, identity, website, details), msdAmount, getContext().getDenom()));
     }
 }
@@ -3,12 +3,10 @@ package com.okexchain.msg.staking;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.msg.common.DecCoin;
-import com.okexchain.utils.Utils;
 
 public class MsgDeposit extends MsgBase {
     public MsgDeposit() {
-        setMsgType("okexchain/staking/MsgDeposit");
+        setMsgType(StakingMessages.DEPOSIT);
     }
 
     public static void main(String[] args) {
@@ -23,25 +21,7 @@ public class MsgDeposit extends MsgBase {
     }
 
     public Message produceMsg(String denom, String amountDenom, String delegrator) {
-
-        DecCoin d = new DecCoin();
-        d.setDenom(denom);
-        d.setAmount(Utils.NewDecString(amountDenom));
-
-        MsgDepositValue value = new MsgDepositValue();
-
-        System.out.println("this.operAddress:");
-        System.out.println(this.operAddress);
-
-        value.setAmount(d);
-        value.setDelegatorAddress(delegrator);
-
-        System.out.println("println this.operAdddress");
-
-        Message<MsgDepositValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(StakingMessages.deposit(delegrator, denom, amountDenom));
     }
 
 }
@@ -5,17 +5,9 @@ import com.okexchain.msg.common.Message;
 
 public class MsgDestroyValidator extends MsgBase {
 
-    public MsgDestroyValidator() { setMsgType("okexchain/staking/MsgDestroyValidator"); }
+    public MsgDestroyValidator() { setMsgType(StakingMessages.DESTROY_VALIDATOR); }
 
     public Message produceMsg() {
-
-        MsgDestroyValidatorValue value = new MsgDestroyValidatorValue();
-
-        value.setDelegatorAddress(this.address);
-
-        Message<MsgDestroyValidatorValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(StakingMessages.destroyValidator(this.address));
     }
 }
@@ -3,11 +3,10 @@ package com.okexchain.msg.staking;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.msg.common.Description;
 
 public class MsgEditValidator extends MsgBase {
     public MsgEditValidator() {
-        setMsgType("okexchain/staking/MsgEditValidator");
+        setMsgType(StakingMessages.EDIT_VALIDATOR);
     }
     public static void main(String[] args) {
         EnvInstance.setEnv("okq");
@@ -22,22 +21,6 @@ public class MsgEditValidator extends MsgBase {
     }
 
     public Message produceMsg(String details, String identity, String moniker, String website, String operAddress) {
-
-        Description d = new Description();
-        d.setDetails(details);
-        d.setIdentity(identity);
-        d.setMoniker(moniker);
-        d.setWebsite(website);
-
-        MsgEditValidatorValue value = new MsgEditValidatorValue();
-
-        value.setAddress(operAddress);
-
-        value.setDescription(d);
-
-        Message<MsgEditValidatorValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(StakingMessages.editValidator(operAddress, StakingMessages.description(moniker, identity, website, details)));
     }
 }
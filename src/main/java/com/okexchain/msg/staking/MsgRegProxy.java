@@ -7,7 +7,7 @@ import com.okexchain.msg.common.Message;
 public class MsgRegProxy extends MsgBase {
 
     public MsgRegProxy() {
-        setMsgType("okexchain/staking/MsgRegProxy");
+        setMsgType(StakingMessages.REG_PROXY);
     }
 
     public static void main(String[] args) {
@@ -22,17 +22,6 @@ public class MsgRegProxy extends MsgBase {
     }
 
     public Message produceMsg(String proxyAddress, boolean reg) {
-        MsgRegProxyValue value = new MsgRegProxyValue();
-
-        System.out.println("this.operAddress:");
-        System.out.println(this.operAddress);
-
-        value.setProxyAddress(proxyAddress);
-        value.setReg(reg);
-
-        Message<MsgRegProxyValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(StakingMessages.regProxy(proxyAddress, reg));
     }
 }
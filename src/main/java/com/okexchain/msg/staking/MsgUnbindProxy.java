@@ -5,17 +5,9 @@ import com.okexchain.msg.common.Message;
 
 public class MsgUnbindProxy extends MsgBase {
 
-    public MsgUnbindProxy() { setMsgType("okexchain/staking/MsgUnbindProxy"); }
+    public MsgUnbindProxy() { setMsgType(StakingMessages.UNBIND_PROXY); }
 
     public Message produce() {
-
-        MsgUnbindProxyValue value = new MsgUnbindProxyValue();
-
-        value.setDelegatorAddress(this.address);
-
-        Message<MsgUnbindProxyValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(StakingMessages.unbindProxy(this.address));
     }
 }
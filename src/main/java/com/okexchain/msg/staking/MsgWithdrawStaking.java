@@ -3,12 +3,10 @@ package com.okexchain.msg.staking;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.msg.common.DecCoin;
-import com.okexchain.utils.Utils;
 
 public class MsgWithdrawStaking  extends MsgBase {
     public MsgWithdrawStaking() {
-        setMsgType("okexchain/staking/MsgWithdraw");
+        setMsgType(StakingMessages.WITHDRAW);
     }
     public static void main(String[] args) {
         EnvInstance.setEnv("okq");
@@ -22,24 +20,6 @@ public class MsgWithdrawStaking  extends MsgBase {
     }
 
     public Message produceMsg(String denom, String amountDenom, String delegrator) {
-
-        DecCoin d = new DecCoin();
-        d.setDenom(denom);
-        d.setAmount(Utils.NewDecString(amountDenom));
-
-        MsgWithdrawStakingValue value = new MsgWithdrawStakingValue();
-
-        System.out.println("this.operAddress:");
-        System.out.println(this.operAddress);
-
-        value.setAmount(d);
-        value.setDelegatorAddress(delegrator);
-
-        System.out.println("println this.operAdddress");
-
-        Message<MsgWithdrawStakingValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(StakingMessages.withdraw(delegrator, denom, amountDenom));
     }
 }
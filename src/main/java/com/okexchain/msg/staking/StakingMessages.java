@@ -0,0 +1,109 @@
+package com.okexchain.msg.staking;
+
+import com.okexchain.msg.common.DecCoin;
+import com.okexchain.msg.common.Description;
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.common.Token;
+import com.okexchain.utils.Utils;
+
+/**
+ * Builds the messages of the staking module. The methods keep no state and may be called from any thread;
+ * the sender is passed in instead of being read from an account.
+ */
+public final class StakingMessages {
+
+    public static final String CREATE_VALIDATOR = "okexchain/staking/MsgCreateValidator";
+    public static final String EDIT_VALIDATOR = "okexchain/staking/MsgEditValidator";
+    public static final String DESTROY_VALIDATOR = "okexchain/staking/MsgDestroyValidator";
+    public static final String DEPOSIT = "okexchain/staking/MsgDeposit";
+    public static final String WITHDRAW = "okexchain/staking/MsgWithdraw";
+    public static final String ADD_SHARES = "okexchain/staking/MsgAddShares";
+    public static final String REG_PROXY = "okexchain/staking/MsgRegProxy";
+    public static final String BIND_PROXY = "okexchain/staking/MsgBindProxy";
+    public static final String UNBIND_PROXY = "okexchain/staking/MsgUnbindProxy";
+
+    private StakingMessages() {
+    }
+
+    public static Message<MsgCreateValidatorValue> createValidator(String delegator, String validator, String nodePubKey,
+                                                                   Description description,
+                                                                   String minSelfDelegation, String denom) {
+        MsgCreateValidatorValue value = new MsgCreateValidatorValue();
+        value.setDelegatorAddress(delegator);
+        value.setValidatorAddress(validator);
+        value.setPubKey(nodePubKey);
+        value.setDescription(description);
+        value.setMinSelfDelegation(new Token(Utils.NewDecString(minSelfDelegation), denom));
+        return new Message<>(CREATE_VALIDATOR, value);
+    }
+
+    public static Message<MsgEditValidatorValue> editValidator(String validator, Description description) {
+        MsgEditValidatorValue value = new MsgEditValidatorValue();
+        value.setAddress(validator);
+        value.setDescription(description);
+        return new Message<>(EDIT_VALIDATOR, value);
+    }
+
+    public static Message<MsgDestroyValidatorValue> destroyValidator(String delegator) {
+        MsgDestroyValidatorValue value = new MsgDestroyValidatorValue();
+        value.setDelegatorAddress(delegator);
+        return new Message<>(DESTROY_VALIDATOR, value);
+    }
+
+    public static Message<MsgDepositValue> deposit(String delegator, String denom, String amount) {
+        MsgDepositValue value = new MsgDepositValue();
+        value.setAmount(decCoin(denom, amount));
+        value.setDelegatorAddress(delegator);
+        return new Message<>(DEPOSIT, value);
+    }
+
+    public static Message<MsgWithdrawStakingValue> withdraw(String delegator, String denom, String amount) {
+        MsgWithdrawStakingValue value = new MsgWithdrawStakingValue();
+        value.setAmount(decCoin(denom, amount));
+        value.setDelegatorAddress(delegator);
+        return new Message<>(WITHDRAW, value);
+    }
+
+    public static Message<MsgAddSharesValue> addShares(String delegator, String[] validators) {
+        MsgAddSharesValue value = new MsgAddSharesValue();
+        value.setDelAddr(delegator);
+        value.setValAddrs(validators);
+        return new Message<>(ADD_SHARES, value);
+    }
+
+    public static Message<MsgRegProxyValue> regProxy(String proxy, boolean reg) {
+        MsgRegProxyValue value = new MsgRegProxyValue();
+        value.setProxyAddress(proxy);
+        value.setReg(reg);
+        return new Message<>(REG_PROXY, value);
+    }
+
+    public static Message<MsgBindProxyValue> bindProxy(String delegator, String proxy) {
+        MsgBindProxyValue value = new MsgBindProxyValue();
+        value.setDelAddress(delegator);
+        value.setProxyAddress(proxy);
+        return new Message<>(BIND_PROXY, value);
+    }
+
+    public static Message<MsgUnbindProxyValue> unbindProxy(String delegator) {
+        MsgUnbindProxyValue value = new MsgUnbindProxyValue();
+        value.setDelegatorAddress(delegator);
+        return new Message<>(UNBIND_PROXY, value);
+    }
+
+    public static Description description(String moniker, String identity, String website, String details) {
+        Description d = new Description();
+        d.setMoniker(moniker);
+        d.setIdentity(identity);
+        d.setWebsite(website);
+        d.setDetails(details);
+        return d;
+    }
+
+    private static DecCoin decCoin(String denom, String amount) {
+        DecCoin coin = new DecCoin();
+        coin.setDenom(denom);
+        coin.setAmount(Utils.NewDecString(amount));
+        return coin;
+    }
+}
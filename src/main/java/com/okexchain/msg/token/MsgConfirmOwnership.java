@@ -5,19 +5,10 @@ import com.okexchain.msg.common.Message;
 
 public class MsgConfirmOwnership extends MsgBase {
 
-    public MsgConfirmOwnership() { setMsgType("okexchain/token/MsgConfirmOwnership"); }
+    public MsgConfirmOwnership() { setMsgType(TokenMessages.CONFIRM_OWNERSHIP); }
 
     public Message produceConfirmOwnershipMsg(String address, String symbol) {
-
-        MsgConfirmOwnershipValue value = new MsgConfirmOwnershipValue();
-        value.setAddress(address);
-        value.setSymbol(symbol);
-
-        Message<MsgConfirmOwnershipValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-
-        return msg;
+        return withMsgType(TokenMessages.confirmOwnership(address, symbol));
     }
 
 }
\ No newline at end of file
@@ -8,18 +8,9 @@ import java.util.List;
 
 public class MsgMultiTransfer extends MsgBase {
 
-    public MsgMultiTransfer() { setMsgType("okexchain/token/MsgMultiTransfer"); }
+    public MsgMultiTransfer() { setMsgType(TokenMessages.MULTI_TRANSFER); }
 
     public Message produceMsg(List<TransferUnit> transfers) {
-
-        MsgMultiTransferValue value = new MsgMultiTransferValue();
-
-        value.setFrom(this.address);
-        value.setTransfers(transfers);
-
-        Message<MsgMultiTransferValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(TokenMessages.multiTransfer(this.address, transfers));
     }
 }
@@ -2,16 +2,12 @@ package com.okexchain.msg.token;
 
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.msg.common.Token;
-import com.okexchain.utils.Utils;
 
-import java.util.ArrayList;
-import java.util.List;
 
 public class MsgSend extends MsgBase {
 
     public MsgSend() {
-        setMsgType("okexchain/token/MsgTransfer");
+        setMsgType(TokenMessages.TRANSFER);
     }
 
     public static void main(String[] args) {
@@ -29,22 +25,7 @@ public class MsgSend extends MsgBase {
     }
 
     public Message produceSendMsg(String denom, String amountDenom, String to) {
-
-        List<Token> amountList = new ArrayList<>();
-        Token amount = new Token();
-        amount.setDenom(denom);
-        amount.setAmount(Utils.NewDecString(amountDenom));
-        amountList.add(amount);
-
-        MsgSendValue value = new MsgSendValue();
-        value.setFromAddress(this.address);
-        value.setToAddress(to);
-        value.setAmount(amountList);
-
-        Message<MsgSendValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(TokenMessages.transfer(this.address, to, denom, amountDenom));
     }
 
 }
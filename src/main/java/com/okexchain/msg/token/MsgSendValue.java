@@ -4,6 +4,7 @@ import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.google.gson.annotations.SerializedName;
+import com.okexchain.env.ChainContext;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.msg.common.Token;
 import com.okexchain.utils.crypto.AddressUtil;
@@ -41,11 +42,14 @@ public class MsgSendValue {
     }
 
     public void setToAddress(String toAddress) {
-        // eth address
-        if (!toAddress.startsWith(EnvInstance.getEnv().GetMainPrefix())) {
-            toAddress = AddressUtil.convertAddressFromHexToBech32(toAddress);
-        }
-        this.toAddress = toAddress;
+        setToAddress(EnvInstance.getContext(), toAddress);
+    }
+
+    /**
+     * Converts an eth address with the prefix of the context, bech32 addresses of any chain are kept as they are.
+     */
+    public void setToAddress(ChainContext context, String toAddress) {
+        this.toAddress = AddressUtil.toBech32(context, toAddress);
     }
 
     @Override
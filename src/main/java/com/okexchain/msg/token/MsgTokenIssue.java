@@ -9,24 +9,11 @@ import com.okexchain.utils.crypto.PrivateKey;
 public class MsgTokenIssue extends MsgBase {
 
     public MsgTokenIssue() {
-        setMsgType("okexchain/token/MsgIssue");
+        setMsgType(TokenMessages.ISSUE);
     }
 
     public Message produceTokenIssueMsg(String description, String symbol, String originalSymbol, String wholeName, String totalSupply, String owner, boolean mintable) {
-
-        MsgTokenIssueValue value = new MsgTokenIssueValue();
-        value.setDescription(description);
-        value.setSymbol(symbol);
-        value.setOriginalSymbol(originalSymbol);
-        value.setWholeName(wholeName);
-        value.setTotalSupply(totalSupply);
-        value.setOwner(owner);
-        value.setMintable(mintable);
-
-        Message<MsgTokenIssueValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
+        return withMsgType(TokenMessages.issue(owner, description, symbol, originalSymbol, wholeName, totalSupply, mintable));
     }
 
     public String getIssuedToken(JSONObject result) throws Exception {
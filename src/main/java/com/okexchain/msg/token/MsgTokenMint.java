@@ -2,28 +2,13 @@ package com.okexchain.msg.token;
 
 import com.okexchain.msg.MsgBase;
 import com.okexchain.msg.common.Message;
-import com.okexchain.msg.common.Token;
-import com.okexchain.utils.Utils;
 
 public class MsgTokenMint extends MsgBase {
 
-    public MsgTokenMint() { setMsgType("okexchain/token/MsgMint");}
+    public MsgTokenMint() { setMsgType(TokenMessages.MINT);}
 
     public Message produceTokenMintMsg(String denom, String amountDenom, String owner) {
-
-        Token amount = new Token();
-        amount.setDenom(denom);
-        amount.setAmount(Utils.NewDecString(amountDenom));
-
-        MsgTokenMintValue value = new MsgTokenMintValue();
-        value.setAmount(amount);
-        value.setOwner(owner);
-
-        Message<MsgTokenMintValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-
-        return msg;
+        return withMsgType(TokenMessages.mint(owner, denom, amountDenom));
     }
 
 }
\ No newline at end of file
@@ -6,23 +6,10 @@ import com.okexchain.msg.common.Message;
 public class MsgTokenModify extends MsgBase {
 
     public MsgTokenModify() {
-        setMsgType("okexchain/token/MsgModify");
+        setMsgType(TokenMessages.MODIFY);
     }
 
     public Message produceTokenModifyMsg (String description, boolean isDescEdit, String owner, String symbol, String wholeName, boolean isWholeNameEdit) {
-
-        MsgTokenModifyValue value = new MsgTokenModifyValue();
-        value.setDescription(description);
-        value.setDescriptionModified(isDescEdit);
-        value.setOwner(owner);
-        value.setSymbol(symbol);
-        value.setWholeName(wholeName);
-        value.setWholeNameModified(isWholeNameEdit);
-
-        Message<MsgTokenModifyValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-        return msg;
-
+        return withMsgType(TokenMessages.modify(owner, symbol, description, isDescEdit, wholeName, isWholeNameEdit));
     }
 }
\ No newline at end of file
@@ -5,20 +5,10 @@ import com.okexchain.msg.common.Message;
 
 public class MsgTransferOwnership extends MsgBase {
 
-    public MsgTransferOwnership() { setMsgType("okexchain/token/MsgTransferOwnership");}
+    public MsgTransferOwnership() { setMsgType(TokenMessages.TRANSFER_OWNERSHIP);}
 
     public Message produceTransferOwnerShipMsg(String fromAddress, String toAddress, String symbol) {
-
-        MsgTransferOwnershipValue value = new MsgTransferOwnershipValue();
-        value.setFromAddress(fromAddress);
-        value.setToAddress(toAddress);
-        value.setSymbol(symbol);
-
-        Message<MsgTransferOwnershipValue> msg = new Message<>();
-        msg.setType(msgType);
-        msg.setValue(value);
-
-        return msg;
+        return withMsgType(TokenMessages.transferOwnership(fromAddress, toAddress, symbol));
     }
 
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.okexchain.msg.token;
+
+import com.okexchain.env.ChainContext;
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.common.Token;
+import com.okexchain.msg.common.TransferUnit;
+import com.okexchain.utils.Utils;
+import com.okexchain.utils.crypto.AddressUtil;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds the messages of the token module. The methods keep no state and may be called from any thread;
+ * the sender is passed in instead of being read from an account.
+ */
+public final class TokenMessages {
+
+    public static final String TRANSFER = "okexchain/token/MsgTransfer";
+    public static final String MULTI_TRANSFER = "okexchain/token/MsgMultiTransfer";
+    public static final String ISSUE = "okexchain/token/MsgIssue";
+    public static final String MINT = "okexchain/token/MsgMint";
+    public static final String BURN = "okexchain/token/MsgBurn";
+    public static final String MODIFY = "okexchain/token/MsgModify";
+    public static final String TRANSFER_OWNERSHIP = "okexchain/token/MsgTransferOwnership";
+    public static final String CONFIRM_OWNERSHIP = "okexchain/token/MsgConfirmOwnership";
+
+    private TokenMessages() {
+    }
+
+    public static Message<MsgSendValue> transfer(String from, String to, String denom, String amount) {
+        MsgSendValue value = new MsgSendValue();
+        value.setFromAddress(from);
+        value.setToAddress(to);
+        List<Token> amountList = new ArrayList<>();
+        amountList.add(new Token(Utils.NewDecString(amount), denom));
+        value.setAmount(amountList);
+        return new Message<>(TRANSFER, value);
+    }
+
+    /**
+     * Transfers the denom of the context, hex recipients are converted with the prefix of the context.
+     */
+    public static Message<MsgSendValue> transfer(ChainContext context, String from, String to, String amount) {
+        return transfer(from, AddressUtil.toBech32(context, to), context.getDenom(), amount);
+    }
+
+    public static Message<MsgMultiTransferValue> multiTransfer(String from, List<TransferUnit> transfers) {
+        MsgMultiTransferValue value = new MsgMultiTransferValue();
+        value.setFrom(from);
+        value.setTransfers(transfers);
+        return new Message<>(MULTI_TRANSFER, value);
+    }
+
+    public static Message<MsgTokenIssueValue> issue(String owner, String description, String symbol, String originalSymbol,
+                                                    String wholeName, String totalSupply, boolean mintable) {
+        MsgTokenIssueValue value = new MsgTokenIssueValue();
+        value.setDescription(description);
+        value.setSymbol(symbol);
+        value.setOriginalSymbol(originalSymbol);
+        value.setWholeName(wholeName);
+        value.setTotalSupply(totalSupply);
+        value.setOwner(owner);
+        value.setMintable(mintable);
+        return new Message<>(ISSUE, value);
+    }
+
+    public static Message<MsgTokenMintValue> mint(String owner, String denom, String amount) {
+        MsgTokenMintValue value = new MsgTokenMintValue();
+        value.setAmount(new Token(Utils.NewDecString(amount), denom));
+        value.setOwner(owner);
+        return new Message<>(MINT, value);
+    }
+
+    public static Message<MsgTokenBurnValue> burn(String owner, String denom, String amount) {
+        MsgTokenBurnValue value = new MsgTokenBurnValue();
+        value.setAmount(new Token(Utils.NewDecString(amount), denom));
+        value.setOwner(owner);
+        return new Message<>(BURN, value);
+    }
+
+    public static Message<MsgTokenModifyValue> modify(String owner, String symbol, String description, boolean isDescEdit,
+                                                      String wholeName, boolean isWholeNameEdit) {
+        MsgTokenModifyValue value = new MsgTokenModifyValue();
+        value.setDescription(description);
+        value.setDescriptionModified(isDescEdit);
+        value.setOwner(owner);
+        value.setSymbol(symbol);
+        value.setWholeName(wholeName);
+        value.setWholeNameModified(isWholeNameEdit);
+        return new Message<>(MODIFY, value);
+    }
+
+    public static Message<MsgTransferOwnershipValue> transferOwnership(String from, String to, String symbol) {
+        MsgTransferOwnershipValue value = new MsgTransferOwnershipValue();
+        value.setFromAddress(from);
+        value.setToAddress(to);
+        value.setSymbol(symbol);
+        return new Message<>(TRANSFER_OWNERSHIP, value);
+    }
+
+    public static Message<MsgConfirmOwnershipValue> confirmOwnership(String address, String symbol) {
+        MsgConfirmOwnershipValue value = new MsgConfirmOwnershipValue();
+        value.setAddress(address);
+        value.setSymbol(symbol);
+        return new Message<>(CONFIRM_OWNERSHIP, value);
+    }
+}
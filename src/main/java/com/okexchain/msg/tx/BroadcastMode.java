@@ -0,0 +1,21 @@
+package com.okexchain.msg.tx;
+
+/**
+ * Broadcast modes accepted by the rest server.
+ * SYNC returns after CheckTx, ASYNC returns immediately and BLOCK waits until the tx is committed.
+ */
+public enum BroadcastMode {
+    SYNC("sync"),
+    ASYNC("async"),
+    BLOCK("block");
+
+    private final String value;
+
+    BroadcastMode(String value) {
+        this.value = value;
+    }
+
+    public String getValue() {
+        return value;
+    }
+}
@@ -1,7 +1,8 @@
 package com.okexchain.msg.tx;
 
-import com.okexchain.utils.Utils;
 import com.okexchain.msg.common.TxValue;
+import com.okexchain.utils.encoding.CodecInstance;
+import com.okexchain.utils.encoding.message.StdTxEncoder;
 
 
 public class BroadcastTx {
@@ -22,7 +23,21 @@ public class BroadcastTx {
     }
 
     public String toJson() {
-        return Utils.serializer.toJson(this);
+        return CodecInstance.getCodec().toJson(this);
+    }
+
+    /**
+     * Returns the amino bytes of the signed tx, which is what the node stores and hashes.
+     */
+    public byte[] toAmino() {
+        return StdTxEncoder.encode(tx);
+    }
+
+    /**
+     * Computes the hash the node will report for this tx, without asking the node.
+     */
+    public String txHash() {
+        return StdTxEncoder.txHash(tx);
     }
 
     public String getMode() {
@@ -34,6 +49,6 @@ public class BroadcastTx {
     }
 
     public static BroadcastTx fromJson(String json) {
-        return Utils.serializer.fromJson(json, BroadcastTx.class);
+        return CodecInstance.getCodec().fromJson(json, BroadcastTx.class);
     }
 }
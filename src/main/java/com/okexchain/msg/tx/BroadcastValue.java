@@ -1,7 +1,7 @@
 package com.okexchain.msg.tx;
 
 import com.okexchain.msg.common.TxValue;
-import com.okexchain.utils.Utils;
+import com.okexchain.utils.encoding.CodecInstance;
 
 
 public class BroadcastValue {
@@ -21,10 +21,10 @@ public class BroadcastValue {
     }
 
     public String toJson() {
-        return Utils.serializer.toJson(this);
+        return CodecInstance.getCodec().toJson(this);
     }
 
     public static BroadcastValue fromJson(String json) {
-        return Utils.serializer.fromJson(json, BroadcastValue.class);
+        return CodecInstance.getCodec().fromJson(json, BroadcastValue.class);
     }
 }
@@ -0,0 +1,129 @@
+package com.okexchain.msg.tx;
+
+import com.okexchain.utils.encoding.CodecInstance;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * EventIndex holds the attributes of the events in the raw_log of a tx, looked up by message index,
+ * event type and attribute key. The log is read once, into typed events, when the index is built;
+ * lookups do not parse anything.
+ */
+public class EventIndex {
+
+    public static final EventIndex EMPTY = new EventIndex(0, Collections.<String, List<String>>emptyMap());
+
+    // stands for any event type in a key of the index
+    private static final String ANY_TYPE = "";
+    private static final char SEPARATOR = '\u0000';
+
+    private static class Log extends RawLog<StringEvent<Attribute>> {
+    }
+
+    private final int messageCount;
+    // msg index, event type and attribute key -> values in log order
+    private final Map<String, List<String>> values;
+
+    private EventIndex(int messageCount, Map<String, List<String>> values) {
+        this.messageCount = messageCount;
+        this.values = values;
+    }
+
+    /**
+     * Indexes the raw_log of a tx. A log that is not a list of message logs, e.g. the error text of a
+     * failed tx, gives an empty index.
+     */
+    public static EventIndex parse(String rawLog) {
+        if (rawLog == null || !rawLog.trim().startsWith("[")) {
+            return EMPTY;
+        }
+        Log[] logs;
+        try {
+            logs = CodecInstance.getCodec().fromJson(rawLog, Log[].class);
+        } catch (RuntimeException e) {
+            return EMPTY;
+        }
+
+        Map<String, List<String>> values = new HashMap<>();
+        int messageCount = 0;
+        for (int i = 0; i < logs.length; i++) {
+            // a log without msg_index is numbered by its position
+            int msgIndex = logs[i].getIndex() == 0 ? i : logs[i].getIndex();
+            messageCount = Math.max(messageCount, msgIndex + 1);
+            if (logs[i].getEvents() == null) {
+                continue;
+            }
+            for (StringEvent<Attribute> event : logs[i].getEvents()) {
+                if (event.getAttributes() == null) {
+                    continue;
+                }
+                for (Attribute attr : event.getAttributes()) {
+                    add(values, keyOf(msgIndex, event.getType(), attr.getKey()), attr.getValue());
+                    add(values, keyOf(msgIndex, ANY_TYPE, attr.getKey()), attr.getValue());
+                }
+            }
+        }
+        return new EventIndex(messageCount, values);
+    }
+
+    /**
+     * Returns the values of the attribute in the events of the given type emitted by the message.
+     */
+    public List<String> get(int msgIndex, String eventType, String key) {
+        List<String> found = values.get(keyOf(msgIndex, eventType, key));
+        return found == null ? Collections.<String>emptyList() : Collections.unmodifiableList(found);
+    }
+
+    /**
+     * Returns the values of the attribute in all the events emitted by the message.
+     */
+    public List<String> get(int msgIndex, String key) {
+        return get(msgIndex, ANY_TYPE, key);
+    }
+
+    /**
+     * Returns the first value of the attribute emitted by the message, or null.
+     */
+    public String first(int msgIndex, String key) {
+        List<String> found = values.get(keyOf(msgIndex, ANY_TYPE, key));
+        return found == null ? null : found.get(0);
+    }
+
+    /**
+     * Returns the first value of the attribute for every message that emitted it, in message order.
+     */
+    public List<String> firstOfEachMessage(String key) {
+        List<String> found = new ArrayList<>();
+        for (int i = 0; i < messageCount; i++) {
+            String value = first(i, key);
+            if (value != null) {
+                found.add(value);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Returns the number of messages the log has an entry for.
+     */
+    public int getMessageCount() {
+        return messageCount;
+    }
+
+    private static void add(Map<String, List<String>> values, String key, String value) {
+        List<String> list = values.get(key);
+        if (list == null) {
+            list = new ArrayList<>(1);
+            values.put(key, list);
+        }
+        list.add(value);
+    }
+
+    private static String keyOf(int msgIndex, String eventType, String key) {
+        return msgIndex + String.valueOf(SEPARATOR) + eventType + SEPARATOR + key;
+    }
+}
@@ -1,10 +1,14 @@
 package com.okexchain.msg.tx;
 
+import com.alibaba.fastjson.annotation.JSONField;
 import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import com.fasterxml.jackson.annotation.JsonProperty;
 import com.fasterxml.jackson.annotation.JsonPropertyOrder;
 import com.google.gson.annotations.SerializedName;
 import com.google.protobuf.UInt32Value;
+import com.okexchain.utils.encoding.CodecInstance;
+
+import java.util.Map;
 
 @JsonIgnoreProperties(ignoreUnknown = true)
 @JsonPropertyOrder(alphabetic = true)
@@ -45,6 +49,59 @@ public class Response {
     @SerializedName("gas_used")
     long gasUsed;
 
+    // built from rawLog on first use
+    private transient EventIndex events;
+
+    /**
+     * Reads the answer of the node to a broadcast or a tx query.
+     */
+    public static Response fromJson(String json) {
+        return CodecInstance.getCodec().fromJson(json, Response.class);
+    }
+
+    /**
+     * Reads an answer that was already parsed into a map, e.g. the result of
+     * {@link com.okexchain.msg.MsgBase#broadcast(String, String)}, without writing it out again.
+     */
+    public static Response fromMap(Map<String, Object> result) {
+        Response response = new Response();
+        response.height = longOf(result.get("height"));
+        response.txhash = stringOf(result.get("txhash"));
+        response.codespace = stringOf(result.get("codespace"));
+        response.code = (int) longOf(result.get("code"));
+        response.data = stringOf(result.get("data"));
+        response.rawLog = stringOf(result.get("raw_log"));
+        response.info = stringOf(result.get("info"));
+        response.gas = longOf(result.get("gas_wanted"));
+        response.gasUsed = longOf(result.get("gas_used"));
+        return response;
+    }
+
+    private static long longOf(Object value) {
+        if (value instanceof Number) {
+            return ((Number) value).longValue();
+        }
+        return value == null || value.toString().isEmpty() ? 0 : Long.parseLong(value.toString());
+    }
+
+    private static String stringOf(Object value) {
+        return value == null ? null : value.toString();
+    }
+
+    /**
+     * Returns the events of the raw log indexed by message, event type and attribute key. The log is
+     * parsed on the first call only.
+     */
+    @JSONField(serialize = false)
+    public EventIndex getEvents() {
+        EventIndex index = events;
+        if (index == null) {
+            index = EventIndex.parse(rawLog);
+            events = index;
+        }
+        return index;
+    }
+
     public long getHeight() {
         return height;
     }
@@ -103,6 +160,7 @@ public class Response {
 
     public void setRawLog(String rawLog) {
         this.rawLog = rawLog;
+        this.events = null;
     }
 
     public void setInfo(String info) {
@@ -4,6 +4,7 @@ import com.okexchain.msg.common.Signature;
 import com.okexchain.msg.common.TxValue;
 import com.okexchain.msg.common.Data2Sign;
 
+import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -12,17 +13,33 @@ public class UnsignedTx {
     private BroadcastValue broadcastValue;
 
     private String unsignedTxJson;
+    private byte[] signBytes;
 
     public UnsignedTx(TxValue txValue, String unsignedTxJson) {
+        this(txValue, unsignedTxJson, BroadcastMode.BLOCK);
+    }
+
+    public UnsignedTx(TxValue txValue, String unsignedTxJson, BroadcastMode mode) {
+        this(txValue, mode);
+        this.unsignedTxJson = unsignedTxJson;
+    }
+
+    /**
+     * @param signBytes UTF-8 encoded canonical json of the data to sign
+     */
+    public UnsignedTx(TxValue txValue, byte[] signBytes, BroadcastMode mode) {
+        this(txValue, mode);
+        this.signBytes = signBytes;
+    }
+
+    private UnsignedTx(TxValue txValue, BroadcastMode mode) {
 
         this.broadcastTx = new BroadcastTx();
         this.broadcastTx.setTx(txValue);
-        this.broadcastTx.setMode("block");
+        this.broadcastTx.setMode(mode.getValue());
 
         this.broadcastValue = new BroadcastValue();
         this.broadcastValue.setTx(txValue);
-
-        this.unsignedTxJson = unsignedTxJson;
     }
 
     public BroadcastTx signed(Signature signature) {
@@ -39,7 +56,24 @@ public class UnsignedTx {
         return broadcastValue;
     }
 
+    public void setMode(BroadcastMode mode) {
+        this.broadcastTx.setMode(mode.getValue());
+    }
+
+    /**
+     * Returns the bytes to sign without going through a String when the tx was built from them.
+     */
+    public byte[] getSignBytes() {
+        if (signBytes == null) {
+            signBytes = unsignedTxJson.getBytes(StandardCharsets.UTF_8);
+        }
+        return signBytes;
+    }
+
     public String toString() {
+        if (unsignedTxJson == null) {
+            unsignedTxJson = new String(signBytes, StandardCharsets.UTF_8);
+        }
         return unsignedTxJson;
     }
 
@@ -0,0 +1,230 @@
+package com.okexchain.utils;
+
+import com.okexchain.utils.exception.RequestNotSentException;
+import org.apache.http.HttpResponse;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.conn.ConnectTimeoutException;
+import org.apache.http.conn.ConnectionPoolTimeoutException;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.concurrent.FutureCallback;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.nio.client.CloseableHttpAsyncClient;
+import org.apache.http.impl.nio.client.HttpAsyncClients;
+import org.apache.http.impl.nio.conn.PoolingNHttpClientConnectionManager;
+import org.apache.http.impl.nio.reactor.DefaultConnectingIOReactor;
+import org.apache.http.impl.nio.reactor.IOReactorConfig;
+import org.apache.http.nio.reactor.IOReactorException;
+import org.apache.http.util.EntityUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.UnknownHostException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * AsyncHttpTransport is the non-blocking counterpart of {@link HttpTransport}.
+ * Requests run on a small pool of NIO reactor threads, so many of them can be pending
+ * without a parked thread each. The number of requests in flight is bounded by a window;
+ * callers block only when the window is full.
+ * <p>
+ * The returned futures are completed on callback threads of the transport, never on a reactor thread, so
+ * dependent stages may sign, block or send further requests without stalling the io of other requests.
+ * A request that failed before reaching the server fails with a {@link RequestNotSentException}.
+ */
+public class AsyncHttpTransport implements Closeable {
+
+    public static final int DEFAULT_MAX_IN_FLIGHT = 512;
+
+    private static volatile AsyncHttpTransport defaultTransport;
+
+    private final CloseableHttpAsyncClient httpClient;
+    private final ExecutorService callbackExecutor;
+    private final Semaphore window;
+    private final int maxInFlight;
+
+    /**
+     * Allows {@link #DEFAULT_MAX_IN_FLIGHT} requests, all of which may go to the same node: a broadcast in
+     * "block" mode holds its connection until the tx is committed.
+     */
+    public AsyncHttpTransport() {
+        this(DEFAULT_MAX_IN_FLIGHT, DEFAULT_MAX_IN_FLIGHT,
+                HttpTransport.DEFAULT_CONNECT_TIMEOUT, HttpTransport.DEFAULT_SOCKET_TIMEOUT);
+    }
+
+    public AsyncHttpTransport(int maxInFlight, int maxPerRoute, int connectTimeout, int socketTimeout) {
+        this(maxInFlight, maxPerRoute, connectTimeout, socketTimeout, HttpTransport.DEFAULT_CONNECTION_REQUEST_TIMEOUT);
+    }
+
+    /**
+     * @param maxInFlight     maximum number of requests pending at the same time
+     * @param maxPerRoute     maximum number of pooled connections to a single host, requests above it wait
+     *                        for a connection
+     * @param connectTimeout  connect timeout in milliseconds
+     * @param socketTimeout   read timeout in milliseconds
+     * @param leaseTimeout    time in milliseconds a request waits for a pooled connection before it fails
+     *                        with a {@link RequestNotSentException}
+     */
+    public AsyncHttpTransport(int maxInFlight, int maxPerRoute, int connectTimeout, int socketTimeout, int leaseTimeout) {
+        IOReactorConfig reactorConfig = IOReactorConfig.custom()
+                .setIoThreadCount(Runtime.getRuntime().availableProcessors())
+                .setConnectTimeout(connectTimeout)
+                .setSoTimeout(socketTimeout)
+                .setSoKeepAlive(true)
+                .build();
+
+        PoolingNHttpClientConnectionManager connectionManager;
+        try {
+            connectionManager = new PoolingNHttpClientConnectionManager(new DefaultConnectingIOReactor(reactorConfig));
+        } catch (IOReactorException e) {
+            throw new IllegalStateException("failed to start io reactor", e);
+        }
+        connectionManager.setMaxTotal(maxInFlight);
+        connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setSocketTimeout(socketTimeout)
+                .setConnectionRequestTimeout(leaseTimeout)
+                .build();
+
+        this.httpClient = HttpAsyncClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .build();
+        this.httpClient.start();
+        this.callbackExecutor = Executors.newCachedThreadPool(r -> {
+            Thread t = new Thread(r, "okexchain-async-callback");
+            t.setDaemon(true);
+            return t;
+        });
+
+        this.maxInFlight = maxInFlight;
+        this.window = new Semaphore(maxInFlight);
+    }
+
+    /**
+     * Returns the process wide async transport, started on first use.
+     */
+    public static AsyncHttpTransport getDefault() {
+        AsyncHttpTransport transport = defaultTransport;
+        if (transport == null) {
+            synchronized (AsyncHttpTransport.class) {
+                transport = defaultTransport;
+                if (transport == null) {
+                    transport = new AsyncHttpTransport();
+                    defaultTransport = transport;
+                }
+            }
+        }
+        return transport;
+    }
+
+    public static void setDefault(AsyncHttpTransport transport) {
+        defaultTransport = transport;
+    }
+
+    public CompletableFuture<String> get(String url) {
+        HttpGet httpGet = new HttpGet(url);
+        httpGet.addHeader("Content-type", "application/json");
+        return execute(httpGet);
+    }
+
+    public CompletableFuture<String> post(String url, String json) {
+        HttpPost httpPost = new HttpPost(url);
+        StringEntity stringEntity = new StringEntity(json, ContentType.APPLICATION_JSON);
+        stringEntity.setContentEncoding("utf-8");
+        httpPost.setEntity(stringEntity);
+        return execute(httpPost);
+    }
+
+    /**
+     * Sends the request and completes the returned future with the response body on a reactor thread.
+     */
+    public CompletableFuture<String> execute(HttpRequestBase request) {
+        final CompletableFuture<String> future = new CompletableFuture<>();
+        try {
+            window.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            future.completeExceptionally(new RequestNotSentException("interrupted while waiting for the window", e));
+            return future;
+        }
+
+        try {
+            send(request, future);
+        } catch (RuntimeException e) {
+            // e.g. the client is closed, no callback will give the permit back
+            window.release();
+            future.completeExceptionally(new RequestNotSentException("request can not be executed", e));
+        }
+        return future;
+    }
+
+    /**
+     * Runs the completion of a future off the reactor thread.
+     */
+    private void complete(Runnable completion) {
+        try {
+            callbackExecutor.execute(completion);
+        } catch (RejectedExecutionException e) {
+            // closed
+            completion.run();
+        }
+    }
+
+    private void send(HttpRequestBase request, final CompletableFuture<String> future) {
+        httpClient.execute(request, new FutureCallback<HttpResponse>() {
+            @Override
+            public void completed(HttpResponse response) {
+                window.release();
+                String body;
+                try {
+                    body = EntityUtils.toString(response.getEntity(), "utf-8");
+                } catch (IOException e) {
+                    complete(() -> future.completeExceptionally(e));
+                    return;
+                }
+                complete(() -> future.complete(body));
+            }
+
+            @Override
+            public void failed(Exception e) {
+                window.release();
+                Exception error = isNotSent(e) ? new RequestNotSentException(String.valueOf(e.getMessage()), e) : e;
+                complete(() -> future.completeExceptionally(error));
+            }
+
+            @Override
+            public void cancelled() {
+                window.release();
+                complete(() -> future.cancel(false));
+            }
+        });
+    }
+
+    // failures of the connection lease or of the connect, before the request was written
+    private static boolean isNotSent(Exception e) {
+        return e instanceof TimeoutException || e instanceof ConnectionPoolTimeoutException
+                || e instanceof ConnectException || e instanceof ConnectTimeoutException
+                || e instanceof UnknownHostException;
+    }
+
+    public int getInFlight() {
+        return maxInFlight - window.availablePermits();
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+        callbackExecutor.shutdown();
+    }
+}
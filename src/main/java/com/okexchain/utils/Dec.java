@@ -0,0 +1,350 @@
+package com.okexchain.utils;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+/**
+ * Dec is an immutable decimal with the 18 decimals of the chain, the amounts and prices of the messages.
+ * <p>
+ * The value is held unscaled, that is multiplied by 10^18, in a long while it fits (below 9.22 in absolute
+ * value) and in a BigInteger above. Values are always normalized to the long form when possible, so two equal
+ * decimals have the same representation. {@link #toString()} returns the canonical form expected by the chain,
+ * e.g. "1.500000000000000000", and is computed once per instance.
+ * <p>
+ * Multiplication and division round half to even on the 18th decimal like the Dec of the chain.
+ */
+public final class Dec implements Comparable<Dec> {
+
+    public static final int PRECISION = 18;
+
+    private static final long ONE_UNSCALED = 1_000_000_000_000_000_000L;
+    private static final BigInteger BIG_ONE = BigInteger.valueOf(ONE_UNSCALED);
+    // integer parts of at most this many digits are parsed as a long
+    private static final int MAX_LONG_DIGITS = 18;
+
+    public static final Dec ZERO = new Dec(0, null);
+    public static final Dec ONE = new Dec(ONE_UNSCALED, null);
+
+    private final long unscaled;
+    // set only when the unscaled value does not fit in a long
+    private final BigInteger big;
+    // canonical string, computed on first use
+    private String string;
+
+    private Dec(long unscaled, BigInteger big) {
+        this.unscaled = unscaled;
+        this.big = big;
+    }
+
+    /**
+     * Returns the decimal of the given value multiplied by 10^18, e.g. {@code ofUnscaled(1)} is 10^-18.
+     */
+    public static Dec ofUnscaled(long unscaled) {
+        return new Dec(unscaled, null);
+    }
+
+    public static Dec ofUnscaled(BigInteger unscaled) {
+        return unscaled.bitLength() < 64 ? new Dec(unscaled.longValue(), null) : new Dec(0, unscaled);
+    }
+
+    public static Dec valueOf(long integer) {
+        if (integer > -10 && integer < 10) {
+            return new Dec(integer * ONE_UNSCALED, null);
+        }
+        return new Dec(0, BigInteger.valueOf(integer).multiply(BIG_ONE));
+    }
+
+    /**
+     * Parses a decimal such as "6", "-0.5" or "1.500000000000000000".
+     *
+     * @throws NumberFormatException if the string is not a decimal or has more than 18 decimals
+     */
+    public static Dec valueOf(String str) {
+        Dec dec = parse(str);
+        if (dec == null) {
+            throw new NumberFormatException("invalid decimal: " + str);
+        }
+        return dec;
+    }
+
+    /**
+     * @throws ArithmeticException if the value has more than 18 decimals
+     */
+    public static Dec valueOf(BigDecimal value) {
+        return ofUnscaled(value.setScale(PRECISION).unscaledValue());
+    }
+
+    /**
+     * Parses a decimal, returns null if it is invalid. Digits are required on both sides of the point.
+     */
+    static Dec parse(String str) {
+        int length = str.length();
+        int start = 0;
+        boolean negative = false;
+        if (length > 0 && (str.charAt(0) == '-' || str.charAt(0) == '+')) {
+            negative = str.charAt(0) == '-';
+            start = 1;
+        }
+        int point = str.indexOf('.', start);
+        int intEnd = point < 0 ? length : point;
+        int intDigits = intEnd - start;
+        int fracDigits = point < 0 ? 0 : length - point - 1;
+        if (intDigits == 0 || (point >= 0 && fracDigits == 0) || fracDigits > PRECISION) {
+            return null;
+        }
+
+        long frac = 0;
+        for (int i = point + 1; point >= 0 && i < length; i++) {
+            int digit = str.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return null;
+            }
+            frac = frac * 10 + digit;
+        }
+        for (int i = fracDigits; i < PRECISION; i++) {
+            frac *= 10;
+        }
+
+        if (intDigits <= MAX_LONG_DIGITS) {
+            long integer = 0;
+            for (int i = start; i < intEnd; i++) {
+                int digit = str.charAt(i) - '0';
+                if (digit < 0 || digit > 9) {
+                    return null;
+                }
+                integer = integer * 10 + digit;
+            }
+            if (integer <= (Long.MAX_VALUE - frac) / ONE_UNSCALED) {
+                long value = integer * ONE_UNSCALED + frac;
+                return new Dec(negative ? -value : value, null);
+            }
+            BigInteger value = BigInteger.valueOf(integer).multiply(BIG_ONE).add(BigInteger.valueOf(frac));
+            return ofUnscaled(negative ? value.negate() : value);
+        }
+
+        for (int i = start; i < intEnd; i++) {
+            char c = str.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+        }
+        BigInteger value = new BigInteger(str.substring(start, intEnd)).multiply(BIG_ONE).add(BigInteger.valueOf(frac));
+        return ofUnscaled(negative ? value.negate() : value);
+    }
+
+    /**
+     * Tells whether the unscaled value is held in a long, i.e. the cheap form of the arithmetic.
+     */
+    public boolean isUnscaledLong() {
+        return big == null;
+    }
+
+    /**
+     * @throws ArithmeticException if the unscaled value does not fit in a long
+     */
+    public long unscaledLong() {
+        if (big != null) {
+            throw new ArithmeticException("unscaled value out of long range: " + this);
+        }
+        return unscaled;
+    }
+
+    public BigInteger unscaledValue() {
+        return big != null ? big : BigInteger.valueOf(unscaled);
+    }
+
+    public BigDecimal toBigDecimal() {
+        return new BigDecimal(unscaledValue(), PRECISION);
+    }
+
+    public Dec add(Dec other) {
+        if (big == null && other.big == null) {
+            long r = unscaled + other.unscaled;
+            // overflow iff both operands have the sign opposite to the result
+            if (((unscaled ^ r) & (other.unscaled ^ r)) >= 0) {
+                return new Dec(r, null);
+            }
+        }
+        return ofUnscaled(unscaledValue().add(other.unscaledValue()));
+    }
+
+    public Dec sub(Dec other) {
+        if (big == null && other.big == null) {
+            long r = unscaled - other.unscaled;
+            // overflow iff the operands have different signs and the result has not the sign of this
+            if (((unscaled ^ other.unscaled) & (unscaled ^ r)) >= 0) {
+                return new Dec(r, null);
+            }
+        }
+        return ofUnscaled(unscaledValue().subtract(other.unscaledValue()));
+    }
+
+    public Dec mul(Dec other) {
+        return ofUnscaled(roundedQuotient(unscaledValue().multiply(other.unscaledValue()), BIG_ONE));
+    }
+
+    /**
+     * @throws ArithmeticException on division by zero
+     */
+    public Dec quo(Dec other) {
+        if (other.signum() == 0) {
+            throw new ArithmeticException("division by zero");
+        }
+        return ofUnscaled(roundedQuotient(unscaledValue().multiply(BIG_ONE), other.unscaledValue()));
+    }
+
+    public Dec mulInt(long n) {
+        if (big == null) {
+            long r = unscaled * n;
+            long a = Math.abs(unscaled);
+            long b = Math.abs(n);
+            // same check as Math.multiplyExact, without the exception
+            if (((a | b) >>> 31) == 0 || ((n == 0 || r / n == unscaled) && !(unscaled == Long.MIN_VALUE && n == -1))) {
+                return new Dec(r, null);
+            }
+        }
+        return ofUnscaled(unscaledValue().multiply(BigInteger.valueOf(n)));
+    }
+
+    /**
+     * Divides by an integer, truncating toward zero.
+     *
+     * @throws ArithmeticException on division by zero
+     */
+    public Dec quoInt(long n) {
+        if (big == null && !(unscaled == Long.MIN_VALUE && n == -1)) {
+            return new Dec(unscaled / n, null);
+        }
+        if (n == 0) {
+            throw new ArithmeticException("division by zero");
+        }
+        return ofUnscaled(unscaledValue().divide(BigInteger.valueOf(n)));
+    }
+
+    public Dec neg() {
+        if (big == null && unscaled != Long.MIN_VALUE) {
+            return new Dec(-unscaled, null);
+        }
+        return ofUnscaled(unscaledValue().negate());
+    }
+
+    public Dec abs() {
+        return signum() < 0 ? neg() : this;
+    }
+
+    public int signum() {
+        return big != null ? big.signum() : Long.signum(unscaled);
+    }
+
+    public boolean isZero() {
+        return big == null && unscaled == 0;
+    }
+
+    public boolean isNegative() {
+        return signum() < 0;
+    }
+
+    public Dec min(Dec other) {
+        return compareTo(other) <= 0 ? this : other;
+    }
+
+    public Dec max(Dec other) {
+        return compareTo(other) >= 0 ? this : other;
+    }
+
+    @Override
+    public int compareTo(Dec other) {
+        if (big == null && other.big == null) {
+            return Long.compare(unscaled, other.unscaled);
+        }
+        return unscaledValue().compareTo(other.unscaledValue());
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Dec)) {
+            return false;
+        }
+        Dec other = (Dec) o;
+        return big == null ? other.big == null && unscaled == other.unscaled : big.equals(other.big);
+    }
+
+    @Override
+    public int hashCode() {
+        return big == null ? Long.hashCode(unscaled) : big.hashCode();
+    }
+
+    /**
+     * Returns the canonical form with the 18 decimals, e.g. "-0.500000000000000000".
+     */
+    @Override
+    public String toString() {
+        String s = string;
+        if (s == null) {
+            s = format();
+            string = s;
+        }
+        return s;
+    }
+
+    private String format() {
+        long integer;
+        long frac;
+        String bigInteger = null;
+        boolean negative = signum() < 0;
+        if (big == null && unscaled != Long.MIN_VALUE) {
+            long abs = Math.abs(unscaled);
+            integer = abs / ONE_UNSCALED;
+            frac = abs % ONE_UNSCALED;
+        } else {
+            BigInteger[] parts = unscaledValue().abs().divideAndRemainder(BIG_ONE);
+            integer = 0;
+            bigInteger = parts[0].toString();
+            frac = parts[1].longValue();
+        }
+
+        int intDigits = bigInteger != null ? bigInteger.length() : digits(integer);
+        int sign = negative ? 1 : 0;
+        char[] chars = new char[sign + intDigits + 1 + PRECISION];
+        if (negative) {
+            chars[0] = '-';
+        }
+        if (bigInteger != null) {
+            bigInteger.getChars(0, intDigits, chars, sign);
+        } else {
+            for (int i = sign + intDigits - 1; i >= sign; i--) {
+                chars[i] = (char) ('0' + integer % 10);
+                integer /= 10;
+            }
+        }
+        chars[sign + intDigits] = '.';
+        for (int i = chars.length - 1; i > sign + intDigits; i--) {
+            chars[i] = (char) ('0' + frac % 10);
+            frac /= 10;
+        }
+        return new String(chars);
+    }
+
+    private static int digits(long value) {
+        int n = 1;
+        while (value >= 10) {
+            value /= 10;
+            n++;
+        }
+        return n;
+    }
+
+    // divides and rounds half to even
+    private static BigInteger roundedQuotient(BigInteger dividend, BigInteger divisor) {
+        BigInteger[] qr = dividend.divideAndRemainder(divisor);
+        BigInteger quotient = qr[0];
+        int half = qr[1].abs().shiftLeft(1).compareTo(divisor.abs());
+        if (half > 0 || (half == 0 && quotient.testBit(0))) {
+            quotient = dividend.signum() * divisor.signum() < 0 ? quotient.subtract(BigInteger.ONE) : quotient.add(BigInteger.ONE);
+        }
+        return quotient;
+    }
+}
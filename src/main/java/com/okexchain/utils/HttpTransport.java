@@ -0,0 +1,132 @@
+package com.okexchain.utils;
+
+import org.apache.http.HttpHost;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.client.methods.CloseableHttpResponse;
+import org.apache.http.client.methods.HttpGet;
+import org.apache.http.client.methods.HttpPost;
+import org.apache.http.client.methods.HttpRequestBase;
+import org.apache.http.conn.routing.HttpRoute;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.apache.http.util.EntityUtils;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HttpTransport is a thread-safe REST transport backed by a keep-alive connection pool.
+ * One instance is meant to be owned by a client and shared by all threads using it.
+ */
+public class HttpTransport implements Closeable {
+
+    public static final int DEFAULT_MAX_TOTAL = 200;
+    public static final int DEFAULT_MAX_PER_ROUTE = 50;
+    public static final int DEFAULT_CONNECT_TIMEOUT = 5000;
+    public static final int DEFAULT_SOCKET_TIMEOUT = 30000;
+    public static final int DEFAULT_CONNECTION_REQUEST_TIMEOUT = 5000;
+    public static final int DEFAULT_IDLE_TIMEOUT = 30000;
+
+    private static volatile HttpTransport defaultTransport;
+
+    private final PoolingHttpClientConnectionManager connectionManager;
+    private final CloseableHttpClient httpClient;
+
+    public HttpTransport() {
+        this(DEFAULT_MAX_TOTAL, DEFAULT_MAX_PER_ROUTE, DEFAULT_CONNECT_TIMEOUT, DEFAULT_SOCKET_TIMEOUT);
+    }
+
+    /**
+     * @param maxTotal       maximum number of pooled connections across all hosts
+     * @param maxPerRoute    maximum number of pooled connections to a single host
+     * @param connectTimeout connect timeout in milliseconds
+     * @param socketTimeout  read timeout in milliseconds
+     */
+    public HttpTransport(int maxTotal, int maxPerRoute, int connectTimeout, int socketTimeout) {
+        this.connectionManager = new PoolingHttpClientConnectionManager();
+        this.connectionManager.setMaxTotal(maxTotal);
+        this.connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+        this.connectionManager.setValidateAfterInactivity(DEFAULT_IDLE_TIMEOUT / 2);
+
+        RequestConfig requestConfig = RequestConfig.custom()
+                .setConnectTimeout(connectTimeout)
+                .setSocketTimeout(socketTimeout)
+                .setConnectionRequestTimeout(DEFAULT_CONNECTION_REQUEST_TIMEOUT)
+                .build();
+
+        this.httpClient = HttpClients.custom()
+                .setConnectionManager(connectionManager)
+                .setDefaultRequestConfig(requestConfig)
+                .evictExpiredConnections()
+                .evictIdleConnections(DEFAULT_IDLE_TIMEOUT, TimeUnit.MILLISECONDS)
+                .build();
+    }
+
+    /**
+     * Returns the process wide transport used by the static helpers.
+     */
+    public static HttpTransport getDefault() {
+        HttpTransport transport = defaultTransport;
+        if (transport == null) {
+            synchronized (HttpTransport.class) {
+                transport = defaultTransport;
+                if (transport == null) {
+                    transport = new HttpTransport();
+                    defaultTransport = transport;
+                }
+            }
+        }
+        return transport;
+    }
+
+    public static void setDefault(HttpTransport transport) {
+        defaultTransport = transport;
+    }
+
+    /**
+     * Overrides the connection limit for the host of the given url.
+     */
+    public void setMaxPerHost(String url, int max) {
+        URI uri = URI.create(url);
+        HttpHost host = new HttpHost(uri.getHost(), uri.getPort(), uri.getScheme());
+        connectionManager.setMaxPerRoute(new HttpRoute(host), max);
+    }
+
+    public String get(String url) throws IOException {
+        HttpGet httpGet = new HttpGet(url);
+        httpGet.addHeader("Content-type", "application/json");
+        return execute(httpGet);
+    }
+
+    public String post(String url, String json) throws IOException {
+        HttpPost httpPost = new HttpPost(url);
+        StringEntity stringEntity = new StringEntity(json, ContentType.APPLICATION_JSON);
+        stringEntity.setContentEncoding("utf-8");
+        httpPost.setEntity(stringEntity);
+        return execute(httpPost);
+    }
+
+    /**
+     * Executes the request on the pooled client and returns the response body.
+     * The connection goes back to the pool once the body has been consumed.
+     */
+    public String execute(HttpRequestBase request) throws IOException {
+        CloseableHttpResponse response = httpClient.execute(request);
+        try {
+            return EntityUtils.toString(response.getEntity(), "utf-8");
+        } finally {
+            response.close();
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        httpClient.close();
+        connectionManager.close();
+    }
+}
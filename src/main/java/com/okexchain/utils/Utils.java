@@ -97,39 +97,13 @@ public class Utils {
             return data;
         }
     }
-    public static String NewDecString(String str) {
-        if (str.length() == 0) {
-            return "";
-        }
-
-        String[] strs = str.split("\\.");
-        int lenDecs = 0;
-        String combinedStr = strs[0];
-
-        if (strs.length == 2) {
-            lenDecs = strs[1].length();
-            if (lenDecs == 0 || combinedStr.length() == 0) {
-                return "";
-            }
-        } else if (strs.length > 2) {
-            return "";
-        } else {
-            str += ".";
-        }
-
-        if (lenDecs > Precision) {
-            return "";
-        }
 
-        if (lenDecs == Precision) {
-            return str;
-        }
-
-        // add some extra zero's to correct to the Precision factor
-        int zerosToAdd = Precision - lenDecs;
-        String format = "%0"+String.valueOf(zerosToAdd)+"d";
-        String zeros = String.format(format, 0);
-        str += zeros;
-        return str;
+    /**
+     * Returns the decimal with the 18 decimals of the chain, e.g. "1.5" gives "1.500000000000000000", or "" if
+     * it is not a valid decimal. Use {@link Dec#valueOf(String)} to get an exception on invalid input.
+     */
+    public static String NewDecString(String str) {
+        Dec dec = Dec.parse(str);
+        return dec == null ? "" : dec.toString();
     }
 }
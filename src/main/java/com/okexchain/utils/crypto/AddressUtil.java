@@ -1,5 +1,6 @@
 package com.okexchain.utils.crypto;
 
+import com.okexchain.env.ChainContext;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.utils.crypto.encode.Bech32;
 import com.okexchain.utils.crypto.encode.ConvertBits;
@@ -78,12 +79,16 @@ public class AddressUtil {
     }
 
     public static String convertAddressFromHexToBech32(String hexAddress){
+        return convertAddressFromHexToBech32(EnvInstance.getContext(), hexAddress);
+    }
+
+    public static String convertAddressFromHexToBech32(ChainContext context, String hexAddress){
         byte[] address = Numeric.hexStringToByteArray(hexAddress);
 
         String bech32Address = null;
         try {
             byte[] bytes = encode(0, address);
-            bech32Address = Bech32.encode(EnvInstance.getEnv().GetMainPrefix(), bytes);
+            bech32Address = Bech32.encode(context.getMainPrefix(), bytes);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -102,10 +107,14 @@ public class AddressUtil {
     }
 
     public static String convertAddressFromValToBech32(String valAddress){
+        return convertAddressFromValToBech32(EnvInstance.getContext(), valAddress);
+    }
+
+    public static String convertAddressFromValToBech32(ChainContext context, String valAddress){
         String bech32Address = null;
         try {
             byte[] bytes = Bech32.decode(valAddress).getData();
-            bech32Address = com.okexchain.utils.crypto.encode.Bech32.encode(EnvInstance.getEnv().GetMainPrefix(), bytes);
+            bech32Address = com.okexchain.utils.crypto.encode.Bech32.encode(context.getMainPrefix(), bytes);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
@@ -113,13 +122,40 @@ public class AddressUtil {
     }
 
     public static String convertAddressFromBech32ToVal(String bech32Address){
+        return convertAddressFromBech32ToVal(EnvInstance.getContext(), bech32Address);
+    }
+
+    public static String convertAddressFromBech32ToVal(ChainContext context, String bech32Address){
         String valAddress = null;
         try {
             byte[] bytes = Bech32.decode(bech32Address).getData();
-            valAddress = com.okexchain.utils.crypto.encode.Bech32.encode(EnvInstance.getEnv().GetValidatorAddrPrefix(), bytes);
+            valAddress = com.okexchain.utils.crypto.encode.Bech32.encode(context.getValidatorAddrPrefix(), bytes);
         } catch (Exception e) {
             throw new RuntimeException(e);
         }
         return valAddress;
     }
+
+    /**
+     * Tells whether the address is a hex (eth) address rather than a bech32 one.
+     */
+    public static boolean isHexAddress(String address) {
+        String hex = Numeric.cleanHexPrefix(address);
+        if (hex.length() != 40) {
+            return false;
+        }
+        for (int i = 0; i < hex.length(); i++) {
+            if (Character.digit(hex.charAt(i), 16) < 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns the address in bech32 form with the main prefix of the context, converting hex addresses.
+     */
+    public static String toBech32(ChainContext context, String address) {
+        return isHexAddress(address) ? convertAddressFromHexToBech32(context, address) : address;
+    }
 }
@@ -0,0 +1,138 @@
+package com.okexchain.utils.crypto;
+
+import com.okexchain.msg.common.Signature;
+import com.okexchain.msg.tx.UnsignedTx;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+/**
+ * BatchSigner signs many sign-bytes payloads in parallel. The batch is cut into contiguous slices, one task
+ * per slice, and every signature is written at the index of its payload, so results come back in input order.
+ */
+public class BatchSigner {
+
+    private static final int SLICES_PER_THREAD = 4;
+
+    private final ExecutorService executor;
+    private final boolean ownsExecutor;
+    private final int parallelism;
+
+    /**
+     * Signs on the common fork-join pool.
+     */
+    public BatchSigner() {
+        this(ForkJoinPool.commonPool(), false, ForkJoinPool.getCommonPoolParallelism());
+    }
+
+    /**
+     * Signs on a dedicated fork-join pool with the given number of threads.
+     */
+    public BatchSigner(int parallelism) {
+        this(new ForkJoinPool(parallelism), true, parallelism);
+    }
+
+    /**
+     * @param executor    executor running the signing tasks, left running by {@link #shutdown()}
+     * @param parallelism number of threads of the executor, used to size the slices
+     */
+    public BatchSigner(ExecutorService executor, int parallelism) {
+        this(executor, false, parallelism);
+    }
+
+    private BatchSigner(ExecutorService executor, boolean ownsExecutor, int parallelism) {
+        this.executor = executor;
+        this.ownsExecutor = ownsExecutor;
+        this.parallelism = Math.max(1, parallelism);
+    }
+
+    /**
+     * Signs every payload with the same key.
+     */
+    public List<Signature> sign(final Signer signer, final List<byte[]> payloads) throws Exception {
+        final Signature[] results = new Signature[payloads.size()];
+        run(payloads.size(), new Slice() {
+            @Override
+            public void sign(int index) {
+                results[index] = signer.sign(payloads.get(index));
+            }
+        });
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Signs payload i with signer i.
+     */
+    public List<Signature> sign(final List<Signer> signers, final List<byte[]> payloads) throws Exception {
+        if (signers.size() != payloads.size()) {
+            throw new IllegalArgumentException("got " + signers.size() + " signers for " + payloads.size() + " payloads");
+        }
+        final Signature[] results = new Signature[payloads.size()];
+        run(payloads.size(), new Slice() {
+            @Override
+            public void sign(int index) {
+                results[index] = signers.get(index).sign(payloads.get(index));
+            }
+        });
+        return Arrays.asList(results);
+    }
+
+    public List<Signature> signTxs(Signer signer, List<UnsignedTx> txs) throws Exception {
+        List<byte[]> payloads = new ArrayList<>(txs.size());
+        for (UnsignedTx tx : txs) {
+            payloads.add(tx.getSignBytes());
+        }
+        return sign(signer, payloads);
+    }
+
+    /**
+     * Shuts down the pool created by {@link #BatchSigner(int)}, executors of the caller are left running.
+     */
+    public void shutdown() {
+        if (ownsExecutor) {
+            executor.shutdown();
+        }
+    }
+
+    private interface Slice {
+        void sign(int index);
+    }
+
+    private void run(int size, final Slice slice) throws Exception {
+        if (size == 0) {
+            return;
+        }
+        int slices = Math.min(size, parallelism * SLICES_PER_THREAD);
+        int step = (size + slices - 1) / slices;
+
+        List<Future<?>> futures = new ArrayList<>(slices);
+        for (int begin = 0; begin < size; begin += step) {
+            final int from = begin;
+            final int to = Math.min(size, begin + step);
+            futures.add(executor.submit(new Runnable() {
+                @Override
+                public void run() {
+                    for (int i = from; i < to; i++) {
+                        slice.sign(i);
+                    }
+                }
+            }));
+        }
+
+        for (Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (ExecutionException e) {
+                if (e.getCause() instanceof Exception) {
+                    throw (Exception) e.getCause();
+                }
+                throw e;
+            }
+        }
+    }
+}
@@ -1,6 +1,7 @@
 package com.okexchain.utils.crypto;
 
 import com.google.common.base.Splitter;
+import com.okexchain.env.ChainContext;
 import com.okexchain.env.EnvInstance;
 import com.okexchain.utils.encoding.message.AminoEncode;
 import org.bitcoinj.core.ECKey;
@@ -66,11 +67,18 @@ public class Crypto {
     }
 
     public static String generatePrivateKeyFromMnemonic(String mnemonic) {
+        return generatePrivateKeyFromMnemonic(EnvInstance.getContext(), mnemonic);
+    }
+
+    /**
+     * Derives the private key along the hd path of the context.
+     */
+    public static String generatePrivateKeyFromMnemonic(ChainContext context, String mnemonic) {
         List<String> words = Splitter.on(" ").splitToList(mnemonic);
         byte[] seed = MnemonicCode.INSTANCE.toSeed(words, "");
         DeterministicKey key = HDKeyDerivation.createMasterPrivateKey(seed);
 
-        List<ChildNumber> childNumbers = HDUtils.parsePath(EnvInstance.getEnv().GetHDPath());
+        List<ChildNumber> childNumbers = HDUtils.parsePath(context.getHdPath());
         for (ChildNumber cn : childNumbers) {
             key = HDKeyDerivation.deriveChildKey(key, cn);
         }
@@ -100,13 +108,21 @@ public class Crypto {
     }
 
     public static String generateAddressFromPriv(String privateKey) {
+        return generateAddressFromPriv(EnvInstance.getContext(), privateKey);
+    }
+
+    public static String generateAddressFromPriv(ChainContext context, String privateKey) {
         String pub = generatePubKeyHexFromPriv(privateKey);
-        return generateAddressFromPub(pub);
+        return generateAddressFromPub(context, pub);
     }
 
     public static String generateAddressFromPub(String pubKey) {
+        return generateAddressFromPub(EnvInstance.getContext(), pubKey);
+    }
+
+    public static String generateAddressFromPub(ChainContext context, String pubKey) {
         try {
-            String addr = AddressUtil.createNewAddressSecp256k1(EnvInstance.getEnv().GetMainPrefix(), Hex.decode(pubKey));
+            String addr = AddressUtil.createNewAddressSecp256k1(context.getMainPrefix(), Hex.decode(pubKey));
             return addr;
         } catch (Exception e) {
             e.printStackTrace();
@@ -128,9 +144,13 @@ public class Crypto {
     }
 
     public static String generateValidatorAddressFromPub(String pubKey) {
+        return generateValidatorAddressFromPub(EnvInstance.getContext(), pubKey);
+    }
+
+    public static String generateValidatorAddressFromPub(ChainContext context, String pubKey) {
 
         try {
-            String addr = AddressUtil.createNewAddressSecp256k1(EnvInstance.getEnv().GetValidatorAddrPrefix(), Hex.decode(pubKey));
+            String addr = AddressUtil.createNewAddressSecp256k1(context.getValidatorAddrPrefix(), Hex.decode(pubKey));
             return addr;
         } catch (Exception e) {
             e.printStackTrace();
@@ -139,10 +159,14 @@ public class Crypto {
     }
 
     public static String generateBechPub(String pubKey) {
+        return generateBechPub(EnvInstance.getContext(), pubKey);
+    }
+
+    public static String generateBechPub(ChainContext context, String pubKey) {
 
         try {
             String pubBech32 = AddressUtil.getPubkeyBech32FromValue(
-                    EnvInstance.getEnv().GetPubPrefix(), AminoEncode.encodePubkey(pubKey));
+                    context.getPubPrefix(), AminoEncode.encodePubkey(pubKey));
             return pubBech32;
         } catch (Exception e) {
             e.printStackTrace();
@@ -0,0 +1,83 @@
+package com.okexchain.utils.crypto;
+
+import com.okexchain.msg.common.Pubkey;
+import com.okexchain.msg.common.Signature;
+import org.bitcoinj.core.ECKey;
+import org.bouncycastle.util.encoders.Base64;
+import org.bouncycastle.util.encoders.Hex;
+import org.web3j.crypto.ECDSASignature;
+import org.web3j.crypto.ECKeyPair;
+import org.web3j.crypto.Hash;
+import org.web3j.utils.Numeric;
+
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Signer holds the key material of one private key, prepared once, so that producing a signature costs
+ * a keccak digest and a single ECDSA operation.
+ * Signatures are identical to those of {@code Sign.signMessage}: the recovery id it computes is not part
+ * of a cosmos signature and is skipped here.
+ */
+public class Signer {
+
+    public static final String PUBKEY_TYPE = "ethermint/PubKeyEthSecp256k1";
+
+    private final ECKeyPair keyPair;
+    private final String pubKeyHex;
+    private final String pubKeyBase64;
+
+    public Signer(String privateKey) {
+        this(new BigInteger(privateKey, 16));
+    }
+
+    public Signer(PrivateKey privateKey) {
+        this(privateKey.getPriKey());
+    }
+
+    public Signer(BigInteger privateKey) {
+        // one scalar multiplication gives both encodings of the public key
+        ECKey key = ECKey.fromPrivate(privateKey, false);
+        byte[] uncompressed = key.getPubKey();
+        BigInteger publicKey = new BigInteger(1, Arrays.copyOfRange(uncompressed, 1, uncompressed.length));
+        byte[] compressed = key.getPubKeyPoint().getEncoded(true);
+
+        this.keyPair = new ECKeyPair(privateKey, publicKey);
+        this.pubKeyHex = Hex.toHexString(compressed);
+        this.pubKeyBase64 = new String(Base64.encode(compressed), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Signs the keccak256 digest of the data and returns the 64 bytes r || s.
+     */
+    public byte[] signBytes(byte[] data) {
+        ECDSASignature sig = keyPair.sign(Hash.sha3(data));
+        byte[] result = new byte[64];
+        System.arraycopy(Numeric.toBytesPadded(sig.r, 32), 0, result, 0, 32);
+        System.arraycopy(Numeric.toBytesPadded(sig.s, 32), 0, result, 32, 32);
+        return result;
+    }
+
+    public Signature sign(byte[] signBytes) {
+        Signature signature = new Signature();
+        signature.setPubkey(getPubkey());
+        signature.setSignature(new String(Base64.encode(signBytes(signBytes)), StandardCharsets.UTF_8));
+        return signature;
+    }
+
+    public Signature sign(String unsignedTx) {
+        return sign(unsignedTx.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public Pubkey getPubkey() {
+        Pubkey pubkey = new Pubkey();
+        pubkey.setType(PUBKEY_TYPE);
+        pubkey.setValue(pubKeyBase64);
+        return pubkey;
+    }
+
+    public String getPubKeyHex() {
+        return pubKeyHex;
+    }
+}
@@ -0,0 +1,261 @@
+package com.okexchain.utils.encoding;
+
+import com.google.protobuf.CodedOutputStream;
+import com.google.protobuf.MessageLite;
+
+import java.io.IOException;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+
+/**
+ * AminoWriter writes amino (protobuf wire compatible) fields straight into a {@link ByteBuffer}.
+ * Strings are encoded as UTF-8 in place and varints byte by byte, so no temporary array is made per field.
+ * The size methods give the exact encoded length of a field, which lets callers size the buffer up front
+ * and write the length of a nested struct before the struct itself.
+ * A writer built on a caller's buffer never reallocates and throws {@link BufferOverflowException} when it
+ * is full; a writer built with a capacity grows as needed.
+ */
+public final class AminoWriter {
+
+    public static final int WIRE_VARINT = 0;
+    public static final int WIRE_BYTES = 2;
+
+    private ByteBuffer buffer;
+    private final boolean growable;
+
+    /**
+     * Creates a writer on a heap buffer of the given capacity that grows as needed.
+     */
+    public AminoWriter(int capacity) {
+        this.buffer = ByteBuffer.allocate(capacity);
+        this.growable = true;
+    }
+
+    /**
+     * Creates a writer that writes into the given buffer from its current position.
+     */
+    public AminoWriter(ByteBuffer buffer) {
+        this.buffer = buffer;
+        this.growable = false;
+    }
+
+    public ByteBuffer getBuffer() {
+        return buffer;
+    }
+
+    public int position() {
+        return buffer.position();
+    }
+
+    public void clear() {
+        buffer.clear();
+    }
+
+    public byte[] toByteArray() {
+        byte[] bytes = new byte[buffer.position()];
+        ByteBuffer view = buffer.duplicate();
+        view.flip();
+        view.get(bytes);
+        return bytes;
+    }
+
+    // sizes
+
+    public static int varintSize(long value) {
+        int size = 1;
+        while ((value & ~0x7FL) != 0) {
+            value >>>= 7;
+            size++;
+        }
+        return size;
+    }
+
+    public static int tagSize(int number) {
+        return varintSize((long) number << 3);
+    }
+
+    /**
+     * Returns the UTF-8 length of the string, with an unpaired surrogate counted as the one byte '?' it is
+     * replaced with, as {@link String#getBytes} and protobuf do.
+     */
+    public static int utf8Size(String value) {
+        int size = 0;
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                size += 1;
+            } else if (c < 0x800) {
+                size += 2;
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                size += 4;
+                i++;
+            } else if (Character.isSurrogate(c)) {
+                size += 1;
+            } else {
+                size += 3;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Returns the size of a length prefixed value of the given length, without its tag.
+     */
+    public static int lengthPrefixedSize(int length) {
+        return varintSize(length) + length;
+    }
+
+    public static int bytesFieldSize(int number, int length) {
+        return tagSize(number) + lengthPrefixedSize(length);
+    }
+
+    public static int stringFieldSize(int number, String value) {
+        return value.isEmpty() ? 0 : bytesFieldSize(number, utf8Size(value));
+    }
+
+    public static int uint64FieldSize(int number, long value) {
+        return value == 0 ? 0 : tagSize(number) + varintSize(value);
+    }
+
+    // writes
+
+    public AminoWriter writeByte(int b) {
+        ensureCapacity(1);
+        buffer.put((byte) b);
+        return this;
+    }
+
+    public AminoWriter writeRaw(byte[] bytes) {
+        return writeRaw(bytes, 0, bytes.length);
+    }
+
+    public AminoWriter writeRaw(byte[] bytes, int offset, int length) {
+        ensureCapacity(length);
+        buffer.put(bytes, offset, length);
+        return this;
+    }
+
+    public AminoWriter writeUvarint(long value) {
+        ensureCapacity(varintSize(value));
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+        return this;
+    }
+
+    public AminoWriter writeTag(int number, int wireType) {
+        return writeUvarint(((long) number << 3) | wireType);
+    }
+
+    public AminoWriter writeBytesNoTag(byte[] bytes) {
+        writeUvarint(bytes.length);
+        return writeRaw(bytes);
+    }
+
+    /**
+     * Writes a length prefixed field, empty values included, as amino does for repeated and struct fields.
+     */
+    public AminoWriter writeElement(int number, byte[] bytes) {
+        writeTag(number, WIRE_BYTES);
+        return writeBytesNoTag(bytes);
+    }
+
+    /**
+     * Writes the tag and length of a length prefixed field whose content the caller writes next.
+     */
+    public AminoWriter writeElementHeader(int number, int length) {
+        writeTag(number, WIRE_BYTES);
+        return writeUvarint(length);
+    }
+
+    public AminoWriter writeBytes(int number, byte[] bytes) {
+        return bytes.length == 0 ? this : writeElement(number, bytes);
+    }
+
+    public AminoWriter writeStringNoTag(String value) {
+        int size = utf8Size(value);
+        writeUvarint(size);
+        ensureCapacity(size);
+        int length = value.length();
+        for (int i = 0; i < length; i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                buffer.put((byte) c);
+            } else if (c < 0x800) {
+                buffer.put((byte) (0xC0 | (c >>> 6)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            } else if (Character.isHighSurrogate(c) && i + 1 < length && Character.isLowSurrogate(value.charAt(i + 1))) {
+                int codePoint = Character.toCodePoint(c, value.charAt(++i));
+                buffer.put((byte) (0xF0 | (codePoint >>> 18)));
+                buffer.put((byte) (0x80 | ((codePoint >>> 12) & 0x3F)));
+                buffer.put((byte) (0x80 | ((codePoint >>> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (codePoint & 0x3F)));
+            } else if (Character.isSurrogate(c)) {
+                buffer.put((byte) '?');
+            } else {
+                buffer.put((byte) (0xE0 | (c >>> 12)));
+                buffer.put((byte) (0x80 | ((c >>> 6) & 0x3F)));
+                buffer.put((byte) (0x80 | (c & 0x3F)));
+            }
+        }
+        return this;
+    }
+
+    public AminoWriter writeStringElement(int number, String value) {
+        writeTag(number, WIRE_BYTES);
+        return writeStringNoTag(value);
+    }
+
+    public AminoWriter writeString(int number, String value) {
+        return value.isEmpty() ? this : writeStringElement(number, value);
+    }
+
+    public AminoWriter writeUInt64(int number, long value) {
+        if (value != 0) {
+            writeTag(number, WIRE_VARINT);
+            writeUvarint(value);
+        }
+        return this;
+    }
+
+    public AminoWriter writeBool(int number, boolean value) {
+        return writeUInt64(number, value ? 1 : 0);
+    }
+
+    /**
+     * Writes the wire bytes of a protobuf message, without tag or length, straight into the buffer.
+     */
+    public AminoWriter writeMessage(MessageLite message) throws IOException {
+        int size = message.getSerializedSize();
+        ensureCapacity(size);
+        if (buffer.hasArray()) {
+            int position = buffer.position();
+            CodedOutputStream cos = CodedOutputStream.newInstance(buffer.array(), buffer.arrayOffset() + position, size);
+            message.writeTo(cos);
+            cos.checkNoSpaceLeft();
+            buffer.position(position + size);
+        } else {
+            CodedOutputStream cos = CodedOutputStream.newInstance(buffer);
+            message.writeTo(cos);
+            cos.flush();
+        }
+        return this;
+    }
+
+    private void ensureCapacity(int length) {
+        if (buffer.remaining() >= length) {
+            return;
+        }
+        if (!growable) {
+            throw new BufferOverflowException();
+        }
+        int capacity = Math.max(buffer.capacity() * 2, buffer.position() + length);
+        ByteBuffer grown = ByteBuffer.allocate(capacity);
+        buffer.flip();
+        grown.put(buffer);
+        buffer = grown;
+    }
+}
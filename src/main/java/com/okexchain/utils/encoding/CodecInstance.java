@@ -0,0 +1,13 @@
+package com.okexchain.utils.encoding;
+
+public class CodecInstance {
+    static volatile JsonCodec codec = new JacksonJsonCodec();
+
+    static public void setCodec(JsonCodec codec) {
+        CodecInstance.codec = codec;
+    }
+
+    static public JsonCodec getCodec() {
+        return codec;
+    }
+}
@@ -1,10 +1,10 @@
 package com.okexchain.utils.encoding;
 
-import com.google.protobuf.CodedOutputStream;
 import org.spongycastle.util.encoders.Hex;
 
 import java.io.IOException;
 import java.math.BigDecimal;
+import java.nio.ByteBuffer;
 
 public class EncodeUtils {
     private static final BigDecimal MULTIPLY_FACTOR = BigDecimal.valueOf(1e8);
@@ -15,17 +15,12 @@ public class EncodeUtils {
     }
 
     public static byte[] aminoWrap(byte[] raw, byte[] typePrefix, boolean isPrefixLength) throws IOException {
-        int totalLen = raw.length + typePrefix.length;
+        int len = raw.length + typePrefix.length;
+        byte[] msg = new byte[isPrefixLength ? AminoWriter.lengthPrefixedSize(len) : len];
+        AminoWriter writer = new AminoWriter(ByteBuffer.wrap(msg));
         if (isPrefixLength)
-            totalLen += CodedOutputStream.computeUInt64SizeNoTag(totalLen);
-
-        byte[] msg = new byte[totalLen];
-        CodedOutputStream cos = CodedOutputStream.newInstance(msg);
-        if (isPrefixLength)
-            cos.writeUInt64NoTag(raw.length + typePrefix.length);
-        cos.write(typePrefix, 0, typePrefix.length);
-        cos.write(raw, 0, raw.length);
-        cos.flush();
+            writer.writeUvarint(len);
+        writer.writeRaw(typePrefix).writeRaw(raw);
         return msg;
     }
 
@@ -0,0 +1,90 @@
+package com.okexchain.utils.encoding;
+
+import com.fasterxml.jackson.annotation.JsonAutoDetect;
+import com.fasterxml.jackson.annotation.PropertyAccessor;
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.fasterxml.jackson.databind.ObjectWriter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.reflect.Type;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * JacksonJsonCodec is the default codec. One mapper is shared by all threads so class metadata is
+ * introspected once. Values are mapped from their fields, named by {@code @JsonProperty}, which is what the
+ * gson serializer used for the broadcast body did; getters and setters are not looked at.
+ * Sign bytes are written by {@link SignBytesEncoder}.
+ */
+public class JacksonJsonCodec implements JsonCodec {
+
+    private final ObjectMapper mapper;
+    private final ObjectWriter writer;
+    private final ObjectReader mapReader;
+
+    public JacksonJsonCodec() {
+        this(new ObjectMapper());
+    }
+
+    /**
+     * @param mapper mapper to configure and use; it must not be changed afterwards
+     */
+    public JacksonJsonCodec(ObjectMapper mapper) {
+        mapper.configure(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES, false);
+        mapper.setVisibility(PropertyAccessor.ALL, JsonAutoDetect.Visibility.NONE);
+        mapper.setVisibility(PropertyAccessor.FIELD, JsonAutoDetect.Visibility.ANY);
+        this.mapper = mapper;
+        this.writer = mapper.writer();
+        this.mapReader = mapper.readerFor(mapper.getTypeFactory().constructMapType(LinkedHashMap.class, String.class, Object.class));
+    }
+
+    @Override
+    public String toJson(Object value) {
+        try {
+            return writer.writeValueAsString(value);
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to write " + value.getClass().getName(), e);
+        }
+    }
+
+    @Override
+    public byte[] toSignBytes(Object value) {
+        return SignBytesEncoder.encode(value);
+    }
+
+    @Override
+    public <T> T fromJson(String json, Class<T> type) {
+        try {
+            return mapper.readValue(json, type);
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to read " + type.getName(), e);
+        }
+    }
+
+    @Override
+    public <T> T fromJson(String json, Type type) {
+        JavaType javaType = mapper.getTypeFactory().constructType(type);
+        try {
+            return mapper.readValue(json, javaType);
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to read " + javaType, e);
+        }
+    }
+
+    @Override
+    public Map<String, Object> toMap(String json) {
+        try {
+            return mapReader.readValue(json);
+        } catch (IOException e) {
+            throw new UncheckedIOException("failed to read json object", e);
+        }
+    }
+
+    public ObjectMapper getMapper() {
+        return mapper;
+    }
+}
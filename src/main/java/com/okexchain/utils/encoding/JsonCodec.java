@@ -0,0 +1,29 @@
+package com.okexchain.utils.encoding;
+
+import java.lang.reflect.Type;
+import java.util.Map;
+
+/**
+ * JsonCodec is the single json layer of the sdk. It writes the broadcast body and the sign bytes of a tx and
+ * reads every json answer of the node, so all value classes are mapped by one set of annotations.
+ * Failures are reported as {@link java.io.UncheckedIOException}.
+ * The codec in use is {@link CodecInstance#getCodec()}.
+ */
+public interface JsonCodec {
+
+    String toJson(Object value);
+
+    /**
+     * Returns the canonical json to sign as UTF-8: keys of every object sorted, nulls kept.
+     */
+    byte[] toSignBytes(Object value);
+
+    <T> T fromJson(String json, Class<T> type);
+
+    <T> T fromJson(String json, Type type);
+
+    /**
+     * Reads a json object into a map keeping the order of its keys. Nested objects are maps, arrays are lists.
+     */
+    Map<String, Object> toMap(String json);
+}
@@ -0,0 +1,320 @@
+package com.okexchain.utils.encoding;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * SignBytesEncoder writes the canonical json of Data2Sign and the message value classes as UTF-8 bytes.
+ * The output is byte for byte what {@code new ObjectMapper().writeValueAsString(data)} produces:
+ * properties are the {@code @JsonProperty} fields of each class, sorted by name when the class is annotated
+ * with {@code @JsonPropertyOrder(alphabetic = true)}, maps are written in iteration order and nulls are kept.
+ * Property names are encoded once per class and every thread writes into its own reusable buffer.
+ * Values of any other type are handed to jackson.
+ */
+public final class SignBytesEncoder {
+
+    private static final int INITIAL_CAPACITY = 1024;
+    private static final int MAX_RETAINED_CAPACITY = 1 << 20;
+
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] TRUE = {'t', 'r', 'u', 'e'};
+    private static final byte[] FALSE = {'f', 'a', 'l', 's', 'e'};
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+
+    private static final ObjectMapper FALLBACK = new ObjectMapper();
+    private static final ConcurrentHashMap<Class<?>, Property[]> PROPERTIES = new ConcurrentHashMap<>();
+    private static final Property[] NOT_A_BEAN = new Property[0];
+
+    private static final ThreadLocal<SignBytesEncoder> LOCAL = new ThreadLocal<SignBytesEncoder>() {
+        @Override
+        protected SignBytesEncoder initialValue() {
+            return new SignBytesEncoder();
+        }
+    };
+
+    private static final class Property {
+        final Field field;
+        final String name;
+        // "name": already escaped and encoded
+        final byte[] prefix;
+
+        Property(Field field, String name) {
+            this.field = field;
+            this.name = name;
+            SignBytesEncoder encoder = new SignBytesEncoder();
+            encoder.writeString(name);
+            encoder.writeByte(':');
+            this.prefix = Arrays.copyOf(encoder.buf, encoder.count);
+        }
+    }
+
+    private byte[] buf = new byte[INITIAL_CAPACITY];
+    private int count;
+
+    private SignBytesEncoder() {
+    }
+
+    public static byte[] encode(Object value) {
+        SignBytesEncoder encoder = LOCAL.get();
+        encoder.count = 0;
+        try {
+            encoder.writeValue(value);
+            return Arrays.copyOf(encoder.buf, encoder.count);
+        } finally {
+            if (encoder.buf.length > MAX_RETAINED_CAPACITY) {
+                encoder.buf = new byte[INITIAL_CAPACITY];
+            }
+        }
+    }
+
+    public static String encodeToString(Object value) {
+        return new String(encode(value), StandardCharsets.UTF_8);
+    }
+
+    private void writeValue(Object value) {
+        if (value == null) {
+            writeBytes(NULL);
+        } else if (value instanceof String) {
+            writeString((String) value);
+        } else if (value instanceof Boolean) {
+            writeBytes((Boolean) value ? TRUE : FALSE);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short
+                || value instanceof Byte || value instanceof BigInteger) {
+            writeAscii(value.toString());
+        } else if (value instanceof Object[]) {
+            writeArray(Arrays.asList((Object[]) value));
+        } else if (value instanceof Collection) {
+            writeArray((Collection<?>) value);
+        } else if (value instanceof Map) {
+            writeMap((Map<?, ?>) value);
+        } else {
+            Property[] properties = propertiesOf(value.getClass());
+            if (properties == NOT_A_BEAN) {
+                writeFallback(value);
+            } else {
+                writeBean(value, properties);
+            }
+        }
+    }
+
+    private void writeBean(Object bean, Property[] properties) {
+        writeByte('{');
+        for (int i = 0; i < properties.length; i++) {
+            if (i > 0) {
+                writeByte(',');
+            }
+            writeBytes(properties[i].prefix);
+            try {
+                writeValue(properties[i].field.get(bean));
+            } catch (IllegalAccessException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+        writeByte('}');
+    }
+
+    private void writeArray(Collection<?> values) {
+        writeByte('[');
+        boolean first = true;
+        for (Object value : values) {
+            if (!first) {
+                writeByte(',');
+            }
+            first = false;
+            writeValue(value);
+        }
+        writeByte(']');
+    }
+
+    private void writeMap(Map<?, ?> map) {
+        writeByte('{');
+        boolean first = true;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            if (!first) {
+                writeByte(',');
+            }
+            first = false;
+            writeString(String.valueOf(entry.getKey()));
+            writeByte(':');
+            writeValue(entry.getValue());
+        }
+        writeByte('}');
+    }
+
+    private void writeFallback(Object value) {
+        try {
+            writeBytes(FALLBACK.writeValueAsBytes(value));
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("can not encode " + value.getClass().getName(), e);
+        }
+    }
+
+    /**
+     * Writes a json string the way jackson does: quote, backslash and control characters are escaped,
+     * everything else is written as UTF-8.
+     */
+    private void writeString(String s) {
+        int length = s.length();
+        // an escaped char takes at most 6 bytes
+        ensureCapacity(length * 6 + 2);
+        buf[count++] = '"';
+        for (int i = 0; i < length; i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) {
+                if (c >= 0x20 && c != '"' && c != '\\') {
+                    buf[count++] = (byte) c;
+                } else {
+                    writeEscaped(c);
+                }
+            } else if (c < 0x800) {
+                buf[count++] = (byte) (0xC0 | (c >> 6));
+                buf[count++] = (byte) (0x80 | (c & 0x3F));
+            } else if (Character.isSurrogate(c)) {
+                if (!Character.isHighSurrogate(c) || i + 1 >= length || !Character.isLowSurrogate(s.charAt(i + 1))) {
+                    throw new IllegalArgumentException("broken surrogate pair at index " + i);
+                }
+                int cp = Character.toCodePoint(c, s.charAt(++i));
+                buf[count++] = (byte) (0xF0 | (cp >> 18));
+                buf[count++] = (byte) (0x80 | ((cp >> 12) & 0x3F));
+                buf[count++] = (byte) (0x80 | ((cp >> 6) & 0x3F));
+                buf[count++] = (byte) (0x80 | (cp & 0x3F));
+            } else {
+                buf[count++] = (byte) (0xE0 | (c >> 12));
+                buf[count++] = (byte) (0x80 | ((c >> 6) & 0x3F));
+                buf[count++] = (byte) (0x80 | (c & 0x3F));
+            }
+        }
+        buf[count++] = '"';
+    }
+
+    private void writeEscaped(char c) {
+        buf[count++] = '\\';
+        switch (c) {
+            case '"':
+            case '\\':
+                buf[count++] = (byte) c;
+                return;
+            case '\b':
+                buf[count++] = 'b';
+                return;
+            case '\t':
+                buf[count++] = 't';
+                return;
+            case '\n':
+                buf[count++] = 'n';
+                return;
+            case '\f':
+                buf[count++] = 'f';
+                return;
+            case '\r':
+                buf[count++] = 'r';
+                return;
+            default:
+                buf[count++] = 'u';
+                buf[count++] = '0';
+                buf[count++] = '0';
+                buf[count++] = HEX[c >> 4];
+                buf[count++] = HEX[c & 0xF];
+        }
+    }
+
+    private void writeAscii(String s) {
+        int length = s.length();
+        ensureCapacity(length);
+        for (int i = 0; i < length; i++) {
+            buf[count++] = (byte) s.charAt(i);
+        }
+    }
+
+    private void writeByte(char b) {
+        ensureCapacity(1);
+        buf[count++] = (byte) b;
+    }
+
+    private void writeBytes(byte[] bytes) {
+        ensureCapacity(bytes.length);
+        System.arraycopy(bytes, 0, buf, count, bytes.length);
+        count += bytes.length;
+    }
+
+    private void ensureCapacity(int extra) {
+        if (count + extra > buf.length) {
+            buf = Arrays.copyOf(buf, Math.max(buf.length * 2, count + extra));
+        }
+    }
+
+    private static Property[] propertiesOf(Class<?> type) {
+        Property[] properties = PROPERTIES.get(type);
+        if (properties == null) {
+            properties = introspect(type);
+            PROPERTIES.putIfAbsent(type, properties);
+        }
+        return properties;
+    }
+
+    /**
+     * Collects the {@code @JsonProperty} fields of the class and its super classes in the order jackson
+     * writes them. Classes without such fields are left to jackson.
+     */
+    private static Property[] introspect(Class<?> type) {
+        List<Class<?>> hierarchy = new ArrayList<>();
+        for (Class<?> c = type; c != null && c != Object.class; c = c.getSuperclass()) {
+            hierarchy.add(0, c);
+        }
+
+        Map<String, Property> byName = new LinkedHashMap<>();
+        for (Class<?> c : hierarchy) {
+            for (Field field : c.getDeclaredFields()) {
+                JsonProperty annotation = field.getAnnotation(JsonProperty.class);
+                if (annotation == null || Modifier.isStatic(field.getModifiers())) {
+                    continue;
+                }
+                String name = annotation.value().isEmpty() ? field.getName() : annotation.value();
+                field.setAccessible(true);
+                byName.put(name, new Property(field, name));
+            }
+        }
+        if (byName.isEmpty()) {
+            return NOT_A_BEAN;
+        }
+
+        List<Property> ordered = new ArrayList<>(byName.values());
+        JsonPropertyOrder order = type.getAnnotation(JsonPropertyOrder.class);
+        if (order != null && order.alphabetic()) {
+            ordered.sort(new Comparator<Property>() {
+                @Override
+                public int compare(Property a, Property b) {
+                    return a.name.compareTo(b.name);
+                }
+            });
+        }
+        if (order != null && order.value().length > 0) {
+            List<Property> explicit = new ArrayList<>();
+            for (String name : order.value()) {
+                Property property = byName.get(name);
+                if (property != null && !explicit.contains(property)) {
+                    explicit.add(property);
+                }
+            }
+            ordered.removeAll(explicit);
+            explicit.addAll(ordered);
+            ordered = explicit;
+        }
+        return ordered.toArray(new Property[0]);
+    }
+}
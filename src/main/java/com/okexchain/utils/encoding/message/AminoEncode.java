@@ -1,40 +1,56 @@
 package com.okexchain.utils.encoding.message;
 
+import com.google.protobuf.MessageLite;
+import com.okexchain.msg.common.TxValue;
+import com.okexchain.utils.encoding.AminoWriter;
 import com.okexchain.utils.encoding.proto.Transfer;
-import com.okexchain.utils.encoding.EncodeUtils;
 import org.bouncycastle.util.encoders.Hex;
 
 import java.io.IOException;
+import java.nio.ByteBuffer;
 
 public class AminoEncode {
     public static byte[] encodeMsgSend(Transfer.MsgSend msgSendProto) throws IOException {
-        return EncodeUtils.aminoWrap(msgSendProto.toByteArray(), MessageType.Send.getTypePrefixBytes(), false);
+        return encodeConcrete(msgSendProto, MessageType.Send.getTypePrefixBytes(), false);
     }
 
     public static byte[] encodeMsgMultiSend(Transfer.MsgMultiSend msgMultiSendProto) throws IOException {
-        return EncodeUtils.aminoWrap(msgMultiSendProto.toByteArray(), MessageType.MultiSend.getTypePrefixBytes(), false);
+        return encodeConcrete(msgMultiSendProto, MessageType.MultiSend.getTypePrefixBytes(), false);
     }
 
     public static byte[] encodeMsgMultiNewOrder(Transfer.MsgMultiNewOrder msgMultiNewOrder) throws IOException {
-        return EncodeUtils.aminoWrap(msgMultiNewOrder.toByteArray(), MessageType.MultiNewOrder.getTypePrefixBytes(), false);
+        return encodeConcrete(msgMultiNewOrder, MessageType.MultiNewOrder.getTypePrefixBytes(), false);
     }
 
     public static byte[] encodeMsgMultiCancelOrder(Transfer.MsgMultiCancelOrder msgMultiCancelOrder) throws IOException {
-        return EncodeUtils.aminoWrap(msgMultiCancelOrder.toByteArray(), MessageType.MultiCancelOrder.getTypePrefixBytes(), false);
+        return encodeConcrete(msgMultiCancelOrder, MessageType.MultiCancelOrder.getTypePrefixBytes(), false);
     }
 
     public static byte[] encodePubkey(String pubkey) {
         byte[] pubKey = Hex.decode(pubkey);
         byte[] pubKeyPrefix = MessageType.PubKey.getTypePrefixBytes();
-        byte[] pubKeyAminoEncoded = new byte[pubKey.length + pubKeyPrefix.length + 1];
-        // copy 'pubKeyPrefix' into 'pubKeyAminoEncoded' starting from index 0 of 'pubKeyAminoEncoded' and go through 'pubKeyPrefix.length' bytes
-        System.arraycopy(pubKeyPrefix, 0, pubKeyAminoEncoded, 0, pubKeyPrefix.length);
-        pubKeyAminoEncoded[pubKeyPrefix.length] = (byte) 33;
-        System.arraycopy(pubKey, 0, pubKeyAminoEncoded, pubKeyPrefix.length + 1, pubKey.length);
+        byte[] pubKeyAminoEncoded = new byte[pubKeyPrefix.length + AminoWriter.lengthPrefixedSize(pubKey.length)];
+        new AminoWriter(ByteBuffer.wrap(pubKeyAminoEncoded)).writeRaw(pubKeyPrefix).writeBytesNoTag(pubKey);
         return pubKeyAminoEncoded;
     }
 
     public static byte[] encodeStdTransaction(Transfer.StdTransaction stdTransactionProto) throws IOException {
-        return EncodeUtils.aminoWrap(stdTransactionProto.toByteArray(), MessageType.StdTx.getTypePrefixBytes(), true);
+        return encodeConcrete(stdTransactionProto, MessageType.StdTx.getTypePrefixBytes(), true);
+    }
+
+    public static byte[] encodeStdTransaction(TxValue tx) {
+        return StdTxEncoder.encode(tx);
+    }
+
+    // the message is written once, into an array of its exact amino size
+    private static byte[] encodeConcrete(MessageLite message, byte[] typePrefix, boolean isPrefixLength) throws IOException {
+        int len = typePrefix.length + message.getSerializedSize();
+        byte[] encoded = new byte[isPrefixLength ? AminoWriter.lengthPrefixedSize(len) : len];
+        AminoWriter writer = new AminoWriter(ByteBuffer.wrap(encoded));
+        if (isPrefixLength) {
+            writer.writeUvarint(len);
+        }
+        writer.writeRaw(typePrefix).writeMessage(message);
+        return encoded;
     }
 }
@@ -0,0 +1,150 @@
+package com.okexchain.utils.encoding.message;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * AminoSchema describes how a json value is laid out in amino binary: its fields in the order of the go
+ * struct, which gives the field numbers, and how each field is encoded.
+ * Fields are looked up in the json value by their json name.
+ */
+public class AminoSchema {
+
+    public enum Kind {
+        STRING,
+        /** bech32 or 0x hex address, written as its raw bytes */
+        ADDRESS,
+        ADDRESS_LIST,
+        STRING_LIST,
+        /** sdk.Dec, written as the string of its 18 decimals integer */
+        DEC,
+        UINT,
+        BOOL,
+        /** gov vote option, written as its byte value */
+        VOTE_OPTION,
+        /** bech32 string whose data part is written as bytes, e.g. a consensus pubkey */
+        BECH32_BYTES,
+        BASE64_BYTES,
+        STRUCT,
+        STRUCT_LIST,
+        /** registered concrete type given as {"type", "value"}, written as type prefix and struct */
+        INTERFACE,
+        INTERFACE_LIST,
+        /** public key given as {"type", "value"} with base64 key bytes */
+        PUBKEY
+    }
+
+    public static class Field {
+        private final int number;
+        private final String name;
+        private final Kind kind;
+        private final AminoSchema schema;
+
+        Field(int number, String name, Kind kind, AminoSchema schema) {
+            this.number = number;
+            this.name = name;
+            this.kind = kind;
+            this.schema = schema;
+        }
+
+        public int getNumber() {
+            return number;
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        public Kind getKind() {
+            return kind;
+        }
+
+        public AminoSchema getSchema() {
+            return schema;
+        }
+    }
+
+    public static final AminoSchema COIN = new AminoSchema()
+            .string("denom")
+            .dec("amount");
+
+    private final List<Field> fields = new ArrayList<>();
+
+    public List<Field> getFields() {
+        return Collections.unmodifiableList(fields);
+    }
+
+    public AminoSchema string(String name) {
+        return add(name, Kind.STRING, null);
+    }
+
+    public AminoSchema address(String name) {
+        return add(name, Kind.ADDRESS, null);
+    }
+
+    public AminoSchema addresses(String name) {
+        return add(name, Kind.ADDRESS_LIST, null);
+    }
+
+    public AminoSchema strings(String name) {
+        return add(name, Kind.STRING_LIST, null);
+    }
+
+    public AminoSchema dec(String name) {
+        return add(name, Kind.DEC, null);
+    }
+
+    public AminoSchema uint(String name) {
+        return add(name, Kind.UINT, null);
+    }
+
+    public AminoSchema bool(String name) {
+        return add(name, Kind.BOOL, null);
+    }
+
+    public AminoSchema voteOption(String name) {
+        return add(name, Kind.VOTE_OPTION, null);
+    }
+
+    public AminoSchema bech32Bytes(String name) {
+        return add(name, Kind.BECH32_BYTES, null);
+    }
+
+    public AminoSchema base64Bytes(String name) {
+        return add(name, Kind.BASE64_BYTES, null);
+    }
+
+    public AminoSchema coin(String name) {
+        return add(name, Kind.STRUCT, COIN);
+    }
+
+    public AminoSchema coins(String name) {
+        return add(name, Kind.STRUCT_LIST, COIN);
+    }
+
+    public AminoSchema struct(String name, AminoSchema schema) {
+        return add(name, Kind.STRUCT, schema);
+    }
+
+    public AminoSchema structs(String name, AminoSchema schema) {
+        return add(name, Kind.STRUCT_LIST, schema);
+    }
+
+    public AminoSchema concrete(String name) {
+        return add(name, Kind.INTERFACE, null);
+    }
+
+    public AminoSchema concretes(String name) {
+        return add(name, Kind.INTERFACE_LIST, null);
+    }
+
+    public AminoSchema pubkey(String name) {
+        return add(name, Kind.PUBKEY, null);
+    }
+
+    private AminoSchema add(String name, Kind kind, AminoSchema schema) {
+        fields.add(new Field(fields.size() + 1, name, kind, schema));
+        return this;
+    }
+}
@@ -0,0 +1,299 @@
+package com.okexchain.utils.encoding.message;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * AminoSchemas holds the amino layout of the std tx and of every message and proposal content the sdk
+ * builds, keyed by their registered amino name. Field order follows the go structs of okexchain.
+ */
+public class AminoSchemas {
+
+    public static final String STD_TX = "cosmos-sdk/StdTx";
+
+    private static final ConcurrentHashMap<String, AminoSchema> SCHEMAS = new ConcurrentHashMap<>();
+    private static final ConcurrentHashMap<String, byte[]> PREFIXES = new ConcurrentHashMap<>();
+
+    public static final AminoSchema FEE = new AminoSchema()
+            .coins("amount")
+            .uint("gas");
+
+    public static final AminoSchema SIGNATURE = new AminoSchema()
+            .pubkey("pub_key")
+            .base64Bytes("signature");
+
+    public static final AminoSchema TX = new AminoSchema()
+            .concretes("msg")
+            .struct("fee", FEE)
+            .structs("signatures", SIGNATURE)
+            .string("memo");
+
+    static {
+        register(STD_TX, TX);
+
+        // token
+        register("okexchain/token/MsgTransfer", new AminoSchema()
+                .address("from_address")
+                .address("to_address")
+                .coins("amount"));
+        register("okexchain/token/MsgMultiTransfer", new AminoSchema()
+                .address("from")
+                .structs("transfers", new AminoSchema()
+                        .address("to")
+                        .coins("coins")));
+        register("okexchain/token/MsgIssue", new AminoSchema()
+                .string("description")
+                .string("symbol")
+                .string("original_symbol")
+                .string("whole_name")
+                .string("total_supply")
+                .address("owner")
+                .bool("mintable"));
+        register("okexchain/token/MsgBurn", new AminoSchema()
+                .coin("amount")
+                .address("owner"));
+        register("okexchain/token/MsgMint", new AminoSchema()
+                .coin("amount")
+                .address("owner"));
+        register("okexchain/token/MsgTransferOwnership", new AminoSchema()
+                .address("from_address")
+                .address("to_address")
+                .string("symbol"));
+        register("okexchain/token/MsgConfirmOwnership", new AminoSchema()
+                .string("symbol")
+                .address("new_owner"));
+        register("okexchain/token/MsgModify", new AminoSchema()
+                .address("owner")
+                .string("symbol")
+                .string("description")
+                .string("whole_name")
+                .bool("description_modified")
+                .bool("whole_name_modified"));
+
+        // dex
+        register("okexchain/dex/MsgList", new AminoSchema()
+                .address("owner")
+                .string("list_asset")
+                .string("quote_asset")
+                .dec("init_price"));
+        register("okexchain/dex/MsgDeposit", new AminoSchema()
+                .string("product")
+                .coin("amount")
+                .address("depositor"));
+        register("okexchain/dex/MsgWithdraw", new AminoSchema()
+                .string("product")
+                .coin("amount")
+                .address("depositor"));
+        register("okexchain/dex/MsgTransferTradingPairOwnership", new AminoSchema()
+                .address("from_address")
+                .address("to_address")
+                .string("product"));
+        register("okexchain/dex/MsgConfirmOwnership", new AminoSchema()
+                .string("product")
+                .address("new_owner"));
+        AminoSchema operator = new AminoSchema()
+                .address("owner")
+                .address("handling_fee_address")
+                .string("website");
+        register("okexchain/dex/CreateOperator", operator);
+        register("okexchain/dex/UpdateOperator", operator);
+
+        // order
+        register("okexchain/order/MsgNew", new AminoSchema()
+                .address("sender")
+                .structs("order_items", new AminoSchema()
+                        .string("product")
+                        .string("side")
+                        .dec("price")
+                        .dec("quantity")));
+        register("okexchain/order/MsgCancel", new AminoSchema()
+                .address("sender")
+                .strings("order_ids"));
+
+        // ammswap
+        register("okexchain/ammswap/MsgAddLiquidity", new AminoSchema()
+                .dec("min_liquidity")
+                .coin("max_base_amount")
+                .coin("quote_amount")
+                .uint("deadline")
+                .address("sender"));
+        register("okexchain/ammswap/MsgRemoveLiquidity", new AminoSchema()
+                .dec("liquidity")
+                .coin("min_base_amount")
+                .coin("min_quote_amount")
+                .uint("deadline")
+                .address("sender"));
+        register("okexchain/ammswap/MsgCreateExchange", new AminoSchema()
+                .string("token0_name")
+                .string("token1_name")
+                .address("sender"));
+        register("okexchain/ammswap/MsgSwapToken", new AminoSchema()
+                .coin("sold_token_amount")
+                .coin("min_bought_token_amount")
+                .uint("deadline")
+                .address("recipient")
+                .address("sender"));
+
+        // farm
+        register("okexchain/farm/MsgCreatePool", new AminoSchema()
+                .address("owner")
+                .string("pool_name")
+                .coin("min_lock_amount")
+                .string("yielded_symbol"));
+        register("okexchain/farm/MsgDestroyPool", new AminoSchema()
+                .address("owner")
+                .string("pool_name"));
+        register("okexchain/farm/MsgProvide", new AminoSchema()
+                .string("pool_name")
+                .address("address")
+                .coin("amount")
+                .dec("amount_yielded_per_block")
+                .uint("start_height_to_yield"));
+        AminoSchema lock = new AminoSchema()
+                .string("pool_name")
+                .address("address")
+                .coin("amount");
+        register("okexchain/farm/MsgLock", lock);
+        register("okexchain/farm/MsgUnlock", lock);
+        register("okexchain/farm/MsgClaim", new AminoSchema()
+                .string("pool_name")
+                .address("address"));
+
+        // distribution and slashing
+        register("okexchain/distribution/MsgModifyWithdrawAddress", new AminoSchema()
+                .address("delegator_address")
+                .address("withdraw_address"));
+        register("okexchain/distribution/MsgWithdrawReward", new AminoSchema()
+                .address("validator_address"));
+        register("cosmos-sdk/MsgUnjail", new AminoSchema()
+                .address("address"));
+
+        // staking
+        AminoSchema description = new AminoSchema()
+                .string("moniker")
+                .string("identity")
+                .string("website")
+                .string("details");
+        AminoSchema createValidator = new AminoSchema()
+                .struct("description", description)
+                .coin("min_self_delegation")
+                .address("delegator_address")
+                .address("validator_address")
+                .bech32Bytes("pubkey");
+        register("okexchain/staking/MsgCreateValidator", createValidator);
+        register("cosmos-sdk/MsgCreateValidator", createValidator);
+        register("okexchain/staking/MsgEditValidator", new AminoSchema()
+                .struct("Description", description)
+                .address("address"));
+        register("okexchain/staking/MsgDestroyValidator", new AminoSchema()
+                .address("delegator_address"));
+        AminoSchema deposit = new AminoSchema()
+                .address("delegator_address")
+                .coin("quantity");
+        register("okexchain/staking/MsgDeposit", deposit);
+        register("okexchain/staking/MsgWithdraw", deposit);
+        register("okexchain/staking/MsgAddShares", new AminoSchema()
+                .address("delegator_address")
+                .addresses("validator_addresses"));
+        register("okexchain/staking/MsgRegProxy", new AminoSchema()
+                .address("proxy_address")
+                .bool("reg"));
+        register("okexchain/staking/MsgBindProxy", new AminoSchema()
+                .address("delegator_address")
+                .address("proxy_address"));
+        register("okexchain/staking/MsgUnbindProxy", new AminoSchema()
+                .address("delegator_address"));
+
+        // gov
+        register("okexchain/gov/MsgSubmitProposal", new AminoSchema()
+                .concrete("content")
+                .coins("initial_deposit")
+                .address("proposer"));
+        register("okexchain/gov/MsgDeposit", new AminoSchema()
+                .uint("proposal_id")
+                .address("depositor")
+                .coins("amount"));
+        register("okexchain/gov/MsgVote", new AminoSchema()
+                .uint("proposal_id")
+                .address("voter")
+                .voteOption("option"));
+
+        // proposal contents
+        register("okexchain/dex/DelistProposal", new AminoSchema()
+                .string("title")
+                .string("description")
+                .address("proposer")
+                .string("base_asset")
+                .string("quote_asset"));
+        register("okexchain/farm/ManageWhiteListProposal", new AminoSchema()
+                .string("title")
+                .string("description")
+                .string("pool_name")
+                .bool("is_added"));
+        register("okexchain/evm/ManageContractDeploymentWhitelistProposal", new AminoSchema()
+                .string("title")
+                .string("description")
+                .addresses("distributor_addresses")
+                .bool("is_added"));
+        register("okexchain/evm/ManageContractBlockedListProposal", new AminoSchema()
+                .string("title")
+                .string("description")
+                .addresses("contract_addresses")
+                .bool("is_added"));
+        register("okexchain/params/ParameterChangeProposal", new AminoSchema()
+                .struct("ParameterChangeProposal", new AminoSchema()
+                        .string("title")
+                        .string("description")
+                        .structs("changes", new AminoSchema()
+                                .string("subspace")
+                                .string("key")
+                                .string("value")))
+                .uint("height"));
+    }
+
+    public static void register(String name, AminoSchema schema) {
+        SCHEMAS.put(name, schema);
+    }
+
+    public static AminoSchema get(String name) {
+        AminoSchema schema = SCHEMAS.get(name);
+        if (schema == null) {
+            throw new IllegalArgumentException("no amino schema registered for " + name);
+        }
+        return schema;
+    }
+
+    /**
+     * Returns the 4 prefix bytes amino writes before a registered concrete type: the sha256 of the name
+     * with leading zero bytes skipped, then 3 disambiguation bytes skipped, then zero bytes skipped again.
+     */
+    public static byte[] prefix(String name) {
+        byte[] prefix = PREFIXES.get(name);
+        if (prefix == null) {
+            prefix = computePrefix(name);
+            PREFIXES.put(name, prefix);
+        }
+        return prefix;
+    }
+
+    private static byte[] computePrefix(String name) {
+        byte[] hash;
+        try {
+            hash = MessageDigest.getInstance("SHA-256").digest(name.getBytes(StandardCharsets.UTF_8));
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        int i = 0;
+        while (hash[i] == 0) {
+            i++;
+        }
+        i += 3;
+        while (hash[i] == 0) {
+            i++;
+        }
+        return Arrays.copyOfRange(hash, i, i + 4);
+    }
+}
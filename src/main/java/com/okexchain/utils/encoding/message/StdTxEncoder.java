@@ -0,0 +1,321 @@
+package com.okexchain.utils.encoding.message;
+
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.common.TxValue;
+import com.okexchain.utils.crypto.AddressUtil;
+import com.okexchain.utils.encoding.AminoWriter;
+import com.okexchain.utils.encoding.CodecInstance;
+import org.bouncycastle.util.encoders.Base64;
+import org.bouncycastle.util.encoders.Hex;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * StdTxEncoder writes a signed tx in the amino binary form the node hashes, so that the tx hash is known
+ * before the tx is broadcast. The tx is read as its json tree and laid out with {@link AminoSchemas}.
+ * A first pass sizes every nested struct and converts the leaves that need decoding, a second pass writes
+ * the tx into an array of its exact size.
+ */
+public class StdTxEncoder {
+
+    private static final int DEC_PRECISION = 18;
+
+    /**
+     * Struct sizes and decoded leaves of one tx, recorded by the sizing pass in the order the writing
+     * pass reads them back.
+     */
+    private static final class Plan {
+        private int[] sizes = new int[32];
+        private int sizeCount;
+        private int sizeCursor;
+        private Object[] leaves = new Object[32];
+        private int leafCount;
+        private int leafCursor;
+
+        int reserveSize() {
+            if (sizeCount == sizes.length) {
+                sizes = Arrays.copyOf(sizes, sizeCount * 2);
+            }
+            return sizeCount++;
+        }
+
+        void setSize(int slot, int size) {
+            sizes[slot] = size;
+        }
+
+        int nextSize() {
+            return sizes[sizeCursor++];
+        }
+
+        <T> T addLeaf(T leaf) {
+            if (leafCount == leaves.length) {
+                leaves = Arrays.copyOf(leaves, leafCount * 2);
+            }
+            leaves[leafCount++] = leaf;
+            return leaf;
+        }
+
+        @SuppressWarnings("unchecked")
+        <T> T nextLeaf() {
+            return (T) leaves[leafCursor++];
+        }
+    }
+
+    /**
+     * Returns the length prefixed amino bytes of the std tx, as broadcast by the rest server.
+     */
+    public static byte[] encode(TxValue tx) {
+        Map<String, Object> tree = CodecInstance.getCodec().toMap(CodecInstance.getCodec().toJson(tx));
+        Plan plan = new Plan();
+        int size = AminoSchemas.prefix(AminoSchemas.STD_TX).length + sizeStruct(AminoSchemas.TX, tree, plan);
+        byte[] encoded = new byte[AminoWriter.lengthPrefixedSize(size)];
+        AminoWriter writer = new AminoWriter(ByteBuffer.wrap(encoded));
+        writer.writeUvarint(size).writeRaw(AminoSchemas.prefix(AminoSchemas.STD_TX));
+        writeStruct(writer, AminoSchemas.TX, tree, plan);
+        return encoded;
+    }
+
+    /**
+     * Returns the hash the node reports as txhash: upper case hex of the sha256 of the amino bytes.
+     */
+    public static String txHash(TxValue tx) {
+        try {
+            return Hex.toHexString(MessageDigest.getInstance("SHA-256").digest(encode(tx))).toUpperCase();
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    /**
+     * Returns the number of bytes the message adds to the amino encoded tx it is put in.
+     */
+    public static int messageSize(Message message) {
+        Map<String, Object> tree = CodecInstance.getCodec().toMap(CodecInstance.getCodec().toJson(message));
+        return sizeInterface(AminoSchemas.TX.getFields().get(0).getNumber(), tree, new Plan());
+    }
+
+    // sizing pass
+
+    private static int sizeStruct(AminoSchema schema, Map<String, Object> value, Plan plan) {
+        int size = 0;
+        if (value != null) {
+            for (AminoSchema.Field field : schema.getFields()) {
+                size += sizeField(field, value.get(field.getName()), plan);
+            }
+        }
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int sizeField(AminoSchema.Field field, Object value, Plan plan) {
+        if (value == null) {
+            return 0;
+        }
+        int number = field.getNumber();
+        int size = 0;
+        switch (field.getKind()) {
+            case STRING:
+                return AminoWriter.stringFieldSize(number, value.toString());
+            case ADDRESS:
+                return bytesSize(number, plan.addLeaf(address(value.toString())));
+            case ADDRESS_LIST:
+                for (Object item : (List<Object>) value) {
+                    size += AminoWriter.bytesFieldSize(number, plan.addLeaf(address(String.valueOf(item))).length);
+                }
+                return size;
+            case STRING_LIST:
+                for (Object item : (List<Object>) value) {
+                    size += AminoWriter.bytesFieldSize(number, AminoWriter.utf8Size(String.valueOf(item)));
+                }
+                return size;
+            case DEC:
+                // sdk.Dec is always written, zero included
+                return AminoWriter.bytesFieldSize(number, plan.addLeaf(dec(value.toString())).length());
+            case UINT:
+                return AminoWriter.uint64FieldSize(number, Long.parseUnsignedLong(value.toString()));
+            case BOOL:
+                return AminoWriter.uint64FieldSize(number, Boolean.parseBoolean(value.toString()) ? 1 : 0);
+            case VOTE_OPTION:
+                return AminoWriter.uint64FieldSize(number, voteOption(value.toString()));
+            case BECH32_BYTES:
+                return bytesSize(number, plan.addLeaf(AddressUtil.decodeAddress(value.toString())));
+            case BASE64_BYTES:
+                return bytesSize(number, plan.addLeaf(Base64.decode(value.toString())));
+            case STRUCT:
+                // go-amino leaves out a struct field that encodes to nothing, unlike the elements of a list
+                int slot = plan.reserveSize();
+                int structSize = sizeStruct(field.getSchema(), (Map<String, Object>) value, plan);
+                plan.setSize(slot, structSize);
+                return structSize == 0 ? 0 : AminoWriter.bytesFieldSize(number, structSize);
+            case STRUCT_LIST:
+                for (Object item : (List<Object>) value) {
+                    size += sizeElement(number, field.getSchema(), (Map<String, Object>) item, plan);
+                }
+                return size;
+            case INTERFACE:
+                return sizeInterface(number, (Map<String, Object>) value, plan);
+            case INTERFACE_LIST:
+                for (Object item : (List<Object>) value) {
+                    size += sizeInterface(number, (Map<String, Object>) item, plan);
+                }
+                return size;
+            case PUBKEY:
+                Map<String, Object> pubkey = (Map<String, Object>) value;
+                byte[] key = plan.addLeaf(Base64.decode((String) pubkey.get("value")));
+                int pubkeySize = AminoSchemas.prefix((String) pubkey.get("type")).length + AminoWriter.lengthPrefixedSize(key.length);
+                return AminoWriter.bytesFieldSize(number, pubkeySize);
+            default:
+                throw new IllegalArgumentException("unsupported amino field kind " + field.getKind());
+        }
+    }
+
+    private static int bytesSize(int number, byte[] value) {
+        return value.length == 0 ? 0 : AminoWriter.bytesFieldSize(number, value.length);
+    }
+
+    private static int sizeElement(int number, AminoSchema schema, Map<String, Object> value, Plan plan) {
+        int slot = plan.reserveSize();
+        int size = sizeStruct(schema, value, plan);
+        plan.setSize(slot, size);
+        return AminoWriter.bytesFieldSize(number, size);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static int sizeInterface(int number, Map<String, Object> value, Plan plan) {
+        String name = (String) value.get("type");
+        int slot = plan.reserveSize();
+        int size = AminoSchemas.prefix(name).length + sizeStruct(AminoSchemas.get(name), (Map<String, Object>) value.get("value"), plan);
+        plan.setSize(slot, size);
+        return AminoWriter.bytesFieldSize(number, size);
+    }
+
+    // writing pass
+
+    private static void writeStruct(AminoWriter writer, AminoSchema schema, Map<String, Object> value, Plan plan) {
+        if (value != null) {
+            for (AminoSchema.Field field : schema.getFields()) {
+                writeField(writer, field, value.get(field.getName()), plan);
+            }
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeField(AminoWriter writer, AminoSchema.Field field, Object value, Plan plan) {
+        if (value == null) {
+            return;
+        }
+        int number = field.getNumber();
+        switch (field.getKind()) {
+            case STRING:
+                writer.writeString(number, value.toString());
+                break;
+            case ADDRESS:
+            case BECH32_BYTES:
+            case BASE64_BYTES:
+                writer.writeBytes(number, plan.<byte[]>nextLeaf());
+                break;
+            case ADDRESS_LIST:
+                for (int i = ((List<Object>) value).size(); i > 0; i--) {
+                    writer.writeElement(number, plan.<byte[]>nextLeaf());
+                }
+                break;
+            case STRING_LIST:
+                for (Object item : (List<Object>) value) {
+                    writer.writeStringElement(number, String.valueOf(item));
+                }
+                break;
+            case DEC:
+                writer.writeStringElement(number, plan.<String>nextLeaf());
+                break;
+            case UINT:
+                writer.writeUInt64(number, Long.parseUnsignedLong(value.toString()));
+                break;
+            case BOOL:
+                writer.writeBool(number, Boolean.parseBoolean(value.toString()));
+                break;
+            case VOTE_OPTION:
+                writer.writeUInt64(number, voteOption(value.toString()));
+                break;
+            case STRUCT:
+                int structSize = plan.nextSize();
+                if (structSize > 0) {
+                    writer.writeElementHeader(number, structSize);
+                }
+                writeStruct(writer, field.getSchema(), (Map<String, Object>) value, plan);
+                break;
+            case STRUCT_LIST:
+                for (Object item : (List<Object>) value) {
+                    writeElement(writer, number, field.getSchema(), (Map<String, Object>) item, plan);
+                }
+                break;
+            case INTERFACE:
+                writeInterface(writer, number, (Map<String, Object>) value, plan);
+                break;
+            case INTERFACE_LIST:
+                for (Object item : (List<Object>) value) {
+                    writeInterface(writer, number, (Map<String, Object>) item, plan);
+                }
+                break;
+            case PUBKEY:
+                byte[] prefix = AminoSchemas.prefix((String) ((Map<String, Object>) value).get("type"));
+                byte[] key = plan.nextLeaf();
+                writer.writeElementHeader(number, prefix.length + AminoWriter.lengthPrefixedSize(key.length))
+                        .writeRaw(prefix)
+                        .writeBytesNoTag(key);
+                break;
+            default:
+                throw new IllegalArgumentException("unsupported amino field kind " + field.getKind());
+        }
+    }
+
+    private static void writeElement(AminoWriter writer, int number, AminoSchema schema, Map<String, Object> value, Plan plan) {
+        writer.writeElementHeader(number, plan.nextSize());
+        writeStruct(writer, schema, value, plan);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static void writeInterface(AminoWriter writer, int number, Map<String, Object> value, Plan plan) {
+        String name = (String) value.get("type");
+        writer.writeElementHeader(number, plan.nextSize()).writeRaw(AminoSchemas.prefix(name));
+        writeStruct(writer, AminoSchemas.get(name), (Map<String, Object>) value.get("value"), plan);
+    }
+
+    private static byte[] address(String address) {
+        if (address.isEmpty()) {
+            return new byte[0];
+        }
+        if (address.startsWith("0x") || address.startsWith("0X")) {
+            return Hex.decode(address.substring(2));
+        }
+        return AddressUtil.decodeAddress(address);
+    }
+
+    /**
+     * sdk.Dec marshals to amino as the integer holding its 18 decimals.
+     */
+    static String dec(String value) {
+        return new BigDecimal(value).setScale(DEC_PRECISION, RoundingMode.UNNECESSARY).unscaledValue().toString();
+    }
+
+    private static int voteOption(String option) {
+        switch (option.toLowerCase().replace("_", "")) {
+            case "yes":
+                return 1;
+            case "abstain":
+                return 2;
+            case "no":
+                return 3;
+            case "nowithveto":
+                return 4;
+            default:
+                throw new IllegalArgumentException("unknown vote option " + option);
+        }
+    }
+}
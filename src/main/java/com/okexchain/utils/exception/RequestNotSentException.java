@@ -0,0 +1,27 @@
+package com.okexchain.utils.exception;
+
+import java.io.IOException;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+
+/**
+ * RequestNotSentException tells that a request failed before any byte of it reached the server, e.g. no
+ * pooled connection was available in time or the connection could not be opened. A tx whose broadcast
+ * failed this way was not seen by the node, so its sequence can be used again.
+ */
+public class RequestNotSentException extends IOException {
+
+    public RequestNotSentException(String message, Throwable cause) {
+        super(message, cause);
+    }
+
+    /**
+     * Tells whether the error, possibly wrapped by a future, is a RequestNotSentException.
+     */
+    public static boolean isCause(Throwable error) {
+        while ((error instanceof CompletionException || error instanceof ExecutionException) && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error instanceof RequestNotSentException;
+    }
+}
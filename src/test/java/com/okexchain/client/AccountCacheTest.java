@@ -0,0 +1,62 @@
+package com.okexchain.client;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class AccountCacheTest {
+
+    private static class SlowFetcher extends AccountFetcher {
+        final AtomicInteger calls = new AtomicInteger();
+
+        @Override
+        public AccountInfo fetch(String address) throws IOException {
+            int n = calls.incrementAndGet();
+            try {
+                Thread.sleep(100);
+            } catch (InterruptedException e) {
+                throw new IOException(e);
+            }
+            return new AccountInfo(address, 42, n);
+        }
+    }
+
+    @Test
+    public void concurrentLookupsShareOneRequest() throws Exception {
+        final SlowFetcher fetcher = new SlowFetcher();
+        final AccountCache cache = new AccountCache(fetcher, 16, 60000);
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        List<Future<AccountInfo>> results = new ArrayList<>();
+        for (int i = 0; i < 8; i++) {
+            results.add(pool.submit(new Callable<AccountInfo>() {
+                @Override
+                public AccountInfo call() throws Exception {
+                    return cache.get("ex1a");
+                }
+            }));
+        }
+        for (Future<AccountInfo> result : results) {
+            Assert.assertEquals(42, result.get().getAccountNumber());
+        }
+        pool.shutdown();
+        Assert.assertEquals(1, fetcher.calls.get());
+    }
+
+    @Test
+    public void expiredSequenceIsReloadedButAccountNumberIsKept() throws Exception {
+        SlowFetcher fetcher = new SlowFetcher();
+        AccountCache cache = new AccountCache(fetcher, 16, 0);
+        Assert.assertEquals(1, cache.get("ex1a").getSequence());
+        Assert.assertEquals(2, cache.get("ex1a").getSequence());
+        Assert.assertEquals(42, cache.getAccountNumber("ex1a"));
+        Assert.assertEquals(2, fetcher.calls.get());
+    }
+}
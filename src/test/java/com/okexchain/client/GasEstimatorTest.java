@@ -0,0 +1,141 @@
+package com.okexchain.client;
+
+import com.okexchain.msg.MsgBase;
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.common.Token;
+import com.okexchain.msg.token.MsgSendValue;
+import com.okexchain.msg.tx.BroadcastTx;
+import com.okexchain.utils.HttpTransport;
+import com.okexchain.utils.crypto.Crypto;
+import com.okexchain.utils.crypto.Signer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class GasEstimatorTest {
+
+    private static final String PRIVATE_KEY = "2c999c5afe7f0c902846e1b286fed29c5c5914998655d469568560955abe0d5d";
+    private static final String TO = "ex1s0vrf96rrsknl64jj65lhf89ltwj7lksr7m3r9";
+
+    /**
+     * Charges 40000 gas per tx and 1000 per coin sent.
+     */
+    private static class LocalSimulator implements GasEstimator.Simulator {
+        int calls;
+
+        @Override
+        public long simulate(Message[] msgs) {
+            calls++;
+            long gas = 40000;
+            for (Message msg : msgs) {
+                gas += 1000 * ((MsgSendValue) msg.getValue()).getAmount().size();
+            }
+            return gas;
+        }
+    }
+
+    @Test
+    public void simulatesOncePerKind() {
+        LocalSimulator simulator = new LocalSimulator();
+        GasEstimator estimator = new GasEstimator(simulator);
+
+        Assert.assertEquals(49200, estimator.estimate(send(1)));
+        Assert.assertEquals(49200, estimator.estimate(send(1)));
+        Assert.assertEquals(1, simulator.calls);
+
+        // more coins make a bigger message of another size class
+        Assert.assertEquals(60000, estimator.estimate(send(10)));
+        Assert.assertEquals(2, simulator.calls);
+
+        Assert.assertEquals(109200, estimator.estimate(send(1), send(10)));
+        Assert.assertEquals(2, simulator.calls);
+
+        estimator.setMultiplier(1.0);
+        Assert.assertEquals(41000, estimator.estimate(send(1)));
+    }
+
+    @Test
+    public void learnsFromGasUsed() {
+        GasEstimator estimator = new GasEstimator(new LocalSimulator());
+        Message msg = send(1);
+        estimator.estimate(msg);
+
+        estimator.observe(new Message[]{msg}, 45000);
+        Assert.assertEquals(45000, estimator.getCached(msg));
+
+        // lower values only pull the cache down by an eighth of the difference
+        estimator.observe(new Message[]{msg}, 37000);
+        Assert.assertEquals(44000, estimator.getCached(msg));
+
+        // a tx of two messages shares its gas among them
+        Message big = send(10);
+        estimator.observe(new Message[]{msg, big}, 100000);
+        Assert.assertEquals(56000, estimator.getCached(big));
+        estimator.observe(new Message[]{msg, big}, 200000);
+        Assert.assertEquals(88000, estimator.getCached(msg));
+        Assert.assertEquals(112000, estimator.getCached(big));
+    }
+
+    @Test
+    public void reportsFailedSimulations() {
+        final Exception failure = new Exception("node down");
+        GasEstimator estimator = new GasEstimator(new GasEstimator.Simulator() {
+            @Override
+            public long simulate(Message[] msgs) throws Exception {
+                throw failure;
+            }
+        });
+        try {
+            estimator.estimate(send(1));
+            Assert.fail();
+        } catch (IllegalStateException e) {
+            Assert.assertSame(failure, e.getCause());
+        }
+        Assert.assertEquals(-1, estimator.getCached(send(1)));
+    }
+
+    @Test
+    public void restSimulatorPostsSignedTx() {
+        final List<BroadcastTx> posted = new ArrayList<>();
+        MsgBase account = new MsgBase() {
+            {
+                priKeyString = PRIVATE_KEY;
+                signer = new Signer(PRIVATE_KEY);
+                setSequenceManager(new SequenceManager(new AccountFetcher()));
+                init(Crypto.generateAddressFromPriv(PRIVATE_KEY), "1", "7", Crypto.generatePubKeyHexFromPriv(PRIVATE_KEY));
+            }
+        };
+        account.setTransport(new HttpTransport() {
+            @Override
+            public String post(String url, String json) {
+                Assert.assertTrue(url.endsWith("/simulate"));
+                posted.add(BroadcastTx.fromJson(json));
+                return "{\"gas_estimate\":\"61234\"}";
+            }
+        });
+
+        GasEstimator estimator = new GasEstimator(account);
+        estimator.setMultiplier(1.5);
+        Assert.assertEquals(91851, estimator.estimate(send(1)));
+        Assert.assertEquals(1, posted.size());
+        Assert.assertEquals(1, posted.get(0).getTx().getSignatures().size());
+        Assert.assertEquals("7", account.getSequenceNum());
+    }
+
+    private static Message send(int coins) {
+        List<Token> amount = new ArrayList<>();
+        for (int i = 0; i < coins; i++) {
+            Token token = new Token();
+            token.setDenom("tok" + i);
+            token.setAmount("1.5");
+            amount.add(token);
+        }
+        MsgSendValue value = new MsgSendValue();
+        value.setFromAddress(Crypto.generateAddressFromPriv(PRIVATE_KEY));
+        value.setToAddress(TO);
+        value.setAmount(amount);
+        return new Message<>("okexchain/token/MsgTransfer", value);
+    }
+}
@@ -0,0 +1,71 @@
+package com.okexchain.client;
+
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.token.TokenMessages;
+import com.okexchain.msg.tx.BroadcastTx;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class InMemoryTxMetricsTest {
+
+    /**
+     * Commits the first tx and rejects the following ones with an out of gas error.
+     */
+    private static class Node extends StubNode {
+        @Override
+        protected String answer(BroadcastTx tx, String json) {
+            if (txs.size() == 1) {
+                return response(1, tx.txHash(), 0, "[]").toJSONString();
+            }
+            return response(1, tx.txHash(), 11, "out of gas").fluentPut("codespace", "sdk").toJSONString();
+        }
+    }
+
+    @Test
+    public void recordsStagesResultsAndBytes() {
+        InMemoryTxMetrics metrics = new InMemoryTxMetrics();
+        TestAccount account = new TestAccount(new Node());
+        account.setMetrics(metrics);
+
+        Message msg = TokenMessages.transfer(account.getAddress(), account.getAddress(), "okt", "1");
+        for (int i = 0; i < 3; i++) {
+            account.submit(msg, "0.01", "200000", "");
+        }
+
+        InMemoryTxMetrics.Snapshot snapshot = metrics.snapshot();
+        for (TxMetrics.Stage stage : TxMetrics.Stage.values()) {
+            Assert.assertEquals(stage.name(), 3, snapshot.getStage(stage).getCount());
+        }
+        Assert.assertEquals(1, snapshot.getSucceeded());
+        Assert.assertEquals(Long.valueOf(2), snapshot.getErrors().get("sdk:11"));
+        Assert.assertEquals(0, snapshot.getInFlight());
+        Assert.assertEquals(1, snapshot.getMaxInFlight());
+        Assert.assertTrue(snapshot.getBytesSent() > 0);
+        Assert.assertTrue(snapshot.getBytesReceived() > 0);
+        Assert.assertTrue(snapshot.toJSON().getJSONObject("stages").containsKey("sign"));
+
+        metrics.reset();
+        Assert.assertEquals(0, metrics.snapshot().getStage(TxMetrics.Stage.SUBMIT).getCount());
+    }
+
+    @Test
+    public void percentilesAreBucketBounds() {
+        InMemoryTxMetrics metrics = new InMemoryTxMetrics();
+        for (int i = 1; i <= 100; i++) {
+            metrics.record(TxMetrics.Stage.HTTP, i * 1000L);
+        }
+        InMemoryTxMetrics.TimerSnapshot timer = metrics.snapshot().getStage(TxMetrics.Stage.HTTP);
+        Assert.assertEquals(100, timer.getCount());
+        Assert.assertEquals(50500, timer.getMeanNanos());
+        Assert.assertEquals(100000, timer.getMaxNanos());
+        long p50 = timer.getPercentileNanos(50);
+        Assert.assertTrue(p50 >= 50000 && p50 < 100000);
+        Assert.assertEquals(100000, timer.getPercentileNanos(100));
+    }
+
+    @Test
+    public void noopRecordsNothing() {
+        Assert.assertFalse(TxMetrics.NOOP.isEnabled());
+        Assert.assertEquals(0, TxMetrics.NOOP.start());
+    }
+}
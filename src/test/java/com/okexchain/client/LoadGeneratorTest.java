@@ -0,0 +1,81 @@
+package com.okexchain.client;
+
+import com.okexchain.msg.MsgBase;
+import com.okexchain.msg.tx.BroadcastMode;
+import com.okexchain.utils.crypto.PrivateKey;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+public class LoadGeneratorTest {
+
+    private static final String[] KEYS = {
+            "2c999c5afe7f0c902846e1b286fed29c5c5914998655d469568560955abe0d5d",
+            "89c81c304704e9890025a5a91898802294658d6e4034a11c6116f4b129ea12d3"
+    };
+
+    private MockNode node;
+    private LoadGenerator generator;
+
+    @Before
+    public void setUp() throws Exception {
+        node = new MockNode().start();
+        List<MsgBase> accounts = new ArrayList<>();
+        for (String key : KEYS) {
+            MsgBase account = new MsgBase();
+            account.setContext(node.getContext());
+            account.init(new PrivateKey(key));
+            accounts.add(account);
+        }
+        generator = new LoadGenerator(new SenderPool(accounts));
+        generator.setBroadcastMode(BroadcastMode.SYNC);
+        generator.setConcurrency(1);
+        generator.setDuration(1, TimeUnit.MINUTES);
+    }
+
+    @After
+    public void tearDown() {
+        node.close();
+    }
+
+    @Test
+    public void interleavesTheMix() {
+        LoadGenerator.Mix mix = LoadGenerator.Mix.parse("send=4,orders=2,lock=2");
+        StringBuilder order = new StringBuilder();
+        for (int i = 0; i < 16; i++) {
+            order.append(mix.getNames().get(mix.pick(i)).charAt(0));
+        }
+        Assert.assertEquals("losslosslossloss", order.toString());
+    }
+
+    @Test
+    public void sendsTheMixAndReportsStages() throws Exception {
+        generator.setMix(LoadGenerator.Mix.parse("send=3,orders=1,swap=1,lock=1"));
+        generator.setMaxTxs(24);
+
+        LoadGenerator.Report report = generator.run();
+        Assert.assertEquals(12, (long) report.getSent().get("send"));
+        Assert.assertEquals(4, (long) report.getSent().get("orders"));
+        Assert.assertEquals(report.toJSON().toJSONString(), 24, report.getMetrics().getSucceeded());
+        Assert.assertEquals(24, node.getCommittedCount());
+        Assert.assertEquals(24, report.getMetrics().getStage(TxMetrics.Stage.SUBMIT).getCount());
+        Assert.assertTrue(report.getThroughput() > 0);
+        Assert.assertTrue(report.toJSON().getJSONObject("stages").getJSONObject("sign").containsKey("p999_us"));
+    }
+
+    @Test
+    public void reportsErrorsByCode() throws Exception {
+        node.setRejectRate(1);
+        generator.setMaxTxs(5);
+        generator.setRate(1000);
+
+        LoadGenerator.Report report = generator.run();
+        Assert.assertEquals(0, report.getMetrics().getSucceeded());
+        Assert.assertEquals(5L, (long) report.getMetrics().getErrors().get("sdk:5"));
+    }
+}
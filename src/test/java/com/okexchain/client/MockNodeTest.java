@@ -0,0 +1,179 @@
+package com.okexchain.client;
+
+import com.alibaba.fastjson.JSONObject;
+import com.okexchain.env.ChainContext;
+import com.okexchain.msg.MsgBase;
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.order.MsgNewOrders;
+import com.okexchain.msg.order.OrderItem;
+import com.okexchain.msg.order.OrderMessages;
+import com.okexchain.msg.token.TokenMessages;
+import com.okexchain.msg.tx.BroadcastMode;
+import com.okexchain.msg.tx.EventIndex;
+import com.okexchain.msg.tx.Response;
+import com.okexchain.utils.AsyncHttpTransport;
+import com.okexchain.utils.crypto.PrivateKey;
+import com.okexchain.utils.exception.RequestNotSentException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class MockNodeTest {
+
+    private static final String PRIVATE_KEY = "2c999c5afe7f0c902846e1b286fed29c5c5914998655d469568560955abe0d5d";
+
+    private static class Account extends MsgBase {
+        Account(ChainContext context) {
+            setContext(context);
+            init(new PrivateKey(PRIVATE_KEY));
+        }
+    }
+
+    private MockNode node;
+
+    @Before
+    public void setUp() throws Exception {
+        node = new MockNode().start();
+    }
+
+    @After
+    public void tearDown() {
+        node.close();
+    }
+
+    @Test
+    public void commitsSignedTxsAndCountsSequences() throws Exception {
+        Account account = new Account(node.getContext());
+        Assert.assertEquals("1", account.getAccountNum());
+        Assert.assertEquals("0", account.getSequenceNum());
+
+        Message msg = TokenMessages.transfer(node.getContext(), account.getAddress(), account.getAddress(), "1");
+        for (int i = 0; i < 3; i++) {
+            JSONObject result = account.submit(msg, "0.01", "200000", "");
+            Assert.assertEquals(result.toJSONString(), 0, result.getIntValue("code"));
+            Assert.assertEquals(i + 1, result.getLongValue("height"));
+            Assert.assertEquals("transfer", account.getMatchedAttribute(result, "action"));
+        }
+        Assert.assertEquals(3, node.getAccount(account.getAddress()).getSequence());
+    }
+
+    @Test
+    public void recoversFromASequenceMovedElsewhere() throws Exception {
+        Account account = new Account(node.getContext());
+        node.setAccount(account.getAddress(), 1, 5);
+
+        Message msg = TokenMessages.transfer(node.getContext(), account.getAddress(), account.getAddress(), "1");
+        JSONObject result = account.submit(msg, "0.01", "200000", "");
+        Assert.assertEquals(result.toJSONString(), 0, result.getIntValue("code"));
+        Assert.assertEquals(6, node.getAccount(account.getAddress()).getSequence());
+
+        // another client sent txs of the account, the first signature fails with the expected sequence
+        node.setAccount(account.getAddress(), 1, 9);
+        long broadcasts = node.getBroadcastCount();
+        result = account.submit(msg, "0.01", "200000", "");
+        Assert.assertEquals(result.toJSONString(), 0, result.getIntValue("code"));
+        Assert.assertEquals(10, node.getAccount(account.getAddress()).getSequence());
+        Assert.assertEquals(broadcasts + 2, node.getBroadcastCount());
+    }
+
+    @Test
+    public void releasesTheSequenceOfTxsThatWereNotSent() throws Exception {
+        AsyncHttpTransport oneConnection = new AsyncHttpTransport(4, 1, 5000, 5000, 100);
+        try {
+            Account account = new Account(node.getContext().toBuilder().asyncTransport(oneConnection).build());
+            node.setLatency(500, 500);
+            Message msg = TokenMessages.transfer(node.getContext(), account.getAddress(), account.getAddress(), "1");
+            CompletableFuture<Response> first = account.submitAsync(msg, "0.01", "200000", "").toCompletableFuture();
+            CompletableFuture<Response> second = account.submitAsync(msg, "0.01", "200000", "").toCompletableFuture();
+            try {
+                second.get(5, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(RequestNotSentException.isCause(e));
+            }
+            Assert.assertEquals(0, first.get(5, TimeUnit.SECONDS).getCode());
+            Assert.assertEquals(1, account.getSequenceManager().peek(account.getAddress()));
+        } finally {
+            oneConnection.close();
+        }
+    }
+
+    @Test
+    public void rejectsSignaturesForAnotherChain() {
+        Account account = new Account(node.getContext().toBuilder().chainID("other-1").build());
+
+        Message msg = TokenMessages.transfer(node.getContext(), account.getAddress(), account.getAddress(), "1");
+        JSONObject result = account.submit(msg, "0.01", "200000", "");
+        Assert.assertEquals(4, result.getIntValue("code"));
+        Assert.assertEquals(0, node.getAccount(account.getAddress()).getSequence());
+        // the node expects the sequence that was sent, so the tx is not signed again
+        Assert.assertEquals(1, node.getBroadcastCount());
+    }
+
+    @Test
+    public void syncTxsCanBeLookedUp() throws Exception {
+        Account account = new Account(node.getContext());
+        Message msg = TokenMessages.transfer(node.getContext(), account.getAddress(), account.getAddress(), "1");
+        JSONObject result = account.submit(msg, "0.01", "200000", "", BroadcastMode.SYNC);
+        Assert.assertEquals(0, result.getLongValue("height"));
+
+        String body = account.getTransport().get(node.getContext().getTxUrl() + "/" + result.getString("txhash"));
+        Response committed = Response.fromJson(body);
+        Assert.assertEquals(1, committed.getHeight());
+        Assert.assertEquals(result.getString("txhash"), committed.getTxhash());
+    }
+
+    @Test
+    public void reportsOrderIDs() throws Exception {
+        Account account = new Account(node.getContext());
+        Message msg = OrderMessages.newOrders(account.getAddress(),
+                Collections.singletonList(new OrderItem("1.0", "btc_okt", "1", "BUY")));
+        JSONObject result = account.submit(msg, "0.01", "200000", "");
+        Assert.assertArrayEquals(new String[]{"ID0000000001-1"},
+                MsgNewOrders.parseOrderIDs(account.getMatchedAttribute(result, "orders")));
+    }
+
+    @Test
+    public void numbersOrderIDsAcrossTheMessagesOfATx() {
+        Account account = new Account(node.getContext());
+        String address = account.getAddress();
+        Message[] msgs = {
+                OrderMessages.cancelOrders(address, new String[]{"ID0000000009-1", "ID0000000009-2"}),
+                OrderMessages.newOrders(address, Collections.singletonList(new OrderItem("1.0", "btc_okt", "1", "BUY"))),
+                OrderMessages.newOrders(address, Arrays.asList(
+                        new OrderItem("1.1", "btc_okt", "1", "BUY"),
+                        new OrderItem("1.2", "btc_okt", "1", "BUY")))};
+        JSONObject result = account.submit(msgs, "0.01", "400000", "", BroadcastMode.BLOCK);
+        EventIndex events = Response.fromMap(result).getEvents();
+
+        Assert.assertArrayEquals(new String[]{"ID0000000009-1", "ID0000000009-2"},
+                MsgNewOrders.parseOrderIDs(events.first(0, "orders")));
+        Assert.assertArrayEquals(new String[]{"ID0000000001-1"}, MsgNewOrders.parseOrderIDs(events.first(1, "orders")));
+        Assert.assertArrayEquals(new String[]{"ID0000000001-2", "ID0000000001-3"},
+                MsgNewOrders.parseOrderIDs(events.first(2, "orders")));
+    }
+
+    @Test
+    public void injectsFailures() {
+        Account account = new Account(node.getContext());
+        Message msg = TokenMessages.transfer(node.getContext(), account.getAddress(), account.getAddress(), "1");
+
+        node.setRejectRate(1);
+        Assert.assertEquals(5, account.submit(msg, "0.01", "200000", "").getIntValue("code"));
+        node.setRejectRate(0);
+
+        node.setDropRate(1);
+        Assert.assertTrue(account.submit(msg, "0.01", "200000", "").isEmpty());
+        node.setDropRate(0);
+
+        Assert.assertEquals(0, account.submit(msg, "0.01", "200000", "").getIntValue("code"));
+        Assert.assertEquals(1, node.getRejectedCount());
+    }
+}
@@ -0,0 +1,213 @@
+package com.okexchain.client;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.order.MsgNewOrdersValue;
+import com.okexchain.msg.order.OrderItem;
+import com.okexchain.msg.order.OrderMessages;
+import com.okexchain.msg.tx.BroadcastTx;
+import com.okexchain.utils.encoding.CodecInstance;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+public class OrderBatcherTest {
+
+    /**
+     * Commits every tx like a node in "block" mode and gives the new orders increasing IDs. Cancels report
+     * the cancelled IDs in an "orders" attribute too, like the order module does.
+     */
+    private static class OrderNode extends StubNode {
+        final List<List<String>> txTypes = new ArrayList<>();
+        int nextID;
+        int failAt = -1;
+        boolean rejectAll;
+        boolean down;
+
+        @Override
+        @SuppressWarnings("unchecked")
+        protected String answer(BroadcastTx broadcast, String json) throws IOException {
+            if (down) {
+                throw new IOException("connection reset");
+            }
+            Map<String, Object> tx = (Map<String, Object>) CodecInstance.getCodec().toMap(json).get("tx");
+            List<String> types = new ArrayList<>();
+            JSONArray logs = new JSONArray();
+            List<Map<String, Object>> msgs = (List<Map<String, Object>>) tx.get("msg");
+            for (int i = 0; i < msgs.size(); i++) {
+                String type = (String) msgs.get(i).get("type");
+                types.add(type);
+                JSONArray attributes = new JSONArray();
+                if (type.equals(OrderMessages.NEW)) {
+                    Map<String, Object> value = (Map<String, Object>) msgs.get(i).get("value");
+                    JSONArray orders = new JSONArray();
+                    for (Object ignored : (List<Object>) value.get("order_items")) {
+                        orders.add(new JSONObject().fluentPut("orderid", "ID" + nextID++).fluentPut("error", ""));
+                    }
+                    attributes.add(new JSONObject().fluentPut("key", "orders").fluentPut("value", orders.toJSONString()));
+                } else if (type.equals(OrderMessages.CANCEL)) {
+                    Map<String, Object> value = (Map<String, Object>) msgs.get(i).get("value");
+                    JSONArray orders = new JSONArray();
+                    for (Object orderID : (List<Object>) value.get("order_ids")) {
+                        orders.add(new JSONObject().fluentPut("orderid", orderID).fluentPut("error", ""));
+                    }
+                    attributes.add(new JSONObject().fluentPut("key", "orders").fluentPut("value", orders.toJSONString()));
+                }
+                JSONArray events = new JSONArray();
+                events.add(new JSONObject().fluentPut("type", "message").fluentPut("attributes", attributes));
+                logs.add(new JSONObject().fluentPut("msg_index", i).fluentPut("events", events));
+            }
+            int code = rejectAll || txTypes.size() == failAt ? 5 : 0;
+            txTypes.add(types);
+            return response(1, broadcast.txHash(), code, code == 0 ? logs.toJSONString() : "insufficient funds").toJSONString();
+        }
+    }
+
+    @Test
+    public void cutsIntentsIntoMessagesAndTxs() {
+        OrderBatcher batcher = new OrderBatcher(new TestAccount(new OrderNode()));
+        batcher.setMaxItemsPerMessage(3);
+        batcher.setMaxMessagesPerTx(2);
+        for (int i = 0; i < 4; i++) {
+            batcher.cancel("OLD" + i);
+        }
+        batcher.place(quotes("btc_okt", 5));
+
+        List<Message[]> txs = batcher.preview();
+        Assert.assertEquals(2, txs.size());
+        Assert.assertEquals(OrderMessages.CANCEL, txs.get(0)[0].getType());
+        Assert.assertEquals(OrderMessages.CANCEL, txs.get(0)[1].getType());
+        Assert.assertEquals(OrderMessages.NEW, txs.get(1)[0].getType());
+        Assert.assertEquals(OrderMessages.NEW, txs.get(1)[1].getType());
+    }
+
+    @Test
+    public void requoteCancelsAndPlacesInOneTx() {
+        OrderNode node = new OrderNode();
+        OrderBatcher batcher = new OrderBatcher(new TestAccount(node));
+        batcher.place(quotes("btc_okt", 2));
+        batcher.place(quotes("eth_okt", 1));
+        List<OrderBatcher.Result> results = batcher.flush();
+        Assert.assertTrue(results.get(0).isSucceed());
+        Assert.assertEquals(3, batcher.getOpenOrders().size());
+
+        batcher.requote("btc_okt", quotes("btc_okt", 2));
+        results = batcher.flush();
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals(2, node.txTypes.get(1).size());
+        Assert.assertEquals(OrderMessages.CANCEL, node.txTypes.get(1).get(0));
+        Assert.assertEquals(OrderMessages.NEW, node.txTypes.get(1).get(1));
+        Assert.assertEquals(2, results.get(0).getCancelled().size());
+        Assert.assertEquals(3, batcher.getOpenOrders().size());
+        Assert.assertTrue(batcher.getOpenOrders().containsKey("ID2"));
+        Assert.assertTrue(batcher.getOpenOrders().containsKey("ID3"));
+        Assert.assertFalse(batcher.getOpenOrders().containsKey("ID0"));
+    }
+
+    @Test
+    public void failedTxKeepsOpenOrders() {
+        OrderNode node = new OrderNode();
+        OrderBatcher batcher = new OrderBatcher(new TestAccount(node));
+        batcher.place(quotes("btc_okt", 2));
+        batcher.flush();
+
+        node.failAt = 1;
+        batcher.requote("btc_okt", quotes("btc_okt", 2));
+        List<OrderBatcher.Result> results = batcher.flush();
+        Assert.assertEquals(OrderBatcher.Status.REJECTED, results.get(0).getStatus());
+        Assert.assertTrue(results.get(0).getOrderIDs().isEmpty());
+        Assert.assertEquals(2, batcher.getOpenOrders().size());
+        Assert.assertTrue(batcher.getOpenOrders().containsKey("ID0"));
+
+        // the intents of the failed tx are sent again by the next flush
+        List<Message[]> txs = batcher.preview();
+        Assert.assertEquals(1, txs.size());
+        Assert.assertEquals(OrderMessages.CANCEL, txs.get(0)[0].getType());
+        Assert.assertEquals(OrderMessages.NEW, txs.get(0)[1].getType());
+        results = batcher.flush();
+        Assert.assertTrue(results.get(0).isSucceed());
+        Assert.assertEquals(2, results.get(0).getCancelled().size());
+        Assert.assertEquals(2, batcher.getOpenOrders().size());
+        Assert.assertFalse(batcher.getOpenOrders().containsKey("ID0"));
+        Assert.assertTrue(batcher.preview().isEmpty());
+    }
+
+    @Test
+    public void dropsRejectedIntentsAfterTheRetries() {
+        OrderNode node = new OrderNode();
+        OrderBatcher batcher = new OrderBatcher(new TestAccount(node));
+        batcher.setMaxRetries(1);
+        node.rejectAll = true;
+        batcher.place(quotes("btc_okt", 2));
+        Assert.assertTrue(batcher.flush().get(0).getDroppedOrders().isEmpty());
+
+        // the retry goes behind the order queued since
+        OrderItem fresh = new OrderItem("2.0", "eth_okt", "1", "BUY");
+        batcher.place(fresh);
+        MsgNewOrdersValue first = (MsgNewOrdersValue) batcher.preview().get(0)[0].getValue();
+        Assert.assertSame(fresh, first.getOrderItems().get(0));
+        List<OrderBatcher.Result> results = batcher.flush();
+        Assert.assertEquals(OrderBatcher.Status.REJECTED, results.get(0).getStatus());
+        Assert.assertEquals(2, results.get(0).getDroppedOrders().size());
+        Assert.assertEquals("btc_okt", results.get(0).getDroppedOrders().get(0).getProduct());
+
+        // only the fresh order is left, with one retry
+        Assert.assertEquals(1, batcher.preview().size());
+        node.rejectAll = false;
+        results = batcher.flush();
+        Assert.assertTrue(results.get(0).isSucceed());
+        Assert.assertEquals(Collections.singletonList(fresh), results.get(0).getPlaced());
+        Assert.assertTrue(batcher.preview().isEmpty());
+    }
+
+    @Test
+    public void doesNotResendTxsWithoutAnswer() {
+        OrderNode node = new OrderNode();
+        OrderBatcher batcher = new OrderBatcher(new TestAccount(node));
+        batcher.place(quotes("btc_okt", 2));
+        node.down = true;
+        List<OrderBatcher.Result> results = batcher.flush();
+        Assert.assertEquals(OrderBatcher.Status.UNKNOWN, results.get(0).getStatus());
+        Assert.assertEquals(2, results.get(0).getPlaced().size());
+        Assert.assertTrue(batcher.preview().isEmpty());
+        Assert.assertTrue(batcher.getOpenOrders().isEmpty());
+    }
+
+    @Test
+    public void takesOrderIDsFromNewOrderMessagesOnly() {
+        OrderNode node = new OrderNode();
+        OrderBatcher batcher = new OrderBatcher(new TestAccount(node));
+        batcher.setMaxItemsPerMessage(2);
+        batcher.setMaxMessagesPerTx(4);
+        batcher.place(quotes("btc_okt", 3));
+        batcher.flush();
+        Assert.assertEquals(3, batcher.getOpenOrders().size());
+
+        // two cancel messages ahead of two new order messages in one tx
+        batcher.requote("btc_okt", quotes("btc_okt", 3));
+        List<OrderBatcher.Result> results = batcher.flush();
+        Assert.assertEquals(1, results.size());
+        Assert.assertEquals(4, node.txTypes.get(1).size());
+        Assert.assertEquals(Arrays.asList("ID3", "ID4", "ID5"), results.get(0).getOrderIDs());
+        Assert.assertEquals(3, batcher.getOpenOrders().size());
+        Assert.assertEquals("1.200000000000000000", batcher.getOpenOrders().get("ID5").getPrice());
+        for (int i = 0; i < 3; i++) {
+            Assert.assertFalse(batcher.getOpenOrders().containsKey("ID" + i));
+        }
+    }
+
+    private static List<OrderItem> quotes(String product, int n) {
+        List<OrderItem> items = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            items.add(new OrderItem("1." + i, product, "1", i % 2 == 0 ? "BUY" : "SELL"));
+        }
+        return items;
+    }
+}
@@ -0,0 +1,262 @@
+package com.okexchain.client;
+
+import com.okexchain.msg.common.TransferUnit;
+import com.okexchain.msg.tx.BroadcastTx;
+import com.okexchain.utils.AsyncHttpTransport;
+import com.okexchain.utils.HttpTransport;
+import com.okexchain.utils.encoding.CodecInstance;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+public class PayoutEngineTest {
+
+    private static final int RECIPIENTS = 250;
+
+    /**
+     * A node that checks the sequence of every tx against the journal and keeps the committed txs.
+     */
+    private static class FakeNode {
+        PayoutJournal journal;
+        long chainSequence;
+        // recipient -> number of payments received
+        final Map<String, Integer> paid = new HashMap<>();
+        final Map<String, String> committed = new HashMap<>();
+        int broadcasts;
+        // drop the answer, or the request, for the chunk starting at this recipient
+        int lostAnswerAt = -1;
+        int lostRequestAt = -1;
+        // commit the chunk starting at this recipient with a failure, like "block" mode does
+        int failCommittedAt = -1;
+        int mismatches;
+
+        synchronized String post(String json) throws IOException {
+            broadcasts++;
+            BroadcastTx tx = BroadcastTx.fromJson(json);
+            String hash = tx.txHash();
+            PayoutJournal.Entry entry = entryOf(hash);
+            if (entry.getFirstIndex() == lostRequestAt) {
+                throw new IOException("connection reset");
+            }
+            if (committed.containsKey(hash)) {
+                return StubNode.response(0, hash, 19, "tx already in mempool").toJSONString();
+            }
+            if (entry.getSequence() != chainSequence) {
+                mismatches++;
+                return StubNode.response(0, hash, 4, "signature verification failed; verify correct account sequence " +
+                        "and chain-id; incorrect account sequence: expected " + chainSequence + ", got " + entry.getSequence())
+                        .toJSONString();
+            }
+            chainSequence++;
+            if (entry.getFirstIndex() == failCommittedAt) {
+                return StubNode.response(12, hash, 10, "insufficient funds").toJSONString();
+            }
+            committed.put(hash, json);
+            for (Map<String, Object> transfer : transfersOf(json)) {
+                String to = (String) transfer.get("to");
+                Integer n = paid.get(to);
+                paid.put(to, n == null ? 1 : n + 1);
+            }
+            if (entry.getFirstIndex() == lostAnswerAt) {
+                throw new IOException("read timed out");
+            }
+            return StubNode.response(0, hash, 0, "[]").toJSONString();
+        }
+
+        synchronized String get(String url) throws IOException {
+            String hash = url.substring(url.lastIndexOf('/') + 1);
+            if (!committed.containsKey(hash)) {
+                throw new IOException("tx not found");
+            }
+            return StubNode.response(12, hash, 0, "[]").toJSONString();
+        }
+
+        @SuppressWarnings("unchecked")
+        private static List<Map<String, Object>> transfersOf(String json) {
+            Map<String, Object> tx = (Map<String, Object>) CodecInstance.getCodec().toMap(json).get("tx");
+            Map<String, Object> msg = ((List<Map<String, Object>>) tx.get("msg")).get(0);
+            return (List<Map<String, Object>>) ((Map<String, Object>) msg.get("value")).get("transfers");
+        }
+
+        private PayoutJournal.Entry entryOf(String hash) {
+            for (PayoutJournal.Entry entry : journal.getEntries()) {
+                if (entry.getTxHash().equals(hash)) {
+                    return entry;
+                }
+            }
+            throw new IllegalStateException("tx broadcast before it was journaled");
+        }
+    }
+
+    private static class FakeTransport extends HttpTransport {
+        final FakeNode node;
+
+        FakeTransport(FakeNode node) {
+            this.node = node;
+        }
+
+        @Override
+        public String get(String url) throws IOException {
+            return node.get(url);
+        }
+
+        @Override
+        public String post(String url, String json) throws IOException {
+            return node.post(json);
+        }
+    }
+
+    private static class FakeAsyncTransport extends AsyncHttpTransport {
+        final FakeNode node;
+
+        FakeAsyncTransport(FakeNode node) {
+            this.node = node;
+        }
+
+        @Override
+        public CompletableFuture<String> post(String url, String json) {
+            CompletableFuture<String> future = new CompletableFuture<>();
+            try {
+                future.complete(node.post(json));
+            } catch (IOException e) {
+                future.completeExceptionally(e);
+            }
+            return future;
+        }
+    }
+
+    private File file;
+    private FakeNode node;
+
+    @Before
+    public void setUp() throws IOException {
+        file = File.createTempFile("payout", ".journal");
+        file.delete();
+        node = new FakeNode();
+    }
+
+    @After
+    public void tearDown() {
+        file.delete();
+    }
+
+    @Test
+    public void paysEveryRecipientOnceAndResumes() throws Exception {
+        PayoutEngine.Report report = run(0);
+        Assert.assertTrue(report.isComplete());
+        Assert.assertEquals(3, report.getSent().size());
+        Assert.assertEquals(3, node.chainSequence);
+        assertPaidOnce();
+
+        int broadcasts = node.broadcasts;
+        report = run(node.chainSequence);
+        Assert.assertEquals(RECIPIENTS, report.getSkipped());
+        Assert.assertTrue(report.getSent().isEmpty());
+        Assert.assertEquals(broadcasts, node.broadcasts);
+    }
+
+    @Test
+    public void resignsAfterSequenceMismatch() throws Exception {
+        // the account sent txs elsewhere, the local sequence is behind
+        node.chainSequence = 5;
+        PayoutEngine.Report report = run(0);
+        Assert.assertTrue(report.isComplete());
+        Assert.assertEquals(8, node.chainSequence);
+        assertPaidOnce();
+    }
+
+    @Test
+    public void lostAnswerIsResolvedFromTheNode() throws Exception {
+        node.lostAnswerAt = 100;
+        PayoutEngine.Report report = run(0);
+        Assert.assertEquals(1, report.getUnresolved().size());
+        Assert.assertEquals(100, report.getUnresolved().get(0).getFirstIndex());
+        assertPaidOnce();
+
+        node.lostAnswerAt = -1;
+        report = run(node.chainSequence);
+        Assert.assertTrue(report.isComplete());
+        Assert.assertEquals(RECIPIENTS, report.getSkipped());
+        assertPaidOnce();
+    }
+
+    @Test
+    public void failedCommitKeepsItsSequence() throws Exception {
+        node.failCommittedAt = 0;
+        PayoutEngine.Report report = run(0);
+        Assert.assertEquals(1, report.getFailed().size());
+        Assert.assertEquals(0, report.getFailed().get(0).getFirstIndex());
+        Assert.assertEquals(2, report.getSent().size());
+        Assert.assertEquals(3, node.chainSequence);
+        Assert.assertEquals(0, node.mismatches);
+    }
+
+    @Test
+    public void lostRequestIsPaidOnResume() throws Exception {
+        node.lostRequestAt = 100;
+        PayoutEngine.Report report = run(0);
+        Assert.assertEquals(1, report.getUnresolved().size());
+        Assert.assertEquals(150, paidCount());
+
+        node.lostRequestAt = -1;
+        report = run(node.chainSequence);
+        Assert.assertTrue(report.isComplete());
+        Assert.assertEquals(1, report.getSent().size());
+        assertPaidOnce();
+    }
+
+    private PayoutEngine.Report run(long sequence) throws Exception {
+        try (PayoutJournal journal = new PayoutJournal(file)) {
+            node.journal = journal;
+            TestAccount account = new TestAccount(new FakeTransport(node), sequence);
+            account.setAsyncTransport(new FakeAsyncTransport(node));
+            PayoutEngine engine = new PayoutEngine(account, journal);
+            engine.setMaxRecipients(100);
+            try {
+                return engine.run(recipients());
+            } finally {
+                account.getAsyncTransport().close();
+            }
+        }
+    }
+
+    private static Iterator<TransferUnit> recipients() {
+        StringBuilder csv = new StringBuilder("# address,amount\n");
+        for (int i = 0; i < RECIPIENTS; i++) {
+            csv.append(String.format("0x%040x", i + 1)).append(',').append(i % 7 + 1).append(".5\n");
+        }
+        return PayoutEngine.readCsv(new StringReader(csv.toString()), "okt");
+    }
+
+    private void assertPaidOnce() {
+        Assert.assertEquals(RECIPIENTS, node.paid.size());
+        for (Integer n : node.paid.values()) {
+            Assert.assertEquals(1, n.intValue());
+        }
+    }
+
+    private int paidCount() {
+        return node.paid.size();
+    }
+
+    @Test
+    public void readsCsv() {
+        Iterator<TransferUnit> units = PayoutEngine.readCsv(new StringReader(
+                "\n# comment\nex1s0vrf96rrsknl64jj65lhf89ltwj7lksr7m3r9, 2\nex1s0vrf96rrsknl64jj65lhf89ltwj7lksr7m3r9,0.25,usdk\n"), "okt");
+        TransferUnit first = units.next();
+        Assert.assertEquals("{\"coins\":[{\"amount\":\"2.000000000000000000\",\"denom\":\"okt\"}],\"to\":\"ex1s0vrf96rrsknl64jj65lhf89ltwj7lksr7m3r9\"}",
+                CodecInstance.getCodec().toJson(first));
+        Assert.assertEquals("usdk", units.next().getCoins().get(0).getDenom());
+        Assert.assertFalse(units.hasNext());
+    }
+}
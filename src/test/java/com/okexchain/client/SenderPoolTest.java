@@ -0,0 +1,106 @@
+package com.okexchain.client;
+
+import com.okexchain.msg.MsgBase;
+import com.okexchain.msg.token.MsgSend;
+import com.okexchain.msg.token.TokenMessages;
+import com.okexchain.msg.tx.Response;
+import com.okexchain.utils.crypto.PrivateKey;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class SenderPoolTest {
+
+    private static final String[] PRIVATE_KEYS = {
+            "2c999c5afe7f0c902846e1b286fed29c5c5914998655d469568560955abe0d5d",
+            "1111111111111111111111111111111111111111111111111111111111111111",
+            "2222222222222222222222222222222222222222222222222222222222222222"};
+
+    private MockNode node;
+    private SenderPool pool;
+
+    @Before
+    public void setUp() throws Exception {
+        node = new MockNode().start();
+        List<MsgBase> accounts = new ArrayList<>();
+        for (String key : PRIVATE_KEYS) {
+            MsgBase account = new MsgBase();
+            account.setContext(node.getContext());
+            account.init(new PrivateKey(key));
+            accounts.add(account);
+        }
+        pool = new SenderPool(accounts);
+    }
+
+    @After
+    public void tearDown() {
+        node.close();
+    }
+
+    @Test
+    public void spreadsTxsOverTheLeastLoadedLanes() throws Exception {
+        node.setLatency(300, 300);
+        SenderPool.MessageBuilder transfer = lane ->
+                TokenMessages.transfer(node.getContext(), lane.getAddress(), lane.getAddress(), "1");
+
+        List<CompletionStage<Response>> results = new ArrayList<>();
+        Set<String> senders = new HashSet<>();
+        for (int i = 0; i < PRIVATE_KEYS.length; i++) {
+            results.add(pool.submit(lane -> {
+                senders.add(lane.getAddress());
+                return transfer.build(lane);
+            }, "0.01", "200000", ""));
+        }
+        // every lane has one tx in flight, so each got one
+        Assert.assertEquals(PRIVATE_KEYS.length, senders.size());
+        Assert.assertEquals(PRIVATE_KEYS.length, pool.getInFlight());
+        for (SenderPool.Lane lane : pool.getLanes()) {
+            Assert.assertEquals(1, lane.getInFlight());
+        }
+
+        results.add(pool.submit(transfer, "0.01", "200000", ""));
+        Assert.assertEquals(PRIVATE_KEYS.length + 1, pool.getInFlight());
+
+        for (CompletionStage<Response> result : results) {
+            Assert.assertEquals(0, result.toCompletableFuture().get(5, TimeUnit.SECONDS).getCode());
+        }
+        Assert.assertEquals(0, pool.getInFlight());
+        long submitted = 0;
+        for (SenderPool.Lane lane : pool.getLanes()) {
+            submitted += lane.getSubmitted();
+            Assert.assertEquals(lane.getSubmitted(), node.getAccount(lane.getAddress()).getSequence());
+        }
+        Assert.assertEquals(PRIVATE_KEYS.length + 1, submitted);
+    }
+
+    @Test
+    public void failedBuildsLeaveNothingInFlight() throws Exception {
+        CompletionStage<Response> result = pool.submit(lane -> {
+            throw new IllegalStateException("no message");
+        }, "0.01", "200000", "");
+        try {
+            result.toCompletableFuture().get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof IllegalStateException);
+        }
+        Assert.assertEquals(0, pool.getInFlight());
+    }
+
+    @Test
+    public void lanesBindMessageObjectsToTheirAccount() {
+        SenderPool.Lane lane = pool.getLanes().get(1);
+        MsgSend send = lane.as(MsgSend.class);
+        Assert.assertEquals(lane.getAddress(), send.getAddress());
+        Assert.assertSame(lane.getAccount().getSequenceManager(), send.getSequenceManager());
+    }
+}
@@ -0,0 +1,76 @@
+package com.okexchain.client;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class SequenceManagerTest {
+
+    private static class StubFetcher extends AccountFetcher {
+        final AtomicInteger calls = new AtomicInteger();
+        long sequence;
+
+        StubFetcher(long sequence) {
+            this.sequence = sequence;
+        }
+
+        @Override
+        public AccountInfo fetch(String address) throws IOException {
+            calls.incrementAndGet();
+            return new AccountInfo(address, 7, sequence);
+        }
+    }
+
+    @Test
+    public void allocatesLocallyAfterFirstLoad() throws IOException {
+        StubFetcher fetcher = new StubFetcher(10);
+        SequenceManager manager = new SequenceManager(fetcher);
+        Assert.assertEquals(10, manager.next("ex1a"));
+        Assert.assertEquals(11, manager.next("ex1a"));
+        Assert.assertEquals(12, manager.next("ex1a"));
+        Assert.assertEquals(1, fetcher.calls.get());
+    }
+
+    @Test
+    public void releaseOnlyUndoesTheLastAllocation() throws IOException {
+        SequenceManager manager = new SequenceManager(new StubFetcher(0));
+        manager.seed("ex1a", 5);
+        long first = manager.next("ex1a");
+        long second = manager.next("ex1a");
+        Assert.assertFalse(manager.release("ex1a", first));
+        Assert.assertTrue(manager.release("ex1a", second));
+        Assert.assertEquals(6, manager.peek("ex1a"));
+    }
+
+    @Test
+    public void recoverUsesExpectedSequenceFromLog() throws IOException {
+        StubFetcher fetcher = new StubFetcher(3);
+        SequenceManager manager = new SequenceManager(fetcher);
+        manager.seed("ex1a", 9);
+        Assert.assertTrue(manager.recover("ex1a", "invalid nonce; got 9, expected 4: invalid sequence", 9));
+        Assert.assertEquals(4, manager.peek("ex1a"));
+        Assert.assertEquals(0, fetcher.calls.get());
+
+        Assert.assertTrue(manager.recover("ex1a", "unauthorized: signature verification failed; verify correct account sequence"
+                + " (expected 6) and chain-id (okexchain-1)", 4));
+        Assert.assertEquals(6, manager.peek("ex1a"));
+
+        Assert.assertFalse(manager.recover("ex1a", "insufficient fee", 6));
+        Assert.assertEquals(0, fetcher.calls.get());
+    }
+
+    @Test
+    public void signatureFailuresWithoutAnotherSequenceAreNotMismatches() {
+        StubFetcher fetcher = new StubFetcher(3);
+        SequenceManager manager = new SequenceManager(fetcher);
+        manager.seed("ex1a", 6);
+        Assert.assertFalse(manager.recover("ex1a", "unauthorized: signature verification failed; verify correct account sequence"
+                + " and chain-id", 5));
+        Assert.assertFalse(manager.recover("ex1a", "unauthorized: signature verification failed; verify correct account sequence"
+                + " (expected 5) and chain-id (okexchain-1)", 5));
+        Assert.assertEquals(6, manager.peek("ex1a"));
+        Assert.assertEquals(0, fetcher.calls.get());
+    }
+}
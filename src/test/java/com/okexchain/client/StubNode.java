@@ -0,0 +1,40 @@
+package com.okexchain.client;
+
+import com.alibaba.fastjson.JSONObject;
+import com.okexchain.msg.tx.BroadcastTx;
+import com.okexchain.utils.HttpTransport;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Commits every broadcast like a node in "block" mode and keeps the urls and txs it received. Tests
+ * override {@link #answer} to reject txs or to fake the logs of a module.
+ */
+public class StubNode extends HttpTransport {
+
+    public final List<String> urls = Collections.synchronizedList(new ArrayList<>());
+    public final List<BroadcastTx> txs = Collections.synchronizedList(new ArrayList<>());
+
+    @Override
+    public String post(String url, String json) throws IOException {
+        urls.add(url);
+        BroadcastTx tx = BroadcastTx.fromJson(json);
+        txs.add(tx);
+        return answer(tx, json);
+    }
+
+    /**
+     * Answers the tx, which is the last one of {@link #txs}, with the height the tx count.
+     */
+    protected String answer(BroadcastTx tx, String json) throws IOException {
+        return response(txs.size(), tx.txHash(), 0, "[]").toJSONString();
+    }
+
+    public static JSONObject response(long height, String txHash, int code, String rawLog) {
+        return new JSONObject().fluentPut("height", String.valueOf(height)).fluentPut("txhash", txHash)
+                .fluentPut("code", code).fluentPut("raw_log", rawLog);
+    }
+}
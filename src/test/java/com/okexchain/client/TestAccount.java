@@ -0,0 +1,42 @@
+package com.okexchain.client;
+
+import com.okexchain.env.ChainContext;
+import com.okexchain.msg.MsgBase;
+import com.okexchain.utils.HttpTransport;
+import com.okexchain.utils.crypto.Crypto;
+import com.okexchain.utils.crypto.Signer;
+
+/**
+ * An account of a fixed key with account number 1 and a local sequence, so it never asks a node for them.
+ */
+public class TestAccount extends MsgBase {
+
+    public static final String PRIVATE_KEY = "2c999c5afe7f0c902846e1b286fed29c5c5914998655d469568560955abe0d5d";
+
+    public TestAccount(HttpTransport transport) {
+        this(transport, 0);
+    }
+
+    public TestAccount(HttpTransport transport, long sequence) {
+        this(null, transport, sequence);
+    }
+
+    /**
+     * The account takes the prefix, the transport and the sequences of the context.
+     */
+    public TestAccount(ChainContext context) {
+        this(context, null, 0);
+    }
+
+    private TestAccount(ChainContext context, HttpTransport transport, long sequence) {
+        if (context != null) {
+            setContext(context);
+        } else {
+            setTransport(transport);
+            setSequenceManager(new SequenceManager(new AccountFetcher()));
+        }
+        priKeyString = PRIVATE_KEY;
+        signer = new Signer(PRIVATE_KEY);
+        init(Crypto.generatePubKeyHexFromPriv(PRIVATE_KEY), "1", String.valueOf(sequence));
+    }
+}
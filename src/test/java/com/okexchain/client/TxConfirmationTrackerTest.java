@@ -0,0 +1,129 @@
+package com.okexchain.client;
+
+import com.alibaba.fastjson.JSONObject;
+import com.okexchain.env.ChainContext;
+import com.okexchain.msg.MsgBase;
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.token.TokenMessages;
+import com.okexchain.msg.tx.BroadcastMode;
+import com.okexchain.msg.tx.Response;
+import com.okexchain.utils.AsyncHttpTransport;
+import com.okexchain.utils.crypto.PrivateKey;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Consumer;
+
+public class TxConfirmationTrackerTest {
+
+    private static final String PRIVATE_KEY = "2c999c5afe7f0c902846e1b286fed29c5c5914998655d469568560955abe0d5d";
+
+    private static class Account extends MsgBase {
+        Account(ChainContext context) {
+            setContext(context);
+            init(new PrivateKey(PRIVATE_KEY));
+        }
+    }
+
+    private MockNode node;
+    private TxConfirmationTracker tracker;
+
+    @Before
+    public void setUp() throws Exception {
+        node = new MockNode().start();
+        tracker = new TxConfirmationTracker(node.getContext(), 20, 10, 500);
+    }
+
+    @After
+    public void tearDown() {
+        tracker.close();
+        node.close();
+    }
+
+    @Test
+    public void confirmsCommittedTxs() throws Exception {
+        String txHash = sendSync();
+        Response response = tracker.track(txHash).get(5, TimeUnit.SECONDS);
+        Assert.assertEquals(0, response.getCode());
+        Assert.assertEquals(1, response.getHeight());
+        Assert.assertEquals(0, tracker.getPendingCount());
+    }
+
+    @Test
+    public void timesOutOnUnknownTxs() throws Exception {
+        CompletableFuture<Response> future = tracker.track("00FF");
+        try {
+            future.get(5, TimeUnit.SECONDS);
+            Assert.fail();
+        } catch (ExecutionException e) {
+            Assert.assertTrue(e.getCause() instanceof TimeoutException);
+        }
+        Assert.assertEquals(0, tracker.getPendingCount());
+    }
+
+    @Test
+    public void keepsPollingAfterAFailedLookup() throws Exception {
+        String txHash = sendSync();
+        node.setDropRate(1);
+        CompletableFuture<Response> future = tracker.track(txHash);
+        Thread.sleep(100);
+        Assert.assertFalse(future.isDone());
+
+        node.setDropRate(0);
+        Assert.assertEquals(0, future.get(5, TimeUnit.SECONDS).getCode());
+    }
+
+    @Test
+    public void looksUpWithATransportOfItsOwn() throws Exception {
+        String txHash = sendSync();
+        // every lookup through the transport of the context would fail
+        AsyncHttpTransport closed = new AsyncHttpTransport();
+        closed.close();
+        ChainContext context = node.getContext().toBuilder().asyncTransport(closed).build();
+        TxConfirmationTracker own = new TxConfirmationTracker(context, 20, 10, 500);
+        try {
+            Assert.assertEquals(0, own.track(txHash).get(5, TimeUnit.SECONDS).getCode());
+        } finally {
+            own.close();
+        }
+    }
+
+    @Test
+    public void failingListenerDoesNotStopTheOthers() throws Exception {
+        String txHash = sendSync();
+        CompletableFuture<String> confirmed = new CompletableFuture<>();
+        tracker.track(txHash, listener(hash -> {
+            throw new IllegalStateException("listener bug");
+        }));
+        tracker.track(txHash, listener(confirmed::complete));
+        Assert.assertEquals(txHash, confirmed.get(5, TimeUnit.SECONDS));
+        Assert.assertEquals(0, tracker.getPendingCount());
+    }
+
+    private static TxConfirmationTracker.Listener listener(Consumer<String> onConfirmed) {
+        return new TxConfirmationTracker.Listener() {
+            @Override
+            public void onConfirmed(String txHash, Response response) {
+                onConfirmed.accept(txHash);
+            }
+
+            @Override
+            public void onFailed(String txHash, Response response, Throwable error) {
+            }
+        };
+    }
+
+    private String sendSync() {
+        Account account = new Account(node.getContext());
+        Message msg = TokenMessages.transfer(node.getContext(), account.getAddress(), account.getAddress(), "1");
+        JSONObject result = account.submit(msg, "0.01", "200000", "", BroadcastMode.SYNC);
+        Assert.assertEquals(0, result.getIntValue("code"));
+        return result.getString("txhash");
+    }
+}
@@ -0,0 +1,101 @@
+package com.okexchain.client;
+
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.common.Token;
+import com.okexchain.msg.token.MsgSendValue;
+import com.okexchain.msg.tx.BroadcastTx;
+import com.okexchain.utils.crypto.Crypto;
+import com.okexchain.utils.encoding.message.StdTxEncoder;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+public class TxPackerTest {
+
+    private static final String TO = "ex1s0vrf96rrsknl64jj65lhf89ltwj7lksr7m3r9";
+
+    @Test
+    public void packsUnderEveryLimit() {
+        TxPacker packer = new TxPacker(new TestAccount(new StubNode()), TxPacker.fixedGas(50000));
+        List<Message> messages = sends(250);
+
+        packer.setMaxGas(Long.MAX_VALUE);
+        packer.setMaxMessages(100);
+        assertPacks(packer.pack(messages), 100, 100, 50);
+
+        packer.setMaxGas(50000 * 30);
+        assertPacks(packer.pack(messages), 30, 30, 30, 30, 30, 30, 30, 30, 10);
+
+        int size = StdTxEncoder.messageSize(messages.get(0));
+        packer.setMaxBytes(TxPacker.TX_OVERHEAD_BYTES + size * 20);
+        List<TxPacker.Pack> packs = packer.pack(messages);
+        assertPacks(packs, 20, 20, 20, 20, 20, 20, 20, 20, 20, 20, 20, 20, 10);
+        Assert.assertEquals(size * 20, packs.get(0).getBytes());
+        Assert.assertEquals(240, packs.get(12).getFirstIndex());
+        Assert.assertSame(messages.get(240), packs.get(12).getMessages().get(0));
+    }
+
+    @Test
+    public void oversizedMessageIsSentAlone() {
+        TxPacker packer = new TxPacker(new TestAccount(new StubNode()), TxPacker.fixedGas(50000));
+        packer.setMaxGas(10000);
+        assertPacks(packer.pack(sends(3)), 1, 1, 1);
+    }
+
+    @Test
+    public void submitReportsTxHashOfEveryMessage() {
+        StubNode node = new StubNode();
+        TestAccount account = new TestAccount(node);
+
+        TxPacker packer = new TxPacker(account, TxPacker.fixedGas(60000));
+        packer.setMaxMessages(4);
+        List<TxPacker.Receipt> receipts = packer.submit(sends(10));
+
+        Assert.assertEquals(3, receipts.size());
+        Assert.assertEquals(3, node.txs.size());
+        for (int i = 0; i < receipts.size(); i++) {
+            TxPacker.Receipt receipt = receipts.get(i);
+            BroadcastTx tx = node.txs.get(i);
+            Assert.assertTrue(receipt.isSucceed());
+            Assert.assertEquals(tx.txHash(), receipt.getTxHash());
+            Assert.assertEquals(receipt.getCount(), tx.getTx().getMsgs().length);
+            Assert.assertEquals(String.valueOf(receipt.getGas()), tx.getTx().getFee().getGas());
+            Assert.assertEquals(1, tx.getTx().getSignatures().size());
+        }
+        Assert.assertEquals("0.012", packer.feeOf(240000));
+        Assert.assertEquals(receipts.get(0).getTxHash(), TxPacker.txHashOf(receipts, 3));
+        Assert.assertEquals(receipts.get(1).getTxHash(), TxPacker.txHashOf(receipts, 4));
+        Assert.assertEquals(receipts.get(2).getTxHash(), TxPacker.txHashOf(receipts, 9));
+        Assert.assertNull(TxPacker.txHashOf(receipts, 10));
+        Assert.assertEquals("2", account.getSequenceNum());
+    }
+
+    private static void assertPacks(List<TxPacker.Pack> packs, int... sizes) {
+        Assert.assertEquals(sizes.length, packs.size());
+        int first = 0;
+        for (int i = 0; i < sizes.length; i++) {
+            Assert.assertEquals(sizes[i], packs.get(i).size());
+            Assert.assertEquals(first, packs.get(i).getFirstIndex());
+            first += sizes[i];
+        }
+    }
+
+    private static List<Message> sends(int n) {
+        List<Message> messages = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            Token amount = new Token();
+            amount.setDenom("okt");
+            amount.setAmount("1.5");
+
+            MsgSendValue value = new MsgSendValue();
+            value.setFromAddress(Crypto.generateAddressFromPriv(TestAccount.PRIVATE_KEY));
+            value.setToAddress(TO);
+            value.setAmount(Collections.singletonList(amount));
+            messages.add(new Message<>("okexchain/token/MsgTransfer", value));
+        }
+        return messages;
+    }
+}
@@ -0,0 +1,124 @@
+package com.okexchain.env;
+
+import com.okexchain.client.StubNode;
+import com.okexchain.client.TestAccount;
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.common.TransferUnit;
+import com.okexchain.msg.token.MsgSendValue;
+import com.okexchain.msg.token.TokenMessages;
+import com.okexchain.utils.HttpTransport;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class ChainContextTest {
+
+    private static ChainContext chain(String url, String chainID, String prefix, HttpTransport transport) {
+        return ChainContext.builder()
+                .restServerUrl(url)
+                .chainID(chainID)
+                .mainPrefix(prefix)
+                .validatorAddrPrefix(prefix + "valoper")
+                .denom(prefix + "t")
+                .transport(transport)
+                .build();
+    }
+
+    @Test
+    public void accountsFollowTheirContext() {
+        StubNode mainNode = new StubNode();
+        StubNode testNode = new StubNode();
+        TestAccount main = new TestAccount(chain("http://main", "main-1", "ex", mainNode));
+        TestAccount test = new TestAccount(chain("http://test", "test-65", "tx", testNode));
+
+        Assert.assertTrue(main.getAddress().startsWith("ex1"));
+        Assert.assertTrue(test.getAddress().startsWith("tx1"));
+        Assert.assertTrue(test.getOperAddress().startsWith("txvaloper1"));
+
+        Message msg = TokenMessages.transfer(test.getContext(), test.getAddress(), test.getAddress(), "1");
+        String signBytes = new String(test.getUnsignedTx(msg, "0.01", "200000", "").getSignBytes(), StandardCharsets.UTF_8);
+        Assert.assertTrue(signBytes.contains("\"chain_id\":\"test-65\""));
+        Assert.assertTrue(signBytes.contains("\"denom\":\"txt\""));
+
+        test.submit(msg, "0.01", "200000", "");
+        Assert.assertEquals(Collections.singletonList("http://test/okexchain/v1/txs"), testNode.urls);
+        Assert.assertTrue(mainNode.urls.isEmpty());
+    }
+
+    @Test
+    public void hexRecipientsTakeThePrefixOfTheContext() {
+        ChainContext test = chain("http://test", "test-65", "tx", new StubNode());
+        Message<MsgSendValue> msg = TokenMessages.transfer(test, "tx1from",
+                "0x83D83497431C2D3FEab296a9fba4e5FaDD2f7eD0", "1");
+        Assert.assertTrue(msg.getValue().toString().contains("to_address=tx1"));
+
+        MsgSendValue value = new MsgSendValue();
+        value.setToAddress(test, "0x83D83497431C2D3FEab296a9fba4e5FaDD2f7eD0");
+        Assert.assertTrue(value.toString().contains("to_address=tx1"));
+        TransferUnit unit = new TransferUnit();
+        unit.setTo(test, "0x83D83497431C2D3FEab296a9fba4e5FaDD2f7eD0");
+        Assert.assertTrue(unit.getTo().startsWith("tx1"));
+        unit.setTo(test, "ex1s0vrf96rrsknl64jj65lhf89ltwj7lksr7m3r9");
+        Assert.assertEquals("ex1s0vrf96rrsknl64jj65lhf89ltwj7lksr7m3r9", unit.getTo());
+    }
+
+    @Test
+    public void contextsRunInParallel() throws Exception {
+        final StubNode[] nodes = {new StubNode(), new StubNode()};
+        final ChainContext[] chains = {
+                chain("http://main", "main-1", "ex", nodes[0]),
+                chain("http://test", "test-65", "tx", nodes[1])
+        };
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                final ChainContext context = chains[t % 2];
+                results.add(pool.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        TestAccount account = new TestAccount(context);
+                        for (int i = 0; i < 20; i++) {
+                            Message msg = TokenMessages.transfer(context, account.getAddress(), account.getAddress(), "1");
+                            String signBytes = new String(account.getUnsignedTx(msg, "0.01", "200000", "")
+                                    .getSignBytes(), StandardCharsets.UTF_8);
+                            if (!signBytes.contains("\"chain_id\":\"" + context.getChainID() + "\"")) {
+                                return false;
+                            }
+                            account.submit(msg, "0.01", "200000", "");
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+        Assert.assertEquals(40, nodes[0].urls.size());
+        Assert.assertEquals(40, nodes[1].urls.size());
+        Assert.assertFalse(nodes[0].urls.contains("http://test/okexchain/v1/txs"));
+        Assert.assertFalse(nodes[1].urls.contains("http://main/okexchain/v1/txs"));
+    }
+
+    @Test
+    public void envSnapshotFollowsItsSetters() {
+        EnvBase env = new EnvBase();
+        ChainContext before = env.toContext();
+        Assert.assertSame(before, env.toContext());
+
+        env.setChainID("okexchain-65");
+        Assert.assertEquals("okexchain-65", env.toContext().getChainID());
+        Assert.assertEquals("okexchain-1", before.getChainID());
+    }
+}
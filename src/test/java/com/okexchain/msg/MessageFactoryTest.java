@@ -0,0 +1,75 @@
+package com.okexchain.msg;
+
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.farm.FarmMessages;
+import com.okexchain.msg.farm.MsgLock;
+import com.okexchain.msg.staking.MsgCreateValidator;
+import com.okexchain.msg.token.MsgSend;
+import com.okexchain.msg.token.TokenMessages;
+import com.okexchain.utils.encoding.CodecInstance;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+public class MessageFactoryTest {
+
+    private static final String FROM = "ex1s0vrf96rrsknl64jj65lhf89ltwj7lksr7m3r9";
+
+    @Test
+    public void msgTypeBelongsToTheObject() {
+        MsgSend send = new MsgSend();
+        new MsgLock();
+        Assert.assertEquals(TokenMessages.TRANSFER, send.getMsgType());
+        Assert.assertEquals(TokenMessages.TRANSFER, send.produceSendMsg("okt", "1", FROM).getType());
+
+        // a type set on one object is kept by its messages only
+        MsgCreateValidator validator = new MsgCreateValidator();
+        validator.setMsgType("cosmos-sdk/MsgCreateValidator");
+        Assert.assertEquals("cosmos-sdk/MsgCreateValidator", validator.produceMsg().getType());
+        Assert.assertEquals(TokenMessages.TRANSFER, send.produceSendMsg("okt", "1", FROM).getType());
+    }
+
+    @Test
+    public void factoriesBuildTheSameMessages() {
+        MsgSend send = new MsgSend();
+        Message produced = send.produceSendMsg("okt", "1.5", FROM);
+        Message built = TokenMessages.transfer((String) null, FROM, "okt", "1.5");
+        Assert.assertEquals(CodecInstance.getCodec().toJson(produced), CodecInstance.getCodec().toJson(built));
+    }
+
+    @Test
+    public void buildsFromManyThreads() throws Exception {
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int t = 0; t < 8; t++) {
+                final boolean lock = t % 2 == 0;
+                results.add(pool.submit(new Callable<Boolean>() {
+                    @Override
+                    public Boolean call() {
+                        for (int i = 0; i < 2000; i++) {
+                            Message msg = lock
+                                    ? FarmMessages.lock(FROM, "pool", "1", "okt")
+                                    : TokenMessages.transfer(FROM, FROM, "okt", "1");
+                            if (!msg.getType().equals(lock ? FarmMessages.LOCK : TokenMessages.TRANSFER)) {
+                                return false;
+                            }
+                        }
+                        return true;
+                    }
+                }));
+            }
+            for (Future<Boolean> result : results) {
+                Assert.assertTrue(result.get());
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+}
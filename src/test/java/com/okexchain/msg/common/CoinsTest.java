@@ -0,0 +1,66 @@
+package com.okexchain.msg.common;
+
+import com.okexchain.utils.Dec;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+
+public class CoinsTest {
+
+    @Test
+    public void sumsTokensByDenom() {
+        Coins coins = Coins.fromTokens(Arrays.asList(
+                new Token("1.5", "okt"),
+                new Token("2", "btc-000"),
+                new Token("0.5", "okt"),
+                new Token("0", "usdk-000")));
+        Assert.assertEquals("2.000000000000000000btc-000,2.000000000000000000okt", coins.toString());
+        Assert.assertEquals(Dec.valueOf(2), coins.amountOf("okt"));
+        Assert.assertEquals(2_000_000_000_000_000_000L, coins.unscaledOf("okt"));
+        Assert.assertEquals(0, coins.unscaledOf("usdk-000"));
+        Assert.assertEquals(-1, coins.indexOf("usdk-000"));
+        Assert.assertEquals("okt", coins.toTokens().get(1).getDenom());
+        Assert.assertEquals("2.000000000000000000", coins.toTokens().get(1).getAmount());
+    }
+
+    @Test
+    public void addsAndSubtractsAcrossTheLongRange() {
+        Coins small = Coins.of("okt", Dec.valueOf("5"));
+        Coins sum = small.add(small);
+        Assert.assertEquals(Dec.valueOf(10), sum.amountOf("okt"));
+        try {
+            sum.unscaledOf("okt");
+            Assert.fail();
+        } catch (ArithmeticException expected) {
+        }
+        Assert.assertEquals(small, sum.sub(small));
+        Assert.assertEquals(5_000_000_000_000_000_000L, sum.sub(small).unscaledOf("okt"));
+        Assert.assertTrue(sum.sub(sum).isEmpty());
+
+        Coins diff = small.sub(Coins.of("btc", Dec.ONE));
+        Assert.assertTrue(diff.isAnyNegative());
+        Assert.assertFalse(diff.isAllPositive());
+        Assert.assertTrue(small.isAllPositive());
+        Assert.assertFalse(Coins.EMPTY.isAllPositive());
+        Assert.assertEquals(Dec.valueOf(-1), diff.amountOf("btc"));
+    }
+
+    @Test
+    public void checksABalanceAgainstABatch() {
+        Coins balance = Coins.fromTokens(Arrays.asList(new Token("100", "okt"), new Token("1", "btc")));
+        Coins.Builder total = Coins.builder();
+        for (int i = 0; i < 1000; i++) {
+            total.add(new Token("0.1", "okt"));
+        }
+        Coins spent = total.build();
+        Assert.assertEquals(Dec.valueOf(100), spent.amountOf("okt"));
+        Assert.assertTrue(balance.isAllGTE(spent));
+
+        spent = spent.add(Coins.of("okt", Dec.ofUnscaled(1)));
+        Assert.assertFalse(balance.isAllGTE(spent));
+        Assert.assertFalse(balance.isAllGTE(Coins.of("eth", Dec.ONE)));
+        Assert.assertTrue(balance.isAllGTE(Coins.EMPTY));
+        Assert.assertTrue(balance.isAllGTE(balance));
+    }
+}
@@ -0,0 +1,57 @@
+package com.okexchain.msg.tx;
+
+import com.alibaba.fastjson.JSON;
+import com.alibaba.fastjson.JSONObject;
+import com.okexchain.utils.encoding.CodecInstance;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+public class ResponseTest {
+
+    private static final String BODY = "{\"height\":\"1207\",\"txhash\":\"5C0B0F7B\",\"code\":0,\"gas_wanted\":\"400000\",\"gas_used\":\"141233\"," +
+            "\"raw_log\":\"[{\\\"msg_index\\\":0,\\\"events\\\":[" +
+            "{\\\"type\\\":\\\"message\\\",\\\"attributes\\\":[{\\\"key\\\":\\\"action\\\",\\\"value\\\":\\\"cancel\\\"},{\\\"key\\\":\\\"sender\\\",\\\"value\\\":\\\"ex1a\\\"}]}]}," +
+            "{\\\"msg_index\\\":1,\\\"events\\\":[" +
+            "{\\\"type\\\":\\\"message\\\",\\\"attributes\\\":[{\\\"key\\\":\\\"action\\\",\\\"value\\\":\\\"new\\\"},{\\\"key\\\":\\\"orders\\\",\\\"value\\\":\\\"[1]\\\"}]}," +
+            "{\\\"type\\\":\\\"transfer\\\",\\\"attributes\\\":[{\\\"key\\\":\\\"amount\\\",\\\"value\\\":\\\"1okt\\\"},{\\\"key\\\":\\\"amount\\\",\\\"value\\\":\\\"2okt\\\"}]}]}]\"}";
+
+    @Test
+    public void indexesEveryMessage() {
+        Response response = Response.fromJson(BODY);
+        EventIndex events = response.getEvents();
+        Assert.assertSame(events, response.getEvents());
+        Assert.assertEquals(2, events.getMessageCount());
+
+        Assert.assertEquals("cancel", events.first(0, "action"));
+        Assert.assertEquals("new", events.first(1, "action"));
+        Assert.assertNull(events.first(0, "orders"));
+        Assert.assertEquals(Arrays.asList("1okt", "2okt"), events.get(1, "transfer", "amount"));
+        Assert.assertEquals(Collections.emptyList(), events.get(1, "message", "amount"));
+        Assert.assertEquals(Arrays.asList("cancel", "new"), events.firstOfEachMessage("action"));
+        Assert.assertEquals(Collections.singletonList("[1]"), events.firstOfEachMessage("orders"));
+    }
+
+    @Test
+    public void readsParsedResult() {
+        JSONObject result = new JSONObject(CodecInstance.getCodec().toMap(BODY));
+        Response response = Response.fromMap(result);
+        Assert.assertEquals(1207, response.getHeight());
+        Assert.assertEquals(400000, response.getGas());
+        Assert.assertEquals(141233, response.getGasUsed());
+        Assert.assertEquals("new", response.getEvents().first(1, "action"));
+
+        Assert.assertFalse(JSON.parseObject(JSON.toJSONString(response)).containsKey("events"));
+    }
+
+    @Test
+    public void errorLogHasNoEvents() {
+        Response response = new Response();
+        response.setRawLog("insufficient funds");
+        Assert.assertSame(EventIndex.EMPTY, response.getEvents());
+        response.setRawLog("[{\"events\":[{\"type\":\"message\",\"attributes\":[{\"key\":\"action\",\"value\":\"send\"}]}]}]");
+        Assert.assertEquals("send", response.getEvents().first(0, "action"));
+    }
+}
@@ -0,0 +1,95 @@
+package com.okexchain.utils;
+
+import com.okexchain.client.MockNode;
+import com.okexchain.utils.exception.RequestNotSentException;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+public class AsyncHttpTransportTest {
+
+    private MockNode node;
+    private AsyncHttpTransport transport;
+
+    @Before
+    public void setUp() throws Exception {
+        node = new MockNode().start();
+        transport = new AsyncHttpTransport(2, 2, 5000, 5000);
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        transport.close();
+        node.close();
+    }
+
+    @Test
+    public void boundsRequestsInFlight() throws Exception {
+        node.setLatency(300, 300);
+        String url = node.getContext().getAccountUrl("ex1a");
+        CompletableFuture<String> first = transport.get(url);
+        CompletableFuture<String> second = transport.get(url);
+        Assert.assertEquals(2, transport.getInFlight());
+
+        // the window is full, the third request waits for a permit
+        CompletableFuture<CompletableFuture<String>> third = CompletableFuture.supplyAsync(() -> transport.get(url));
+        Thread.sleep(100);
+        Assert.assertFalse(third.isDone());
+
+        Assert.assertTrue(first.get(5, TimeUnit.SECONDS).contains("ex1a"));
+        Assert.assertTrue(second.get(5, TimeUnit.SECONDS).contains("ex1a"));
+        Assert.assertTrue(third.get(5, TimeUnit.SECONDS).get(5, TimeUnit.SECONDS).contains("ex1a"));
+        Assert.assertEquals(0, transport.getInFlight());
+    }
+
+    @Test
+    public void completesOffTheReactorThreads() throws Exception {
+        String url = node.getContext().getAccountUrl("ex1a");
+        // the dependent stage waits for a request of its own, which needs a reactor thread
+        String body = transport.get(url)
+                .thenApply(first -> Thread.currentThread().getName() + " " + transport.get(url).join())
+                .get(5, TimeUnit.SECONDS);
+        Assert.assertTrue(body, body.startsWith("okexchain-async-callback "));
+        Assert.assertTrue(body.contains("ex1a"));
+    }
+
+    @Test
+    public void reportsLeaseTimeoutsAsNotSent() throws Exception {
+        node.setLatency(500, 500);
+        AsyncHttpTransport oneConnection = new AsyncHttpTransport(4, 1, 5000, 5000, 100);
+        try {
+            String url = node.getContext().getAccountUrl("ex1a");
+            CompletableFuture<String> first = oneConnection.get(url);
+            CompletableFuture<String> second = oneConnection.get(url);
+            try {
+                second.get(5, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(String.valueOf(e.getCause()), RequestNotSentException.isCause(e));
+            }
+            Assert.assertTrue(first.get(5, TimeUnit.SECONDS).contains("ex1a"));
+        } finally {
+            oneConnection.close();
+        }
+    }
+
+    @Test
+    public void releasesThePermitWhenTheRequestCanNotBeSent() throws Exception {
+        transport.close();
+        for (int i = 0; i < 3; i++) {
+            CompletableFuture<String> future = transport.get(node.getContext().getAccountUrl("ex1a"));
+            try {
+                future.get(5, TimeUnit.SECONDS);
+                Assert.fail();
+            } catch (ExecutionException e) {
+                Assert.assertTrue(RequestNotSentException.isCause(e));
+            }
+            Assert.assertEquals(0, transport.getInFlight());
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.okexchain.utils;
+
+import com.okexchain.msg.order.OrderItem;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.math.BigDecimal;
+import java.math.BigInteger;
+
+public class DecTest {
+
+    @Test
+    public void formatsLikeNewDecString() {
+        String[] values = {"0", "6", "6.5", "-0.5", "9.223372036854775807", "9.223372036854775808",
+                "-9.223372036854775808", "123456789012345678901234.000000000000000001", "0.000000000000000001"};
+        String[] expected = {"0.000000000000000000", "6.000000000000000000", "6.500000000000000000",
+                "-0.500000000000000000", "9.223372036854775807", "9.223372036854775808", "-9.223372036854775808",
+                "123456789012345678901234.000000000000000001", "0.000000000000000001"};
+        for (int i = 0; i < values.length; i++) {
+            Assert.assertEquals(expected[i], Dec.valueOf(values[i]).toString());
+            Assert.assertEquals(expected[i], Utils.NewDecString(values[i]));
+        }
+        Assert.assertTrue(Dec.valueOf("9.223372036854775807").isUnscaledLong());
+        Assert.assertFalse(Dec.valueOf("9.223372036854775808").isUnscaledLong());
+        Assert.assertTrue(Dec.valueOf("-9.223372036854775808").isUnscaledLong());
+        Assert.assertEquals(Dec.valueOf("6.5"), Dec.valueOf(new BigDecimal("6.50")));
+        Assert.assertEquals(Dec.valueOf(12), Dec.valueOf("12.0"));
+    }
+
+    @Test
+    public void rejectsInvalidDecimals() {
+        String[] invalid = {"", "-", ".5", "1.", "1.2.3", "abc", "1e5", "0.0000000000000000001"};
+        for (String value : invalid) {
+            Assert.assertEquals(value, "", Utils.NewDecString(value));
+            try {
+                Dec.valueOf(value);
+                Assert.fail(value);
+            } catch (NumberFormatException expected) {
+            }
+        }
+    }
+
+    @Test
+    public void arithmetic() {
+        Dec nine = Dec.valueOf("9");
+        Dec sum = nine.add(Dec.ONE);
+        Assert.assertFalse(sum.isUnscaledLong());
+        Assert.assertEquals("10.000000000000000000", sum.toString());
+        Assert.assertTrue(sum.sub(Dec.ONE).isUnscaledLong());
+        Assert.assertEquals(nine, sum.sub(Dec.ONE));
+
+        Assert.assertEquals(Dec.valueOf("0.75"), Dec.valueOf("1.5").mul(Dec.valueOf("0.5")));
+        Assert.assertEquals(Dec.valueOf("0.333333333333333333"), Dec.ONE.quo(Dec.valueOf(3)));
+        Assert.assertEquals(Dec.valueOf("0.666666666666666667"), Dec.valueOf(2).quo(Dec.valueOf(3)));
+        Assert.assertEquals(Dec.valueOf("-0.666666666666666667"), Dec.valueOf(-2).quo(Dec.valueOf(3)));
+        // half to even on the 18th decimal
+        Assert.assertEquals(Dec.valueOf("0.000000000000000002"),
+                Dec.valueOf("0.000000000000000005").mul(Dec.valueOf("0.5")));
+        Assert.assertEquals(Dec.valueOf("0.000000000000000004"),
+                Dec.valueOf("0.000000000000000007").mul(Dec.valueOf("0.5")));
+
+        Assert.assertEquals(Dec.valueOf("150"), Dec.valueOf("1.5").mulInt(100));
+        Assert.assertEquals(Dec.valueOf("0.015"), Dec.valueOf("1.5").quoInt(100));
+        Assert.assertEquals(Dec.ofUnscaled(BigInteger.valueOf(Long.MAX_VALUE).multiply(BigInteger.valueOf(2))),
+                Dec.ofUnscaled(Long.MAX_VALUE).mulInt(2));
+
+        Assert.assertTrue(Dec.valueOf("-1").compareTo(Dec.valueOf("0.5")) < 0);
+        Assert.assertTrue(Dec.valueOf("100").compareTo(Dec.valueOf("99.999")) > 0);
+        Assert.assertEquals(Dec.valueOf("100"), Dec.valueOf("-100").abs());
+        Assert.assertEquals(Dec.valueOf("100").hashCode(), Dec.valueOf("-100").neg().hashCode());
+    }
+
+    @Test
+    public void buildsAmounts() {
+        Dec price = Dec.valueOf("0.1");
+        OrderItem item = new OrderItem(price.mulInt(3), "btc-000_okt", Dec.ONE, "BUY");
+        Assert.assertEquals("0.300000000000000000", item.getPrice());
+        Assert.assertEquals(new OrderItem("0.3", "btc-000_okt", "1", "BUY").toString(), item.toString());
+    }
+}
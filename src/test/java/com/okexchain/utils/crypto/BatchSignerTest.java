@@ -0,0 +1,81 @@
+package com.okexchain.utils.crypto;
+
+import com.okexchain.msg.common.Signature;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class BatchSignerTest {
+
+    private static final String[] PRIVATE_KEYS = {
+            "2c999c5afe7f0c902846e1b286fed29c5c5914998655d469568560955abe0d5d",
+            "1111111111111111111111111111111111111111111111111111111111111111",
+            "2222222222222222222222222222222222222222222222222222222222222222"};
+
+    private BatchSigner batchSigner;
+
+    @Before
+    public void setUp() {
+        batchSigner = new BatchSigner(4);
+    }
+
+    @After
+    public void tearDown() {
+        batchSigner.shutdown();
+    }
+
+    @Test
+    public void returnsSignaturesInInputOrder() throws Exception {
+        Signer signer = new Signer(PRIVATE_KEYS[0]);
+        List<byte[]> payloads = payloads(101);
+        List<Signature> signatures = batchSigner.sign(signer, payloads);
+
+        Assert.assertEquals(payloads.size(), signatures.size());
+        for (int i = 0; i < payloads.size(); i++) {
+            Assert.assertEquals(String.valueOf(i), signer.sign(payloads.get(i)).toString(), signatures.get(i).toString());
+        }
+    }
+
+    @Test
+    public void signsEachPayloadWithItsSigner() throws Exception {
+        List<byte[]> payloads = payloads(30);
+        List<Signer> signers = new ArrayList<>();
+        for (int i = 0; i < payloads.size(); i++) {
+            signers.add(new Signer(PRIVATE_KEYS[i % PRIVATE_KEYS.length]));
+        }
+        List<Signature> signatures = batchSigner.sign(signers, payloads);
+
+        for (int i = 0; i < payloads.size(); i++) {
+            Assert.assertEquals(String.valueOf(i), signers.get(i).sign(payloads.get(i)).toString(), signatures.get(i).toString());
+        }
+        Assert.assertTrue(batchSigner.sign(signers.get(0), new ArrayList<byte[]>()).isEmpty());
+    }
+
+    @Test
+    public void leavesExecutorsOfTheCallerRunning() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try {
+            BatchSigner shared = new BatchSigner(executor, 2);
+            Assert.assertEquals(5, shared.sign(new Signer(PRIVATE_KEYS[0]), payloads(5)).size());
+            shared.shutdown();
+            Assert.assertFalse(executor.isShutdown());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    private static List<byte[]> payloads(int count) {
+        List<byte[]> payloads = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            payloads.add(("{\"sequence\":\"" + i + "\"}").getBytes(StandardCharsets.UTF_8));
+        }
+        return payloads;
+    }
+}
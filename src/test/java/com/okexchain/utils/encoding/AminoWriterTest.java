@@ -0,0 +1,173 @@
+package com.okexchain.utils.encoding;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.okexchain.utils.encoding.proto.Transfer;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.BufferOverflowException;
+import java.nio.ByteBuffer;
+import java.util.Random;
+
+public class AminoWriterTest {
+
+    private static final int ROUNDS = 2000;
+
+    @Test
+    public void testFuzzAgainstCodedOutputStream() throws Exception {
+        Random random = new Random(20201218);
+        for (int round = 0; round < ROUNDS; round++) {
+            ByteArrayOutputStream expected = new ByteArrayOutputStream();
+            CodedOutputStream cos = CodedOutputStream.newInstance(expected);
+            // small start so that growing is exercised too
+            AminoWriter writer = new AminoWriter(1 + random.nextInt(16));
+            int expectedSize = 0;
+
+            int ops = 1 + random.nextInt(20);
+            for (int i = 0; i < ops; i++) {
+                int number = 1 + random.nextInt(random.nextBoolean() ? 15 : 1 << 20);
+                switch (random.nextInt(6)) {
+                    case 0: {
+                        long value = randomLong(random);
+                        cos.writeUInt64NoTag(value);
+                        writer.writeUvarint(value);
+                        Assert.assertEquals(CodedOutputStream.computeUInt64SizeNoTag(value), AminoWriter.varintSize(value));
+                        expectedSize += AminoWriter.varintSize(value);
+                        break;
+                    }
+                    case 1: {
+                        long value = randomLong(random);
+                        if (value != 0) {
+                            cos.writeUInt64(number, value);
+                        }
+                        writer.writeUInt64(number, value);
+                        expectedSize += AminoWriter.uint64FieldSize(number, value);
+                        break;
+                    }
+                    case 2: {
+                        String value = randomString(random);
+                        cos.writeString(number, value);
+                        writer.writeStringElement(number, value);
+                        Assert.assertEquals(CodedOutputStream.computeStringSize(number, value),
+                                AminoWriter.bytesFieldSize(number, AminoWriter.utf8Size(value)));
+                        expectedSize += AminoWriter.bytesFieldSize(number, AminoWriter.utf8Size(value));
+                        break;
+                    }
+                    case 3: {
+                        byte[] value = new byte[random.nextInt(300)];
+                        random.nextBytes(value);
+                        cos.writeByteArray(number, value);
+                        writer.writeElement(number, value);
+                        expectedSize += AminoWriter.bytesFieldSize(number, value.length);
+                        break;
+                    }
+                    case 4: {
+                        boolean value = random.nextBoolean();
+                        if (value) {
+                            cos.writeBool(number, true);
+                        }
+                        writer.writeBool(number, value);
+                        expectedSize += AminoWriter.uint64FieldSize(number, value ? 1 : 0);
+                        break;
+                    }
+                    default: {
+                        Transfer.MsgSend msg = Transfer.MsgSend.newBuilder()
+                                .setFromAddress(ByteString.copyFrom(randomBytes(random, 20)))
+                                .setToAddress(ByteString.copyFrom(randomBytes(random, 20)))
+                                .addAmount(Transfer.Token.newBuilder().setDenom(randomString(random)).setAmount(Long.toString(random.nextLong())))
+                                .build();
+                        msg.writeTo(cos);
+                        writer.writeMessage(msg);
+                        expectedSize += msg.getSerializedSize();
+                        break;
+                    }
+                }
+            }
+            cos.flush();
+            Assert.assertEquals(Hex.toHexString(expected.toByteArray()), Hex.toHexString(writer.toByteArray()));
+            Assert.assertEquals(expectedSize, writer.position());
+        }
+    }
+
+    @Test
+    public void testFixedBufferIsNotGrown() {
+        ByteBuffer buffer = ByteBuffer.allocate(3);
+        AminoWriter writer = new AminoWriter(buffer);
+        writer.writeUvarint(300);
+        Assert.assertEquals(2, buffer.position());
+        try {
+            writer.writeUvarint(300);
+            Assert.fail("expected overflow");
+        } catch (BufferOverflowException e) {
+            Assert.assertEquals(2, buffer.position());
+        }
+    }
+
+    @Test
+    public void testDirectBuffer() throws Exception {
+        Transfer.Token token = Transfer.Token.newBuilder().setDenom("okt").setAmount("1000000000000000000").build();
+        ByteBuffer buffer = ByteBuffer.allocateDirect(64);
+        new AminoWriter(buffer).writeStringElement(1, "é").writeMessage(token);
+
+        byte[] expected = new byte[CodedOutputStream.computeStringSize(1, "é") + token.getSerializedSize()];
+        CodedOutputStream cos = CodedOutputStream.newInstance(expected);
+        cos.writeString(1, "é");
+        token.writeTo(cos);
+        Assert.assertEquals(expected.length, buffer.position());
+        byte[] actual = new byte[expected.length];
+        buffer.flip();
+        buffer.get(actual);
+        Assert.assertArrayEquals(expected, actual);
+    }
+
+    private static long randomLong(Random random) {
+        switch (random.nextInt(4)) {
+            case 0:
+                return random.nextInt(128);
+            case 1:
+                return random.nextInt() & 0xFFFFFFFFL;
+            case 2:
+                return random.nextLong() >>> random.nextInt(64);
+            default:
+                return random.nextLong();
+        }
+    }
+
+    private static byte[] randomBytes(Random random, int length) {
+        byte[] bytes = new byte[length];
+        random.nextBytes(bytes);
+        return bytes;
+    }
+
+    private static String randomString(Random random) {
+        int length = random.nextInt(40);
+        StringBuilder sb = new StringBuilder(length);
+        for (int i = 0; i < length; i++) {
+            switch (random.nextInt(6)) {
+                case 0:
+                    sb.append((char) random.nextInt(0x80));
+                    break;
+                case 1:
+                    sb.append((char) (0x80 + random.nextInt(0x780)));
+                    break;
+                case 2:
+                    sb.append((char) (0x800 + random.nextInt(0xD800 - 0x800)));
+                    break;
+                case 3:
+                    sb.appendCodePoint(0x10000 + random.nextInt(0x100000));
+                    break;
+                case 4:
+                    // lone surrogate, written as '?'
+                    sb.append((char) (0xD800 + random.nextInt(0x800)));
+                    break;
+                default:
+                    sb.append((char) (0xE000 + random.nextInt(0x2000)));
+                    break;
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,82 @@
+package com.okexchain.utils.encoding;
+
+import com.google.gson.JsonParser;
+import com.okexchain.msg.common.Data2Sign;
+import com.okexchain.msg.common.Fee;
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.common.Signature;
+import com.okexchain.msg.common.Token;
+import com.okexchain.msg.common.TxValue;
+import com.okexchain.msg.token.MsgSendValue;
+import com.okexchain.msg.tx.BroadcastMode;
+import com.okexchain.msg.tx.BroadcastTx;
+import com.okexchain.msg.tx.Response;
+import com.okexchain.msg.tx.UnsignedTx;
+import com.okexchain.utils.Utils;
+import com.okexchain.utils.crypto.Signer;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Map;
+
+public class JsonCodecTest {
+
+    private static final JsonCodec codec = new JacksonJsonCodec();
+
+    @Test
+    public void testBroadcastBodyMatchesGson() {
+        Data2Sign data = data();
+        TxValue txValue = new TxValue();
+        txValue.setMsgs(data.getMsgs());
+        txValue.setFee(data.getFee());
+        txValue.setMemo(data.getMemo());
+
+        UnsignedTx unsignedTx = new UnsignedTx(txValue, codec.toSignBytes(data), BroadcastMode.SYNC);
+        Signature signature = new Signer("2c999c5afe7f0c902846e1b286fed29c5c5914998655d469568560955abe0d5d").sign(unsignedTx.getSignBytes());
+        BroadcastTx tx = unsignedTx.signed(signature);
+
+        // same document as the gson serializer used before, only the key order differs
+        Assert.assertEquals(new JsonParser().parse(Utils.serializer.toJson(tx)), new JsonParser().parse(codec.toJson(tx)));
+    }
+
+    @Test
+    public void testSignBytesRoundTrip() {
+        String json = new String(codec.toSignBytes(data()), StandardCharsets.UTF_8);
+        Data2Sign decoded = codec.fromJson(json, Data2Sign.class);
+        Assert.assertEquals("7", decoded.getSequence());
+        Assert.assertEquals("200000", decoded.getFee().getGas());
+        Assert.assertEquals(json, new String(codec.toSignBytes(decoded), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testReadNodeResponse() {
+        String body = "{\"height\":\"1207\",\"txhash\":\"5C0B0F7B\",\"code\":5,\"codespace\":\"sdk\"," +
+                "\"raw_log\":\"insufficient funds\",\"gas_wanted\":\"200000\",\"gas_used\":\"41233\",\"logs\":[]}";
+        Response response = codec.fromJson(body, Response.class);
+        Assert.assertEquals(1207, response.getHeight());
+        Assert.assertEquals(5, response.getCode());
+        Assert.assertEquals(41233, response.getGasUsed());
+        Assert.assertEquals("insufficient funds", response.getRawLog());
+
+        Map<String, Object> map = codec.toMap(body);
+        Assert.assertEquals("[height, txhash, code, codespace, raw_log, gas_wanted, gas_used, logs]", map.keySet().toString());
+    }
+
+    private static Data2Sign data() {
+        Token amount = new Token();
+        amount.setDenom("okt");
+        amount.setAmount("1.000000000000000000");
+
+        MsgSendValue value = new MsgSendValue();
+        value.setFromAddress("okexchain1x4ctxqw6ekpvf9ewq2m6cxhfm8fvz6lxjyrn4c");
+        value.setAmount(Collections.singletonList(amount));
+
+        Fee fee = new Fee();
+        fee.setAmount(Collections.singletonList(amount));
+        fee.setGas("200000");
+        return new Data2Sign("42", "okexchain-65", fee, "memo",
+                new Message[]{new Message<>("okexchain/token/MsgTransfer", value)}, "7");
+    }
+}
@@ -0,0 +1,167 @@
+package com.okexchain.utils.encoding;
+
+import com.alibaba.fastjson.JSONArray;
+import com.alibaba.fastjson.JSONObject;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.okexchain.msg.common.Data2Sign;
+import com.okexchain.msg.common.Fee;
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.common.Token;
+import com.okexchain.msg.common.TxValue;
+import com.okexchain.msg.gov.MsgDeListProposalValue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.File;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class SignBytesEncoderTest {
+
+    private static final String[] SAMPLES = {
+            "okexchain1x4ctxqw6ekpvf9ewq2m6cxhfm8fvz6lxjyrn4c",
+            "1.000000000000000000",
+            "",
+            "quote \" backslash \\ slash /",
+            "tab\tnewline\nreturn\rbell\u0007nul\u0000del\u007f",
+            "héllo 你好   😀",
+    };
+
+    @Test
+    public void testEveryMessageTypeMatchesJackson() throws Exception {
+        List<Class<?>> types = valueClasses();
+        Assert.assertTrue("found only " + types.size() + " message types", types.size() >= 49);
+
+        for (int round = 0; round < SAMPLES.length; round++) {
+            for (Class<?> type : types) {
+                Message<Object> message = new Message<>("okexchain/" + type.getSimpleName(), fill(type, round));
+                assertSameAsJackson(type.getSimpleName(), data(new Message[]{message}, "memo " + SAMPLES[round]));
+            }
+        }
+    }
+
+    @Test
+    public void testMultiMessageTx() throws Exception {
+        List<Class<?>> types = valueClasses();
+        Message[] msgs = new Message[types.size()];
+        for (int i = 0; i < msgs.length; i++) {
+            msgs[i] = new Message<>("okexchain/" + types.get(i).getSimpleName(), fill(types.get(i), i));
+        }
+        assertSameAsJackson("all messages", data(msgs, null));
+    }
+
+    @Test
+    public void testEmptyAndNullValues() throws Exception {
+        Fee fee = new Fee();
+        fee.setAmount(Collections.<Token>emptyList());
+        fee.setGas("200000");
+        Data2Sign data = new Data2Sign("1", "okexchain-65", fee, null, new Message[]{new Message<>("okexchain/token/MsgTransfer", null)}, "0");
+        assertSameAsJackson("nulls", data);
+        Assert.assertEquals(new ObjectMapper().writeValueAsString(data), SignBytesEncoder.encodeToString(data));
+    }
+
+    private static Data2Sign data(Message[] msgs, String memo) {
+        Token amount = new Token();
+        amount.setDenom("okt");
+        amount.setAmount("0.010000000000000000");
+        Fee fee = new Fee();
+        fee.setAmount(Collections.singletonList(amount));
+        fee.setGas("200000");
+        return new Data2Sign("42", "okexchain-65", fee, memo, msgs, "7");
+    }
+
+    private static void assertSameAsJackson(String name, Object value) throws Exception {
+        byte[] expected = new ObjectMapper().writeValueAsString(value).getBytes(StandardCharsets.UTF_8);
+        byte[] actual = SignBytesEncoder.encode(value);
+        if (!Arrays.equals(expected, actual)) {
+            Assert.assertEquals(name, new String(expected, StandardCharsets.UTF_8), new String(actual, StandardCharsets.UTF_8));
+            Assert.fail(name + ": same text but different bytes");
+        }
+    }
+
+    /**
+     * All message value classes of the sdk, read from the compiled classes.
+     */
+    private static List<Class<?>> valueClasses() throws Exception {
+        File root = new File(Message.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<Class<?>> types = new ArrayList<>();
+        collect(root, new File(root, "com/okexchain/msg"), types);
+        return types;
+    }
+
+    private static void collect(File root, File dir, List<Class<?>> types) throws Exception {
+        File[] files = dir.listFiles();
+        Arrays.sort(files);
+        for (File file : files) {
+            if (file.isDirectory()) {
+                collect(root, file, types);
+            } else if (file.getName().endsWith("Value.class") && !file.getName().contains("$")) {
+                String path = file.getPath().substring(root.getPath().length() + 1);
+                Class<?> type = Class.forName(path.replace(File.separatorChar, '.').replace(".class", ""));
+                // TxValue is the body of the broadcast tx, not a message
+                if (!type.getPackage().getName().endsWith(".tx") && type != TxValue.class) {
+                    types.add(type);
+                }
+            }
+        }
+    }
+
+    private static Object fill(Class<?> type, int round) throws Exception {
+        Constructor<?> constructor = type.getDeclaredConstructor();
+        constructor.setAccessible(true);
+        Object value = constructor.newInstance();
+        int i = round;
+        for (Field field : type.getDeclaredFields()) {
+            if (Modifier.isStatic(field.getModifiers())) {
+                continue;
+            }
+            field.setAccessible(true);
+            field.set(value, sample(field.getGenericType(), i++));
+        }
+        return value;
+    }
+
+    private static Object sample(Type type, int i) throws Exception {
+        Class<?> raw;
+        if (type instanceof ParameterizedType) {
+            raw = (Class<?>) ((ParameterizedType) type).getRawType();
+        } else if (type instanceof Class) {
+            raw = (Class<?>) type;
+        } else {
+            // type variables, e.g. the content of a proposal
+            return fill(MsgDeListProposalValue.class, i);
+        }
+
+        if (raw == String.class) {
+            return SAMPLES[i % SAMPLES.length];
+        } else if (raw == boolean.class || raw == Boolean.class) {
+            return i % 2 == 0;
+        } else if (raw == String[].class) {
+            return new String[]{SAMPLES[i % SAMPLES.length], SAMPLES[(i + 1) % SAMPLES.length]};
+        } else if (raw == JSONArray.class) {
+            JSONObject change = new JSONObject(true);
+            change.put("key", "MaxGasUsedPerBlock");
+            change.put("subkey", SAMPLES[i % SAMPLES.length]);
+            change.put("subspace", "evm");
+            change.put("value", "\"1000000\"");
+            JSONArray changes = new JSONArray();
+            changes.add(change);
+            return changes;
+        } else if (List.class.isAssignableFrom(raw)) {
+            Type element = ((ParameterizedType) type).getActualTypeArguments()[0];
+            List<Object> list = new ArrayList<>();
+            list.add(sample(element, i));
+            list.add(sample(element, i + 1));
+            return list;
+        }
+        return fill(raw, i);
+    }
+}
@@ -0,0 +1,331 @@
+package com.okexchain.utils.encoding;
+
+import com.google.protobuf.ByteString;
+import com.google.protobuf.CodedOutputStream;
+import com.okexchain.msg.MsgBase;
+import com.okexchain.msg.common.Description;
+import com.okexchain.msg.common.Fee;
+import com.okexchain.msg.common.Message;
+import com.okexchain.msg.common.Signature;
+import com.okexchain.msg.common.Token;
+import com.okexchain.msg.common.TxValue;
+import com.okexchain.msg.farm.FarmMessages;
+import com.okexchain.msg.gov.GovMessages;
+import com.okexchain.msg.order.MsgNewOrdersValue;
+import com.okexchain.msg.order.OrderItem;
+import com.okexchain.msg.staking.StakingMessages;
+import com.okexchain.msg.token.MsgSendValue;
+import com.okexchain.msg.tx.BroadcastMode;
+import com.okexchain.msg.tx.BroadcastTx;
+import com.okexchain.msg.tx.UnsignedTx;
+import com.okexchain.utils.crypto.AddressUtil;
+import com.okexchain.utils.crypto.Signer;
+import com.okexchain.utils.crypto.encode.Bech32;
+import com.okexchain.utils.encoding.message.AminoEncode;
+import com.okexchain.utils.encoding.message.AminoSchemas;
+import com.okexchain.utils.encoding.message.MessageType;
+import com.okexchain.utils.encoding.message.StdTxEncoder;
+import com.okexchain.utils.encoding.proto.Transfer;
+import org.bouncycastle.util.encoders.Base64;
+import org.bouncycastle.util.encoders.Hex;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.security.MessageDigest;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class StdTxEncoderTest {
+
+    private static final String PRIVATE_KEY = "2c999c5afe7f0c902846e1b286fed29c5c5914998655d469568560955abe0d5d";
+    private static final String FROM = "ex1vnatqxr67z70lpyeq7gkrk9q668w3qn6hhzuhk";
+    private static final String TO = "ex1s0vrf96rrsknl64jj65lhf89ltwj7lksr7m3r9";
+    private static final String VALIDATOR = Bech32.encode("exvaloper", Bech32.decode(FROM).getData());
+    private static final String VALIDATOR2 = Bech32.encode("exvaloper", Bech32.decode(TO).getData());
+
+    @Test
+    public void testPrefixesMatchKnownTypes() {
+        Assert.assertArrayEquals(MessageType.StdTx.getTypePrefixBytes(), AminoSchemas.prefix("cosmos-sdk/StdTx"));
+        Assert.assertArrayEquals(MessageType.Send.getTypePrefixBytes(), AminoSchemas.prefix("okexchain/token/MsgTransfer"));
+        Assert.assertArrayEquals(MessageType.MultiSend.getTypePrefixBytes(), AminoSchemas.prefix("okexchain/token/MsgMultiTransfer"));
+        Assert.assertArrayEquals(MessageType.MultiNewOrder.getTypePrefixBytes(), AminoSchemas.prefix("okexchain/order/MsgNew"));
+        Assert.assertArrayEquals(MessageType.MultiCancelOrder.getTypePrefixBytes(), AminoSchemas.prefix("okexchain/order/MsgCancel"));
+        Assert.assertArrayEquals(MessageType.PubKey.getTypePrefixBytes(), AminoSchemas.prefix("tendermint/PubKeySecp256k1"));
+    }
+
+    @Test
+    public void testMsgSendMatchesProtoEncoding() throws Exception {
+        MsgSendValue value = new MsgSendValue();
+        value.setFromAddress(FROM);
+        value.setToAddress(TO);
+        value.setAmount(Collections.singletonList(token("6.5")));
+
+        BroadcastTx tx = sign(new Message<>("okexchain/token/MsgTransfer", value), "transfer");
+        Signature signature = tx.getTx().getSignatures().get(0);
+
+        Transfer.MsgSend msg = Transfer.MsgSend.newBuilder()
+                .setFromAddress(ByteString.copyFrom(AddressUtil.decodeAddress(FROM)))
+                .setToAddress(ByteString.copyFrom(AddressUtil.decodeAddress(TO)))
+                .addAmount(protoToken("6500000000000000000"))
+                .build();
+        Transfer.StdTransaction expected = Transfer.StdTransaction.newBuilder()
+                .addMsgs(ByteString.copyFrom(AminoEncode.encodeMsgSend(msg)))
+                .setFee(Transfer.Fee.newBuilder().addAmount(protoToken("10000000000000000")).setGas(200000))
+                .addSignatures(protoSignature(signature))
+                .setMemo("transfer")
+                .build();
+
+        Assert.assertEquals(Hex.toHexString(AminoEncode.encodeStdTransaction(expected)), Hex.toHexString(tx.toAmino()));
+    }
+
+    @Test
+    public void testNewOrdersMatchesProtoEncoding() throws Exception {
+        MsgNewOrdersValue value = new MsgNewOrdersValue();
+        value.setSender(FROM);
+        value.setNewOrderItem(Arrays.asList(
+                new OrderItem("0.1", "tbtc-cb2_okt", "1.25", "BUY"),
+                new OrderItem("0.2", "tbtc-cb2_okt", "3", "SELL")));
+
+        BroadcastTx tx = sign(new Message<>("okexchain/order/MsgNew", value), "");
+        Signature signature = tx.getTx().getSignatures().get(0);
+
+        Transfer.MsgMultiNewOrder msg = Transfer.MsgMultiNewOrder.newBuilder()
+                .setSender(ByteString.copyFrom(AddressUtil.decodeAddress(FROM)))
+                .addOrderItems(Transfer.MultiNewOrderItem.newBuilder().setProduct("tbtc-cb2_okt").setSide("BUY")
+                        .setPrice("100000000000000000").setQuantity("1250000000000000000"))
+                .addOrderItems(Transfer.MultiNewOrderItem.newBuilder().setProduct("tbtc-cb2_okt").setSide("SELL")
+                        .setPrice("200000000000000000").setQuantity("3000000000000000000"))
+                .build();
+        Transfer.StdTransaction expected = Transfer.StdTransaction.newBuilder()
+                .addMsgs(ByteString.copyFrom(AminoEncode.encodeMsgMultiNewOrder(msg)))
+                .setFee(Transfer.Fee.newBuilder().addAmount(protoToken("10000000000000000")).setGas(200000))
+                .addSignatures(protoSignature(signature))
+                .build();
+
+        Assert.assertEquals(Hex.toHexString(AminoEncode.encodeStdTransaction(expected)), Hex.toHexString(tx.toAmino()));
+    }
+
+    @Test
+    public void testEmptyDescriptionIsLeftOut() throws Exception {
+        Message msg = StakingMessages.editValidator(VALIDATOR, new Description());
+        assertMatches(msg, new Amino().bytes(2, AddressUtil.decodeAddress(VALIDATOR)));
+
+        Description description = new Description();
+        description.setMoniker("node0");
+        description.setWebsite("okex.com");
+        msg = StakingMessages.editValidator(VALIDATOR, description);
+        assertMatches(msg, new Amino()
+                .struct(1, new Amino().string(1, "node0").string(3, "okex.com"))
+                .bytes(2, AddressUtil.decodeAddress(VALIDATOR)));
+    }
+
+    @Test
+    public void testStakingMessagesMatchReference() throws Exception {
+        assertMatches(StakingMessages.deposit(FROM, "okt", "12.5"), new Amino()
+                .bytes(1, AddressUtil.decodeAddress(FROM))
+                .struct(2, coin("okt", "12500000000000000000")));
+        assertMatches(StakingMessages.addShares(FROM, new String[]{VALIDATOR, VALIDATOR2}), new Amino()
+                .bytes(1, AddressUtil.decodeAddress(FROM))
+                .bytes(2, AddressUtil.decodeAddress(VALIDATOR))
+                .bytes(2, AddressUtil.decodeAddress(VALIDATOR2)));
+        assertMatches(StakingMessages.regProxy(FROM, true), new Amino()
+                .bytes(1, AddressUtil.decodeAddress(FROM))
+                .bool(2, true));
+        assertMatches(StakingMessages.regProxy(FROM, false), new Amino()
+                .bytes(1, AddressUtil.decodeAddress(FROM)));
+    }
+
+    @Test
+    public void testGovMessagesMatchReference() throws Exception {
+        assertMatches(GovMessages.vote(FROM, "7", "yes"), new Amino()
+                .uint(1, 7)
+                .bytes(2, AddressUtil.decodeAddress(FROM))
+                .uint(3, 1));
+        assertMatches(GovMessages.deposit(FROM, "7", Collections.singletonList(new Token("100", "okt"))), new Amino()
+                .uint(1, 7)
+                .bytes(2, AddressUtil.decodeAddress(FROM))
+                .struct(3, coin("okt", "100000000000000000000")));
+    }
+
+    @Test
+    public void testFarmMessagesMatchReference() throws Exception {
+        assertMatches(FarmMessages.lock(FROM, "okt_pool", "0.5", "okt"), new Amino()
+                .string(1, "okt_pool")
+                .bytes(2, AddressUtil.decodeAddress(FROM))
+                .struct(3, coin("okt", "500000000000000000")));
+        assertMatches(FarmMessages.createPool(FROM, "okt_pool", "1", "okt", "usdk-000"), new Amino()
+                .bytes(1, AddressUtil.decodeAddress(FROM))
+                .string(2, "okt_pool")
+                .struct(3, coin("okt", "1000000000000000000"))
+                .string(4, "usdk-000"));
+        assertMatches(FarmMessages.claim(FROM, "okt_pool"), new Amino()
+                .string(1, "okt_pool")
+                .bytes(2, AddressUtil.decodeAddress(FROM)));
+    }
+
+    @Test
+    public void testTxHashIsSha256OfAminoBytes() throws Exception {
+        MsgSendValue value = new MsgSendValue();
+        value.setFromAddress(FROM);
+        value.setToAddress(TO);
+        value.setAmount(Collections.singletonList(token("1")));
+        BroadcastTx tx = sign(new Message<>("okexchain/token/MsgTransfer", value), "");
+
+        String expected = Hex.toHexString(MessageDigest.getInstance("SHA-256").digest(tx.toAmino())).toUpperCase();
+        Assert.assertEquals(expected, tx.txHash());
+        Assert.assertEquals(64, tx.txHash().length());
+    }
+
+    @Test
+    public void testEveryMessageTypeHasSchema() throws Exception {
+        for (String type : messageTypes()) {
+            Assert.assertNotNull(type, AminoSchemas.get(type));
+        }
+    }
+
+    /**
+     * Writes a struct by hand, field by field, the way go-amino does: default values are left out.
+     */
+    private static class Amino {
+        private final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        private final CodedOutputStream out = CodedOutputStream.newInstance(bytes);
+
+        Amino string(int number, String value) throws IOException {
+            if (!value.isEmpty()) {
+                out.writeString(number, value);
+            }
+            return this;
+        }
+
+        Amino bytes(int number, byte[] value) throws IOException {
+            if (value.length > 0) {
+                out.writeByteArray(number, value);
+            }
+            return this;
+        }
+
+        Amino uint(int number, long value) throws IOException {
+            if (value != 0) {
+                out.writeUInt64(number, value);
+            }
+            return this;
+        }
+
+        Amino bool(int number, boolean value) throws IOException {
+            if (value) {
+                out.writeBool(number, true);
+            }
+            return this;
+        }
+
+        Amino struct(int number, Amino value) throws IOException {
+            byte[] encoded = value.toByteArray();
+            if (encoded.length > 0) {
+                out.writeByteArray(number, encoded);
+            }
+            return this;
+        }
+
+        byte[] toByteArray() throws IOException {
+            out.flush();
+            return bytes.toByteArray();
+        }
+    }
+
+    private static Amino coin(String denom, String unscaledAmount) throws IOException {
+        return new Amino().string(1, denom).string(2, unscaledAmount);
+    }
+
+    private static void assertMatches(Message message, Amino value) throws Exception {
+        BroadcastTx tx = sign(message, "");
+        byte[] body = value.toByteArray();
+        byte[] msg = new byte[4 + body.length];
+        System.arraycopy(AminoSchemas.prefix(message.getType()), 0, msg, 0, 4);
+        System.arraycopy(body, 0, msg, 4, body.length);
+
+        Transfer.StdTransaction expected = Transfer.StdTransaction.newBuilder()
+                .addMsgs(ByteString.copyFrom(msg))
+                .setFee(Transfer.Fee.newBuilder().addAmount(protoToken("10000000000000000")).setGas(200000))
+                .addSignatures(protoSignature(tx.getTx().getSignatures().get(0)))
+                .build();
+        Assert.assertEquals(message.getType(), Hex.toHexString(AminoEncode.encodeStdTransaction(expected)),
+                Hex.toHexString(tx.toAmino()));
+        Assert.assertEquals(message.getType(), AminoWriter.bytesFieldSize(1, msg.length),
+                StdTxEncoder.messageSize(message));
+    }
+
+    private static BroadcastTx sign(Message message, String memo) {
+        Fee fee = new Fee();
+        fee.setAmount(Collections.singletonList(token("0.01")));
+        fee.setGas("200000");
+
+        TxValue txValue = new TxValue();
+        txValue.setMsgs(new Message[]{message});
+        txValue.setFee(fee);
+        txValue.setMemo(memo);
+
+        UnsignedTx unsignedTx = new UnsignedTx(txValue, "{}", BroadcastMode.SYNC);
+        return unsignedTx.signed(new Signer(PRIVATE_KEY).sign(unsignedTx.getSignBytes()));
+    }
+
+    private static Token token(String amount) {
+        Token token = new Token();
+        token.setDenom("okt");
+        token.setAmount(amount);
+        return token;
+    }
+
+    private static Transfer.Token protoToken(String amount) {
+        return Transfer.Token.newBuilder().setDenom("okt").setAmount(amount).build();
+    }
+
+    private static Transfer.Signature protoSignature(Signature signature) {
+        byte[] key = Base64.decode(signature.getPubkey().getValue());
+        byte[] pubkey = new byte[4 + 1 + key.length];
+        System.arraycopy(AminoSchemas.prefix(Signer.PUBKEY_TYPE), 0, pubkey, 0, 4);
+        pubkey[4] = (byte) key.length;
+        System.arraycopy(key, 0, pubkey, 5, key.length);
+        return Transfer.Signature.newBuilder()
+                .setPubkey(ByteString.copyFrom(pubkey))
+                .setSignature(ByteString.copyFrom(Base64.decode(signature.getSignature())))
+                .build();
+    }
+
+    /**
+     * The types set by every message class of the sdk.
+     */
+    private static List<String> messageTypes() throws Exception {
+        File root = new File(MsgBase.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        List<String> types = new ArrayList<>();
+        collect(root, new File(root, "com/okexchain/msg"), types);
+        return types;
+    }
+
+    private static void collect(File root, File dir, List<String> types) throws Exception {
+        Field msgType = MsgBase.class.getDeclaredField("msgType");
+        msgType.setAccessible(true);
+        for (File file : dir.listFiles()) {
+            if (file.isDirectory()) {
+                collect(root, file, types);
+                continue;
+            }
+            String path = file.getPath().substring(root.getPath().length() + 1);
+            if (!path.endsWith(".class") || path.contains("$")) {
+                continue;
+            }
+            Class<?> type = Class.forName(path.replace(File.separatorChar, '.').replace(".class", ""));
+            if (type == MsgBase.class || !MsgBase.class.isAssignableFrom(type) || Modifier.isAbstract(type.getModifiers())) {
+                continue;
+            }
+            Object msg = type.newInstance();
+            types.add((String) msgType.get(msg));
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package crypto;
 
 import com.okexchain.env.EnvInstance;
+import com.okexchain.msg.MsgBase;
+import com.okexchain.msg.common.Signature;
 import com.okexchain.utils.crypto.AddressConvertUtil;
 import com.okexchain.utils.crypto.AddressUtil;
 import com.okexchain.utils.crypto.Crypto;
+import com.okexchain.utils.crypto.Signer;
 import org.bouncycastle.util.encoders.Hex;
 import org.junit.Assert;
 import org.junit.Test;
+import org.web3j.crypto.ECKeyPair;
+import org.web3j.crypto.Sign;
 
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
 import java.security.NoSuchAlgorithmException;
 import java.util.Base64;
 
@@ -97,4 +104,17 @@ public class CryptoTest {
 
     }
 
+    @Test
+    public void testSignerMatchesSignMessage() {
+        String priv = "2c999c5afe7f0c902846e1b286fed29c5c5914998655d469568560955abe0d5d";
+        byte[] msg = "{\"account_number\":\"1\",\"chain_id\":\"okexchain-1\"}".getBytes(StandardCharsets.UTF_8);
+
+        Sign.SignatureData expected = Sign.signMessage(msg, ECKeyPair.create(new BigInteger(priv, 16)));
+        Signature signature = new Signer(priv).sign(msg);
+
+        Assert.assertEquals(MsgBase.toBase64(expected), signature.getSignature());
+        Assert.assertEquals(Base64.getEncoder().encodeToString(Crypto.generatePubKeyFromPriv(priv)), signature.getPubkey().getValue());
+        Assert.assertEquals("ethermint/PubKeyEthSecp256k1", signature.getPubkey().getType());
+    }
+
 }